@@ -23,9 +23,11 @@ import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.infra.Blackhole;
 
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.TimeUnit;
 
@@ -44,6 +46,15 @@ import java.util.concurrent.TimeUnit;
  * DefaultChannelPool.IdleChannel exactly (one Object ref + one long + one
  * volatile int) and CLD node churn is identical for both arms because both push
  * one element.
+ *
+ * The {@code contended*} arms model the event loop affinity of the pool
+ * ({@code connectionPoolEventLoopAffinity}) at 16 threads, each standing for
+ * one event loop doing keep-alive checkout/return on the same host: either all
+ * of them share one partition deque, whose head every offer and poll CASes, or
+ * each has its own slot deque and only steals from the others when it is
+ * empty. With a shared deque the head cache line bounces between cores on every
+ * checkout, so the per-operation cost grows with the thread count; with one
+ * deque per loop the steady state is uncontended.
  */
 @State(Scope.Thread)
 @BenchmarkMode(Mode.AverageTime)
@@ -101,4 +112,69 @@ public class ChannelPoolCheckoutBenchmark {
         Object c = bareDeque.pollFirst();
         bh.consume(c);
     }
+
+    /** The idle channels of one partition, shared by every benchmark thread. */
+    @State(Scope.Benchmark)
+    public static class Partition {
+
+        static final int SLOTS = 16;
+        // Idle channels per loop at the start: enough that a poll rarely finds its own slot empty.
+        static final int IDLE_PER_SLOT = 4;
+
+        final ConcurrentLinkedDeque<Object> shared = new ConcurrentLinkedDeque<>();
+        @SuppressWarnings("unchecked")
+        final ConcurrentLinkedDeque<Object>[] perLoop = new ConcurrentLinkedDeque[SLOTS];
+        final AtomicInteger nextSlot = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setup() {
+            for (int i = 0; i < SLOTS; i++) {
+                perLoop[i] = new ConcurrentLinkedDeque<>();
+                for (int j = 0; j < IDLE_PER_SLOT; j++) {
+                    Object channel = new Object();
+                    perLoop[i].offerFirst(channel);
+                    shared.offerFirst(channel);
+                }
+            }
+        }
+    }
+
+    /** The calling thread's event loop slot. */
+    @State(Scope.Thread)
+    public static class EventLoopSlot {
+
+        int slot;
+
+        @Setup(Level.Trial)
+        public void setup(Partition partition) {
+            slot = partition.nextSlot.getAndIncrement() % Partition.SLOTS;
+        }
+    }
+
+    /** One shared deque per partition: every loop CASes the same head. */
+    @Benchmark
+    @Threads(16)
+    public void contendedSharedDeque(Partition partition, Blackhole bh) {
+        Object c = partition.shared.pollFirst();
+        if (c != null) {
+            bh.consume(c);
+            partition.shared.offerFirst(c);
+        }
+    }
+
+    /** One deque per event loop: poll the local slot first, steal only when it is empty. */
+    @Benchmark
+    @Threads(16)
+    public void contendedPerLoopDeques(Partition partition, EventLoopSlot loop, Blackhole bh) {
+        ConcurrentLinkedDeque<Object>[] deques = partition.perLoop;
+        Object c = null;
+        for (int i = 0; i < deques.length && c == null; i++) {
+            c = deques[(loop.slot + i) % deques.length].pollFirst();
+        }
+        if (c != null) {
+            bh.consume(c);
+            // the channel is returned to the pool by its own event loop: the caller's
+            deques[loop.slot].offerFirst(c);
+        }
+    }
 }
@@ -0,0 +1,183 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.bench;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.util.ReferenceCountUtil;
+import org.asynchttpclient.AsyncHandler;
+import org.asynchttpclient.HttpResponseBodyPart;
+import org.asynchttpclient.HttpResponseStatus;
+import org.asynchttpclient.Request;
+import org.asynchttpclient.channel.ChannelPoolPartitioning;
+import org.asynchttpclient.netty.NettyResponseFuture;
+import org.asynchttpclient.netty.handler.Http2FlushConsolidationHandler;
+import org.asynchttpclient.netty.handler.Http2StreamDispatcher;
+import org.asynchttpclient.netty.request.body.Http2StreamOutput;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.asynchttpclient.Dsl.get;
+
+/**
+ * HTTP/2 flush consolidation ({@code AsyncHttpClientConfig#getHttp2FlushConsolidationLimit()}): a burst of small
+ * requests issued in one event loop tick on one connection, each writing its HEADERS and asking for a flush, as
+ * {@code NettyRequestSender.sendHttp2Frames} does. The connection is an embedded channel whose socket only counts
+ * the writes reaching it: {@code socketWrites} is the number of syscalls, and, as {@code SslHandler} wraps what a
+ * flush carries into one record of up to 16 KiB, the number of TLS records too. {@code limit=0} runs without
+ * {@link Http2FlushConsolidationHandler}.
+ *
+ * Run single-threaded and compare the op rate and socketWrites:
+ *   {@code /tmp/run-jmh.sh Http2FlushConsolidationBenchmark -f 1 -wi 5 -i 5}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Http2FlushConsolidationBenchmark {
+
+    @Param({"0", "16"})
+    public int limit;
+
+    @Param({"1", "8", "64"})
+    public int requestsPerTick;
+
+    private final Request request = get("https://localhost/").build();
+    private final AsyncHandler<Object> handler = new NoopHandler();
+    private final Http2Headers headers = new DefaultHttp2Headers()
+            .method("GET").path("/").scheme("https").authority("localhost");
+    private Socket socket;
+    private EmbeddedChannel connection;
+    private Http2StreamDispatcher dispatcher;
+    private NettyResponseFuture<?>[] futures;
+
+    @Setup
+    public void setup() {
+        socket = new Socket();
+        Http2FrameCodec frameCodec = Http2FrameCodecBuilder.forClient().build();
+        // no response is ever read, so no frame reaches the Http2Handler
+        dispatcher = new Http2StreamDispatcher(frameCodec, null, false, false, 0, false);
+        connection = limit > 0
+                ? new EmbeddedChannel(socket, frameCodec, new Http2FlushConsolidationHandler(limit), dispatcher)
+                : new EmbeddedChannel(socket, frameCodec, dispatcher);
+        futures = new NettyResponseFuture<?>[requestsPerTick];
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters(SocketWrites socketWrites) {
+        socket.counters = socketWrites;
+    }
+
+    @TearDown
+    public void tearDown() {
+        connection.finishAndReleaseAll();
+    }
+
+    /** One tick: the burst of requests, then the end of the tick, which resets their streams. */
+    @Benchmark
+    public int burst() {
+        for (int i = 0; i < requestsPerTick; i++) {
+            NettyResponseFuture<Object> future = new NettyResponseFuture<>(request, handler, null, 0,
+                    ChannelPoolPartitioning.PerHostChannelPoolPartitioning.INSTANCE, null, null);
+            Http2StreamOutput stream = dispatcher.openStream(future);
+            stream.write(new DefaultHttp2HeadersFrame(headers, true));
+            stream.flush();
+            futures[i] = future;
+        }
+        connection.runPendingTasks();
+        for (NettyResponseFuture<?> future : futures) {
+            future.done();
+        }
+        connection.runPendingTasks();
+        return dispatcher.getStreamCount();
+    }
+
+    /** The writes reaching the socket, reported next to the op rate. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SocketWrites {
+
+        public long socketWrites;
+    }
+
+    /** Stands for the socket: drops the bytes written, and counts the flushes that carry some. */
+    private static final class Socket extends ChannelOutboundHandlerAdapter {
+
+        private SocketWrites counters = new SocketWrites();
+        private boolean pending;
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            pending |= msg instanceof ByteBuf && ((ByteBuf) msg).isReadable();
+            ReferenceCountUtil.release(msg);
+            promise.setSuccess();
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) {
+            if (pending) {
+                pending = false;
+                counters.socketWrites++;
+            }
+        }
+    }
+
+    private static final class NoopHandler implements AsyncHandler<Object> {
+
+        @Override
+        public AsyncHandler.State onStatusReceived(HttpResponseStatus responseStatus) {
+            return AsyncHandler.State.CONTINUE;
+        }
+
+        @Override
+        public AsyncHandler.State onHeadersReceived(HttpHeaders headers) {
+            return AsyncHandler.State.CONTINUE;
+        }
+
+        @Override
+        public AsyncHandler.State onBodyPartReceived(HttpResponseBodyPart bodyPart) {
+            return AsyncHandler.State.CONTINUE;
+        }
+
+        @Override
+        public void onThrowable(Throwable t) {
+        }
+
+        @Override
+        public Object onCompleted() {
+            return null;
+        }
+    }
+}
@@ -15,12 +15,20 @@
  */
 package org.asynchttpclient.bench;
 
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http2.DefaultHttp2Headers;
 import io.netty.handler.codec.http2.Http2Headers;
 import io.netty.util.AsciiString;
+import org.asynchttpclient.Request;
+import org.asynchttpclient.util.HttpUtils;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
@@ -28,6 +36,7 @@ import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -37,12 +46,19 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
+import static org.asynchttpclient.Dsl.get;
+
 /**
- * Measures the per-request HTTP/2 header copy in {@code NettyRequestSender.sendHttp2Frames}: the
+ * Measures the per-request HTTP/2 header copy in {@code NettyRequestFactory.toHttp2Headers}: the
  * baseline (String-typed {@code forEach} + {@code toLowerCase()} + {@code HashSet} skip-set) versus
  * {@link HttpHeaders#iteratorCharSequence()} + {@link AsciiString#contentEqualsIgnoreCase}. Both still
  * lowercase forwarded names (Netty's validating {@link DefaultHttp2Headers} rejects uppercase), so the
  * header set includes mixed-case names to exercise that path.
+ * <p>
+ * The {@code request_} pair measures a whole request: building the HTTP/1.1 request the way
+ * {@code NettyRequestFactory.newNettyRequest} does and converting it, versus encoding the {@link Http2Headers} straight
+ * from the {@link Request} the way {@code NettyRequestFactory.newHttp2Request} does. Run with {@code -prof gc} for the
+ * allocations per request.
  */
 @State(Scope.Thread)
 @BenchmarkMode(Mode.AverageTime)
@@ -52,7 +68,10 @@ public class Http2HeaderConversionBenchmark {
     private static final Set<String> EXCLUDED_STRING = new HashSet<>(Arrays.asList(
             "connection", "keep-alive", "proxy-connection", "transfer-encoding", "upgrade", "host"));
 
+    private static final CharSequence USER_AGENT = "AHC/3.0";
+
     private HttpHeaders headers;
+    private Request request;
 
     @Setup
     public void setup() {
@@ -73,9 +92,94 @@ public class Http2HeaderConversionBenchmark {
         // names the proposed path must lowercase, since validating DefaultHttp2Headers rejects uppercase.
         headers.add("X-Request-ID", "abc-123-def-456");
         headers.add("X-Custom-Header", "some-custom-value");
+
+        // The same request as the user builds it: String names in their own casing, Host and friends left to the
+        // factory.
+        request = get("https://www.example.com/path?q=1")
+                .setHeader("Content-Type", "application/json; charset=utf-8")
+                .setHeader("Authorization", "Bearer abcdef0123456789")
+                .setHeader("Cookie", "session=deadbeef; theme=dark")
+                .setHeader("Cache-Control", "no-cache")
+                .setHeader("X-Request-ID", "abc-123-def-456")
+                .setHeader("X-Custom-Header", "some-custom-value")
+                .build();
+    }
+
+    /** The HTTP/1.1 request of NettyRequestFactory.newNettyRequest, then NettyRequestFactory.toHttp2Headers. */
+    @Benchmark
+    public Http2Headers request_http1ThenConvert() {
+        HttpRequest httpRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET,
+                request.getUri().toRelativeUrl(), Unpooled.EMPTY_BUFFER);
+        HttpHeaders h1 = httpRequest.headers();
+        Iterator<Map.Entry<CharSequence, CharSequence>> it = request.getHeaders().iteratorCharSequence();
+        while (it.hasNext()) {
+            Map.Entry<CharSequence, CharSequence> entry = it.next();
+            h1.add(entry.getKey(), entry.getValue());
+        }
+        h1.set(HttpHeaderNames.ACCEPT_ENCODING, HttpUtils.GZIP_DEFLATE);
+        if (!h1.contains(HttpHeaderNames.HOST)) {
+            h1.set(HttpHeaderNames.HOST, HttpUtils.hostHeader(request.getUri()));
+        }
+        if (!h1.contains(HttpHeaderNames.ACCEPT)) {
+            h1.set(HttpHeaderNames.ACCEPT, HttpUtils.ACCEPT_ALL_HEADER_VALUE);
+        }
+        if (!h1.contains(HttpHeaderNames.USER_AGENT)) {
+            h1.set(HttpHeaderNames.USER_AGENT, USER_AGENT);
+        }
+
+        Http2Headers h2 = new DefaultHttp2Headers()
+                .method(httpRequest.method().name())
+                .path(request.getUri().toRelativeUrl())
+                .scheme(request.getUri().getScheme())
+                .authority(h1.get(HttpHeaderNames.HOST));
+        Iterator<Map.Entry<CharSequence, CharSequence>> h1It = h1.iteratorCharSequence();
+        while (h1It.hasNext()) {
+            Map.Entry<CharSequence, CharSequence> entry = h1It.next();
+            CharSequence name = entry.getKey();
+            if (!containsIgnoreCase(name)) {
+                CharSequence value = entry.getValue();
+                h2.add(toLowerCaseName(name), value == HttpUtils.GZIP_DEFLATE ? HttpUtils.GZIP_DEFLATE_HPACK : value);
+            }
+        }
+        return h2;
+    }
+
+    /** NettyRequestFactory.newHttp2Request: the user headers go straight into the HTTP/2 headers. */
+    @Benchmark
+    public Http2Headers request_directHttp2(Blackhole bh) {
+        String requestUri = request.getUri().toRelativeUrl();
+        Http2Headers h2 = new DefaultHttp2Headers()
+                .method(HttpMethod.GET.asciiName())
+                .path(requestUri)
+                .scheme(request.getUri().getScheme());
+        CharSequence host = null;
+        Iterator<Map.Entry<CharSequence, CharSequence>> it = request.getHeaders().iteratorCharSequence();
+        while (it.hasNext()) {
+            Map.Entry<CharSequence, CharSequence> entry = it.next();
+            CharSequence name = entry.getKey();
+            if (containsIgnoreCase(name)) {
+                if (host == null && HttpHeaderNames.HOST.contentEqualsIgnoreCase(name)) {
+                    host = entry.getValue();
+                }
+                continue;
+            }
+            h2.add(toLowerCaseName(name), entry.getValue());
+        }
+        h2.set(HttpHeaderNames.ACCEPT_ENCODING, HttpUtils.GZIP_DEFLATE_HPACK);
+        h2.authority(host != null ? host : HttpUtils.hostHeader(request.getUri()));
+        if (!h2.contains(HttpHeaderNames.ACCEPT)) {
+            h2.set(HttpHeaderNames.ACCEPT, HttpUtils.ACCEPT_ALL_HEADER_VALUE);
+        }
+        if (!h2.contains(HttpHeaderNames.USER_AGENT)) {
+            h2.set(HttpHeaderNames.USER_AGENT, USER_AGENT);
+        }
+        // the request line and body view newHttp2Request still returns
+        bh.consume(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, requestUri, Unpooled.EMPTY_BUFFER,
+                EmptyHttpHeaders.INSTANCE, EmptyHttpHeaders.INSTANCE));
+        return h2;
     }
 
-    /** Exact reproduction of production NettyRequestSender.sendHttp2Frames header loop. */
+    /** Baseline: the String-typed header loop sendHttp2Frames first used. */
     @Benchmark
     public Http2Headers baseline_forEach_toLowerCase() {
         Http2Headers h2 = new DefaultHttp2Headers()
@@ -105,7 +209,7 @@ public class Http2HeaderConversionBenchmark {
         return h2;
     }
 
-    /** Mirrors production NettyRequestSender.toLowerCaseHeaderName — allocation-free when already lowercase. */
+    /** Mirrors production NettyRequestFactory.toLowerCaseHeaderName — allocation-free when already lowercase. */
     private static CharSequence toLowerCaseName(CharSequence name) {
         if (name instanceof AsciiString) {
             return ((AsciiString) name).toLowerCase();
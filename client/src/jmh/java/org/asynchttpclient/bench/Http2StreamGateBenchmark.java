@@ -15,6 +15,26 @@
  */
 package org.asynchttpclient.bench;
 
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import org.asynchttpclient.AsyncHandler;
+import org.asynchttpclient.HttpResponseBodyPart;
+import org.asynchttpclient.HttpResponseStatus;
+import org.asynchttpclient.Request;
+import org.asynchttpclient.channel.ChannelPoolPartitioning;
+import org.asynchttpclient.netty.NettyResponseFuture;
+import org.asynchttpclient.netty.handler.Http2StreamDispatcher;
+import org.asynchttpclient.netty.request.body.Http2StreamOutput;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
@@ -22,11 +42,14 @@ import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.infra.Blackhole;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.asynchttpclient.Dsl.get;
+
 /**
  * HTTP/2 multiplexed stream gate: {@code Http2ConnectionState.tryAcquireStream()} runs a
  * CAS retry loop on a shared {@link AtomicInteger} for EVERY request sharing one h2 connection.
@@ -37,6 +60,13 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * Run multi-threaded:
  *   /tmp/run-jmh-conc.sh Http2StreamGateBenchmark -t 16 -f 1 -wi 5 -i 8
+ *
+ * The stream benchmarks compare the allocation per request of the two HTTP/2 stream engines, a stream child channel
+ * of {@link Http2MultiplexHandler} against a stream of {@link Http2StreamDispatcher}
+ * ({@code AsyncHttpClientConfig#isHttp2LightweightStreamsEnabled()}): each request opens a stream on an embedded
+ * connection, writes its HEADERS and resets it once its future completes. Run single-threaded with:
+ *   {@code /tmp/run-jmh.sh 'Http2StreamGateBenchmark.*Stream' -prof gc -f 1 -wi 5 -i 5}
+ * and compare gc.alloc.rate.norm.
  */
 @State(Scope.Benchmark)
 @BenchmarkMode(Mode.Throughput)
@@ -84,4 +114,103 @@ public class Http2StreamGateBenchmark {
             activeStreams.decrementAndGet();
         }
     }
+
+    /** A request on a stream child channel, which carries a pipeline with the per-stream handler. */
+    @Benchmark
+    public Object childChannelStream(Connections connections) {
+        NettyResponseFuture<Object> future = connections.newFuture();
+        Http2StreamChannel stream = new Http2StreamChannelBootstrap(connections.multiplexed)
+                .handler(Connections.STREAM_HANDLER)
+                .open()
+                .getNow();
+        stream.writeAndFlush(new DefaultHttp2HeadersFrame(connections.headers, true));
+        future.done();
+        stream.close();
+        connections.multiplexed.runPendingTasks();
+        connections.multiplexed.releaseOutbound();
+        return stream;
+    }
+
+    /** The same request on a stream of the dispatcher, an entry of its stream map. */
+    @Benchmark
+    public Object dispatchedStream(Connections connections) {
+        NettyResponseFuture<Object> future = connections.newFuture();
+        Http2StreamOutput stream = connections.dispatcher.openStream(future);
+        stream.write(new DefaultHttp2HeadersFrame(connections.headers, true));
+        stream.flush();
+        // resets the stream
+        future.done();
+        connections.dispatched.runPendingTasks();
+        connections.dispatched.releaseOutbound();
+        return stream;
+    }
+
+    /** An HTTP/2 connection of each engine, on an embedded channel whose writes are dropped. */
+    @State(Scope.Thread)
+    public static class Connections {
+
+        static final ChannelInboundHandlerAdapter STREAM_HANDLER = new StreamHandler();
+
+        private final Request request = get("https://localhost/").build();
+        private final AsyncHandler<Object> handler = new NoopHandler();
+        Http2Headers headers;
+        EmbeddedChannel multiplexed;
+        EmbeddedChannel dispatched;
+        Http2StreamDispatcher dispatcher;
+
+        @Setup
+        public void setup() {
+            headers = new DefaultHttp2Headers().method("GET").path("/").scheme("https").authority("localhost");
+            multiplexed = new EmbeddedChannel(Http2FrameCodecBuilder.forClient().build(),
+                    new Http2MultiplexHandler(new StreamHandler()));
+            Http2FrameCodec frameCodec = Http2FrameCodecBuilder.forClient().build();
+            // no response is ever read, so no frame reaches the Http2Handler
+            dispatcher = new Http2StreamDispatcher(frameCodec, null, false, false, 0, false);
+            dispatched = new EmbeddedChannel(frameCodec, dispatcher);
+            multiplexed.releaseOutbound();
+            dispatched.releaseOutbound();
+        }
+
+        @TearDown
+        public void tearDown() {
+            multiplexed.finishAndReleaseAll();
+            dispatched.finishAndReleaseAll();
+        }
+
+        NettyResponseFuture<Object> newFuture() {
+            return new NettyResponseFuture<>(request, handler, null, 0,
+                    ChannelPoolPartitioning.PerHostChannelPoolPartitioning.INSTANCE, null, null);
+        }
+    }
+
+    @Sharable
+    private static final class StreamHandler extends ChannelInboundHandlerAdapter {
+    }
+
+    private static final class NoopHandler implements AsyncHandler<Object> {
+
+        @Override
+        public AsyncHandler.State onStatusReceived(HttpResponseStatus responseStatus) {
+            return AsyncHandler.State.CONTINUE;
+        }
+
+        @Override
+        public AsyncHandler.State onHeadersReceived(HttpHeaders headers) {
+            return AsyncHandler.State.CONTINUE;
+        }
+
+        @Override
+        public AsyncHandler.State onBodyPartReceived(HttpResponseBodyPart bodyPart) {
+            return AsyncHandler.State.CONTINUE;
+        }
+
+        @Override
+        public void onThrowable(Throwable t) {
+        }
+
+        @Override
+        public Object onCompleted() {
+            return null;
+        }
+    }
 }
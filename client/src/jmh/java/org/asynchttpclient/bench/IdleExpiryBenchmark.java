@@ -0,0 +1,142 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Models one tick of the idle channel cleaner of {@code DefaultChannelPool} with a large pool: {@code channels}
+ * idle connections spread over {@code partitions} partitions, a 60 s idle timeout and a 1 s cleaner period, in
+ * the steady state of a busy client where the connections keep being reused, so that nothing actually expires.
+ *
+ * <ul>
+ *   <li>{@code fullScan}: the former {@code IdleChannelDetector}, which walked every channel of every partition
+ *   deque on each tick to compare its idle start against the timeout: O(total channels) per tick.</li>
+ *   <li>{@code expiryWheel}: the deadline-indexed {@code ExpiryWheel}, which only drains the bucket of the tick
+ *   that came due. Its entries were filed for a deadline that reuse has since pushed back, so each is re-filed
+ *   for its new deadline: O(channels due in this tick), about {@code channels / 60} here.</li>
+ * </ul>
+ *
+ * Like {@code ChannelPoolCheckoutBenchmark}, a standalone model: the channel is a holder with the idle start and
+ * ownership word of {@code DefaultChannelPool.IdleState}, so it runs on the bare JMH classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IdleExpiryBenchmark {
+
+    private static final long TICK_MS = 1_000;
+    private static final long MAX_IDLE_MS = 60_000;
+    private static final int WHEEL_SIZE = (int) (MAX_IDLE_MS / TICK_MS + 2);
+
+    @Param({"10000", "100000"})
+    public int channels;
+
+    @Param({"1000"})
+    public int partitions;
+
+    static final class PooledChannel {
+        volatile long start;
+        volatile long state;
+        volatile int scheduled;
+
+        PooledChannel(long start) {
+            this.start = start;
+        }
+    }
+
+    private ConcurrentLinkedDeque<PooledChannel>[] deques;
+    private ConcurrentLinkedQueue<PooledChannel>[] buckets;
+    private long now;
+    private long tick;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        deques = new ConcurrentLinkedDeque[partitions];
+        for (int i = 0; i < partitions; i++) {
+            deques[i] = new ConcurrentLinkedDeque<>();
+        }
+        buckets = new ConcurrentLinkedQueue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        now = MAX_IDLE_MS;
+        tick = now / TICK_MS;
+        for (int i = 0; i < channels; i++) {
+            // idle starts spread over the last idle period, so deadlines spread over the wheel
+            PooledChannel channel = new PooledChannel(now - (i % MAX_IDLE_MS));
+            channel.scheduled = 1;
+            deques[i % partitions].offerFirst(channel);
+            file(channel, channel.start + MAX_IDLE_MS);
+        }
+    }
+
+    private void file(PooledChannel channel, long deadline) {
+        long dueTick = Math.max(tick + 1, (deadline + TICK_MS - 1) / TICK_MS);
+        buckets[(int) (dueTick % WHEEL_SIZE)].add(channel);
+    }
+
+    /** Every channel of every partition is checked on every tick. */
+    @Benchmark
+    public int fullScan() {
+        now += TICK_MS;
+        int expired = 0;
+        for (ConcurrentLinkedDeque<PooledChannel> deque : deques) {
+            for (PooledChannel channel : deque) {
+                if ((channel.state & 1) == 0 && now - channel.start >= MAX_IDLE_MS) {
+                    expired++;
+                }
+                // reused since: the next tick finds it fresh again
+                channel.start = now;
+            }
+        }
+        return expired;
+    }
+
+    /** Only the channels filed in the bucket that came due are visited. */
+    @Benchmark
+    public int expiryWheel() {
+        now += TICK_MS;
+        tick++;
+        int expired = 0;
+        ConcurrentLinkedQueue<PooledChannel> bucket = buckets[(int) (tick % WHEEL_SIZE)];
+        PooledChannel channel;
+        while ((channel = bucket.poll()) != null) {
+            // reused since its entry was filed: its deadline moved, re-file it
+            channel.start = now;
+            long deadline = channel.start + MAX_IDLE_MS;
+            if ((channel.state & 1) == 0 && deadline <= now) {
+                expired++;
+            } else {
+                file(channel, deadline);
+            }
+        }
+        return expired;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.bench;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.Response;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.security.KeyStore;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.CONNECTION;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
+import static io.netty.handler.codec.http.HttpHeaderValues.CLOSE;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+
+/**
+ * TLS handshake offloading ({@code AsyncHttpClientConfig#getSslHandshakeThreads()}): a storm of new HTTPS connections
+ * opened at once on a client with a single event loop, against a local server. A probe task scheduled on that loop
+ * every millisecond measures how late it runs: {@code stallMicros} is the total lateness during the storms, which
+ * the other connections of the loop would see as read latency, and {@code lateProbes} the number of probes late by more
+ * than a millisecond. Divide them by {@code storms} for per-storm figures. {@code sslHandshakeThreads=0} runs the
+ * handshake delegated tasks on the event loop. The client engines are created without a peer host and port, so no
+ * session is ever resumed and every handshake is a full one, as when a client meets new hosts.
+ *
+ * Needs the test resources on the classpath for the server key, and compare the storm time and stallMicros:
+ *   {@code /tmp/run-jmh.sh TlsHandshakeStormBenchmark -f 1 -wi 5 -i 5}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TlsHandshakeStormBenchmark {
+
+    private static final long PROBE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Param({"0", "2"})
+    public int sslHandshakeThreads;
+
+    @Param({"16", "64"})
+    public int connections;
+
+    private EventLoopGroup serverGroup;
+    private Channel server;
+    private EventLoopGroup clientGroup;
+    private AsyncHttpClient client;
+    private StallProbe probe;
+    private String url;
+
+    @Setup
+    public void setup() throws Exception {
+        SslContext serverSslContext = SslContextBuilder.forServer(serverKeyManagerFactory()).build();
+        serverGroup = new NioEventLoopGroup(Runtime.getRuntime().availableProcessors());
+        server = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast(serverSslContext.newHandler(ch.alloc()), new HttpServerCodec(), new Responder());
+                    }
+                })
+                .bind("127.0.0.1", 0).sync().channel();
+        url = "https://127.0.0.1:" + ((InetSocketAddress) server.localAddress()).getPort() + '/';
+
+        SSLContext clientSslContext = SSLContext.getInstance("TLS");
+        clientSslContext.init(null, InsecureTrustManagerFactory.INSTANCE.getTrustManagers(), null);
+        clientGroup = new NioEventLoopGroup(1);
+        client = asyncHttpClient(config()
+                .setEventLoopGroup(clientGroup)
+                .setKeepAlive(false)
+                .setSslEngineFactory((config, peerHost, peerPort) -> {
+                    SSLEngine engine = clientSslContext.createSSLEngine();
+                    engine.setUseClientMode(true);
+                    return engine;
+                })
+                .setSslHandshakeThreads(sslHandshakeThreads));
+        probe = new StallProbe(clientGroup.next());
+        probe.start();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        probe.stop();
+        client.close();
+        clientGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        server.close().sync();
+        serverGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+    }
+
+    /** One storm: {@code connections} requests at once, each on a new connection, until they all completed. */
+    @Benchmark
+    public int storm(Stalls stalls) {
+        probe.reset();
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[connections];
+        for (int i = 0; i < connections; i++) {
+            responses[i] = client.prepareGet(url).execute().toCompletableFuture();
+        }
+        CompletableFuture.allOf(responses).join();
+        stalls.storms++;
+        stalls.stallMicros += NANOSECONDS.toMicros(probe.stallNanos);
+        stalls.lateProbes += probe.lateProbes;
+        return ((Response) responses[0].join()).getStatusCode();
+    }
+
+    /** The event loop lateness, reported next to the storm time. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Stalls {
+
+        public long storms;
+        public long stallMicros;
+        public long lateProbes;
+    }
+
+    private static KeyManagerFactory serverKeyManagerFactory() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        try (InputStream in = TlsHandshakeStormBenchmark.class.getClassLoader().getResourceAsStream("ssltest-cacerts.jks")) {
+            keyStore.load(in, "changeit".toCharArray());
+        }
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, "changeit".toCharArray());
+        return keyManagerFactory;
+    }
+
+    /**
+     * Runs on the event loop every {@link #PROBE_INTERVAL_NANOS}, adding up how late it runs. The counters are only
+     * written by the loop, and read by the benchmark thread once the storm completed.
+     */
+    private static final class StallProbe implements Runnable {
+
+        private final EventLoop loop;
+        private volatile boolean running = true;
+        private long due;
+        volatile long stallNanos;
+        volatile long lateProbes;
+
+        StallProbe(EventLoop loop) {
+            this.loop = loop;
+        }
+
+        void start() {
+            loop.execute(this::scheduleNext);
+        }
+
+        void stop() {
+            running = false;
+        }
+
+        void reset() {
+            loop.submit(() -> {
+                stallNanos = 0;
+                lateProbes = 0;
+            }).syncUninterruptibly();
+        }
+
+        @Override
+        public void run() {
+            long lateness = System.nanoTime() - due;
+            if (lateness > 0) {
+                stallNanos += lateness;
+                if (lateness > PROBE_INTERVAL_NANOS) {
+                    lateProbes++;
+                }
+            }
+            if (running) {
+                scheduleNext();
+            }
+        }
+
+        private void scheduleNext() {
+            due = System.nanoTime() + PROBE_INTERVAL_NANOS;
+            loop.schedule(this, PROBE_INTERVAL_NANOS, NANOSECONDS);
+        }
+    }
+
+    /** Answers every request with an empty 200 and closes the connection. */
+    private static final class Responder extends SimpleChannelInboundHandler<HttpObject> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) {
+            if (msg instanceof LastHttpContent) {
+                FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, OK, Unpooled.EMPTY_BUFFER);
+                response.headers().set(CONTENT_LENGTH, 0).set(CONNECTION, CLOSE);
+                ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+            }
+        }
+    }
+}
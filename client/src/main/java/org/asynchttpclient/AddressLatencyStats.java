@@ -0,0 +1,83 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A record class representing the latency score kept for one resolved IP address by
+ * {@link LoadBalance#LEAST_LATENCY}.
+ */
+public final class AddressLatencyStats {
+
+    private final long inFlightRequestCount;
+    private final Duration connectLatency;
+    private final Duration responseLatency;
+
+    public AddressLatencyStats(long inFlightRequestCount, Duration connectLatency, Duration responseLatency) {
+        this.inFlightRequestCount = inFlightRequestCount;
+        this.connectLatency = connectLatency;
+        this.responseLatency = responseLatency;
+    }
+
+    /**
+     * @return the number of requests currently dispatched to this address and not yet completed
+     */
+    public long getInFlightRequestCount() {
+        return inFlightRequestCount;
+    }
+
+    /**
+     * @return the moving average of the time taken to establish a connection to this address,
+     * {@link Duration#ZERO} when none was timed yet
+     */
+    public Duration getConnectLatency() {
+        return connectLatency;
+    }
+
+    /**
+     * @return the moving average of the time taken by a request to this address to complete,
+     * {@link Duration#ZERO} when none was timed yet
+     */
+    public Duration getResponseLatency() {
+        return responseLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "There are " + inFlightRequestCount + " requests in flight, connect latency is " + connectLatency.toMillis() +
+                " ms and response latency is " + responseLatency.toMillis() + " ms.";
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AddressLatencyStats)) {
+            return false;
+        }
+        final AddressLatencyStats that = (AddressLatencyStats) o;
+        return inFlightRequestCount == that.inFlightRequestCount && connectLatency.equals(that.connectLatency)
+                && responseLatency.equals(that.responseLatency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(inFlightRequestCount, connectLatency, responseLatency);
+    }
+}
@@ -57,6 +57,7 @@ public abstract class AsyncCompletionHandler<T> implements ProgressAsyncHandler<
     @Override
     public State onBodyPartReceived(HttpResponseBodyPart content) throws Exception {
         builder.accumulate(content);
+        content.markConsumed();
         return State.CONTINUE;
     }
 
@@ -17,6 +17,7 @@
 package org.asynchttpclient;
 
 import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.function.Predicate;
 
@@ -279,6 +280,25 @@ public interface AsyncHttpClient extends Closeable {
      */
     ListenableFuture<Response> executeRequest(RequestBuilder requestBuilder);
 
+    /**
+     * Opens connections to the origin of {@code url} ahead of the requests that will use them, so that those do not
+     * pay for DNS resolution, the TCP and TLS handshakes and, for HTTP/2, the SETTINGS exchange.
+     * <p>
+     * No request is sent: each connection is established like the connection of a request to {@code url} would be,
+     * then offered to the {@link org.asynchttpclient.channel.ChannelPool}, or kept for multiplexing when HTTP/2 was
+     * negotiated. Connections count against {@link AsyncHttpClientConfig#getMaxConnectionsPerHost()}, and are
+     * spread over the resolved IPs in {@link LoadBalance#ROUND_ROBIN} and {@link LoadBalance#LEAST_LATENCY} mode.
+     * An HTTP/2 origin only gets one connection (one per IP in those modes), and connections through a tunneling
+     * proxy are not warmed up. Pooled connections are still subject to the idle timeout.
+     *
+     * @param url         the URL whose origin (scheme, host and port) to connect to
+     * @param connections the number of connections to open, {@code > 0}
+     * @return a future completed with the number of connections actually opened, or exceptionally when none could be
+     */
+    default CompletableFuture<Integer> warmUp(String url, int connections) {
+        return CompletableFuture.failedFuture(new UnsupportedOperationException("warmUp is not supported by " + getClass().getName()));
+    }
+
     /***
      * Return details about pooled connections.
      *
@@ -40,8 +40,10 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 
@@ -107,6 +109,68 @@ public interface AsyncHttpClientConfig {
      */
     Duration getConnectionPoolCleanerPeriod();
 
+    /**
+     * Whether the default connection pool keeps the idle connections of each partition in one sub-pool per
+     * event loop. A lease then prefers a connection registered on the caller's own event loop (the loop a redirect,
+     * retry or callback-issued request runs on) and only takes one from another loop's sub-pool when its own is
+     * empty. This avoids handing requests over to another loop and the contention of all loops on a single idle
+     * queue; it pays off for clients doing many concurrent requests over many event loops.
+     *
+     * @return {@code true} if idle connections are pooled per event loop
+     */
+    default boolean isConnectionPoolEventLoopAffinity() {
+        return false;
+    }
+
+    /**
+     * The number of idle connections the client keeps ready for each origin it is sending requests to. When a
+     * maintenance pass ({@link #getConnectionPoolMaintenancePeriod()}) finds fewer idle connections in the pool, it opens
+     * the missing ones in the background, as {@link AsyncHttpClient#warmUp(String, int)} would, within
+     * {@link #getMaxConnectionsPerHost()}. An origin stops being maintained once it received no request for
+     * {@link #getPooledConnectionIdleTimeout()}, so that its connections can expire. Only applies to the default connection
+     * pool; an origin served over HTTP/2 needs no idle connection.
+     *
+     * @return the minimum number of idle connections per origin, {@code 0} to disable
+     */
+    default int getConnectionPoolMinIdle() {
+        return 0;
+    }
+
+    /**
+     * Whether pool maintenance also opens connections ahead of a rising demand: for each origin it tracks how
+     * many requests arrived and how many of them found no idle connection in each maintenance period, and opens as many
+     * connections as the smoothed number of misses, scaled up by the growth of the arrival rate, so that the next period's
+     * requests find them pooled. {@link #getConnectionPoolMinIdle()} still applies as a floor.
+     *
+     * @return {@code true} if idle connections are opened ahead of the predicted demand
+     */
+    default boolean isConnectionPoolPredictiveWarmUpEnabled() {
+        return false;
+    }
+
+    /**
+     * @return the interval between two passes of the pool maintenance enabled by {@link #getConnectionPoolMinIdle()}
+     * or {@link #isConnectionPoolPredictiveWarmUpEnabled()}; also the period the request rates are measured over
+     */
+    default Duration getConnectionPoolMaintenancePeriod() {
+        return Duration.ofSeconds(1);
+    }
+
+    /**
+     * Whether a request that finds {@link #getMaxConnections()} or {@link #getMaxConnectionsPerHost()} reached
+     * waits for a connection in a queue instead of parking its calling thread in the connection semaphore. The request is
+     * queued for up to {@link #getAcquireFreeChannelTimeout()}, after which it fails as it would have without the queue.
+     * A connection released to the pool is handed straight to the oldest request queued for its partition, and a
+     * connection permit released by a closed connection goes to the oldest request that can use it. Requests sent from an
+     * event loop (redirects, retries, authentication replays) are queued too instead of failing immediately. Has no effect
+     * when {@link #getAcquireFreeChannelTimeout()} is {@code 0}.
+     *
+     * @return {@code true} if requests wait for a connection without blocking their thread
+     */
+    default boolean isConnectionAcquisitionQueueEnabled() {
+        return false;
+    }
+
     /**
      * Return the maximum time an {@link AsyncHttpClient} waits until the response is completed.
      *
@@ -259,6 +323,88 @@ public interface AsyncHttpClientConfig {
         return Duration.ofSeconds(10);
     }
 
+    /**
+     * Whether new connections to a host with several resolved addresses race them Happy Eyeballs style
+     * (RFC 8305) instead of trying them one after the other. The addresses are interleaved by family (starting with
+     * the family of the first resolved address) and a new attempt is started every
+     * {@link #getHappyEyeballsConnectionAttemptDelay()} - or as soon as the previous attempt fails - while earlier
+     * attempts keep going. The first attempt to connect wins and the others are cancelled, so a black-holed address
+     * (typically an unreachable IPv6 route) costs at most one attempt delay instead of a whole connect timeout.
+     * <p>
+     * When {@link #isFailedIpCooldownEnabled()} is {@code true}, an address that was overtaken by a later attempt is
+     * put in cooldown like a failed one, so the next connections start with the faster addresses.
+     *
+     * @return {@code true} if resolved addresses are raced
+     */
+    default boolean isHappyEyeballsEnabled() {
+        return false;
+    }
+
+    /**
+     * @return how long a Happy Eyeballs connection attempt gets before the next address is tried in parallel
+     * (the RFC 8305 "Connection Attempt Delay"); only used when {@link #isHappyEyeballsEnabled()} is {@code true}
+     */
+    default Duration getHappyEyeballsConnectionAttemptDelay() {
+        return Duration.ofMillis(250);
+    }
+
+    /**
+     * Whether resolved IPs of a host that misbehave on completed requests are temporarily ejected, as in Envoy's
+     * outlier detection. An IP is ejected after {@link #getOutlierDetectionConsecutiveErrors()} consecutive 5xx
+     * responses or request/read timeouts, or when its response time becomes an outlier among the host's IPs (see
+     * {@link #getOutlierDetectionLatencyFactor()}). New connections and IP-aware connection reuse then avoid it for
+     * {@link #getOutlierDetectionBaseEjectionTime()}, doubled on each further ejection up to
+     * {@link #getOutlierDetectionMaxEjectionTime()}. At most {@link #getOutlierDetectionMaxEjectionPercent()} percent
+     * of a host's IPs are ejected at a time, and an ejected IP is still used as a last-resort failover target.
+     * <p>
+     * Only direct connections are tracked (not proxied ones), and a host that resolves to a single IP is never
+     * ejected. This complements {@link #isFailedIpCooldownEnabled()}, which only reacts to connect failures.
+     *
+     * @return {@code true} if outlier detection is enabled
+     */
+    default boolean isOutlierDetectionEnabled() {
+        return false;
+    }
+
+    /**
+     * @return how many consecutive 5xx responses or timeouts eject an IP; only used when
+     * {@link #isOutlierDetectionEnabled()} is {@code true}
+     */
+    default int getOutlierDetectionConsecutiveErrors() {
+        return 5;
+    }
+
+    /**
+     * @return how many times slower than the median of the host's other IPs an IP's average response time must
+     * be for it to be ejected as a latency outlier, {@code 0} to only eject on errors; only used when
+     * {@link #isOutlierDetectionEnabled()} is {@code true}
+     */
+    default int getOutlierDetectionLatencyFactor() {
+        return 3;
+    }
+
+    /**
+     * @return how long an IP is ejected the first time; each further ejection doubles it (up to
+     * {@link #getOutlierDetectionMaxEjectionTime()}), and the count is forgiven again while the IP stays healthy
+     */
+    default Duration getOutlierDetectionBaseEjectionTime() {
+        return Duration.ofSeconds(30);
+    }
+
+    /**
+     * @return the upper bound of the exponentially growing ejection interval
+     */
+    default Duration getOutlierDetectionMaxEjectionTime() {
+        return Duration.ofMinutes(5);
+    }
+
+    /**
+     * @return the maximum percentage of a host's resolved IPs that may be ejected at the same time
+     */
+    default int getOutlierDetectionMaxEjectionPercent() {
+        return 50;
+    }
+
     /**
      * @return the disableUrlEncodingForBoundRequests
      */
@@ -374,6 +520,258 @@ public interface AsyncHttpClientConfig {
         return false;
     }
 
+    /**
+     * Whether a request to an HTTPS origin without a connection of its own may reuse an HTTP/2 connection opened
+     * for another hostname (RFC 9113 section 9.1.1). The connection is reused only when the request's host resolves to
+     * the IP and port the connection is open to and the certificate the server presented on it covers the host. Requests
+     * through a proxy or with a virtual host are never coalesced. When the server answers such a request with
+     * {@code 421 Misdirected Request}, the request is retried once on a connection of its own and the host is no longer
+     * coalesced onto that connection.
+     *
+     * @return {@code true} if HTTP/2 connections may be shared across hostnames
+     */
+    default boolean isHttp2ConnectionCoalescingEnabled() {
+        return false;
+    }
+
+    /**
+     * The number of HTTP/2 connections the requests to a host may be spread over (to each of its IPs with
+     * {@link LoadBalance#ROUND_ROBIN} and {@link LoadBalance#LEAST_LATENCY}). Above {@code 1}, a connection whose streams
+     * are busy past {@link #getHttp2ScaleOutThreshold()}, or whose requests have waited
+     * {@link #getHttp2ScaleOutMaxPendingTime()} for a stream slot, gets another connection opened beside it: new streams
+     * then go to the least loaded connection, the requests waiting for a slot move to the new one, and a connection
+     * opened this way is closed again once it is idle while the others are at most half as busy as the threshold. Opening
+     * one takes a connection permit like any other connection, so none is opened while {@link #getMaxConnections()} or
+     * {@link #getMaxConnectionsPerHost()} is reached.
+     *
+     * @return the maximum number of HTTP/2 connections per host, {@code 1} to always multiplex onto a single one
+     */
+    default int getHttp2MaxConnectionsPerHost() {
+        return 1;
+    }
+
+    /**
+     * The share of its concurrent stream limit, in percent, above which an HTTP/2 connection gets another one
+     * opened beside it, see {@link #getHttp2MaxConnectionsPerHost()}. Only a connection whose server (or
+     * {@link #getHttp2MaxConcurrentStreams()}) limits concurrent streams can be that busy.
+     *
+     * @return the stream utilization percentage that triggers a new connection, {@code 0} to only open one for requests
+     * that waited {@link #getHttp2ScaleOutMaxPendingTime()}
+     */
+    default int getHttp2ScaleOutThreshold() {
+        return 80;
+    }
+
+    /**
+     * How long a request may wait for a stream slot on a busy HTTP/2 connection before another connection is
+     * opened beside it, see {@link #getHttp2MaxConnectionsPerHost()}.
+     *
+     * @return the wait that triggers a new connection, {@link Duration#ZERO} to only open one past
+     * {@link #getHttp2ScaleOutThreshold()}
+     */
+    default Duration getHttp2ScaleOutMaxPendingTime() {
+        return Duration.ofMillis(100);
+    }
+
+    /**
+     * Grows the HTTP/2 receive windows to the bandwidth-delay product of each connection, as estimated by timing
+     * a PING sent with the first DATA frame of a burst against the data received until its ACK. The connection window
+     * then starts at the RFC 9113 default of 65535 bytes and the stream windows at {@link #getHttp2InitialWindowSize()},
+     * and both grow to twice the estimate, at most to {@link #getHttp2MaxWindowSize()}, whenever a sample fills most of
+     * the current window at the highest bandwidth seen so far. A low initial window then keeps idle streams cheap without
+     * throttling large downloads over long links.
+     *
+     * @return true if the HTTP/2 flow-control windows are sized from the measured bandwidth-delay product
+     */
+    default boolean isHttp2WindowAutotuningEnabled() {
+        return false;
+    }
+
+    /**
+     * The size up to which {@link #isHttp2WindowAutotuningEnabled()} grows the HTTP/2 connection and stream
+     * receive windows. A window never shrinks below {@link #getHttp2InitialWindowSize()}.
+     *
+     * @return the largest HTTP/2 receive window in bytes, defaults to 16777216 (16 MiB)
+     */
+    default int getHttp2MaxWindowSize() {
+        return 16_777_216;
+    }
+
+    /**
+     * Drives HTTP/2 streams directly on the frame codec of their connection instead of giving each stream a child
+     * channel with a pipeline of its own. The state of a stream is then a small entry in a map keyed by stream id, which
+     * saves the channel, pipeline and handler allocations of every request when many short requests share a connection.
+     * Timeouts, cancellation, streaming request bodies and response decompression behave the same in both modes.
+     *
+     * @return true if HTTP/2 streams are driven without a child channel per stream
+     */
+    default boolean isHttp2LightweightStreamsEnabled() {
+        return false;
+    }
+
+    /**
+     * Returns the HTTP/2 flow-control credit of a response body part to the server only once the application calls
+     * {@link HttpResponseBodyPart#markConsumed()} on it, instead of as soon as the part was handed to the
+     * {@link AsyncHandler}. A handler that hands parts over to a slower consumer then holds the server back at most one
+     * stream window ahead of that consumer, without stalling the other streams of the connection. The built-in handlers
+     * mark the parts they receive consumed; a custom handler must do so for every part, or its download stalls until the
+     * read timeout fires. HTTP/1.1 responses are not affected.
+     *
+     * @return true if HTTP/2 flow-control credit is only returned for consumed body parts
+     */
+    default boolean isHttp2ConsumerFlowControlEnabled() {
+        return false;
+    }
+
+    /**
+     * Holds back the flushes the streams of an HTTP/2 connection ask for until the event loop is done with its current
+     * tasks, so that the HEADERS and DATA frames of the requests issued meanwhile go out in one write, and one TLS record,
+     * instead of one each. A flush asked for while a response is being read waits for the end of the read. The frames are
+     * flushed at once when this many streams ended their request since the last flush, which bounds the delay a burst of
+     * requests adds to the first of them.
+     *
+     * @return the number of streams ending their request after which HTTP/2 frames are flushed at once, 0 not to hold
+     * back flushes
+     */
+    default int getHttp2FlushConsolidationLimit() {
+        return 0;
+    }
+
+    /**
+     * Builds the HEADERS of a request sent on an already open HTTP/2 connection straight from the {@link Request},
+     * with lower-cased names and the {@code :authority} pseudo-header, instead of building an HTTP/1.1 request first and
+     * converting its headers. This applies to requests without a proxy, with an in-memory body or none, and not handled
+     * by a {@link org.asynchttpclient.handler.TransferCompletionHandler}. The
+     * {@link io.netty.handler.codec.http.HttpRequest} such a request exposes to
+     * {@link AsyncHandler#onRequestSend(org.asynchttpclient.netty.request.NettyRequest)} only carries the request line and
+     * the body: the headers sent are in {@link org.asynchttpclient.netty.request.NettyRequest#getHttp2Headers()}.
+     *
+     * @return true if the requests sent on an open HTTP/2 connection are encoded as HTTP/2 headers directly
+     */
+    default boolean isHttp2DirectHeadersEnabled() {
+        return false;
+    }
+
+    /**
+     * The interval between the PING frames that sample the round-trip time of every HTTP/2 connection, busy or idle.
+     * Each connection keeps a smoothed RTT, its minimum and its latest sample, which
+     * {@link ClientStats#getHttp2ConnectionRttStats()} reports. Unlike {@link #getHttp2PingInterval()}, which only pings
+     * idle connections to keep them alive, the probes also run while streams are open.
+     *
+     * @return the interval between the RTT probes of an HTTP/2 connection, {@link Duration#ZERO} disables them
+     */
+    default Duration getHttp2RttProbeInterval() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * How many times slower than the median of the host's other HTTP/2 connections a connection's smoothed RTT, or the
+     * age of its unanswered probe, must be for the connection to be replaced, as on a congested path or an overloaded
+     * load balancer node. The connection must also be at least 10 ms slower, so that jitter on a fast link never counts.
+     * A connection without siblings is never replaced, its RTT also growing with its own load. A degraded connection takes no new requests, so that the next one opens a replacement; it still
+     * serves its open streams and the requests already queued on it, and closes once they are done.
+     *
+     * @return the RTT factor past which an HTTP/2 connection is replaced, {@code 0} to never replace one; only used when
+     * {@link #getHttp2RttProbeInterval()} is not {@link Duration#ZERO}
+     */
+    default int getHttp2DegradedRttFactor() {
+        return 0;
+    }
+
+    /**
+     * Whether the Alt-Svc response header (RFC 7838) is honored. The alternatives an HTTPS origin advertises over a
+     * direct connection are remembered for their {@code ma} (max-age), and a new connection to the origin is opened to
+     * the first one still valid instead of to the origin itself. The TLS handshake and the requests still name the origin.
+     * Only {@code h2} (when {@link #isHttp2Enabled()}), {@code http/1.1} and {@code h3} (when {@link #isHttp3Enabled()})
+     * alternatives are used, others are ignored. An alternative that fails to connect is forgotten and the request
+     * connects to the origin itself.
+     *
+     * @return true if Alt-Svc alternatives are used
+     */
+    default boolean isAltSvcEnabled() {
+        return false;
+    }
+
+    /**
+     * @return the number of origins whose Alt-Svc alternatives are remembered, the least recently used ones being
+     * forgotten past it; only used when {@link #isAltSvcEnabled()} is {@code true}
+     */
+    default int getAltSvcCacheMaxEntries() {
+        return 1024;
+    }
+
+    /**
+     * @return the number of threads of the pool the TLS handshake delegated tasks (certificate validation, key
+     * exchange) run on instead of the event loop, so that a burst of new TLS connections does not stall the reads of the
+     * other connections of the loop; 0 runs them on the event loop. Defaults to the number of available processors,
+     * capped at 4; the threads are only started by handshakes and time out when idle. Ignored when
+     * {@link #getSslHandshakeExecutor()} is set
+     */
+    default int getSslHandshakeThreads() {
+        return Math.min(4, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @return the executor the TLS handshake delegated tasks run on instead of the event loop, which the client does not
+     * shut down; null to use a pool of {@link #getSslHandshakeThreads()} threads
+     */
+    default @Nullable Executor getSslHandshakeExecutor() {
+        return null;
+    }
+
+    /**
+     * @return the store the TLS client sessions are saved to and resumed from, so that the first connection to an origin
+     * made by a new client, for instance after a restart, can resume a session instead of running a full handshake;
+     * null to keep the sessions in the memory of the client only. Sessions can only be exported from and imported into
+     * Conscrypt's engine: with a store, the default {@link SslEngineFactory} builds its context on Conscrypt, which must
+     * then be on the classpath, instead of the JDK or OpenSSL provider, so {@link #isUseOpenSsl()} is ignored. Conscrypt only saves sessions that can be
+     * resumed more than once, which TLS 1.3 tickets cannot: TLS 1.3 sessions stay in memory, and only TLS 1.2 ones
+     * outlive the client. Ignored with a custom {@link #getSslContext()} or {@link #getSslEngineFactory()}
+     */
+    default @Nullable TlsSessionStore getTlsSessionStore() {
+        return null;
+    }
+
+    /**
+     * Whether new connections opened over the epoll or io_uring transport use TCP Fast Open (RFC 7413) with the
+     * Linux {@code TCP_FASTOPEN_CONNECT} socket option: to a server whose Fast Open cookie the kernel holds from an
+     * earlier connection, the SYN carries the first bytes written, the request or the TLS ClientHello, saving a round
+     * trip. Otherwise, and when the server declines, the kernel falls back to a regular handshake. Ignored with the
+     * other transports, and on kernels without the option (before 4.11, or with the client bit of
+     * {@code net.ipv4.tcp_fastopen} cleared). As the connect then completes before the server answers, a server that
+     * cannot be reached fails the first write instead of the connect. For the same reason, the connections raced by
+     * {@link #isHappyEyeballsEnabled()} open with a regular handshake, and with {@link LoadBalance#LEAST_LATENCY} the
+     * other connect times are not sampled, the addresses then being ranked on their response times only.
+     *
+     * @return true if new connections use TCP Fast Open
+     */
+    default boolean isTcpFastOpenConnect() {
+        return false;
+    }
+
+    /**
+     * Whether HTTPS requests to the origins known to serve HTTP/3 are sent over QUIC: those advertising an {@code h3}
+     * Alt-Svc alternative (when {@link #isAltSvcEnabled()}) and the hosts of {@link #getHttp3Hosts()}. Requires
+     * Netty's {@code netty-codec-http3} and the {@code netty-codec-native-quic} library of the platform on the
+     * classpath, and is ignored without them. Requests through a proxy and WebSocket upgrades keep using TCP, as do
+     * all requests with a custom {@link #getSslContext()} or {@link #getSslEngineFactory()}, which QUIC cannot use. A
+     * request whose QUIC connection cannot be established falls back to HTTP/2 or HTTP/1.1 over TCP, and the origin is
+     * not tried over QUIC again for a while.
+     *
+     * @return true if HTTP/3 is used with the origins known to serve it
+     */
+    default boolean isHttp3Enabled() {
+        return false;
+    }
+
+    /**
+     * @return the hosts whose HTTPS origins serve HTTP/3 on the UDP port of their TCP one, without waiting for an
+     * Alt-Svc header to advertise it; only used when {@link #isHttp3Enabled()} is {@code true}
+     */
+    default List<String> getHttp3Hosts() {
+        return Collections.emptyList();
+    }
+
     /**
      * @return the size of the SSL session cache, 0 means using the default value
      */
@@ -436,6 +834,57 @@ public interface AsyncHttpClientConfig {
         return null;
     }
 
+    /**
+     * Whether hostnames are resolved by the client's built-in asynchronous, caching DNS resolver when no
+     * {@link #getAddressResolverGroup() AddressResolverGroup} is configured and a request keeps the default
+     * per-request {@link io.netty.resolver.NameResolver}. The built-in resolver queries the system's name servers
+     * from the client's event loops (an uncached lookup never blocks the thread calling {@code execute()}), caches
+     * answers for their TTL bounded by {@link #getDnsCacheMinTtl()} and {@link #getDnsCacheMaxTtl()}, caches failures
+     * for {@link #getDnsCacheNegativeTtl()} and refreshes hot entries shortly before they expire. Its counters are
+     * reported by {@link ClientStats#getDnsCacheStats()}.
+     * <p>
+     * When disabled, the default per-request resolver looks hostnames up with {@link java.net.InetAddress#getAllByName(String)}
+     * on the calling thread (the legacy behavior).
+     *
+     * @return {@code true} if the built-in resolver is used by default
+     */
+    default boolean isAsyncDnsResolverEnabled() {
+        return true;
+    }
+
+    /**
+     * @return the lower bound applied to the TTL of answers cached by the built-in DNS resolver; only used when
+     * {@link #isAsyncDnsResolverEnabled()} is {@code true}
+     */
+    default Duration getDnsCacheMinTtl() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * @return the upper bound applied to the TTL of answers cached by the built-in DNS resolver (also the lifetime of
+     * addresses that did not come from DNS, such as hosts file entries); only used when
+     * {@link #isAsyncDnsResolverEnabled()} is {@code true}
+     */
+    default Duration getDnsCacheMaxTtl() {
+        return Duration.ofMinutes(5);
+    }
+
+    /**
+     * @return how long the built-in DNS resolver remembers a failed lookup, {@link Duration#ZERO} disables negative
+     * caching; only used when {@link #isAsyncDnsResolverEnabled()} is {@code true}
+     */
+    default Duration getDnsCacheNegativeTtl() {
+        return Duration.ofSeconds(5);
+    }
+
+    /**
+     * @return how long the built-in DNS resolver waits for a name server to answer a single query; only used when
+     * {@link #isAsyncDnsResolverEnabled()} is {@code true}
+     */
+    default Duration getDnsQueryTimeout() {
+        return Duration.ofSeconds(5);
+    }
+
     /**
      * Whether a native transport was explicitly requested. Note that {@code false} no longer forces NIO:
      * a native transport is auto-selected whenever its library is on the classpath. Set
@@ -16,6 +16,7 @@
 package org.asynchttpclient;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -25,9 +26,29 @@ import java.util.Objects;
 public class ClientStats {
 
     private final Map<String, HostStats> statsPerHost;
+    private final DnsCacheStats dnsCacheStats;
+    private final Map<String, AddressLatencyStats> latencyStatsPerAddress;
+    private final ConnectionPoolStats connectionPoolStats;
+    private final ConnectionAcquisitionStats connectionAcquisitionStats;
+    private final List<Http2ConnectionRttStats> http2ConnectionRttStats;
+    private final long http2DegradedConnectionCount;
+    private final List<Http2ConnectionBdpStats> http2ConnectionBdpStats;
+    private final TlsHandshakeStats tlsHandshakeStats;
 
     public ClientStats(Map<String, HostStats> statsPerHost) {
-        this.statsPerHost = Collections.unmodifiableMap(statsPerHost);
+        this(new Builder(statsPerHost));
+    }
+
+    private ClientStats(Builder builder) {
+        statsPerHost = Collections.unmodifiableMap(builder.statsPerHost);
+        dnsCacheStats = builder.dnsCacheStats;
+        latencyStatsPerAddress = Collections.unmodifiableMap(builder.latencyStatsPerAddress);
+        connectionPoolStats = builder.connectionPoolStats;
+        connectionAcquisitionStats = builder.connectionAcquisitionStats;
+        http2ConnectionRttStats = Collections.unmodifiableList(builder.http2ConnectionRttStats);
+        http2DegradedConnectionCount = builder.http2DegradedConnectionCount;
+        http2ConnectionBdpStats = Collections.unmodifiableList(builder.http2ConnectionBdpStats);
+        tlsHandshakeStats = builder.tlsHandshakeStats;
     }
 
     /**
@@ -72,6 +93,67 @@ public class ClientStats {
                 .sum();
     }
 
+    /**
+     * @return the counters of the built-in caching DNS resolver, {@link DnsCacheStats#EMPTY} when it is not in use
+     */
+    public DnsCacheStats getDnsCacheStats() {
+        return dnsCacheStats;
+    }
+
+    /**
+     * @return A map from IP address to the latency score {@link LoadBalance#LEAST_LATENCY} keeps for it; empty in the
+     * other modes. The returned map is unmodifiable.
+     */
+    public Map<String, AddressLatencyStats> getLatencyStatsPerAddress() {
+        return latencyStatsPerAddress;
+    }
+
+    /**
+     * @return the connection pool hit and miss counters since the client was created
+     */
+    public ConnectionPoolStats getConnectionPoolStats() {
+        return connectionPoolStats;
+    }
+
+    /**
+     * @return the queue depth and wait times of the requests that waited for a connection, see
+     * {@link AsyncHttpClientConfig#isConnectionAcquisitionQueueEnabled()}
+     */
+    public ConnectionAcquisitionStats getConnectionAcquisitionStats() {
+        return connectionAcquisitionStats;
+    }
+
+    /**
+     * @return the round-trip times sampled on each open HTTP/2 connection, empty unless
+     * {@link AsyncHttpClientConfig#getHttp2RttProbeInterval()} is set. The returned list is unmodifiable.
+     */
+    public List<Http2ConnectionRttStats> getHttp2ConnectionRttStats() {
+        return http2ConnectionRttStats;
+    }
+
+    /**
+     * @return the number of HTTP/2 connections replaced because their round-trip time degraded since the client was
+     * created, see {@link AsyncHttpClientConfig#getHttp2DegradedRttFactor()}
+     */
+    public long getHttp2DegradedConnectionCount() {
+        return http2DegradedConnectionCount;
+    }
+
+    /**
+     * @return the bandwidth-delay product estimated on each open HTTP/2 connection, empty unless
+     * {@link AsyncHttpClientConfig#isHttp2WindowAutotuningEnabled()} is set. The returned list is unmodifiable.
+     */
+    public List<Http2ConnectionBdpStats> getHttp2ConnectionBdpStats() {
+        return http2ConnectionBdpStats;
+    }
+
+    /**
+     * @return the number of TLS handshakes completed since the client was created, and how many resumed a session
+     */
+    public TlsHandshakeStats getTlsHandshakeStats() {
+        return tlsHandshakeStats;
+    }
+
     @Override
     public String toString() {
         return "There are " + getTotalConnectionCount() +
@@ -88,11 +170,83 @@ public class ClientStats {
             return false;
         }
         final ClientStats that = (ClientStats) o;
-        return Objects.equals(statsPerHost, that.statsPerHost);
+        return Objects.equals(statsPerHost, that.statsPerHost) && Objects.equals(dnsCacheStats, that.dnsCacheStats)
+                && Objects.equals(latencyStatsPerAddress, that.latencyStatsPerAddress)
+                && Objects.equals(connectionPoolStats, that.connectionPoolStats)
+                && Objects.equals(connectionAcquisitionStats, that.connectionAcquisitionStats)
+                && Objects.equals(http2ConnectionRttStats, that.http2ConnectionRttStats)
+                && http2DegradedConnectionCount == that.http2DegradedConnectionCount
+                && Objects.equals(http2ConnectionBdpStats, that.http2ConnectionBdpStats)
+                && Objects.equals(tlsHandshakeStats, that.tlsHandshakeStats);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(statsPerHost);
+        return Objects.hash(statsPerHost, dnsCacheStats, latencyStatsPerAddress, connectionPoolStats, connectionAcquisitionStats,
+                http2ConnectionRttStats, http2DegradedConnectionCount, http2ConnectionBdpStats, tlsHandshakeStats);
+    }
+
+    /**
+     * Builds a {@link ClientStats}: each statistic not set is empty.
+     */
+    public static class Builder {
+
+        private final Map<String, HostStats> statsPerHost;
+        private DnsCacheStats dnsCacheStats = DnsCacheStats.EMPTY;
+        private Map<String, AddressLatencyStats> latencyStatsPerAddress = Collections.emptyMap();
+        private ConnectionPoolStats connectionPoolStats = ConnectionPoolStats.EMPTY;
+        private ConnectionAcquisitionStats connectionAcquisitionStats = ConnectionAcquisitionStats.EMPTY;
+        private List<Http2ConnectionRttStats> http2ConnectionRttStats = Collections.emptyList();
+        private long http2DegradedConnectionCount;
+        private List<Http2ConnectionBdpStats> http2ConnectionBdpStats = Collections.emptyList();
+        private TlsHandshakeStats tlsHandshakeStats = TlsHandshakeStats.EMPTY;
+
+        public Builder(Map<String, HostStats> statsPerHost) {
+            this.statsPerHost = statsPerHost;
+        }
+
+        public Builder setDnsCacheStats(DnsCacheStats dnsCacheStats) {
+            this.dnsCacheStats = dnsCacheStats;
+            return this;
+        }
+
+        public Builder setLatencyStatsPerAddress(Map<String, AddressLatencyStats> latencyStatsPerAddress) {
+            this.latencyStatsPerAddress = latencyStatsPerAddress;
+            return this;
+        }
+
+        public Builder setConnectionPoolStats(ConnectionPoolStats connectionPoolStats) {
+            this.connectionPoolStats = connectionPoolStats;
+            return this;
+        }
+
+        public Builder setConnectionAcquisitionStats(ConnectionAcquisitionStats connectionAcquisitionStats) {
+            this.connectionAcquisitionStats = connectionAcquisitionStats;
+            return this;
+        }
+
+        public Builder setHttp2ConnectionRttStats(List<Http2ConnectionRttStats> http2ConnectionRttStats) {
+            this.http2ConnectionRttStats = http2ConnectionRttStats;
+            return this;
+        }
+
+        public Builder setHttp2DegradedConnectionCount(long http2DegradedConnectionCount) {
+            this.http2DegradedConnectionCount = http2DegradedConnectionCount;
+            return this;
+        }
+
+        public Builder setHttp2ConnectionBdpStats(List<Http2ConnectionBdpStats> http2ConnectionBdpStats) {
+            this.http2ConnectionBdpStats = http2ConnectionBdpStats;
+            return this;
+        }
+
+        public Builder setTlsHandshakeStats(TlsHandshakeStats tlsHandshakeStats) {
+            this.tlsHandshakeStats = tlsHandshakeStats;
+            return this;
+        }
+
+        public ClientStats build() {
+            return new ClientStats(this);
+        }
     }
 }
@@ -0,0 +1,123 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A record class representing the requests that waited for a connection in the queue enabled by
+ * {@link AsyncHttpClientConfig#isConnectionAcquisitionQueueEnabled()}.
+ */
+public class ConnectionAcquisitionStats {
+
+    /**
+     * Stats reported by a client that never queued a request.
+     */
+    public static final ConnectionAcquisitionStats EMPTY = new ConnectionAcquisitionStats(0, 0, 0, 0, Duration.ZERO, Duration.ZERO);
+
+    private final long pendingCount;
+    private final long acquiredCount;
+    private final long handedOffCount;
+    private final long timedOutCount;
+    private final Duration totalWaitTime;
+    private final Duration maxWaitTime;
+
+    public ConnectionAcquisitionStats(long pendingCount, long acquiredCount, long handedOffCount, long timedOutCount,
+                                      Duration totalWaitTime, Duration maxWaitTime) {
+        this.pendingCount = pendingCount;
+        this.acquiredCount = acquiredCount;
+        this.handedOffCount = handedOffCount;
+        this.timedOutCount = timedOutCount;
+        this.totalWaitTime = totalWaitTime;
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    /**
+     * @return the number of requests currently waiting for a connection
+     */
+    public long getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * @return the number of queued requests that got a connection, either handed off or opened with a released permit
+     */
+    public long getAcquiredCount() {
+        return acquiredCount;
+    }
+
+    /**
+     * @return the number of queued requests that were handed a connection released by another request
+     */
+    public long getHandedOffCount() {
+        return handedOffCount;
+    }
+
+    /**
+     * @return the number of queued requests that failed because no connection became available in time
+     */
+    public long getTimedOutCount() {
+        return timedOutCount;
+    }
+
+    /**
+     * @return the time spent in the queue by the requests that left it, whether they got a connection or timed out
+     */
+    public Duration getTotalWaitTime() {
+        return totalWaitTime;
+    }
+
+    /**
+     * @return the longest time a request spent in the queue
+     */
+    public Duration getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    /**
+     * @return the average time spent in the queue by the requests that left it, {@link Duration#ZERO} when none did
+     */
+    public Duration getAverageWaitTime() {
+        long completed = acquiredCount + timedOutCount;
+        return completed == 0 ? Duration.ZERO : totalWaitTime.dividedBy(completed);
+    }
+
+    @Override
+    public String toString() {
+        return "There are " + pendingCount + " requests waiting for a connection; " + acquiredCount + " got one (" +
+                handedOffCount + " handed off) and " + timedOutCount + " timed out, waiting " + getAverageWaitTime().toMillis() +
+                " ms on average and " + maxWaitTime.toMillis() + " ms at most.";
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ConnectionAcquisitionStats that = (ConnectionAcquisitionStats) o;
+        return pendingCount == that.pendingCount && acquiredCount == that.acquiredCount && handedOffCount == that.handedOffCount
+                && timedOutCount == that.timedOutCount && totalWaitTime.equals(that.totalWaitTime) && maxWaitTime.equals(that.maxWaitTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pendingCount, acquiredCount, handedOffCount, timedOutCount, totalWaitTime, maxWaitTime);
+    }
+}
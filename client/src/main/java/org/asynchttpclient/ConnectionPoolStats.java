@@ -0,0 +1,93 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import java.util.Objects;
+
+/**
+ * A record class representing how often requests found a connection to reuse in the connection pool, and how many
+ * connections pool maintenance (see {@link AsyncHttpClientConfig#getConnectionPoolMinIdle()}) opened ahead of them.
+ */
+public class ConnectionPoolStats {
+
+    /**
+     * Stats reported by a client that did not look a connection up in its pool yet.
+     */
+    public static final ConnectionPoolStats EMPTY = new ConnectionPoolStats(0, 0, 0);
+
+    private final long hitCount;
+    private final long missCount;
+    private final long prewarmedConnectionCount;
+
+    public ConnectionPoolStats(long hitCount, long missCount, long prewarmedConnectionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.prewarmedConnectionCount = prewarmedConnectionCount;
+    }
+
+    /**
+     * @return the number of requests that reused an idle pooled connection or a multiplexed HTTP/2 connection
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of requests that found no connection to reuse and had to open one
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of connections opened in the background by pool maintenance
+     */
+    public long getPrewarmedConnectionCount() {
+        return prewarmedConnectionCount;
+    }
+
+    /**
+     * @return the share of requests that reused a connection, between 0 and 1 (0 when no request was sent yet)
+     */
+    public double getHitRatio() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "There were " + hitCount + " connection pool hits and " + missCount + " misses; " +
+                prewarmedConnectionCount + " connections were opened ahead of demand.";
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ConnectionPoolStats that = (ConnectionPoolStats) o;
+        return hitCount == that.hitCount && missCount == that.missCount
+                && prewarmedConnectionCount == that.prewarmedConnectionCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hitCount, missCount, prewarmedConnectionCount);
+    }
+}
@@ -30,11 +30,13 @@ import org.asynchttpclient.filter.RequestFilter;
 import org.asynchttpclient.handler.resumable.ResumableAsyncHandler;
 import org.asynchttpclient.netty.channel.ChannelManager;
 import org.asynchttpclient.netty.request.NettyRequestSender;
+import org.asynchttpclient.uri.Uri;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -284,6 +286,14 @@ public class DefaultAsyncHttpClient implements AsyncHttpClient {
         }
     }
 
+    @Override
+    public CompletableFuture<Integer> warmUp(String url, int connections) {
+        if (connections <= 0) {
+            throw new IllegalArgumentException("connections must be positive: " + connections);
+        }
+        return requestSender.warmUp(Uri.create(url), connections);
+    }
+
     /**
      * Configure and execute the associated {@link RequestFilter}. This class
      * may decorate the {@link Request} and {@link AsyncHandler}
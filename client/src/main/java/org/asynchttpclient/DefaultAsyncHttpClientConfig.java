@@ -44,6 +44,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 
@@ -53,6 +54,11 @@ import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultCh
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultCompressionEnforced;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultConnectTimeout;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultConnectionPoolCleanerPeriod;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultConnectionPoolEventLoopAffinity;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultConnectionPoolMinIdle;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultConnectionPoolPredictiveWarmUpEnabled;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultConnectionPoolMaintenancePeriod;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultConnectionAcquisitionQueueEnabled;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultConnectionTtl;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultDisableHttpsEndpointIdentificationAlgorithm;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultDisableUrlEncodingForBoundRequests;
@@ -64,6 +70,14 @@ import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultEn
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultExpiredCookieEvictionDelay;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultFailedIpCooldownEnabled;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultFailedIpCooldownPeriod;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHappyEyeballsEnabled;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHappyEyeballsConnectionAttemptDelay;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultOutlierDetectionEnabled;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultOutlierDetectionConsecutiveErrors;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultOutlierDetectionLatencyFactor;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultOutlierDetectionBaseEjectionTime;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultOutlierDetectionMaxEjectionTime;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultOutlierDetectionMaxEjectionPercent;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultFilterInsecureCipherSuites;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultFollowRedirect;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHandshakeTimeout;
@@ -107,6 +121,29 @@ import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultUs
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultValidateResponseHeaders;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultWebSocketMaxBufferSize;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2CleartextEnabled;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2ConnectionCoalescingEnabled;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2MaxConnectionsPerHost;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2ScaleOutThreshold;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2ScaleOutMaxPendingTime;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2WindowAutotuningEnabled;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2MaxWindowSize;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2LightweightStreamsEnabled;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2ConsumerFlowControlEnabled;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2FlushConsolidationLimit;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2DirectHeadersEnabled;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2RttProbeInterval;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2DegradedRttFactor;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultAltSvcEnabled;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultAltSvcCacheMaxEntries;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultSslHandshakeThreads;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultTcpFastOpenConnect;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp3Enabled;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp3Hosts;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultAsyncDnsResolverEnabled;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultDnsCacheMinTtl;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultDnsCacheMaxTtl;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultDnsCacheNegativeTtl;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultDnsQueryTimeout;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2HeaderTableSize;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2InitialWindowSize;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2MaxConcurrentStreams;
@@ -137,6 +174,14 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
     private final LoadBalance loadBalance;
     private final boolean failedIpCooldownEnabled;
     private final Duration failedIpCooldownPeriod;
+    private final boolean happyEyeballsEnabled;
+    private final Duration happyEyeballsConnectionAttemptDelay;
+    private final boolean outlierDetectionEnabled;
+    private final int outlierDetectionConsecutiveErrors;
+    private final int outlierDetectionLatencyFactor;
+    private final Duration outlierDetectionBaseEjectionTime;
+    private final Duration outlierDetectionMaxEjectionTime;
+    private final int outlierDetectionMaxEjectionPercent;
     private final boolean disableUrlEncodingForBoundRequests;
     private final boolean useLaxCookieEncoder;
     private final boolean disableZeroCopy;
@@ -162,6 +207,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
     private final boolean keepAlive;
     private final Duration pooledConnectionIdleTimeout;
     private final Duration connectionPoolCleanerPeriod;
+    private final boolean connectionPoolEventLoopAffinity;
+    private final int connectionPoolMinIdle;
+    private final boolean connectionPoolPredictiveWarmUpEnabled;
+    private final Duration connectionPoolMaintenancePeriod;
+    private final boolean connectionAcquisitionQueueEnabled;
     private final Duration connectionTtl;
     private final int maxConnections;
     private final int maxConnectionsPerHost;
@@ -191,6 +241,26 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
     private final long http2MaxDecompressedResponseSize;
     private final Duration http2PingInterval;
     private final boolean http2CleartextEnabled;
+    private final boolean http2ConnectionCoalescingEnabled;
+    private final int http2MaxConnectionsPerHost;
+    private final int http2ScaleOutThreshold;
+    private final Duration http2ScaleOutMaxPendingTime;
+    private final boolean http2WindowAutotuningEnabled;
+    private final int http2MaxWindowSize;
+    private final boolean http2LightweightStreamsEnabled;
+    private final boolean http2ConsumerFlowControlEnabled;
+    private final int http2FlushConsolidationLimit;
+    private final boolean http2DirectHeadersEnabled;
+    private final Duration http2RttProbeInterval;
+    private final int http2DegradedRttFactor;
+    private final boolean altSvcEnabled;
+    private final int altSvcCacheMaxEntries;
+    private final int sslHandshakeThreads;
+    private final @Nullable Executor sslHandshakeExecutor;
+    private final @Nullable TlsSessionStore tlsSessionStore;
+    private final boolean tcpFastOpenConnect;
+    private final boolean http3Enabled;
+    private final List<String> http3Hosts;
 
     // filters
     private final List<RequestFilter> requestFilters;
@@ -211,6 +281,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
     private final Map<ChannelOption<Object>, Object> channelOptions;
     private final @Nullable EventLoopGroup eventLoopGroup;
     private final @Nullable AddressResolverGroup<InetSocketAddress> addressResolverGroup;
+    private final boolean asyncDnsResolverEnabled;
+    private final Duration dnsCacheMinTtl;
+    private final Duration dnsCacheMaxTtl;
+    private final Duration dnsCacheNegativeTtl;
+    private final Duration dnsQueryTimeout;
     private final boolean useNativeTransport;
     private final boolean useOnlyEpollNativeTransport;
     private final @Nullable ByteBufAllocator allocator;
@@ -241,6 +316,14 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                                          LoadBalance loadBalance,
                                          boolean failedIpCooldownEnabled,
                                          Duration failedIpCooldownPeriod,
+                                         boolean happyEyeballsEnabled,
+                                         Duration happyEyeballsConnectionAttemptDelay,
+                                         boolean outlierDetectionEnabled,
+                                         int outlierDetectionConsecutiveErrors,
+                                         int outlierDetectionLatencyFactor,
+                                         Duration outlierDetectionBaseEjectionTime,
+                                         Duration outlierDetectionMaxEjectionTime,
+                                         int outlierDetectionMaxEjectionPercent,
                                          boolean disableUrlEncodingForBoundRequests,
                                          boolean useLaxCookieEncoder,
                                          boolean disableZeroCopy,
@@ -262,6 +345,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                                          boolean keepAlive,
                                          Duration pooledConnectionIdleTimeout,
                                          Duration connectionPoolCleanerPeriod,
+                                         boolean connectionPoolEventLoopAffinity,
+                                         int connectionPoolMinIdle,
+                                         boolean connectionPoolPredictiveWarmUpEnabled,
+                                         Duration connectionPoolMaintenancePeriod,
+                                         boolean connectionAcquisitionQueueEnabled,
                                          Duration connectionTtl,
                                          int maxConnections,
                                          int maxConnectionsPerHost,
@@ -291,6 +379,26 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                                          long http2MaxDecompressedResponseSize,
                                          Duration http2PingInterval,
                                          boolean http2CleartextEnabled,
+                                         boolean http2ConnectionCoalescingEnabled,
+                                         int http2MaxConnectionsPerHost,
+                                         int http2ScaleOutThreshold,
+                                         Duration http2ScaleOutMaxPendingTime,
+                                         boolean http2WindowAutotuningEnabled,
+                                         int http2MaxWindowSize,
+                                         boolean http2LightweightStreamsEnabled,
+                                         boolean http2ConsumerFlowControlEnabled,
+                                         int http2FlushConsolidationLimit,
+                                         boolean http2DirectHeadersEnabled,
+                                         Duration http2RttProbeInterval,
+                                         int http2DegradedRttFactor,
+                                         boolean altSvcEnabled,
+                                         int altSvcCacheMaxEntries,
+                                         int sslHandshakeThreads,
+                                         @Nullable Executor sslHandshakeExecutor,
+                                         @Nullable TlsSessionStore tlsSessionStore,
+                                         boolean tcpFastOpenConnect,
+                                         boolean http3Enabled,
+                                         List<String> http3Hosts,
 
                                          // filters
                                          List<RequestFilter> requestFilters,
@@ -321,6 +429,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                                          Map<ChannelOption<Object>, Object> channelOptions,
                                          @Nullable EventLoopGroup eventLoopGroup,
                                          @Nullable AddressResolverGroup<InetSocketAddress> addressResolverGroup,
+                                         boolean asyncDnsResolverEnabled,
+                                         Duration dnsCacheMinTtl,
+                                         Duration dnsCacheMaxTtl,
+                                         Duration dnsCacheNegativeTtl,
+                                         Duration dnsQueryTimeout,
                                          boolean useNativeTransport,
                                          boolean useOnlyEpollNativeTransport,
                                          @Nullable ByteBufAllocator allocator,
@@ -345,6 +458,14 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         this.loadBalance = loadBalance;
         this.failedIpCooldownEnabled = failedIpCooldownEnabled;
         this.failedIpCooldownPeriod = failedIpCooldownPeriod;
+        this.happyEyeballsEnabled = happyEyeballsEnabled;
+        this.happyEyeballsConnectionAttemptDelay = happyEyeballsConnectionAttemptDelay;
+        this.outlierDetectionEnabled = outlierDetectionEnabled;
+        this.outlierDetectionConsecutiveErrors = outlierDetectionConsecutiveErrors;
+        this.outlierDetectionLatencyFactor = outlierDetectionLatencyFactor;
+        this.outlierDetectionBaseEjectionTime = outlierDetectionBaseEjectionTime;
+        this.outlierDetectionMaxEjectionTime = outlierDetectionMaxEjectionTime;
+        this.outlierDetectionMaxEjectionPercent = outlierDetectionMaxEjectionPercent;
         this.disableUrlEncodingForBoundRequests = disableUrlEncodingForBoundRequests;
         this.useLaxCookieEncoder = useLaxCookieEncoder;
         this.disableZeroCopy = disableZeroCopy;
@@ -370,6 +491,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         this.keepAlive = keepAlive;
         this.pooledConnectionIdleTimeout = pooledConnectionIdleTimeout;
         this.connectionPoolCleanerPeriod = connectionPoolCleanerPeriod;
+        this.connectionPoolEventLoopAffinity = connectionPoolEventLoopAffinity;
+        this.connectionPoolMinIdle = connectionPoolMinIdle;
+        this.connectionPoolPredictiveWarmUpEnabled = connectionPoolPredictiveWarmUpEnabled;
+        this.connectionPoolMaintenancePeriod = connectionPoolMaintenancePeriod;
+        this.connectionAcquisitionQueueEnabled = connectionAcquisitionQueueEnabled;
         this.connectionTtl = connectionTtl;
         this.maxConnections = maxConnections;
         this.maxConnectionsPerHost = maxConnectionsPerHost;
@@ -399,6 +525,26 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         this.http2MaxDecompressedResponseSize = http2MaxDecompressedResponseSize;
         this.http2PingInterval = http2PingInterval;
         this.http2CleartextEnabled = http2CleartextEnabled;
+        this.http2ConnectionCoalescingEnabled = http2ConnectionCoalescingEnabled;
+        this.http2MaxConnectionsPerHost = http2MaxConnectionsPerHost;
+        this.http2ScaleOutThreshold = http2ScaleOutThreshold;
+        this.http2ScaleOutMaxPendingTime = http2ScaleOutMaxPendingTime;
+        this.http2WindowAutotuningEnabled = http2WindowAutotuningEnabled;
+        this.http2MaxWindowSize = http2MaxWindowSize;
+        this.http2LightweightStreamsEnabled = http2LightweightStreamsEnabled;
+        this.http2ConsumerFlowControlEnabled = http2ConsumerFlowControlEnabled;
+        this.http2FlushConsolidationLimit = http2FlushConsolidationLimit;
+        this.http2DirectHeadersEnabled = http2DirectHeadersEnabled;
+        this.http2RttProbeInterval = http2RttProbeInterval;
+        this.http2DegradedRttFactor = http2DegradedRttFactor;
+        this.altSvcEnabled = altSvcEnabled;
+        this.altSvcCacheMaxEntries = altSvcCacheMaxEntries;
+        this.sslHandshakeThreads = sslHandshakeThreads;
+        this.sslHandshakeExecutor = sslHandshakeExecutor;
+        this.tlsSessionStore = tlsSessionStore;
+        this.tcpFastOpenConnect = tcpFastOpenConnect;
+        this.http3Enabled = http3Enabled;
+        this.http3Hosts = http3Hosts;
 
         // filters
         this.requestFilters = requestFilters;
@@ -427,6 +573,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         this.channelOptions = channelOptions;
         this.eventLoopGroup = eventLoopGroup;
         this.addressResolverGroup = addressResolverGroup;
+        this.asyncDnsResolverEnabled = asyncDnsResolverEnabled;
+        this.dnsCacheMinTtl = dnsCacheMinTtl;
+        this.dnsCacheMaxTtl = dnsCacheMaxTtl;
+        this.dnsCacheNegativeTtl = dnsCacheNegativeTtl;
+        this.dnsQueryTimeout = dnsQueryTimeout;
         this.useNativeTransport = useNativeTransport;
         this.useOnlyEpollNativeTransport = useOnlyEpollNativeTransport;
 
@@ -442,6 +593,14 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             throw new IllegalArgumentException("HTTP/2 initial window size must be non-negative");
         }
 
+        if (http2MaxWindowSize < 0) {
+            throw new IllegalArgumentException("HTTP/2 max window size must be non-negative");
+        }
+
+        if (dnsCacheMaxTtl.compareTo(dnsCacheMinTtl) < 0) {
+            throw new IllegalArgumentException("DNS cache max TTL (" + dnsCacheMaxTtl + ") must not be lower than its min TTL (" + dnsCacheMinTtl + ")");
+        }
+
         this.allocator = allocator;
         this.nettyTimer = nettyTimer;
         this.threadFactory = threadFactory;
@@ -514,6 +673,46 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         return failedIpCooldownPeriod;
     }
 
+    @Override
+    public boolean isHappyEyeballsEnabled() {
+        return happyEyeballsEnabled;
+    }
+
+    @Override
+    public Duration getHappyEyeballsConnectionAttemptDelay() {
+        return happyEyeballsConnectionAttemptDelay;
+    }
+
+    @Override
+    public boolean isOutlierDetectionEnabled() {
+        return outlierDetectionEnabled;
+    }
+
+    @Override
+    public int getOutlierDetectionConsecutiveErrors() {
+        return outlierDetectionConsecutiveErrors;
+    }
+
+    @Override
+    public int getOutlierDetectionLatencyFactor() {
+        return outlierDetectionLatencyFactor;
+    }
+
+    @Override
+    public Duration getOutlierDetectionBaseEjectionTime() {
+        return outlierDetectionBaseEjectionTime;
+    }
+
+    @Override
+    public Duration getOutlierDetectionMaxEjectionTime() {
+        return outlierDetectionMaxEjectionTime;
+    }
+
+    @Override
+    public int getOutlierDetectionMaxEjectionPercent() {
+        return outlierDetectionMaxEjectionPercent;
+    }
+
     @Override
     public boolean isDisableUrlEncodingForBoundRequests() {
         return disableUrlEncodingForBoundRequests;
@@ -602,6 +801,31 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         return connectionPoolCleanerPeriod;
     }
 
+    @Override
+    public boolean isConnectionPoolEventLoopAffinity() {
+        return connectionPoolEventLoopAffinity;
+    }
+
+    @Override
+    public int getConnectionPoolMinIdle() {
+        return connectionPoolMinIdle;
+    }
+
+    @Override
+    public boolean isConnectionPoolPredictiveWarmUpEnabled() {
+        return connectionPoolPredictiveWarmUpEnabled;
+    }
+
+    @Override
+    public Duration getConnectionPoolMaintenancePeriod() {
+        return connectionPoolMaintenancePeriod;
+    }
+
+    @Override
+    public boolean isConnectionAcquisitionQueueEnabled() {
+        return connectionAcquisitionQueueEnabled;
+    }
+
     @Override
     public Duration getConnectionTtl() {
         return connectionTtl;
@@ -728,6 +952,106 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         return http2CleartextEnabled;
     }
 
+    @Override
+    public boolean isHttp2ConnectionCoalescingEnabled() {
+        return http2ConnectionCoalescingEnabled;
+    }
+
+    @Override
+    public int getHttp2MaxConnectionsPerHost() {
+        return http2MaxConnectionsPerHost;
+    }
+
+    @Override
+    public int getHttp2ScaleOutThreshold() {
+        return http2ScaleOutThreshold;
+    }
+
+    @Override
+    public Duration getHttp2ScaleOutMaxPendingTime() {
+        return http2ScaleOutMaxPendingTime;
+    }
+
+    @Override
+    public boolean isHttp2WindowAutotuningEnabled() {
+        return http2WindowAutotuningEnabled;
+    }
+
+    @Override
+    public int getHttp2MaxWindowSize() {
+        return http2MaxWindowSize;
+    }
+
+    @Override
+    public boolean isHttp2LightweightStreamsEnabled() {
+        return http2LightweightStreamsEnabled;
+    }
+
+    @Override
+    public boolean isHttp2ConsumerFlowControlEnabled() {
+        return http2ConsumerFlowControlEnabled;
+    }
+
+    @Override
+    public int getHttp2FlushConsolidationLimit() {
+        return http2FlushConsolidationLimit;
+    }
+
+    @Override
+    public boolean isHttp2DirectHeadersEnabled() {
+        return http2DirectHeadersEnabled;
+    }
+
+    @Override
+    public Duration getHttp2RttProbeInterval() {
+        return http2RttProbeInterval;
+    }
+
+    @Override
+    public int getHttp2DegradedRttFactor() {
+        return http2DegradedRttFactor;
+    }
+
+    @Override
+    public boolean isAltSvcEnabled() {
+        return altSvcEnabled;
+    }
+
+    @Override
+    public int getAltSvcCacheMaxEntries() {
+        return altSvcCacheMaxEntries;
+    }
+
+    @Override
+    public int getSslHandshakeThreads() {
+        return sslHandshakeThreads;
+    }
+
+    @Override
+    public @Nullable Executor getSslHandshakeExecutor() {
+        return sslHandshakeExecutor;
+    }
+
+    @Override
+    public @Nullable TlsSessionStore getTlsSessionStore() {
+        return tlsSessionStore;
+    }
+
+    @Override
+    public boolean isTcpFastOpenConnect() {
+        return tcpFastOpenConnect;
+    }
+
+    @Override
+    public boolean isHttp3Enabled() {
+        return http3Enabled;
+    }
+
+    @Override
+    public List<String> getHttp3Hosts() {
+        return http3Hosts;
+    }
+
     @Override
     public int getSslSessionCacheSize() {
         return sslSessionCacheSize;
@@ -852,6 +1176,31 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         return addressResolverGroup;
     }
 
+    @Override
+    public boolean isAsyncDnsResolverEnabled() {
+        return asyncDnsResolverEnabled;
+    }
+
+    @Override
+    public Duration getDnsCacheMinTtl() {
+        return dnsCacheMinTtl;
+    }
+
+    @Override
+    public Duration getDnsCacheMaxTtl() {
+        return dnsCacheMaxTtl;
+    }
+
+    @Override
+    public Duration getDnsCacheNegativeTtl() {
+        return dnsCacheNegativeTtl;
+    }
+
+    @Override
+    public Duration getDnsQueryTimeout() {
+        return dnsQueryTimeout;
+    }
+
     @Override
     public boolean isUseNativeTransport() {
         return useNativeTransport;
@@ -928,6 +1277,14 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         private LoadBalance loadBalance = defaultLoadBalance();
         private boolean failedIpCooldownEnabled = defaultFailedIpCooldownEnabled();
         private Duration failedIpCooldownPeriod = defaultFailedIpCooldownPeriod();
+        private boolean happyEyeballsEnabled = defaultHappyEyeballsEnabled();
+        private Duration happyEyeballsConnectionAttemptDelay = defaultHappyEyeballsConnectionAttemptDelay();
+        private boolean outlierDetectionEnabled = defaultOutlierDetectionEnabled();
+        private int outlierDetectionConsecutiveErrors = defaultOutlierDetectionConsecutiveErrors();
+        private int outlierDetectionLatencyFactor = defaultOutlierDetectionLatencyFactor();
+        private Duration outlierDetectionBaseEjectionTime = defaultOutlierDetectionBaseEjectionTime();
+        private Duration outlierDetectionMaxEjectionTime = defaultOutlierDetectionMaxEjectionTime();
+        private int outlierDetectionMaxEjectionPercent = defaultOutlierDetectionMaxEjectionPercent();
         private boolean disableUrlEncodingForBoundRequests = defaultDisableUrlEncodingForBoundRequests();
         private boolean useLaxCookieEncoder = defaultUseLaxCookieEncoder();
         private boolean disableZeroCopy = defaultDisableZeroCopy();
@@ -955,6 +1312,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         private boolean keepAlive = defaultKeepAlive();
         private Duration pooledConnectionIdleTimeout = defaultPooledConnectionIdleTimeout();
         private Duration connectionPoolCleanerPeriod = defaultConnectionPoolCleanerPeriod();
+        private boolean connectionPoolEventLoopAffinity = defaultConnectionPoolEventLoopAffinity();
+        private int connectionPoolMinIdle = defaultConnectionPoolMinIdle();
+        private boolean connectionPoolPredictiveWarmUpEnabled = defaultConnectionPoolPredictiveWarmUpEnabled();
+        private Duration connectionPoolMaintenancePeriod = defaultConnectionPoolMaintenancePeriod();
+        private boolean connectionAcquisitionQueueEnabled = defaultConnectionAcquisitionQueueEnabled();
         private Duration connectionTtl = defaultConnectionTtl();
         private int maxConnections = defaultMaxConnections();
         private int maxConnectionsPerHost = defaultMaxConnectionsPerHost();
@@ -984,6 +1346,26 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         private long http2MaxDecompressedResponseSize = defaultHttp2MaxDecompressedResponseSize();
         private Duration http2PingInterval = defaultHttp2PingInterval();
         private boolean http2CleartextEnabled = defaultHttp2CleartextEnabled();
+        private boolean http2ConnectionCoalescingEnabled = defaultHttp2ConnectionCoalescingEnabled();
+        private int http2MaxConnectionsPerHost = defaultHttp2MaxConnectionsPerHost();
+        private int http2ScaleOutThreshold = defaultHttp2ScaleOutThreshold();
+        private Duration http2ScaleOutMaxPendingTime = defaultHttp2ScaleOutMaxPendingTime();
+        private boolean http2WindowAutotuningEnabled = defaultHttp2WindowAutotuningEnabled();
+        private int http2MaxWindowSize = defaultHttp2MaxWindowSize();
+        private boolean http2LightweightStreamsEnabled = defaultHttp2LightweightStreamsEnabled();
+        private boolean http2ConsumerFlowControlEnabled = defaultHttp2ConsumerFlowControlEnabled();
+        private int http2FlushConsolidationLimit = defaultHttp2FlushConsolidationLimit();
+        private boolean http2DirectHeadersEnabled = defaultHttp2DirectHeadersEnabled();
+        private Duration http2RttProbeInterval = defaultHttp2RttProbeInterval();
+        private int http2DegradedRttFactor = defaultHttp2DegradedRttFactor();
+        private boolean altSvcEnabled = defaultAltSvcEnabled();
+        private int altSvcCacheMaxEntries = defaultAltSvcCacheMaxEntries();
+        private int sslHandshakeThreads = defaultSslHandshakeThreads();
+        private @Nullable Executor sslHandshakeExecutor;
+        private @Nullable TlsSessionStore tlsSessionStore;
+        private boolean tcpFastOpenConnect = defaultTcpFastOpenConnect();
+        private boolean http3Enabled = defaultHttp3Enabled();
+        private final List<String> http3Hosts = new LinkedList<>(defaultHttp3Hosts());
 
         // cookie store
         private CookieStore cookieStore = new ThreadSafeCookieStore();
@@ -1010,6 +1392,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         private final Map<ChannelOption<Object>, Object> channelOptions = new HashMap<>();
         private @Nullable EventLoopGroup eventLoopGroup;
         private @Nullable AddressResolverGroup<InetSocketAddress> addressResolverGroup;
+        private boolean asyncDnsResolverEnabled = defaultAsyncDnsResolverEnabled();
+        private Duration dnsCacheMinTtl = defaultDnsCacheMinTtl();
+        private Duration dnsCacheMaxTtl = defaultDnsCacheMaxTtl();
+        private Duration dnsCacheNegativeTtl = defaultDnsCacheNegativeTtl();
+        private Duration dnsQueryTimeout = defaultDnsQueryTimeout();
         private @Nullable Timer nettyTimer;
         private @Nullable ThreadFactory threadFactory;
         private @Nullable Consumer<Channel> httpAdditionalChannelInitializer;
@@ -1035,6 +1422,14 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             loadBalance = config.getLoadBalance();
             failedIpCooldownEnabled = config.isFailedIpCooldownEnabled();
             failedIpCooldownPeriod = config.getFailedIpCooldownPeriod();
+            happyEyeballsEnabled = config.isHappyEyeballsEnabled();
+            happyEyeballsConnectionAttemptDelay = config.getHappyEyeballsConnectionAttemptDelay();
+            outlierDetectionEnabled = config.isOutlierDetectionEnabled();
+            outlierDetectionConsecutiveErrors = config.getOutlierDetectionConsecutiveErrors();
+            outlierDetectionLatencyFactor = config.getOutlierDetectionLatencyFactor();
+            outlierDetectionBaseEjectionTime = config.getOutlierDetectionBaseEjectionTime();
+            outlierDetectionMaxEjectionTime = config.getOutlierDetectionMaxEjectionTime();
+            outlierDetectionMaxEjectionPercent = config.getOutlierDetectionMaxEjectionPercent();
             disableUrlEncodingForBoundRequests = config.isDisableUrlEncodingForBoundRequests();
             useLaxCookieEncoder = config.isUseLaxCookieEncoder();
             disableZeroCopy = config.isDisableZeroCopy();
@@ -1060,6 +1455,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             keepAlive = config.isKeepAlive();
             pooledConnectionIdleTimeout = config.getPooledConnectionIdleTimeout();
             connectionPoolCleanerPeriod = config.getConnectionPoolCleanerPeriod();
+            connectionPoolEventLoopAffinity = config.isConnectionPoolEventLoopAffinity();
+            connectionPoolMinIdle = config.getConnectionPoolMinIdle();
+            connectionPoolPredictiveWarmUpEnabled = config.isConnectionPoolPredictiveWarmUpEnabled();
+            connectionPoolMaintenancePeriod = config.getConnectionPoolMaintenancePeriod();
+            connectionAcquisitionQueueEnabled = config.isConnectionAcquisitionQueueEnabled();
             connectionTtl = config.getConnectionTtl();
             maxConnections = config.getMaxConnections();
             maxConnectionsPerHost = config.getMaxConnectionsPerHost();
@@ -1089,6 +1489,27 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             http2MaxDecompressedResponseSize = config.getHttp2MaxDecompressedResponseSize();
             http2PingInterval = config.getHttp2PingInterval();
             http2CleartextEnabled = config.isHttp2CleartextEnabled();
+            http2ConnectionCoalescingEnabled = config.isHttp2ConnectionCoalescingEnabled();
+            http2MaxConnectionsPerHost = config.getHttp2MaxConnectionsPerHost();
+            http2ScaleOutThreshold = config.getHttp2ScaleOutThreshold();
+            http2ScaleOutMaxPendingTime = config.getHttp2ScaleOutMaxPendingTime();
+            http2WindowAutotuningEnabled = config.isHttp2WindowAutotuningEnabled();
+            http2MaxWindowSize = config.getHttp2MaxWindowSize();
+            http2LightweightStreamsEnabled = config.isHttp2LightweightStreamsEnabled();
+            http2ConsumerFlowControlEnabled = config.isHttp2ConsumerFlowControlEnabled();
+            http2FlushConsolidationLimit = config.getHttp2FlushConsolidationLimit();
+            http2DirectHeadersEnabled = config.isHttp2DirectHeadersEnabled();
+            http2RttProbeInterval = config.getHttp2RttProbeInterval();
+            http2DegradedRttFactor = config.getHttp2DegradedRttFactor();
+            altSvcEnabled = config.isAltSvcEnabled();
+            altSvcCacheMaxEntries = config.getAltSvcCacheMaxEntries();
+            sslHandshakeThreads = config.getSslHandshakeThreads();
+            sslHandshakeExecutor = config.getSslHandshakeExecutor();
+            tlsSessionStore = config.getTlsSessionStore();
+            tcpFastOpenConnect = config.isTcpFastOpenConnect();
+            http3Enabled = config.isHttp3Enabled();
+            http3Hosts.clear();
+            http3Hosts.addAll(config.getHttp3Hosts());
 
             // filters
             requestFilters.addAll(config.getRequestFilters());
@@ -1117,6 +1538,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             channelOptions.putAll(config.getChannelOptions());
             eventLoopGroup = config.getEventLoopGroup();
             addressResolverGroup = config.getAddressResolverGroup();
+            asyncDnsResolverEnabled = config.isAsyncDnsResolverEnabled();
+            dnsCacheMinTtl = config.getDnsCacheMinTtl();
+            dnsCacheMaxTtl = config.getDnsCacheMaxTtl();
+            dnsCacheNegativeTtl = config.getDnsCacheNegativeTtl();
+            dnsQueryTimeout = config.getDnsQueryTimeout();
             useNativeTransport = config.isUseNativeTransport();
             useOnlyEpollNativeTransport = config.isUseOnlyEpollNativeTransport();
 
@@ -1197,6 +1623,8 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
          * <p>With {@link LoadBalance#ROUND_ROBIN}, consecutive requests to a multi-IP host are
          * spread evenly across all of its addresses (TCP failover is preserved, both HTTP/1.1 and
          * HTTP/2 are supported). The {@code maxConnectionsPerHost} limit remains per host.
+         * {@link LoadBalance#LEAST_LATENCY} works the same way but favours the addresses that answer
+         * fastest and have the fewest requests in flight.
          *
          * @param loadBalance the dispatch strategy; {@code null} resets to {@link LoadBalance#DEFAULT}
          * @return this
@@ -1240,6 +1668,106 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             return this;
         }
 
+        /**
+         * @param happyEyeballsEnabled whether new connections race the resolved addresses (RFC 8305)
+         * @return this
+         * @see AsyncHttpClientConfig#isHappyEyeballsEnabled()
+         */
+        public Builder setHappyEyeballsEnabled(boolean happyEyeballsEnabled) {
+            this.happyEyeballsEnabled = happyEyeballsEnabled;
+            return this;
+        }
+
+        /**
+         * @param happyEyeballsConnectionAttemptDelay the delay between staggered connection attempts;
+         *                                            {@code null} resets to the default
+         * @return this
+         * @throws IllegalArgumentException if {@code happyEyeballsConnectionAttemptDelay} is negative
+         * @see AsyncHttpClientConfig#getHappyEyeballsConnectionAttemptDelay()
+         */
+        public Builder setHappyEyeballsConnectionAttemptDelay(@Nullable Duration happyEyeballsConnectionAttemptDelay) {
+            this.happyEyeballsConnectionAttemptDelay = requireNonNegative("happyEyeballsConnectionAttemptDelay",
+                    happyEyeballsConnectionAttemptDelay, defaultHappyEyeballsConnectionAttemptDelay());
+            return this;
+        }
+
+        /**
+         * @param outlierDetectionEnabled whether misbehaving resolved IPs are temporarily ejected
+         * @return this
+         * @see AsyncHttpClientConfig#isOutlierDetectionEnabled()
+         */
+        public Builder setOutlierDetectionEnabled(boolean outlierDetectionEnabled) {
+            this.outlierDetectionEnabled = outlierDetectionEnabled;
+            return this;
+        }
+
+        /**
+         * @param outlierDetectionConsecutiveErrors how many consecutive errors eject an IP
+         * @return this
+         * @throws IllegalArgumentException if {@code outlierDetectionConsecutiveErrors} is not positive
+         * @see AsyncHttpClientConfig#getOutlierDetectionConsecutiveErrors()
+         */
+        public Builder setOutlierDetectionConsecutiveErrors(int outlierDetectionConsecutiveErrors) {
+            if (outlierDetectionConsecutiveErrors <= 0) {
+                throw new IllegalArgumentException("outlierDetectionConsecutiveErrors must be positive: " + outlierDetectionConsecutiveErrors);
+            }
+            this.outlierDetectionConsecutiveErrors = outlierDetectionConsecutiveErrors;
+            return this;
+        }
+
+        /**
+         * @param outlierDetectionLatencyFactor the latency outlier threshold, as a multiple of the median of the
+         *                                      host's other IPs; {@code 0} disables latency-based ejection
+         * @return this
+         * @throws IllegalArgumentException if {@code outlierDetectionLatencyFactor} is negative
+         * @see AsyncHttpClientConfig#getOutlierDetectionLatencyFactor()
+         */
+        public Builder setOutlierDetectionLatencyFactor(int outlierDetectionLatencyFactor) {
+            if (outlierDetectionLatencyFactor < 0) {
+                throw new IllegalArgumentException("outlierDetectionLatencyFactor must not be negative: " + outlierDetectionLatencyFactor);
+            }
+            this.outlierDetectionLatencyFactor = outlierDetectionLatencyFactor;
+            return this;
+        }
+
+        /**
+         * @param outlierDetectionBaseEjectionTime the first ejection interval; {@code null} resets to the default
+         * @return this
+         * @throws IllegalArgumentException if {@code outlierDetectionBaseEjectionTime} is negative
+         * @see AsyncHttpClientConfig#getOutlierDetectionBaseEjectionTime()
+         */
+        public Builder setOutlierDetectionBaseEjectionTime(@Nullable Duration outlierDetectionBaseEjectionTime) {
+            this.outlierDetectionBaseEjectionTime = requireNonNegative("outlierDetectionBaseEjectionTime",
+                    outlierDetectionBaseEjectionTime, defaultOutlierDetectionBaseEjectionTime());
+            return this;
+        }
+
+        /**
+         * @param outlierDetectionMaxEjectionTime the longest ejection interval; {@code null} resets to the default
+         * @return this
+         * @throws IllegalArgumentException if {@code outlierDetectionMaxEjectionTime} is negative
+         * @see AsyncHttpClientConfig#getOutlierDetectionMaxEjectionTime()
+         */
+        public Builder setOutlierDetectionMaxEjectionTime(@Nullable Duration outlierDetectionMaxEjectionTime) {
+            this.outlierDetectionMaxEjectionTime = requireNonNegative("outlierDetectionMaxEjectionTime",
+                    outlierDetectionMaxEjectionTime, defaultOutlierDetectionMaxEjectionTime());
+            return this;
+        }
+
+        /**
+         * @param outlierDetectionMaxEjectionPercent the maximum percentage of a host's IPs ejected at once
+         * @return this
+         * @throws IllegalArgumentException if {@code outlierDetectionMaxEjectionPercent} is not between 0 and 100
+         * @see AsyncHttpClientConfig#getOutlierDetectionMaxEjectionPercent()
+         */
+        public Builder setOutlierDetectionMaxEjectionPercent(int outlierDetectionMaxEjectionPercent) {
+            if (outlierDetectionMaxEjectionPercent < 0 || outlierDetectionMaxEjectionPercent > 100) {
+                throw new IllegalArgumentException("outlierDetectionMaxEjectionPercent must be between 0 and 100: " + outlierDetectionMaxEjectionPercent);
+            }
+            this.outlierDetectionMaxEjectionPercent = outlierDetectionMaxEjectionPercent;
+            return this;
+        }
+
         public Builder setDisableUrlEncodingForBoundRequests(boolean disableUrlEncodingForBoundRequests) {
             this.disableUrlEncodingForBoundRequests = disableUrlEncodingForBoundRequests;
             return this;
@@ -1357,6 +1885,64 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             return this;
         }
 
+        /**
+         * @param connectionPoolEventLoopAffinity whether idle connections are pooled per event loop
+         * @return this
+         * @see AsyncHttpClientConfig#isConnectionPoolEventLoopAffinity()
+         */
+        public Builder setConnectionPoolEventLoopAffinity(boolean connectionPoolEventLoopAffinity) {
+            this.connectionPoolEventLoopAffinity = connectionPoolEventLoopAffinity;
+            return this;
+        }
+
+        /**
+         * @param connectionPoolMinIdle the minimum number of idle connections per origin, {@code 0} to disable
+         * @return this
+         * @throws IllegalArgumentException if {@code connectionPoolMinIdle} is negative
+         * @see AsyncHttpClientConfig#getConnectionPoolMinIdle()
+         */
+        public Builder setConnectionPoolMinIdle(int connectionPoolMinIdle) {
+            if (connectionPoolMinIdle < 0) {
+                throw new IllegalArgumentException("connectionPoolMinIdle must not be negative: " + connectionPoolMinIdle);
+            }
+            this.connectionPoolMinIdle = connectionPoolMinIdle;
+            return this;
+        }
+
+        /**
+         * @param connectionPoolPredictiveWarmUpEnabled whether idle connections are opened ahead of the predicted demand
+         * @return this
+         * @see AsyncHttpClientConfig#isConnectionPoolPredictiveWarmUpEnabled()
+         */
+        public Builder setConnectionPoolPredictiveWarmUpEnabled(boolean connectionPoolPredictiveWarmUpEnabled) {
+            this.connectionPoolPredictiveWarmUpEnabled = connectionPoolPredictiveWarmUpEnabled;
+            return this;
+        }
+
+        /**
+         * @param connectionPoolMaintenancePeriod the interval between two pool maintenance passes; {@code null} resets to the default
+         * @return this
+         * @throws IllegalArgumentException if {@code connectionPoolMaintenancePeriod} is not positive
+         * @see AsyncHttpClientConfig#getConnectionPoolMaintenancePeriod()
+         */
+        public Builder setConnectionPoolMaintenancePeriod(@Nullable Duration connectionPoolMaintenancePeriod) {
+            if (connectionPoolMaintenancePeriod != null && (connectionPoolMaintenancePeriod.isNegative() || connectionPoolMaintenancePeriod.isZero())) {
+                throw new IllegalArgumentException("connectionPoolMaintenancePeriod must be positive: " + connectionPoolMaintenancePeriod);
+            }
+            this.connectionPoolMaintenancePeriod = connectionPoolMaintenancePeriod != null ? connectionPoolMaintenancePeriod : defaultConnectionPoolMaintenancePeriod();
+            return this;
+        }
+
+        /**
+         * @param connectionAcquisitionQueueEnabled whether requests wait for a connection without blocking their thread
+         * @return this
+         * @see AsyncHttpClientConfig#isConnectionAcquisitionQueueEnabled()
+         */
+        public Builder setConnectionAcquisitionQueueEnabled(boolean connectionAcquisitionQueueEnabled) {
+            this.connectionAcquisitionQueueEnabled = connectionAcquisitionQueueEnabled;
+            return this;
+        }
+
         public Builder setConnectionTtl(Duration connectionTtl) {
             this.connectionTtl = connectionTtl;
             return this;
@@ -1499,6 +2085,214 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             return this;
         }
 
+        /**
+         * @param http2ConnectionCoalescingEnabled whether HTTP/2 connections may be shared across hostnames
+         * @return this
+         * @see AsyncHttpClientConfig#isHttp2ConnectionCoalescingEnabled()
+         */
+        public Builder setHttp2ConnectionCoalescingEnabled(boolean http2ConnectionCoalescingEnabled) {
+            this.http2ConnectionCoalescingEnabled = http2ConnectionCoalescingEnabled;
+            return this;
+        }
+
+        /**
+         * @param http2MaxConnectionsPerHost the maximum number of HTTP/2 connections per host
+         * @return this
+         * @see AsyncHttpClientConfig#getHttp2MaxConnectionsPerHost()
+         */
+        public Builder setHttp2MaxConnectionsPerHost(int http2MaxConnectionsPerHost) {
+            this.http2MaxConnectionsPerHost = http2MaxConnectionsPerHost;
+            return this;
+        }
+
+        /**
+         * @param http2ScaleOutThreshold the stream utilization percentage that triggers a new connection
+         * @return this
+         * @see AsyncHttpClientConfig#getHttp2ScaleOutThreshold()
+         */
+        public Builder setHttp2ScaleOutThreshold(int http2ScaleOutThreshold) {
+            this.http2ScaleOutThreshold = http2ScaleOutThreshold;
+            return this;
+        }
+
+        /**
+         * @param http2ScaleOutMaxPendingTime the wait for a stream slot that triggers a new connection
+         * @return this
+         * @see AsyncHttpClientConfig#getHttp2ScaleOutMaxPendingTime()
+         */
+        public Builder setHttp2ScaleOutMaxPendingTime(Duration http2ScaleOutMaxPendingTime) {
+            this.http2ScaleOutMaxPendingTime = http2ScaleOutMaxPendingTime;
+            return this;
+        }
+
+        /**
+         * @param http2WindowAutotuningEnabled true to size the HTTP/2 flow-control windows from the measured
+         *                                     bandwidth-delay product
+         * @return this
+         * @see AsyncHttpClientConfig#isHttp2WindowAutotuningEnabled()
+         */
+        public Builder setHttp2WindowAutotuningEnabled(boolean http2WindowAutotuningEnabled) {
+            this.http2WindowAutotuningEnabled = http2WindowAutotuningEnabled;
+            return this;
+        }
+
+        /**
+         * @param http2MaxWindowSize the largest HTTP/2 receive window in bytes
+         * @return this
+         * @see AsyncHttpClientConfig#getHttp2MaxWindowSize()
+         */
+        public Builder setHttp2MaxWindowSize(int http2MaxWindowSize) {
+            this.http2MaxWindowSize = http2MaxWindowSize;
+            return this;
+        }
+
+        /**
+         * @param http2LightweightStreamsEnabled true to drive HTTP/2 streams without a child channel per stream
+         * @return this
+         * @see AsyncHttpClientConfig#isHttp2LightweightStreamsEnabled()
+         */
+        public Builder setHttp2LightweightStreamsEnabled(boolean http2LightweightStreamsEnabled) {
+            this.http2LightweightStreamsEnabled = http2LightweightStreamsEnabled;
+            return this;
+        }
+
+        /**
+         * @param http2ConsumerFlowControlEnabled true to only return HTTP/2 flow-control credit for consumed body parts
+         * @return this
+         * @see AsyncHttpClientConfig#isHttp2ConsumerFlowControlEnabled()
+         */
+        public Builder setHttp2ConsumerFlowControlEnabled(boolean http2ConsumerFlowControlEnabled) {
+            this.http2ConsumerFlowControlEnabled = http2ConsumerFlowControlEnabled;
+            return this;
+        }
+
+        /**
+         * @param http2FlushConsolidationLimit the number of streams ending their request after which HTTP/2 frames are
+         *                                      flushed at once, 0 not to hold back flushes
+         * @return this
+         * @see AsyncHttpClientConfig#getHttp2FlushConsolidationLimit()
+         */
+        public Builder setHttp2FlushConsolidationLimit(int http2FlushConsolidationLimit) {
+            this.http2FlushConsolidationLimit = http2FlushConsolidationLimit;
+            return this;
+        }
+
+        /**
+         * @param http2DirectHeadersEnabled true to encode the requests sent on an open HTTP/2 connection as HTTP/2 headers
+         *                                   directly
+         * @return this
+         * @see AsyncHttpClientConfig#isHttp2DirectHeadersEnabled()
+         */
+        public Builder setHttp2DirectHeadersEnabled(boolean http2DirectHeadersEnabled) {
+            this.http2DirectHeadersEnabled = http2DirectHeadersEnabled;
+            return this;
+        }
+
+        /**
+         * @param http2RttProbeInterval the interval between the RTT probes of an HTTP/2 connection, {@link Duration#ZERO}
+         *                               to disable them
+         * @return this
+         * @see AsyncHttpClientConfig#getHttp2RttProbeInterval()
+         */
+        public Builder setHttp2RttProbeInterval(Duration http2RttProbeInterval) {
+            this.http2RttProbeInterval = http2RttProbeInterval;
+            return this;
+        }
+
+        /**
+         * @param http2DegradedRttFactor the RTT factor past which an HTTP/2 connection is replaced, {@code 0} to never
+         *                                replace one
+         * @return this
+         * @see AsyncHttpClientConfig#getHttp2DegradedRttFactor()
+         */
+        public Builder setHttp2DegradedRttFactor(int http2DegradedRttFactor) {
+            this.http2DegradedRttFactor = http2DegradedRttFactor;
+            return this;
+        }
+
+        /**
+         * @param altSvcEnabled true to use the Alt-Svc alternatives the origins advertise
+         * @return this
+         * @see AsyncHttpClientConfig#isAltSvcEnabled()
+         */
+        public Builder setAltSvcEnabled(boolean altSvcEnabled) {
+            this.altSvcEnabled = altSvcEnabled;
+            return this;
+        }
+
+        /**
+         * @param altSvcCacheMaxEntries the number of origins whose Alt-Svc alternatives are remembered
+         * @return this
+         * @see AsyncHttpClientConfig#getAltSvcCacheMaxEntries()
+         */
+        public Builder setAltSvcCacheMaxEntries(int altSvcCacheMaxEntries) {
+            this.altSvcCacheMaxEntries = altSvcCacheMaxEntries;
+            return this;
+        }
+
+        /**
+         * @param sslHandshakeThreads the number of threads the TLS handshake delegated tasks run on, 0 to run them
+         * on the event loop
+         * @return this
+         * @see AsyncHttpClientConfig#getSslHandshakeThreads()
+         */
+        public Builder setSslHandshakeThreads(int sslHandshakeThreads) {
+            this.sslHandshakeThreads = sslHandshakeThreads;
+            return this;
+        }
+
+        /**
+         * @param sslHandshakeExecutor the executor the TLS handshake delegated tasks run on, the client not shutting it
+         * down; null to use {@link #setSslHandshakeThreads(int)}
+         * @return this
+         * @see AsyncHttpClientConfig#getSslHandshakeExecutor()
+         */
+        public Builder setSslHandshakeExecutor(@Nullable Executor sslHandshakeExecutor) {
+            this.sslHandshakeExecutor = sslHandshakeExecutor;
+            return this;
+        }
+
+        /**
+         * @param tlsSessionStore the store TLS client sessions are kept in across clients, for instance a
+         * {@link FileTlsSessionStore}; null to keep them in memory only
+         * @return this
+         * @see AsyncHttpClientConfig#getTlsSessionStore()
+         */
+        public Builder setTlsSessionStore(@Nullable TlsSessionStore tlsSessionStore) {
+            this.tlsSessionStore = tlsSessionStore;
+            return this;
+        }
+
+        /**
+         * @param tcpFastOpenConnect true to open new connections with TCP Fast Open on the epoll and io_uring transports
+         * @return this
+         * @see AsyncHttpClientConfig#isTcpFastOpenConnect()
+         */
+        public Builder setTcpFastOpenConnect(boolean tcpFastOpenConnect) {
+            this.tcpFastOpenConnect = tcpFastOpenConnect;
+            return this;
+        }
+
+        /**
+         * @param http3Enabled true to send the requests to the origins known to serve HTTP/3 over QUIC
+         * @return this
+         * @see AsyncHttpClientConfig#isHttp3Enabled()
+         */
+        public Builder setHttp3Enabled(boolean http3Enabled) {
+            this.http3Enabled = http3Enabled;
+            return this;
+        }
+
+        /**
+         * @param host a host whose HTTPS origins serve HTTP/3 on the UDP port of their TCP one
+         * @return this
+         * @see AsyncHttpClientConfig#getHttp3Hosts()
+         */
+        public Builder addHttp3Host(String host) {
+            http3Hosts.add(host);
+            return this;
+        }
+
         // filters
         public Builder addRequestFilter(RequestFilter requestFilter) {
             requestFilters.add(requestFilter);
@@ -1643,6 +2437,62 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             return this;
         }
 
+        /**
+         * @param asyncDnsResolverEnabled whether the built-in asynchronous, caching DNS resolver replaces the default
+         *                                per-request resolver when no {@link AddressResolverGroup} is set
+         * @return this
+         * @see AsyncHttpClientConfig#isAsyncDnsResolverEnabled()
+         */
+        public Builder setAsyncDnsResolverEnabled(boolean asyncDnsResolverEnabled) {
+            this.asyncDnsResolverEnabled = asyncDnsResolverEnabled;
+            return this;
+        }
+
+        /**
+         * @param dnsCacheMinTtl the lower bound applied to the TTL of cached DNS answers; {@code null} resets to the default
+         * @return this
+         * @throws IllegalArgumentException if {@code dnsCacheMinTtl} is negative
+         * @see AsyncHttpClientConfig#getDnsCacheMinTtl()
+         */
+        public Builder setDnsCacheMinTtl(@Nullable Duration dnsCacheMinTtl) {
+            this.dnsCacheMinTtl = requireNonNegative("dnsCacheMinTtl", dnsCacheMinTtl, defaultDnsCacheMinTtl());
+            return this;
+        }
+
+        /**
+         * @param dnsCacheMaxTtl the upper bound applied to the TTL of cached DNS answers; {@code null} resets to the default
+         * @return this
+         * @throws IllegalArgumentException if {@code dnsCacheMaxTtl} is negative
+         * @see AsyncHttpClientConfig#getDnsCacheMaxTtl()
+         */
+        public Builder setDnsCacheMaxTtl(@Nullable Duration dnsCacheMaxTtl) {
+            this.dnsCacheMaxTtl = requireNonNegative("dnsCacheMaxTtl", dnsCacheMaxTtl, defaultDnsCacheMaxTtl());
+            return this;
+        }
+
+        /**
+         * @param dnsCacheNegativeTtl how long a failed DNS lookup is remembered, {@link Duration#ZERO} disables negative
+         *                            caching; {@code null} resets to the default
+         * @return this
+         * @throws IllegalArgumentException if {@code dnsCacheNegativeTtl} is negative
+         * @see AsyncHttpClientConfig#getDnsCacheNegativeTtl()
+         */
+        public Builder setDnsCacheNegativeTtl(@Nullable Duration dnsCacheNegativeTtl) {
+            this.dnsCacheNegativeTtl = requireNonNegative("dnsCacheNegativeTtl", dnsCacheNegativeTtl, defaultDnsCacheNegativeTtl());
+            return this;
+        }
+
+        /**
+         * @param dnsQueryTimeout how long to wait for a name server to answer a single query; {@code null} resets to the default
+         * @return this
+         * @throws IllegalArgumentException if {@code dnsQueryTimeout} is negative
+         * @see AsyncHttpClientConfig#getDnsQueryTimeout()
+         */
+        public Builder setDnsQueryTimeout(@Nullable Duration dnsQueryTimeout) {
+            this.dnsQueryTimeout = requireNonNegative("dnsQueryTimeout", dnsQueryTimeout, defaultDnsQueryTimeout());
+            return this;
+        }
+
         /**
          * Requests a native transport, failing back to NIO if none is available on this platform.
          * <p>
@@ -1697,6 +2547,16 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             return this;
         }
 
+        private static Duration requireNonNegative(String name, @Nullable Duration value, Duration defaultValue) {
+            if (value == null) {
+                return defaultValue;
+            }
+            if (value.isNegative()) {
+                throw new IllegalArgumentException(name + " must not be negative: " + value);
+            }
+            return value;
+        }
+
         private ProxyServerSelector resolveProxyServerSelector() {
             if (proxyServerSelector != null) {
                 return proxyServerSelector;
@@ -1727,6 +2587,14 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                     loadBalance,
                     failedIpCooldownEnabled,
                     failedIpCooldownPeriod,
+                    happyEyeballsEnabled,
+                    happyEyeballsConnectionAttemptDelay,
+                    outlierDetectionEnabled,
+                    outlierDetectionConsecutiveErrors,
+                    outlierDetectionLatencyFactor,
+                    outlierDetectionBaseEjectionTime,
+                    outlierDetectionMaxEjectionTime,
+                    outlierDetectionMaxEjectionPercent,
                     disableUrlEncodingForBoundRequests,
                     useLaxCookieEncoder,
                     disableZeroCopy,
@@ -1744,6 +2612,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                     keepAlive,
                     pooledConnectionIdleTimeout,
                     connectionPoolCleanerPeriod,
+                    connectionPoolEventLoopAffinity,
+                    connectionPoolMinIdle,
+                    connectionPoolPredictiveWarmUpEnabled,
+                    connectionPoolMaintenancePeriod,
+                    connectionAcquisitionQueueEnabled,
                     connectionTtl,
                     maxConnections,
                     maxConnectionsPerHost,
@@ -1771,6 +2644,26 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                     http2MaxDecompressedResponseSize,
                     http2PingInterval,
                     http2CleartextEnabled,
+                    http2ConnectionCoalescingEnabled,
+                    http2MaxConnectionsPerHost,
+                    http2ScaleOutThreshold,
+                    http2ScaleOutMaxPendingTime,
+                    http2WindowAutotuningEnabled,
+                    http2MaxWindowSize,
+                    http2LightweightStreamsEnabled,
+                    http2ConsumerFlowControlEnabled,
+                    http2FlushConsolidationLimit,
+                    http2DirectHeadersEnabled,
+                    http2RttProbeInterval,
+                    http2DegradedRttFactor,
+                    altSvcEnabled,
+                    altSvcCacheMaxEntries,
+                    sslHandshakeThreads,
+                    sslHandshakeExecutor,
+                    tlsSessionStore,
+                    tcpFastOpenConnect,
+                    http3Enabled,
+                    http3Hosts.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(http3Hosts),
                     requestFilters.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(requestFilters),
                     responseFilters.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(responseFilters),
                     ioExceptionFilters.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(ioExceptionFilters),
@@ -1793,6 +2686,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                     channelOptions.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(channelOptions),
                     eventLoopGroup,
                     addressResolverGroup,
+                    asyncDnsResolverEnabled,
+                    dnsCacheMinTtl,
+                    dnsCacheMaxTtl,
+                    dnsCacheNegativeTtl,
+                    dnsQueryTimeout,
                     useNativeTransport,
                     useOnlyEpollNativeTransport,
                     allocator,
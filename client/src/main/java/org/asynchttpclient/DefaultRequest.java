@@ -69,6 +69,7 @@ public class DefaultRequest implements Request {
     private final @Nullable Charset charset;
     private final ChannelPoolPartitioning channelPoolPartitioning;
     private final NameResolver<InetAddress> nameResolver;
+    private final @Nullable RequestPriority priority;
 
     // lazily loaded
     private @Nullable List<Param> queryParams;
@@ -99,6 +100,38 @@ public class DefaultRequest implements Request {
                           @Nullable Charset charset,
                           ChannelPoolPartitioning channelPoolPartitioning,
                           NameResolver<InetAddress> nameResolver) {
+        this(method, uri, address, localAddress, headers, cookies, byteData, compositeByteData, stringData, byteBufferData,
+                byteBufData, streamData, bodyGenerator, formParams, bodyParts, virtualHost, proxyServer, realm, file,
+                followRedirect, requestTimeout, readTimeout, rangeOffset, charset, channelPoolPartitioning, nameResolver, null);
+    }
+
+    public DefaultRequest(String method,
+                          Uri uri,
+                          @Nullable InetAddress address,
+                          @Nullable InetAddress localAddress,
+                          HttpHeaders headers,
+                          List<Cookie> cookies,
+                          byte @Nullable [] byteData,
+                          @Nullable List<byte[]> compositeByteData,
+                          @Nullable String stringData,
+                          @Nullable ByteBuffer byteBufferData,
+                          @Nullable ByteBuf byteBufData,
+                          @Nullable InputStream streamData,
+                          @Nullable BodyGenerator bodyGenerator,
+                          List<Param> formParams,
+                          List<Part> bodyParts,
+                          @Nullable String virtualHost,
+                          @Nullable ProxyServer proxyServer,
+                          @Nullable Realm realm,
+                          @Nullable File file,
+                          @Nullable Boolean followRedirect,
+                          @Nullable Duration requestTimeout,
+                          @Nullable Duration readTimeout,
+                          long rangeOffset,
+                          @Nullable Charset charset,
+                          ChannelPoolPartitioning channelPoolPartitioning,
+                          NameResolver<InetAddress> nameResolver,
+                          @Nullable RequestPriority priority) {
         this.method = method;
         this.uri = uri;
         this.address = address;
@@ -125,6 +158,7 @@ public class DefaultRequest implements Request {
         this.charset = charset;
         this.channelPoolPartitioning = channelPoolPartitioning;
         this.nameResolver = nameResolver;
+        this.priority = priority;
     }
 
     @Override
@@ -242,6 +276,11 @@ public class DefaultRequest implements Request {
         return readTimeout;
     }
 
+    @Override
+    public @Nullable RequestPriority getPriority() {
+        return priority;
+    }
+
     @Override
     public long getRangeOffset() {
         return rangeOffset;
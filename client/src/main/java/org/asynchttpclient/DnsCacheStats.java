@@ -0,0 +1,129 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A record class representing the counters of the client's built-in caching DNS resolver
+ * (see {@link AsyncHttpClientConfig#isAsyncDnsResolverEnabled()}).
+ */
+public class DnsCacheStats {
+
+    /**
+     * Stats reported when the built-in resolver is not in use (a custom resolver is configured or it is disabled).
+     */
+    public static final DnsCacheStats EMPTY = new DnsCacheStats(0, 0, 0, 0, 0, 0);
+
+    private final long hitCount;
+    private final long missCount;
+    private final long refreshCount;
+    private final long lookupCount;
+    private final long totalLookupTimeNanos;
+    private final long cachedHostnameCount;
+
+    public DnsCacheStats(long hitCount, long missCount, long refreshCount, long lookupCount, long totalLookupTimeNanos, long cachedHostnameCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.refreshCount = refreshCount;
+        this.lookupCount = lookupCount;
+        this.totalLookupTimeNanos = totalLookupTimeNanos;
+        this.cachedHostnameCount = cachedHostnameCount;
+    }
+
+    /**
+     * @return the number of resolutions answered from the cache (positive or negative entry)
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of resolutions that had to query the name servers because nothing valid was cached
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of background refreshes started for entries served close to their expiry
+     */
+    public long getRefreshCount() {
+        return refreshCount;
+    }
+
+    /**
+     * @return the number of completed name server lookups (misses and refreshes, successful or not)
+     */
+    public long getLookupCount() {
+        return lookupCount;
+    }
+
+    /**
+     * @return the cumulated time spent in completed name server lookups, in nanoseconds
+     */
+    public long getTotalLookupTimeNanos() {
+        return totalLookupTimeNanos;
+    }
+
+    /**
+     * @return the mean duration of a completed name server lookup, {@link Duration#ZERO} when none completed yet
+     */
+    public Duration getAverageLookupTime() {
+        return lookupCount == 0 ? Duration.ZERO : Duration.ofNanos(totalLookupTimeNanos / lookupCount);
+    }
+
+    /**
+     * @return the number of hostnames currently held in the cache
+     */
+    public long getCachedHostnameCount() {
+        return cachedHostnameCount;
+    }
+
+    /**
+     * @return the share of resolutions answered from the cache, between 0 and 1 (0 when nothing was resolved yet)
+     */
+    public double getHitRatio() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "There were " + hitCount + " DNS cache hits, " + missCount + " misses and " + refreshCount +
+                " refreshes; " + cachedHostnameCount + " hostnames are cached.";
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final DnsCacheStats that = (DnsCacheStats) o;
+        return hitCount == that.hitCount && missCount == that.missCount && refreshCount == that.refreshCount
+                && lookupCount == that.lookupCount && totalLookupTimeNanos == that.totalLookupTimeNanos
+                && cachedHostnameCount == that.cachedHostnameCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hitCount, missCount, refreshCount, lookupCount, totalLookupTimeNanos, cachedHostnameCount);
+    }
+}
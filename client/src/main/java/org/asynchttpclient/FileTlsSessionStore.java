@@ -0,0 +1,183 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * A {@link TlsSessionStore} kept in memory and snapshotted to a file. The sessions in the file are restored when the
+ * store is created, and {@link #snapshot()} writes the current ones back, typically when the application shuts down
+ * or periodically. At most {@code maxEntries} peers are kept, the least recently used being dropped first.
+ * <p>
+ * The snapshot is written to a temporary file created with the default (owner only on POSIX) permissions, then moved
+ * over the previous one, so a crash never leaves a truncated file behind. A file that cannot be read is ignored.
+ */
+public final class FileTlsSessionStore implements TlsSessionStore {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileTlsSessionStore.class);
+    private static final int FORMAT_VERSION = 1;
+    // Far above a serialized session with its peer certificates: anything larger is a corrupt file
+    private static final int MAX_SESSION_LENGTH = 1 << 20;
+
+    private final Path file;
+    // Access ordered, so that the least recently used session is evicted first. Guarded by itself.
+    private final Map<PeerKey, byte[]> sessions;
+
+    public FileTlsSessionStore(Path file) {
+        this(file, DEFAULT_MAX_ENTRIES);
+    }
+
+    public FileTlsSessionStore(Path file, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.file = file.toAbsolutePath();
+        sessions = new LinkedHashMap<PeerKey, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PeerKey, byte[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        restore();
+    }
+
+    @Override
+    public byte @Nullable [] get(String peerHost, int peerPort) {
+        synchronized (sessions) {
+            return sessions.get(new PeerKey(peerHost, peerPort));
+        }
+    }
+
+    @Override
+    public void put(String peerHost, int peerPort, byte[] session) {
+        synchronized (sessions) {
+            sessions.put(new PeerKey(peerHost, peerPort), session);
+        }
+    }
+
+    /**
+     * @return the number of peers a session is kept for
+     */
+    public int size() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    /**
+     * Writes the sessions currently kept to the file, replacing its previous content.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void snapshot() throws IOException {
+        Map<PeerKey, byte[]> copy;
+        synchronized (sessions) {
+            copy = new LinkedHashMap<>(sessions);
+        }
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(copy.size());
+                // least recently used first, so that restoring keeps the eviction order
+                for (Map.Entry<PeerKey, byte[]> entry : copy.entrySet()) {
+                    out.writeUTF(entry.getKey().host);
+                    out.writeInt(entry.getKey().port);
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            Files.move(tmp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private void restore() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        Map<PeerKey, byte[]> restored = new LinkedHashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported format version " + version);
+            }
+            for (int count = in.readInt(); count > 0; count--) {
+                String host = in.readUTF();
+                int port = in.readInt();
+                int length = in.readInt();
+                if (length < 0 || length > MAX_SESSION_LENGTH) {
+                    throw new IOException("Invalid session length " + length);
+                }
+                byte[] session = new byte[length];
+                in.readFully(session);
+                restored.put(new PeerKey(host, port), session);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Ignoring the TLS sessions of {}, which cannot be read", file, e);
+            return;
+        }
+        synchronized (sessions) {
+            sessions.putAll(restored);
+        }
+    }
+
+    private static final class PeerKey {
+
+        private final String host;
+        private final int port;
+
+        PeerKey(String host, int port) {
+            this.host = host;
+            this.port = port;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PeerKey)) {
+                return false;
+            }
+            PeerKey that = (PeerKey) o;
+            return port == that.port && host.equals(that.host);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * host.hashCode() + port;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A record class representing the bandwidth-delay product estimated on one HTTP/2 connection, see
+ * {@link AsyncHttpClientConfig#isHttp2WindowAutotuningEnabled()}.
+ */
+public class Http2ConnectionBdpStats {
+
+    private final String remoteAddress;
+    private final int bdp;
+    private final Duration rtt;
+    private final long maxBandwidth;
+    private final long sampleCount;
+
+    public Http2ConnectionBdpStats(String remoteAddress, int bdp, Duration rtt, long maxBandwidth, long sampleCount) {
+        this.remoteAddress = remoteAddress;
+        this.bdp = bdp;
+        this.rtt = rtt;
+        this.maxBandwidth = maxBandwidth;
+        this.sampleCount = sampleCount;
+    }
+
+    /**
+     * @return the IP address and port the connection is open to
+     */
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    /**
+     * @return the estimated bandwidth-delay product in bytes, which the receive windows of the connection are grown to
+     */
+    public int getBdp() {
+        return bdp;
+    }
+
+    /**
+     * @return the smoothed round-trip time of the BDP PINGs, {@link Duration#ZERO} when none was acknowledged yet
+     */
+    public Duration getRtt() {
+        return rtt;
+    }
+
+    /**
+     * @return the highest bandwidth measured on the connection, in bytes per second
+     */
+    public long getMaxBandwidth() {
+        return maxBandwidth;
+    }
+
+    /**
+     * @return the number of samples taken on the connection
+     */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    @Override
+    public String toString() {
+        return "The connection to " + remoteAddress + " has an estimated BDP of " + bdp + " bytes, an RTT of " + rtt.toNanos() / 1000
+                + " µs and a maximum bandwidth of " + maxBandwidth + " B/s over " + sampleCount + " samples.";
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final Http2ConnectionBdpStats that = (Http2ConnectionBdpStats) o;
+        return bdp == that.bdp && maxBandwidth == that.maxBandwidth && sampleCount == that.sampleCount
+                && remoteAddress.equals(that.remoteAddress) && rtt.equals(that.rtt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(remoteAddress, bdp, rtt, maxBandwidth, sampleCount);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A record class representing the round-trip time sampled on one HTTP/2 connection, see
+ * {@link AsyncHttpClientConfig#getHttp2RttProbeInterval()}.
+ */
+public class Http2ConnectionRttStats {
+
+    private final String remoteAddress;
+    private final Duration smoothedRtt;
+    private final Duration minRtt;
+    private final Duration latestRtt;
+    private final long sampleCount;
+    private final boolean degraded;
+
+    public Http2ConnectionRttStats(String remoteAddress, Duration smoothedRtt, Duration minRtt, Duration latestRtt, long sampleCount,
+                                   boolean degraded) {
+        this.remoteAddress = remoteAddress;
+        this.smoothedRtt = smoothedRtt;
+        this.minRtt = minRtt;
+        this.latestRtt = latestRtt;
+        this.sampleCount = sampleCount;
+        this.degraded = degraded;
+    }
+
+    /**
+     * @return the IP address and port the connection is open to
+     */
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    /**
+     * @return the moving average of the round-trip times sampled on the connection, {@link Duration#ZERO} when none
+     * was sampled yet
+     */
+    public Duration getSmoothedRtt() {
+        return smoothedRtt;
+    }
+
+    /**
+     * @return the lowest round-trip time sampled on the connection, {@link Duration#ZERO} when none was sampled yet
+     */
+    public Duration getMinRtt() {
+        return minRtt;
+    }
+
+    /**
+     * @return the latest round-trip time sampled on the connection, {@link Duration#ZERO} when none was sampled yet
+     */
+    public Duration getLatestRtt() {
+        return latestRtt;
+    }
+
+    /**
+     * @return the number of round-trip times sampled on the connection
+     */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * @return whether the connection is being replaced because its round-trip time degraded, see
+     * {@link AsyncHttpClientConfig#getHttp2DegradedRttFactor()}
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    @Override
+    public String toString() {
+        return "The connection to " + remoteAddress + " has a smoothed RTT of " + smoothedRtt.toNanos() / 1000 + " µs, a minimum of "
+                + minRtt.toNanos() / 1000 + " µs and a latest of " + latestRtt.toNanos() / 1000 + " µs over " + sampleCount + " samples"
+                + (degraded ? " and is degraded." : ".");
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final Http2ConnectionRttStats that = (Http2ConnectionRttStats) o;
+        return sampleCount == that.sampleCount && degraded == that.degraded && remoteAddress.equals(that.remoteAddress)
+                && smoothedRtt.equals(that.smoothedRtt) && minRtt.equals(that.minRtt) && latestRtt.equals(that.latestRtt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(remoteAddress, smoothedRtt, minRtt, latestRtt, sampleCount, degraded);
+    }
+}
@@ -16,15 +16,22 @@
 package org.asynchttpclient;
 
 import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * A callback class used when an HTTP response body is received.
  */
 public abstract class HttpResponseBodyPart {
 
+    private static final AtomicReferenceFieldUpdater<HttpResponseBodyPart, Runnable> CONSUMED_LISTENER_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(HttpResponseBodyPart.class, Runnable.class, "consumedListener");
+
     private final boolean last;
+    @SuppressWarnings("unused")
+    private volatile @Nullable Runnable consumedListener;
 
     protected HttpResponseBodyPart(boolean last) {
         this.last = last;
@@ -58,4 +65,23 @@ public abstract class HttpResponseBodyPart {
     public boolean isLast() {
         return last;
     }
+
+    /**
+     * Signals that the application is done with this part. With
+     * {@link AsyncHttpClientConfig#isHttp2ConsumerFlowControlEnabled()}, the HTTP/2 flow-control credit of the part is
+     * only returned to the server then. Can be called from any thread, and more than once.
+     */
+    public void markConsumed() {
+        Runnable listener = CONSUMED_LISTENER_UPDATER.getAndSet(this, null);
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * @param consumedListener the action {@link #markConsumed()} runs, once
+     */
+    public void setConsumedListener(@Nullable Runnable consumedListener) {
+        this.consumedListener = consumedListener;
+    }
 }
@@ -88,5 +88,22 @@ public enum LoadBalance {
      *       {@link #DEFAULT} mode — so it is documented on the config getter rather than here.</li>
      * </ul>
      */
-    ROUND_ROBIN
+    ROUND_ROBIN,
+
+    /**
+     * Latency-aware dispatch across the host's resolved IPs, using the power of two choices.
+     *
+     * <p>The client keeps, per IP, a moving average of its connect and response latency and the number
+     * of requests currently in flight to it. For each request it samples two of the host's IPs at random
+     * and targets the one with the lower {@code latency × (in-flight + 1)} cost (TCP failover to the
+     * remaining IPs is preserved). A replica that slows down therefore receives a shrinking share of the
+     * traffic well before it fails outright, while the random sampling avoids sending every request to
+     * whichever IP currently looks fastest. The estimates decay over time, so a replica that recovered is
+     * probed again. Per-IP scores are reported by {@link ClientStats#getLatencyStatsPerAddress()}.
+     *
+     * <p>Connection reuse is IP-aware exactly as in {@link #ROUND_ROBIN}, and all the notes listed there
+     * (proxies, per-host limits, multiple HTTP/2 connections per host, resolver order, failed-IP cooldown)
+     * apply to this mode as well.
+     */
+    LEAST_LATENCY
 }
@@ -182,6 +182,13 @@ public interface Request {
      */
     Duration getReadTimeout();
 
+    /**
+     * @return the RFC 9218 priority of the request, or {@code null} if it has none
+     */
+    default @Nullable RequestPriority getPriority() {
+        return null;
+    }
+
     /**
      * @return the range header value, or 0 is not set.
      */
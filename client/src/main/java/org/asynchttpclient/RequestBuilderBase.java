@@ -89,6 +89,7 @@ public abstract class RequestBuilderBase<T extends RequestBuilderBase<T>> {
     protected @Nullable Boolean followRedirect;
     protected @Nullable Duration requestTimeout;
     protected @Nullable Duration readTimeout;
+    protected @Nullable RequestPriority priority;
     protected long rangeOffset;
     protected @Nullable Charset charset;
     protected ChannelPoolPartitioning channelPoolPartitioning = ChannelPoolPartitioning.PerHostChannelPoolPartitioning.INSTANCE;
@@ -167,6 +168,7 @@ public abstract class RequestBuilderBase<T extends RequestBuilderBase<T>> {
         followRedirect = prototype.getFollowRedirect();
         requestTimeout = prototype.getRequestTimeout();
         readTimeout = prototype.getReadTimeout();
+        priority = prototype.getPriority();
         rangeOffset = prototype.getRangeOffset();
         charset = prototype.getCharset();
         channelPoolPartitioning = prototype.getChannelPoolPartitioning();
@@ -613,6 +615,16 @@ public abstract class RequestBuilderBase<T extends RequestBuilderBase<T>> {
         return asDerivedType();
     }
 
+    /**
+     * @param priority the RFC 9218 priority of the request, or {@code null} to send it without
+     * @return this
+     * @see RequestPriority
+     */
+    public T setPriority(@Nullable RequestPriority priority) {
+        this.priority = priority;
+        return asDerivedType();
+    }
+
     public T setRangeOffset(long rangeOffset) {
         this.rangeOffset = rangeOffset;
         return asDerivedType();
@@ -755,6 +767,7 @@ public abstract class RequestBuilderBase<T extends RequestBuilderBase<T>> {
                 rb.rangeOffset,
                 rb.charset,
                 rb.channelPoolPartitioning,
-                rb.nameResolver);
+                rb.nameResolver,
+                rb.priority);
     }
 }
@@ -0,0 +1,95 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+/**
+ * The priority of a request, as defined by the extensible prioritization scheme of RFC 9218: an urgency from
+ * {@code 0} (most urgent) to {@code 7}, and whether the response can be processed incrementally.
+ * <p>
+ * It is sent to the server in the {@code priority} header, and over HTTP/2 it also orders the requests waiting for a
+ * free stream slot on a busy connection: the most urgent ones get the next slot, and the requests of the same urgency
+ * get them in the order they were sent.
+ */
+public final class RequestPriority {
+
+    /**
+     * The urgency of a request without priority, RFC 9218 section 4.1.
+     */
+    public static final int DEFAULT_URGENCY = 3;
+
+    /**
+     * The priority of a request without priority.
+     */
+    public static final RequestPriority DEFAULT = new RequestPriority(DEFAULT_URGENCY, false);
+
+    private final int urgency;
+    private final boolean incremental;
+
+    private RequestPriority(int urgency, boolean incremental) {
+        this.urgency = urgency;
+        this.incremental = incremental;
+    }
+
+    /**
+     * @param urgency     from {@code 0}, the most urgent, to {@code 7}
+     * @param incremental whether the response can be processed as its parts arrive, so that the server may
+     *                    interleave it with other responses of the same urgency
+     * @return the priority
+     */
+    public static RequestPriority of(int urgency, boolean incremental) {
+        if (urgency < 0 || urgency > 7) {
+            throw new IllegalArgumentException("Urgency must be between 0 and 7, was " + urgency);
+        }
+        return new RequestPriority(urgency, incremental);
+    }
+
+    public int getUrgency() {
+        return urgency;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * @return the value of the {@code priority} header, a structured field dictionary such as {@code u=1, i}
+     */
+    public String toHeaderValue() {
+        return incremental ? "u=" + urgency + ", i" : "u=" + urgency;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RequestPriority that = (RequestPriority) o;
+        return urgency == that.urgency && incremental == that.incremental;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * urgency + (incremental ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return toHeaderValue();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import java.util.Objects;
+
+/**
+ * A record class representing how many TLS handshakes the client completed, and how many of them resumed a session
+ * cached from an earlier connection to the same host and port instead of doing a full handshake.
+ */
+public class TlsHandshakeStats {
+
+    /**
+     * Stats reported by a client that did not complete a TLS handshake yet.
+     */
+    public static final TlsHandshakeStats EMPTY = new TlsHandshakeStats(0, 0);
+
+    private final long handshakeCount;
+    private final long resumedHandshakeCount;
+
+    public TlsHandshakeStats(long handshakeCount, long resumedHandshakeCount) {
+        this.handshakeCount = handshakeCount;
+        this.resumedHandshakeCount = resumedHandshakeCount;
+    }
+
+    /**
+     * @return the number of TLS handshakes completed, full or resumed
+     */
+    public long getHandshakeCount() {
+        return handshakeCount;
+    }
+
+    /**
+     * @return the number of TLS handshakes that resumed a cached session
+     */
+    public long getResumedHandshakeCount() {
+        return resumedHandshakeCount;
+    }
+
+    /**
+     * @return the share of TLS handshakes that resumed a cached session, between 0 and 1 (0 when none was completed
+     * yet)
+     */
+    public double getResumptionRatio() {
+        return handshakeCount == 0 ? 0 : (double) resumedHandshakeCount / handshakeCount;
+    }
+
+    @Override
+    public String toString() {
+        return "There were " + handshakeCount + " TLS handshakes, " + resumedHandshakeCount + " of which resumed a session.";
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final TlsHandshakeStats that = (TlsHandshakeStats) o;
+        return handshakeCount == that.handshakeCount && resumedHandshakeCount == that.resumedHandshakeCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(handshakeCount, resumedHandshakeCount);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps serialized TLS client sessions beyond the life of a client, so that the first connection to an origin made
+ * by a new client (for instance after a restart) can resume a session instead of running a full handshake. Sessions
+ * are keyed by the host and port the connection was opened to. Only sessions that can be resumed more than once are
+ * saved: TLS 1.3 tickets are single-use, so this mostly concerns TLS 1.2 sessions. See
+ * {@link AsyncHttpClientConfig#getTlsSessionStore()}.
+ * <p>
+ * Implementations must be thread-safe: sessions are saved and looked up from the event loops. A session holds the
+ * secrets to resume it, so a store must be kept as private as the client's key material.
+ */
+public interface TlsSessionStore {
+
+    /**
+     * @param peerHost the host the connection is opened to
+     * @param peerPort the port the connection is opened to
+     * @return the last session saved for this peer, null if none
+     */
+    byte @Nullable [] get(String peerHost, int peerPort);
+
+    /**
+     * Saves the session established with a peer, replacing the previous one.
+     *
+     * @param peerHost the host the connection was opened to
+     * @param peerPort the port the connection was opened to
+     * @param session  the serialized session
+     */
+    void put(String peerHost, int peerPort, byte[] session);
+}
@@ -34,6 +34,20 @@ public interface ChannelPool {
      */
     boolean offer(Channel channel, Object partitionKey);
 
+    /**
+     * Called instead of {@link #offer(Channel, Object)} when a channel released by a request is handed directly to
+     * another request waiting for a connection to the same partition, see
+     * {@link org.asynchttpclient.AsyncHttpClientConfig#isConnectionAcquisitionQueueEnabled()}, so that the pool still
+     * applies its rules, such as a connection time to live, to the channels that skip it.
+     *
+     * @param channel      an I/O channel
+     * @param partitionKey the partition the channel would be offered to
+     * @return true if the channel may be handed over, false if it must be offered to the pool instead
+     */
+    default boolean handOff(Channel channel, Object partitionKey) {
+        return false;
+    }
+
     /**
      * Remove the channel associated with the uri.
      *
@@ -77,4 +91,13 @@ public interface ChannelPool {
      * @return The number of idle channels per host.
      */
     Map<String, Long> getIdleChannelCountPerHost();
+
+    /**
+     * @param partitionKeys selects the partitions to count
+     * @return the number of idle channels in the partitions whose key matches, or {@code -1} when this pool
+     * cannot tell
+     */
+    default long getIdleChannelCount(Predicate<Object> partitionKeys) {
+        return -1;
+    }
 }
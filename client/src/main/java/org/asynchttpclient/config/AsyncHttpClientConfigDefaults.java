@@ -24,6 +24,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.Properties;
 
@@ -39,6 +41,11 @@ public final class AsyncHttpClientConfigDefaults {
     public static final String CONNECTION_TIMEOUT_CONFIG = "connectTimeout";
     public static final String POOLED_CONNECTION_IDLE_TIMEOUT_CONFIG = "pooledConnectionIdleTimeout";
     public static final String CONNECTION_POOL_CLEANER_PERIOD_CONFIG = "connectionPoolCleanerPeriod";
+    public static final String CONNECTION_POOL_EVENT_LOOP_AFFINITY_CONFIG = "connectionPoolEventLoopAffinity";
+    public static final String CONNECTION_POOL_MIN_IDLE_CONFIG = "connectionPoolMinIdle";
+    public static final String CONNECTION_POOL_PREDICTIVE_WARM_UP_ENABLED_CONFIG = "connectionPoolPredictiveWarmUpEnabled";
+    public static final String CONNECTION_POOL_MAINTENANCE_PERIOD_CONFIG = "connectionPoolMaintenancePeriod";
+    public static final String CONNECTION_ACQUISITION_QUEUE_ENABLED_CONFIG = "connectionAcquisitionQueueEnabled";
     public static final String READ_TIMEOUT_CONFIG = "readTimeout";
     public static final String REQUEST_TIMEOUT_CONFIG = "requestTimeout";
     public static final String CONNECTION_TTL_CONFIG = "connectionTtl";
@@ -62,6 +69,14 @@ public final class AsyncHttpClientConfigDefaults {
     public static final String LOAD_BALANCE_CONFIG = "loadBalance";
     public static final String FAILED_IP_COOLDOWN_ENABLED_CONFIG = "failedIpCooldownEnabled";
     public static final String FAILED_IP_COOLDOWN_PERIOD_CONFIG = "failedIpCooldownPeriod";
+    public static final String HAPPY_EYEBALLS_ENABLED_CONFIG = "happyEyeballsEnabled";
+    public static final String HAPPY_EYEBALLS_CONNECTION_ATTEMPT_DELAY_CONFIG = "happyEyeballsConnectionAttemptDelay";
+    public static final String OUTLIER_DETECTION_ENABLED_CONFIG = "outlierDetectionEnabled";
+    public static final String OUTLIER_DETECTION_CONSECUTIVE_ERRORS_CONFIG = "outlierDetectionConsecutiveErrors";
+    public static final String OUTLIER_DETECTION_LATENCY_FACTOR_CONFIG = "outlierDetectionLatencyFactor";
+    public static final String OUTLIER_DETECTION_BASE_EJECTION_TIME_CONFIG = "outlierDetectionBaseEjectionTime";
+    public static final String OUTLIER_DETECTION_MAX_EJECTION_TIME_CONFIG = "outlierDetectionMaxEjectionTime";
+    public static final String OUTLIER_DETECTION_MAX_EJECTION_PERCENT_CONFIG = "outlierDetectionMaxEjectionPercent";
     public static final String DISABLE_URL_ENCODING_FOR_BOUND_REQUESTS_CONFIG = "disableUrlEncodingForBoundRequests";
     public static final String USE_LAX_COOKIE_ENCODER_CONFIG = "useLaxCookieEncoder";
     public static final String USE_OPEN_SSL_CONFIG = "useOpenSsl";
@@ -101,6 +116,29 @@ public final class AsyncHttpClientConfigDefaults {
     public static final String HTTP2_MAX_DECOMPRESSED_RESPONSE_SIZE_CONFIG = "http2MaxDecompressedResponseSize";
     public static final String HTTP2_PING_INTERVAL_CONFIG = "http2PingInterval";
     public static final String HTTP2_CLEARTEXT_ENABLED_CONFIG = "http2CleartextEnabled";
+    public static final String HTTP2_CONNECTION_COALESCING_ENABLED_CONFIG = "http2ConnectionCoalescingEnabled";
+    public static final String HTTP2_MAX_CONNECTIONS_PER_HOST_CONFIG = "http2MaxConnectionsPerHost";
+    public static final String HTTP2_SCALE_OUT_THRESHOLD_CONFIG = "http2ScaleOutThreshold";
+    public static final String HTTP2_SCALE_OUT_MAX_PENDING_TIME_CONFIG = "http2ScaleOutMaxPendingTime";
+    public static final String HTTP2_WINDOW_AUTOTUNING_ENABLED_CONFIG = "http2WindowAutotuningEnabled";
+    public static final String HTTP2_MAX_WINDOW_SIZE_CONFIG = "http2MaxWindowSize";
+    public static final String HTTP2_LIGHTWEIGHT_STREAMS_ENABLED_CONFIG = "http2LightweightStreamsEnabled";
+    public static final String HTTP2_CONSUMER_FLOW_CONTROL_ENABLED_CONFIG = "http2ConsumerFlowControlEnabled";
+    public static final String HTTP2_FLUSH_CONSOLIDATION_LIMIT_CONFIG = "http2FlushConsolidationLimit";
+    public static final String HTTP2_DIRECT_HEADERS_ENABLED_CONFIG = "http2DirectHeadersEnabled";
+    public static final String HTTP2_RTT_PROBE_INTERVAL_CONFIG = "http2RttProbeInterval";
+    public static final String HTTP2_DEGRADED_RTT_FACTOR_CONFIG = "http2DegradedRttFactor";
+    public static final String ALT_SVC_ENABLED_CONFIG = "altSvcEnabled";
+    public static final String ALT_SVC_CACHE_MAX_ENTRIES_CONFIG = "altSvcCacheMaxEntries";
+    public static final String SSL_HANDSHAKE_THREADS_CONFIG = "sslHandshakeThreads";
+    public static final String TCP_FAST_OPEN_CONNECT_CONFIG = "tcpFastOpenConnect";
+    public static final String HTTP3_ENABLED_CONFIG = "http3Enabled";
+    public static final String HTTP3_HOSTS_CONFIG = "http3Hosts";
+    public static final String ASYNC_DNS_RESOLVER_ENABLED_CONFIG = "asyncDnsResolverEnabled";
+    public static final String DNS_CACHE_MIN_TTL_CONFIG = "dnsCacheMinTtl";
+    public static final String DNS_CACHE_MAX_TTL_CONFIG = "dnsCacheMaxTtl";
+    public static final String DNS_CACHE_NEGATIVE_TTL_CONFIG = "dnsCacheNegativeTtl";
+    public static final String DNS_QUERY_TIMEOUT_CONFIG = "dnsQueryTimeout";
 
     public static final String AHC_VERSION;
 
@@ -145,6 +183,26 @@ public final class AsyncHttpClientConfigDefaults {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + CONNECTION_POOL_CLEANER_PERIOD_CONFIG);
     }
 
+    public static boolean defaultConnectionPoolEventLoopAffinity() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + CONNECTION_POOL_EVENT_LOOP_AFFINITY_CONFIG);
+    }
+
+    public static int defaultConnectionPoolMinIdle() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + CONNECTION_POOL_MIN_IDLE_CONFIG);
+    }
+
+    public static boolean defaultConnectionPoolPredictiveWarmUpEnabled() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + CONNECTION_POOL_PREDICTIVE_WARM_UP_ENABLED_CONFIG);
+    }
+
+    public static Duration defaultConnectionPoolMaintenancePeriod() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + CONNECTION_POOL_MAINTENANCE_PERIOD_CONFIG);
+    }
+
+    public static boolean defaultConnectionAcquisitionQueueEnabled() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + CONNECTION_ACQUISITION_QUEUE_ENABLED_CONFIG);
+    }
+
     public static Duration defaultReadTimeout() {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + READ_TIMEOUT_CONFIG);
     }
@@ -181,6 +239,38 @@ public final class AsyncHttpClientConfigDefaults {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + FAILED_IP_COOLDOWN_PERIOD_CONFIG);
     }
 
+    public static boolean defaultHappyEyeballsEnabled() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + HAPPY_EYEBALLS_ENABLED_CONFIG);
+    }
+
+    public static Duration defaultHappyEyeballsConnectionAttemptDelay() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + HAPPY_EYEBALLS_CONNECTION_ATTEMPT_DELAY_CONFIG);
+    }
+
+    public static boolean defaultOutlierDetectionEnabled() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + OUTLIER_DETECTION_ENABLED_CONFIG);
+    }
+
+    public static int defaultOutlierDetectionConsecutiveErrors() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + OUTLIER_DETECTION_CONSECUTIVE_ERRORS_CONFIG);
+    }
+
+    public static int defaultOutlierDetectionLatencyFactor() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + OUTLIER_DETECTION_LATENCY_FACTOR_CONFIG);
+    }
+
+    public static Duration defaultOutlierDetectionBaseEjectionTime() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + OUTLIER_DETECTION_BASE_EJECTION_TIME_CONFIG);
+    }
+
+    public static Duration defaultOutlierDetectionMaxEjectionTime() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + OUTLIER_DETECTION_MAX_EJECTION_TIME_CONFIG);
+    }
+
+    public static int defaultOutlierDetectionMaxEjectionPercent() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + OUTLIER_DETECTION_MAX_EJECTION_PERCENT_CONFIG);
+    }
+
     public static String defaultUserAgent() {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getString(ASYNC_CLIENT_CONFIG_ROOT + USER_AGENT_CONFIG);
     }
@@ -392,6 +482,105 @@ public final class AsyncHttpClientConfigDefaults {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_CLEARTEXT_ENABLED_CONFIG);
     }
 
+    public static boolean defaultHttp2ConnectionCoalescingEnabled() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_CONNECTION_COALESCING_ENABLED_CONFIG);
+    }
+
+    public static int defaultHttp2MaxConnectionsPerHost() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_MAX_CONNECTIONS_PER_HOST_CONFIG);
+    }
+
+    public static int defaultHttp2ScaleOutThreshold() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_SCALE_OUT_THRESHOLD_CONFIG);
+    }
+
+    public static Duration defaultHttp2ScaleOutMaxPendingTime() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_SCALE_OUT_MAX_PENDING_TIME_CONFIG);
+    }
+
+    public static boolean defaultHttp2WindowAutotuningEnabled() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_WINDOW_AUTOTUNING_ENABLED_CONFIG);
+    }
+
+    public static int defaultHttp2MaxWindowSize() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_MAX_WINDOW_SIZE_CONFIG);
+    }
+
+    public static boolean defaultHttp2LightweightStreamsEnabled() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_LIGHTWEIGHT_STREAMS_ENABLED_CONFIG);
+    }
+
+    public static boolean defaultHttp2ConsumerFlowControlEnabled() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_CONSUMER_FLOW_CONTROL_ENABLED_CONFIG);
+    }
+
+    public static int defaultHttp2FlushConsolidationLimit() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_FLUSH_CONSOLIDATION_LIMIT_CONFIG);
+    }
+
+    public static boolean defaultHttp2DirectHeadersEnabled() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_DIRECT_HEADERS_ENABLED_CONFIG);
+    }
+
+    public static Duration defaultHttp2RttProbeInterval() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_RTT_PROBE_INTERVAL_CONFIG);
+    }
+
+    public static int defaultHttp2DegradedRttFactor() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_DEGRADED_RTT_FACTOR_CONFIG);
+    }
+
+    public static boolean defaultAltSvcEnabled() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + ALT_SVC_ENABLED_CONFIG);
+    }
+
+    public static int defaultAltSvcCacheMaxEntries() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + ALT_SVC_CACHE_MAX_ENTRIES_CONFIG);
+    }
+
+    public static int defaultSslHandshakeThreads() {
+        int threads = AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + SSL_HANDSHAKE_THREADS_CONFIG);
+
+        // If threads value is -1 then we will pick a small pool, bounded by the number of available processors.
+        if (threads == -1) {
+            threads = Math.min(4, Runtime.getRuntime().availableProcessors());
+        }
+        return threads;
+    }
+
+    public static boolean defaultTcpFastOpenConnect() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + TCP_FAST_OPEN_CONNECT_CONFIG);
+    }
+
+    public static boolean defaultHttp3Enabled() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + HTTP3_ENABLED_CONFIG);
+    }
+
+    public static List<String> defaultHttp3Hosts() {
+        String[] hosts = AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getStringArray(ASYNC_CLIENT_CONFIG_ROOT + HTTP3_HOSTS_CONFIG);
+        return hosts != null ? Arrays.asList(hosts) : Collections.emptyList();
+    }
+
+    public static boolean defaultAsyncDnsResolverEnabled() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + ASYNC_DNS_RESOLVER_ENABLED_CONFIG);
+    }
+
+    public static Duration defaultDnsCacheMinTtl() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + DNS_CACHE_MIN_TTL_CONFIG);
+    }
+
+    public static Duration defaultDnsCacheMaxTtl() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + DNS_CACHE_MAX_TTL_CONFIG);
+    }
+
+    public static Duration defaultDnsCacheNegativeTtl() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + DNS_CACHE_NEGATIVE_TTL_CONFIG);
+    }
+
+    public static Duration defaultDnsQueryTimeout() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + DNS_QUERY_TIMEOUT_CONFIG);
+    }
+
     public static LoadBalance defaultLoadBalance() {
         String value = AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getString(ASYNC_CLIENT_CONFIG_ROOT + LOAD_BALANCE_CONFIG);
         if (value == null || value.trim().isEmpty()) {
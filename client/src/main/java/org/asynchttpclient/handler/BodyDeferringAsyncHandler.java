@@ -155,6 +155,7 @@ public class BodyDeferringAsyncHandler implements AsyncHandler<Response> {
         }
 
         output.write(bodyPart.getBodyPartBytes());
+        bodyPart.markConsumed();
         return State.CONTINUE;
     }
 
@@ -144,6 +144,8 @@ public class ResumableAsyncHandler implements AsyncHandler<Response> {
 
         if (decoratedAsyncHandler != null) {
             state = decoratedAsyncHandler.onBodyPartReceived(bodyPart);
+        } else {
+            bodyPart.markConsumed();
         }
 
         byteTransferred.addAndGet(bodyPart.getBodyPartBytes().length);
@@ -21,9 +21,11 @@ import org.asynchttpclient.ListenableFuture;
 import org.asynchttpclient.Realm;
 import org.asynchttpclient.Request;
 import org.asynchttpclient.channel.ChannelPoolPartitioning;
+import org.asynchttpclient.netty.channel.AltSvcCache;
 import org.asynchttpclient.netty.channel.ChannelState;
 import org.asynchttpclient.netty.channel.Channels;
 import org.asynchttpclient.netty.channel.ConnectionSemaphore;
+import org.asynchttpclient.netty.channel.LatencyAwareAddressSelector;
 import org.asynchttpclient.netty.channel.RoundRobinPartitionKey;
 import org.asynchttpclient.netty.request.NettyRequest;
 import org.asynchttpclient.netty.timeout.TimeoutsHolder;
@@ -89,6 +91,9 @@ public final class NettyResponseFuture<V> implements ListenableFuture<V> {
     @SuppressWarnings("rawtypes")
     private static final AtomicReferenceFieldUpdater<NettyResponseFuture, Object> PARTITION_KEY_LOCK_FIELD = AtomicReferenceFieldUpdater
             .newUpdater(NettyResponseFuture.class, Object.class, "partitionKeyLock");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<NettyResponseFuture, LatencyAwareAddressSelector.Lease> LATENCY_LEASE_FIELD = AtomicReferenceFieldUpdater
+            .newUpdater(NettyResponseFuture.class, LatencyAwareAddressSelector.Lease.class, "latencyLease");
 
     private final long start = unpreciseMillisTime();
     private final ChannelPoolPartitioning connectionPoolPartitioning;
@@ -140,6 +145,20 @@ public final class NettyResponseFuture<V> implements ListenableFuture<V> {
     private volatile Object partitionKeyOverride;
     private volatile List<InetSocketAddress> roundRobinAddresses;
     private volatile Uri roundRobinBaseUri;
+    // LoadBalance.LEAST_LATENCY: the request counted as in flight to the chosen IP; null in the other modes
+    private volatile LatencyAwareAddressSelector.Lease latencyLease;
+    // The Alt-Svc alternative the current connection attempt goes to, null when it goes to the origin itself
+    private volatile AltSvcCache.Alternative altSvcAlternative;
+    // System.nanoTime() when the current request was last written, for outlier detection's response times
+    private volatile long requestSentNanos;
+    // Set for the futures of AsyncHttpClient.warmUp(): the connection is pooled instead of written to
+    private volatile boolean warmUp;
+    // Set once an HTTP/2 connection opened for another hostname answered the request 421 Misdirected Request: the
+    // request must then get a connection of its own (AsyncHttpClientConfig.isHttp2ConnectionCoalescingEnabled)
+    private volatile boolean coalescingDisabled;
+    // Set once the QUIC connection of the request could not be established: it then goes over TCP
+    // (AsyncHttpClientConfig.isHttp3Enabled)
+    private volatile boolean http3Disabled;
     private volatile ScramContext scramContext;
     // Base (host/scheme/port) partition key, computed eagerly at construction and recomputed by
     // setTargetRequest (its only mutator: connectionPoolPartitioning/proxyServer are final and targetRequest
@@ -612,6 +631,18 @@ public final class NettyResponseFuture<V> implements ListenableFuture<V> {
         this.roundRobinAddresses = roundRobinAddresses;
     }
 
+    /**
+     * @return the Alt-Svc alternative of the origin that the connection being opened goes to, or {@code null} when it
+     * goes to the origin itself
+     */
+    public AltSvcCache.Alternative getAltSvcAlternative() {
+        return altSvcAlternative;
+    }
+
+    public void setAltSvcAlternative(AltSvcCache.Alternative altSvcAlternative) {
+        this.altSvcAlternative = altSvcAlternative;
+    }
+
     /**
      * @return the base URI (scheme, host and port) the round-robin overrides were computed for, used
      * to detect base changes on redirects — including same-host scheme/port changes such as an
@@ -647,6 +678,63 @@ public final class NettyResponseFuture<V> implements ListenableFuture<V> {
         }
     }
 
+    /**
+     * Counts this request against the IP it was dispatched to in {@code LoadBalance.LEAST_LATENCY} mode. The lease
+     * of a previous hop (a redirect reusing this future) completed with that hop's response and is finished as
+     * successful; the last lease is finished when this future completes.
+     */
+    public void setLatencyLease(LatencyAwareAddressSelector.Lease lease) {
+        LatencyAwareAddressSelector.Lease previous = LATENCY_LEASE_FIELD.getAndSet(this, lease);
+        if (previous != null) {
+            previous.finish(true);
+        } else {
+            future.whenComplete((r, t) -> latencyLease.finish(t == null));
+        }
+    }
+
+    public long getRequestSentNanos() {
+        return requestSentNanos;
+    }
+
+    public void setRequestSentNanos(long requestSentNanos) {
+        this.requestSentNanos = requestSentNanos;
+    }
+
+    /**
+     * @return whether this future only opens a connection for {@code AsyncHttpClient.warmUp}: once established,
+     * the connection is handed to the pool (or the HTTP/2 registry) instead of carrying the request
+     */
+    public boolean isWarmUp() {
+        return warmUp;
+    }
+
+    public void setWarmUp(boolean warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    /**
+     * @return whether the request must get a connection of its own, because a coalesced connection answered it
+     * {@code 421 Misdirected Request}
+     */
+    public boolean isCoalescingDisabled() {
+        return coalescingDisabled;
+    }
+
+    public void setCoalescingDisabled(boolean coalescingDisabled) {
+        this.coalescingDisabled = coalescingDisabled;
+    }
+
+    /**
+     * @return whether the request must go over TCP, because its HTTP/3 stream could not be opened
+     */
+    public boolean isHttp3Disabled() {
+        return http3Disabled;
+    }
+
+    public void setHttp3Disabled(boolean http3Disabled) {
+        this.http3Disabled = http3Disabled;
+    }
+
     public void acquirePartitionLockLazily() throws IOException {
         acquirePartitionLockLazily(false);
     }
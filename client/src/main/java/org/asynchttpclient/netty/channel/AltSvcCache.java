@@ -0,0 +1,358 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import org.asynchttpclient.uri.Uri;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the alternative services (RFC 7838) the origins advertise in their Alt-Svc response header, see
+ * {@link org.asynchttpclient.AsyncHttpClientConfig#isAltSvcEnabled()}.
+ *
+ * <p>A header replaces the alternatives known for its origin, or forgets them all when it is {@code clear}. Each
+ * alternative expires after its {@code ma} parameter, 24 hours without one. Only the protocols the client can speak
+ * are kept: {@code h2} when HTTP/2 is enabled, {@code http/1.1}, and {@code h3} over QUIC when HTTP/3 is enabled. A
+ * TCP alternative naming the origin's own authority is dropped too, since connecting to it is what the client does
+ * anyway; an {@code h3} one is kept, the origin then serving HTTP/3 on its UDP port.
+ *
+ * <p>At most {@code maxEntries} origins are remembered, the least recently used one being evicted past that.
+ *
+ * <p>Thread-safe.
+ */
+public final class AltSvcCache {
+
+    // RFC 9114 §3.1: the ALPN protocol name of HTTP/3
+    static final String HTTP_3 = "h3";
+
+    // RFC 7838 §3.1: the max-age of an alternative without an "ma" parameter
+    static final long DEFAULT_MAX_AGE_SECONDS = TimeUnit.HOURS.toSeconds(24);
+
+    private final int maxEntries;
+    private final boolean http2Enabled;
+    private final boolean http3Enabled;
+    private final LongSupplier nanoClock;
+    // guarded by itself, in access order so that the eldest entry is the least recently used one
+    private final LinkedHashMap<String, List<Alternative>> alternatives;
+
+    public AltSvcCache(int maxEntries, boolean http2Enabled, boolean http3Enabled) {
+        this(maxEntries, http2Enabled, http3Enabled, System::nanoTime);
+    }
+
+    AltSvcCache(int maxEntries, boolean http2Enabled, boolean http3Enabled, LongSupplier nanoClock) {
+        this.maxEntries = maxEntries;
+        this.http2Enabled = http2Enabled;
+        this.http3Enabled = http3Enabled;
+        this.nanoClock = nanoClock;
+        alternatives = new LinkedHashMap<String, List<Alternative>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Alternative>> eldest) {
+                return size() > AltSvcCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Records the Alt-Svc header of a response of {@code origin}.
+     */
+    public void onAltSvc(Uri origin, String header) {
+        if (!origin.isSecured() || maxEntries <= 0) {
+            return;
+        }
+        String key = keyOf(origin);
+        if ("clear".equalsIgnoreCase(header.trim())) {
+            synchronized (alternatives) {
+                alternatives.remove(key);
+            }
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        List<Alternative> usable = new ArrayList<>();
+        for (Alternative alternative : parse(header, now)) {
+            boolean sameAuthority = (alternative.host == null || alternative.host.equalsIgnoreCase(origin.getHost()))
+                    && alternative.port == origin.getExplicitPort() && !alternative.isHttp3();
+            if (isUsable(alternative.protocolId) && !sameAuthority && alternative.expiresAt - now > 0) {
+                usable.add(alternative);
+            }
+        }
+        synchronized (alternatives) {
+            if (usable.isEmpty()) {
+                alternatives.remove(key);
+            } else {
+                alternatives.put(key, usable);
+            }
+        }
+    }
+
+    /**
+     * @return the first TCP alternative of {@code origin}, {@code h2} or {@code http/1.1}, that has not expired, or
+     * {@code null}
+     */
+    public @Nullable Alternative get(Uri origin) {
+        return first(origin, false);
+    }
+
+    /**
+     * @return the first {@code h3} alternative of {@code origin} that has not expired, or {@code null}
+     */
+    public @Nullable Alternative getHttp3(Uri origin) {
+        return first(origin, true);
+    }
+
+    private @Nullable Alternative first(Uri origin, boolean http3) {
+        if (!origin.isSecured()) {
+            return null;
+        }
+        String key = keyOf(origin);
+        long now = nanoClock.getAsLong();
+        synchronized (alternatives) {
+            List<Alternative> known = alternatives.get(key);
+            if (known == null) {
+                return null;
+            }
+            boolean unexpired = false;
+            for (Alternative alternative : known) {
+                if (alternative.expiresAt - now > 0) {
+                    if (alternative.isHttp3() == http3) {
+                        return alternative;
+                    }
+                    unexpired = true;
+                }
+            }
+            if (!unexpired) {
+                alternatives.remove(key);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Forgets an alternative of {@code origin} that could not be connected to, so that the next connection goes to
+     * the next one or to the origin itself.
+     */
+    public void markBroken(Uri origin, Alternative broken) {
+        String key = keyOf(origin);
+        synchronized (alternatives) {
+            List<Alternative> known = alternatives.get(key);
+            if (known == null || !known.contains(broken)) {
+                return;
+            }
+            List<Alternative> remaining = new ArrayList<>(known);
+            remaining.remove(broken);
+            if (remaining.isEmpty()) {
+                alternatives.remove(key);
+            } else {
+                alternatives.put(key, remaining);
+            }
+        }
+    }
+
+    /**
+     * @return the number of origins whose alternatives are remembered
+     */
+    public int size() {
+        synchronized (alternatives) {
+            return alternatives.size();
+        }
+    }
+
+    private boolean isUsable(String protocolId) {
+        return ApplicationProtocolNames.HTTP_1_1.equals(protocolId) || (http2Enabled && ApplicationProtocolNames.HTTP_2.equals(protocolId))
+                || (http3Enabled && HTTP_3.equals(protocolId));
+    }
+
+    private static String keyOf(Uri origin) {
+        return origin.getScheme() + "://" + origin.getHost().toLowerCase(Locale.ROOT) + ':' + origin.getExplicitPort();
+    }
+
+    /**
+     * Parses the alternatives of an Alt-Svc header value (RFC 7838 §3), skipping the malformed ones.
+     */
+    static List<Alternative> parse(String header, long now) {
+        List<Alternative> parsed = new ArrayList<>();
+        for (String altValue : split(header, ',')) {
+            List<String> parts = split(altValue, ';');
+            Alternative alternative = parseAlternative(parts, now);
+            if (alternative != null) {
+                parsed.add(alternative);
+            }
+        }
+        return parsed.isEmpty() ? Collections.emptyList() : parsed;
+    }
+
+    private static @Nullable Alternative parseAlternative(List<String> parts, long now) {
+        String alternative = parts.get(0).trim();
+        int equals = alternative.indexOf('=');
+        if (equals <= 0) {
+            return null;
+        }
+        String protocolId = percentDecode(alternative.substring(0, equals).trim());
+        String authority = unquote(alternative.substring(equals + 1).trim());
+        int colon = authority.lastIndexOf(':');
+        if (protocolId == null || colon < 0 || authority.lastIndexOf(']') > colon) {
+            return null;
+        }
+        String host = authority.substring(0, colon);
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        int port;
+        try {
+            port = Integer.parseInt(authority.substring(colon + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (port <= 0 || port > 65535) {
+            return null;
+        }
+        long maxAgeSeconds = DEFAULT_MAX_AGE_SECONDS;
+        for (Iterator<String> it = parts.listIterator(1); it.hasNext(); ) {
+            String parameter = it.next().trim();
+            int parameterEquals = parameter.indexOf('=');
+            if (parameterEquals > 0 && "ma".equalsIgnoreCase(parameter.substring(0, parameterEquals).trim())) {
+                try {
+                    maxAgeSeconds = Long.parseLong(unquote(parameter.substring(parameterEquals + 1).trim()));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        // capped at a century, so that the expiry time cannot overflow
+        long maxAgeNanos = TimeUnit.SECONDS.toNanos(Math.max(0, Math.min(maxAgeSeconds, TimeUnit.DAYS.toSeconds(365L * 100))));
+        return new Alternative(protocolId, host.isEmpty() ? null : host, port, now + maxAgeNanos);
+    }
+
+    // Splits on the separator outside of quoted strings.
+    private static List<String> split(String value, char separator) {
+        List<String> parts = new ArrayList<>();
+        boolean quoted = false;
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && quoted) {
+                i++;
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (c == separator && !quoted) {
+                parts.add(value.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(value.substring(start));
+        return parts;
+    }
+
+    private static String unquote(String value) {
+        if (value.length() < 2 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            return value;
+        }
+        StringBuilder unquoted = new StringBuilder(value.length() - 2);
+        for (int i = 1; i < value.length() - 1; i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length() - 1) {
+                c = value.charAt(++i);
+            }
+            unquoted.append(c);
+        }
+        return unquoted.toString();
+    }
+
+    // The protocol-id is an ALPN protocol name with the characters that are not token characters percent-encoded.
+    private static @Nullable String percentDecode(String protocolId) {
+        if (protocolId.indexOf('%') < 0) {
+            return protocolId;
+        }
+        byte[] decoded = new byte[protocolId.length()];
+        int length = 0;
+        for (int i = 0; i < protocolId.length(); i++) {
+            char c = protocolId.charAt(i);
+            if (c == '%') {
+                if (i + 2 >= protocolId.length()) {
+                    return null;
+                }
+                int high = Character.digit(protocolId.charAt(i + 1), 16);
+                int low = Character.digit(protocolId.charAt(i + 2), 16);
+                if (high < 0 || low < 0) {
+                    return null;
+                }
+                decoded[length++] = (byte) (high << 4 | low);
+                i += 2;
+            } else {
+                decoded[length++] = (byte) c;
+            }
+        }
+        return new String(decoded, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * An alternative service of an origin: the ALPN protocol it speaks and where it listens.
+     */
+    public static final class Alternative {
+
+        private final String protocolId;
+        private final @Nullable String host;
+        private final int port;
+        private final long expiresAt;
+
+        Alternative(String protocolId, @Nullable String host, int port, long expiresAt) {
+            this.protocolId = protocolId;
+            this.host = host;
+            this.port = port;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * @return the ALPN protocol name of the alternative, such as {@code h2}
+         */
+        public String getProtocolId() {
+            return protocolId;
+        }
+
+        /**
+         * @return the host of the alternative, {@code null} for the origin's own host
+         */
+        public @Nullable String getHost() {
+            return host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        /**
+         * @return whether the alternative serves HTTP/3 over QUIC rather than a protocol over TCP
+         */
+        public boolean isHttp3() {
+            return HTTP_3.equals(protocolId);
+        }
+
+        @Override
+        public String toString() {
+            return protocolId + "=\"" + (host != null ? host : "") + ':' + port + '"';
+        }
+    }
+}
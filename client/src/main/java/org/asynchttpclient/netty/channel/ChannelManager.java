@@ -58,33 +58,53 @@ import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.resolver.AddressResolver;
 import io.netty.resolver.AddressResolverGroup;
 import io.netty.resolver.NameResolver;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.util.AttributeKey;
 import io.netty.util.Timer;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.ImmediateExecutor;
 import io.netty.util.concurrent.Promise;
 import io.netty.util.internal.PlatformDependent;
 import org.asynchttpclient.AsyncHandler;
 import org.asynchttpclient.AsyncHttpClientConfig;
 import org.asynchttpclient.ClientStats;
+import org.asynchttpclient.ConnectionAcquisitionStats;
+import org.asynchttpclient.ConnectionPoolStats;
+import org.asynchttpclient.DnsCacheStats;
 import org.asynchttpclient.HostStats;
+import org.asynchttpclient.Http2ConnectionBdpStats;
+import org.asynchttpclient.Http2ConnectionRttStats;
+import org.asynchttpclient.LoadBalance;
 import org.asynchttpclient.Realm;
+import org.asynchttpclient.RequestBuilderBase;
 import org.asynchttpclient.SslEngineFactory;
+import org.asynchttpclient.TlsHandshakeStats;
 import org.asynchttpclient.channel.ChannelPool;
 import org.asynchttpclient.channel.ChannelPoolPartitioning;
 import org.asynchttpclient.channel.NoopChannelPool;
 import org.asynchttpclient.netty.NettyResponseFuture;
 import org.asynchttpclient.netty.OnLastHttpContentCallback;
 import org.asynchttpclient.netty.handler.AsyncHttpClientHandler;
+import org.asynchttpclient.netty.handler.Http2BdpEstimator;
+import org.asynchttpclient.netty.handler.Http2BdpPingHandler;
+import org.asynchttpclient.netty.handler.Http2FlushConsolidationHandler;
 import org.asynchttpclient.netty.handler.Http2Handler;
 import org.asynchttpclient.netty.handler.Http2PingHandler;
+import org.asynchttpclient.netty.handler.Http2RttPingHandler;
+import org.asynchttpclient.netty.handler.Http2StreamDispatcher;
+import org.asynchttpclient.netty.handler.Http3FrameAdapter;
 import org.asynchttpclient.netty.handler.HttpHandler;
 import org.asynchttpclient.netty.handler.WebSocketHandler;
 import org.asynchttpclient.netty.request.NettyRequestSender;
+import org.asynchttpclient.netty.ssl.CertificateHostNames;
 import org.asynchttpclient.netty.ssl.DefaultSslEngineFactory;
 import org.asynchttpclient.proxy.ProxyServer;
 import org.asynchttpclient.proxy.ProxyType;
+import org.asynchttpclient.resolver.CachingDnsNameResolver;
+import org.asynchttpclient.resolver.InflightHostnameLookups;
 import org.asynchttpclient.uri.Uri;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -92,20 +112,32 @@ import org.slf4j.LoggerFactory;
 
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSession;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class ChannelManager {
 
@@ -124,13 +156,20 @@ public class ChannelManager {
     public static final String HTTP2_FRAME_CODEC = "http2-frame-codec";
     public static final String HTTP2_MULTIPLEX = "http2-multiplex";
     public static final String AHC_HTTP2_HANDLER = "ahc-http2";
+    public static final String HTTP3_FRAME_ADAPTER = "http3-frame-adapter";
     private static final String TARGET_SSL_HANDLER = "target-ssl";
+    // Set, through its bootstrap, on a channel that must connect with a regular handshake even with tcpFastOpenConnect
+    static final AttributeKey<Boolean> NO_TCP_FAST_OPEN = AttributeKey.valueOf("noTcpFastOpen");
     private static final Logger LOGGER = LoggerFactory.getLogger(ChannelManager.class);
     // Guards the one-time WARN emitted when a native transport was requested but is unavailable and we
     // fall back to NIO. Logged once per JVM to avoid spamming logs when many clients are created.
     private static final AtomicBoolean NATIVE_FALLBACK_WARNED = new AtomicBoolean();
     // Guards the one-time WARN emitted when io_uring allocation fails and we fall back to epoll.
     private static final AtomicBoolean IO_URING_FALLBACK_WARNED = new AtomicBoolean();
+    // An HTTP/2 connection is only judged on its smoothed RTT once it has this many samples, and only counts as degraded
+    // when it is also this much slower than its siblings, so that jitter on a fast link never replaces it.
+    private static final int MIN_RTT_SAMPLES = 3;
+    private static final long MIN_DEGRADED_RTT_EXCESS_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
     private final AsyncHttpClientConfig config;
     private final SslEngineFactory sslEngineFactory;
     private final EventLoopGroup eventLoopGroup;
@@ -140,10 +179,33 @@ public class ChannelManager {
     // Channel options, resolved from config once at construction, applied to each channel from the channel
     // initializer instead of via Bootstrap#option to avoid Netty's synchronized per-connect options map (issue #2218).
     private final Map.Entry<ChannelOption<?>, Object>[] channelOptions;
+    // Set on each new channel when tcpFastOpenConnect is enabled and the transport supports it; cleared the first time
+    // the kernel rejects it, the connections then opening with a regular handshake.
+    // Not set on the channels of a Happy Eyeballs race, marked with NO_TCP_FAST_OPEN: a Fast Open connect completes
+    // before the server answers, so the first attempt would always win the race.
+    private volatile @Nullable ChannelOption<Integer> tcpFastOpenConnectOption;
     private final long handshakeTimeout;
+    // Runs the SSLEngine delegated tasks (certificate validation, key exchange) off the event loop; null runs them on
+    // it. sslHandshakePool is the one the client created, and shuts down, when no executor was configured.
+    private final @Nullable Executor sslHandshakeExecutor;
+    private final @Nullable ExecutorService sslHandshakePool;
     private final @Nullable AddressResolverGroup<InetSocketAddress> addressResolverGroup;
+    // Built-in non-blocking caching resolver, substituted for RequestBuilderBase.DEFAULT_NAME_RESOLVER (which
+    // blocks a thread in InetAddress.getAllByName) when no AddressResolverGroup is configured. Null when disabled.
+    private final @Nullable CachingDnsNameResolver defaultNameResolver;
+    private final InflightHostnameLookups inflightHostnameLookups = new InflightHostnameLookups();
+    // Per-IP latency scores driving LoadBalance.LEAST_LATENCY; null in the other modes.
+    private final @Nullable LatencyAwareAddressSelector latencySelector;
+    private final @Nullable AltSvcCache altSvcCache;
+    private final @Nullable Http3Connections http3Connections;
+    private final LongAdder poolHits = new LongAdder();
+    private final LongAdder poolMisses = new LongAdder();
+    private final LongAdder prewarmedConnections = new LongAdder();
 
     private final ChannelPool channelPool;
+    // Requests waiting for a connection while the connection limits are reached; null unless
+    // connectionAcquisitionQueueEnabled is set with a positive acquireFreeChannelTimeout.
+    private final @Nullable ConnectionAcquisitionQueue acquisitionQueue;
     private final ChannelGroup openChannels;
     // HTTP/2 registry, grouped by per-host base key so a permit-starved round-robin request can find a
     // sibling-IP connection (issue #2214). Outer key: the per-host base partition key. Inner key: the full
@@ -164,6 +226,13 @@ public class ChannelManager {
     // sweep and nettyTimer.stop() — such a waiter would otherwise be neither woken nor timed out, hanging its
     // request forever. See addHttp2ConnectionWaiter and NettyRequestSender's Http2ConnectionWaiter.arm().
     private volatile boolean waitersClosed;
+    // HTTP/2 scale-out (http2MaxConnectionsPerHost): the groups a connection is being opened into, at most one at a
+    // time each, and the source of the ids telling the connections of a group apart.
+    private final Set<Object> http2ScaleOutsInFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger http2ScaleOutIds = new AtomicInteger();
+    private final LongAdder http2DegradedConnections = new LongAdder();
+    private final LongAdder tlsHandshakes = new LongAdder();
+    private final LongAdder resumedTlsHandshakes = new LongAdder();
 
     private AsyncHttpClientHandler wsHandler;
     private Http2Handler http2Handler;
@@ -198,8 +267,22 @@ public class ChannelManager {
         }
 
         this.channelPool = channelPool;
+        acquisitionQueue = config.isConnectionAcquisitionQueueEnabled() && config.getAcquireFreeChannelTimeout() > 0
+                ? new ConnectionAcquisitionQueue(nettyTimer, config.getAcquireFreeChannelTimeout())
+                : null;
         openChannels = new DefaultChannelGroup("asyncHttpClient", GlobalEventExecutor.INSTANCE);
         handshakeTimeout = config.getHandshakeTimeout();
+        Executor configuredSslHandshakeExecutor = config.getSslHandshakeExecutor();
+        if (configuredSslHandshakeExecutor != null) {
+            sslHandshakePool = null;
+            sslHandshakeExecutor = configuredSslHandshakeExecutor;
+        } else if (config.getSslHandshakeThreads() > 0) {
+            sslHandshakePool = newSslHandshakePool(config);
+            sslHandshakeExecutor = sslHandshakePool;
+        } else {
+            sslHandshakePool = null;
+            sslHandshakeExecutor = null;
+        }
 
         // check if external EventLoopGroup is defined
         ThreadFactory threadFactory = config.getThreadFactory() != null ? config.getThreadFactory() : new DefaultThreadFactory(config.getThreadPoolName());
@@ -247,11 +330,48 @@ public class ChannelManager {
 
         this.eventLoopGroup = localEventLoopGroup;
         channelOptions = buildChannelOptions(config);
+        if (config.isTcpFastOpenConnect()) {
+            tcpFastOpenConnectOption = transportFactory.tcpFastOpenConnectOption();
+            if (tcpFastOpenConnectOption == null) {
+                LOGGER.info("TCP Fast Open requested (tcpFastOpenConnect=true) but not supported by the {} transport, "
+                        + "connections open with a regular handshake", eventLoopGroup.getClass().getSimpleName());
+            }
+        }
         httpBootstrap = newBootstrap(transportFactory, eventLoopGroup);
         wsBootstrap = newBootstrap(transportFactory, eventLoopGroup);
 
         // Use the address resolver group from config if provided; otherwise null (legacy per-request resolution)
         addressResolverGroup = config.getAddressResolverGroup();
+        if (addressResolverGroup == null && config.isAsyncDnsResolverEnabled()) {
+            DnsNameResolverBuilder dnsResolverBuilder = new DnsNameResolverBuilder(eventLoopGroup.next())
+                    .datagramChannelFactory(transportFactory.newDatagramChannelFactory())
+                    .queryTimeoutMillis(config.getDnsQueryTimeout().toMillis());
+            defaultNameResolver = new CachingDnsNameResolver(dnsResolverBuilder, config.getDnsCacheMinTtl(),
+                    config.getDnsCacheMaxTtl(), config.getDnsCacheNegativeTtl());
+        } else {
+            defaultNameResolver = null;
+        }
+        latencySelector = config.getLoadBalance() == LoadBalance.LEAST_LATENCY ? new LatencyAwareAddressSelector() : null;
+        altSvcCache = config.isAltSvcEnabled() ? new AltSvcCache(config.getAltSvcCacheMaxEntries(), config.isHttp2Enabled(), config.isHttp3Enabled()) : null;
+        http3Connections = newHttp3Connections(config, transportFactory);
+    }
+
+    private @Nullable Http3Connections newHttp3Connections(AsyncHttpClientConfig config,
+                                                           TransportFactory<? extends Channel, ? extends EventLoopGroup> transportFactory) {
+        if (!config.isHttp3Enabled()) {
+            return null;
+        }
+        if (config.getSslContext() != null || config.getSslEngineFactory() != null) {
+            LOGGER.info("HTTP/3 requested (http3Enabled=true) but a custom SslContext or SslEngineFactory is set, which QUIC "
+                    + "cannot use: requests go over TCP");
+            return null;
+        }
+        if (!Http3Connections.isAvailable()) {
+            LOGGER.info("HTTP/3 requested (http3Enabled=true) but netty-codec-http3 or the native QUIC library of the "
+                    + "platform is missing: requests go over TCP");
+            return null;
+        }
+        return new Http3Connections(config, eventLoopGroup, transportFactory.newDatagramChannelFactory());
     }
 
     private static TransportFactory<? extends Channel, ? extends EventLoopGroup> getNativeTransportFactory(AsyncHttpClientConfig config) {
@@ -378,6 +498,16 @@ public class ChannelManager {
                 throw t;
             }
         }
+        ChannelOption<Integer> fastOpenConnect = tcpFastOpenConnectOption;
+        if (fastOpenConnect != null && !channel.hasAttr(NO_TCP_FAST_OPEN)) {
+            try {
+                channelConfig.setOption(fastOpenConnect, 1);
+            } catch (Throwable t) {
+                // e.g. ENOPROTOOPT before Linux 4.11: not worth failing the connection over
+                tcpFastOpenConnectOption = null;
+                LOGGER.warn("Failed to enable TCP Fast Open for channel '{}', connections now open with a regular handshake", channel, t);
+            }
+        }
     }
 
     public void configureBootstraps(NettyRequestSender requestSender) {
@@ -460,6 +590,13 @@ public class ChannelManager {
                 LOGGER.error("onConnectionOffer crashed", e);
             }
 
+            // A request waiting for a connection to this partition gets the channel right away: it would otherwise
+            // only find it in the pool when its own deadline expires.
+            if (acquisitionQueue != null && acquisitionQueue.hasWaiters() && channelPool.handOff(channel, partitionKey)
+                    && acquisitionQueue.handOff(channel, partitionKey)) {
+                return;
+            }
+
             if (!channelPool.offer(channel, partitionKey)) {
                 // rejected by pool
                 closeChannel(channel);
@@ -470,14 +607,33 @@ public class ChannelManager {
         }
     }
 
+    /**
+     * @return the queue of the requests waiting for a connection, or {@code null} when
+     * {@link AsyncHttpClientConfig#isConnectionAcquisitionQueueEnabled()} is off
+     */
+    public @Nullable ConnectionAcquisitionQueue getAcquisitionQueue() {
+        return acquisitionQueue;
+    }
+
     /**
      * The per-host base partition key under which an HTTP/2 connection registered with {@code partitionKey}
-     * is grouped. For a {@link RoundRobinPartitionKey} that is its base (without the pinned IP); for any
-     * other key the key is already the base.
+     * is grouped. For a {@link RoundRobinPartitionKey} that is its base (without the pinned IP), for a
+     * {@link Http2ScaleOutPartitionKey} the base of the key it wraps; for any other key the key is already the base.
      */
     private static Object baseKeyOf(Object partitionKey) {
-        return partitionKey instanceof RoundRobinPartitionKey
-                ? ((RoundRobinPartitionKey) partitionKey).getBaseKey()
+        Object groupKey = groupKeyOf(partitionKey);
+        return groupKey instanceof RoundRobinPartitionKey
+                ? ((RoundRobinPartitionKey) groupKey).getBaseKey()
+                : groupKey;
+    }
+
+    /**
+     * The key of the group of connections polled together by {@link #pollHttp2Connection(Object)}: the key a
+     * {@link Http2ScaleOutPartitionKey} wraps, any other key itself.
+     */
+    public static Object groupKeyOf(Object partitionKey) {
+        return partitionKey instanceof Http2ScaleOutPartitionKey
+                ? ((Http2ScaleOutPartitionKey) partitionKey).getPartitionKey()
                 : partitionKey;
     }
 
@@ -536,6 +692,10 @@ public class ChannelManager {
         Channel registered = pollHttp2Connection(partitionKey);
         if (registered != null) {
             wakeHttp2ConnectionWaiters(partitionKey, registered);
+            if (acquisitionQueue != null && acquisitionQueue.hasWaiters()) {
+                Object baseKey = baseKeyOf(partitionKey);
+                acquisitionQueue.handOffMultiplexed(registered, key -> baseKeyOf(key).equals(baseKey));
+            }
         }
     }
 
@@ -644,13 +804,41 @@ public class ChannelManager {
     /**
      * Returns an active, non-draining HTTP/2 connection for the given partition key, or {@code null}.
      * Unlike the regular pool, this does NOT remove the connection — it remains available for
-     * concurrent multiplexed requests.
+     * concurrent multiplexed requests. When connections were opened beside it to scale out
+     * ({@link AsyncHttpClientConfig#getHttp2MaxConnectionsPerHost()}), the least loaded one of them is returned.
      */
     public Channel pollHttp2Connection(Object partitionKey) {
         ConcurrentHashMap<Object, Channel> byKey = http2Connections.get(baseKeyOf(partitionKey));
         if (byKey == null) {
             return null;
         }
+        if (config.getHttp2MaxConnectionsPerHost() > 1 && !(partitionKey instanceof Http2ScaleOutPartitionKey)) {
+            return pollLeastLoadedHttp2Connection(byKey, partitionKey);
+        }
+        return pollHttp2Connection(byKey, partitionKey);
+    }
+
+    private @Nullable Channel pollLeastLoadedHttp2Connection(ConcurrentHashMap<Object, Channel> byKey, Object groupKey) {
+        Channel leastLoaded = null;
+        int leastActiveStreams = Integer.MAX_VALUE;
+        for (Object key : byKey.keySet()) {
+            if (!groupKeyOf(key).equals(groupKey)) {
+                continue;
+            }
+            Channel channel = pollHttp2Connection(byKey, key);
+            if (channel != null) {
+                Http2ConnectionState state = channel.attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
+                int activeStreams = state != null ? state.getActiveStreams() : 0;
+                if (activeStreams < leastActiveStreams) {
+                    leastLoaded = channel;
+                    leastActiveStreams = activeStreams;
+                }
+            }
+        }
+        return leastLoaded;
+    }
+
+    private Channel pollHttp2Connection(ConcurrentHashMap<Object, Channel> byKey, Object partitionKey) {
         Channel channel = byKey.get(partitionKey);
         if (channel == null) {
             return null;
@@ -660,12 +848,149 @@ public class ChannelManager {
             return null;
         }
         Http2ConnectionState state = channel.attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
-        if (state != null && state.isDraining()) {
+        if (state != null && (state.isDraining() || state.isRetired() || state.isDegraded())) {
             return null;
         }
         return channel;
     }
 
+    /**
+     * Stops placing new requests on an HTTP/2 connection whose RTT degraded past
+     * {@link AsyncHttpClientConfig#getHttp2DegradedRttFactor()} times that of the other connections to its host. Its
+     * smoothed RTT and the age of its unanswered probe both count. Called by {@link Http2RttPingHandler} after each
+     * probe.
+     */
+    void checkHttp2ConnectionRtt(Channel connection) {
+        int factor = config.getHttp2DegradedRttFactor();
+        Http2ConnectionState state = connection.attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
+        if (factor <= 0 || state == null || state.isDegraded() || state.isDraining() || state.getPartitionKey() == null) {
+            return;
+        }
+        // A lone connection is never replaced: its RTT also grows with the queueing behind its own DATA frames, so
+        // only a sibling tells a bad path apart from a busy one.
+        long reference = medianSiblingRttNanos(connection, state.getPartitionKey());
+        if (reference < 0) {
+            return;
+        }
+        long smoothedRtt = state.getRttSampleCount() >= MIN_RTT_SAMPLES ? state.getSmoothedRttNanos() : 0;
+        long rtt = Math.max(smoothedRtt, state.getRttProbeAgeNanos(System.nanoTime()));
+        if (rtt - reference >= MIN_DEGRADED_RTT_EXCESS_NANOS && rtt > reference * factor) {
+            replaceDegradedHttp2Connection(connection, state, rtt, reference);
+        }
+    }
+
+    // The median smoothed RTT of the other live, sampled connections to the host, -1 when there is none
+    private long medianSiblingRttNanos(Channel connection, Object partitionKey) {
+        ConcurrentHashMap<Object, Channel> byKey = http2Connections.get(baseKeyOf(partitionKey));
+        if (byKey == null) {
+            return -1;
+        }
+        List<Long> rtts = new ArrayList<>();
+        for (Channel sibling : byKey.values()) {
+            Http2ConnectionState siblingState = sibling.attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
+            if (sibling != connection && sibling.isActive() && siblingState != null && !siblingState.isDegraded()
+                    && siblingState.getRttSampleCount() >= MIN_RTT_SAMPLES) {
+                rtts.add(siblingState.getSmoothedRttNanos());
+            }
+        }
+        if (rtts.isEmpty()) {
+            return -1;
+        }
+        Collections.sort(rtts);
+        return rtts.get(rtts.size() / 2);
+    }
+
+    // Takes the connection out of the registry, so that the next request to its host opens a replacement, and frees
+    // its round-robin permit for it, as on GOAWAY. Unlike GOAWAY, the connection still serves the requests queued on
+    // it: it closes once its last stream ends (see NettyRequestSender's onHttp2StreamClosed), right away when idle.
+    private void replaceDegradedHttp2Connection(Channel connection, Http2ConnectionState state, long rtt, long reference) {
+        if (!state.markDegraded()) {
+            return;
+        }
+        LOGGER.debug("Replacing HTTP/2 connection {}: its RTT is {}, against {}", connection, Duration.ofNanos(rtt),
+                Duration.ofNanos(reference));
+        http2DegradedConnections.increment();
+        removeHttp2Connection(state.getPartitionKey(), connection);
+        state.releasePermitOnce();
+        if (state.tryRetire()) {
+            closeChannel(connection);
+        }
+    }
+
+    /**
+     * Starts opening an HTTP/2 connection beside the busy one registered under {@code partitionKey}, see
+     * {@link AsyncHttpClientConfig#getHttp2MaxConnectionsPerHost()}. At most one is opened at a time per group;
+     * {@link #endHttp2ScaleOut(Http2ScaleOutPartitionKey)} must be called once it is registered or failed.
+     *
+     * @return the key to register the new connection under, or {@code null} when the group already has as many
+     * connections as allowed or one is being opened
+     */
+    public @Nullable Http2ScaleOutPartitionKey tryStartHttp2ScaleOut(Object partitionKey) {
+        int maxConnections = config.getHttp2MaxConnectionsPerHost();
+        Object groupKey = groupKeyOf(partitionKey);
+        if (maxConnections <= 1 || countHttp2Connections(groupKey) >= maxConnections || !http2ScaleOutsInFlight.add(groupKey)) {
+            return null;
+        }
+        return new Http2ScaleOutPartitionKey(groupKey, http2ScaleOutIds.incrementAndGet());
+    }
+
+    public void endHttp2ScaleOut(Http2ScaleOutPartitionKey scaleOutKey) {
+        http2ScaleOutsInFlight.remove(scaleOutKey.getPartitionKey());
+    }
+
+    private int countHttp2Connections(Object groupKey) {
+        ConcurrentHashMap<Object, Channel> byKey = http2Connections.get(baseKeyOf(groupKey));
+        if (byKey == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Entry<Object, Channel> entry : byKey.entrySet()) {
+            if (groupKeyOf(entry.getKey()).equals(groupKey) && entry.getValue().isActive()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Closes an HTTP/2 connection that was opened to scale out a busy one once it is idle and the other connections
+     * of its group are at most half as busy as {@link AsyncHttpClientConfig#getHttp2ScaleOutThreshold()}, so that
+     * they can take over its share of the load. Called whenever one of its streams closes.
+     */
+    public void retireIdleHttp2Connection(Channel connection) {
+        Http2ConnectionState state = connection.attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
+        Object partitionKey = state != null ? state.getPartitionKey() : null;
+        if (!(partitionKey instanceof Http2ScaleOutPartitionKey) || state.getActiveStreams() > 0 || state.hasPendingOpeners()) {
+            return;
+        }
+        ConcurrentHashMap<Object, Channel> byKey = http2Connections.get(baseKeyOf(partitionKey));
+        if (byKey == null) {
+            return;
+        }
+        Object groupKey = groupKeyOf(partitionKey);
+        int threshold = config.getHttp2ScaleOutThreshold();
+        int retireBelowPercent = (threshold > 0 ? threshold : 100) / 2;
+        boolean othersRemain = false;
+        for (Object key : byKey.keySet()) {
+            if (key.equals(partitionKey) || !groupKeyOf(key).equals(groupKey)) {
+                continue;
+            }
+            Channel other = pollHttp2Connection(byKey, key);
+            if (other != null) {
+                Http2ConnectionState otherState = other.attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
+                if (otherState != null && (otherState.getUtilizationPercent() > retireBelowPercent || otherState.hasPendingOpeners())) {
+                    return;
+                }
+                othersRemain = true;
+            }
+        }
+        if (othersRemain && state.tryRetire()) {
+            LOGGER.debug("Retiring idle HTTP/2 connection {}", connection);
+            removeHttp2Connection(partitionKey, connection);
+            closeChannel(connection);
+        }
+    }
+
     /**
      * Round-robin permit-starved fallback (issue #2214): returns an active, non-draining HTTP/2 connection
      * open to ANY IP of the host identified by {@code baseKey}, or {@code null} if none qualifies. Used only
@@ -679,11 +1004,25 @@ public class ChannelManager {
      * coalescing-losers are never stored, so they are never returned.
      */
     public Channel pollHttp2SiblingConnection(Object baseKey) {
+        return pollHttp2SiblingConnection(baseKey, null);
+    }
+
+    /**
+     * Like {@link #pollHttp2SiblingConnection(Object)}, but never returns a connection to an IP that is
+     * {@code skipped} (e.g. ejected by outlier detection).
+     *
+     * @param skipped the IPs whose connections must not be returned, or {@code null}
+     */
+    public Channel pollHttp2SiblingConnection(Object baseKey, @Nullable Predicate<InetAddress> skipped) {
         ConcurrentHashMap<Object, Channel> byKey = http2Connections.get(baseKey);
         if (byKey == null) {
             return null;
         }
         for (Object key : byKey.keySet()) {
+            Object groupKey = groupKeyOf(key);
+            if (skipped != null && groupKey instanceof RoundRobinPartitionKey && skipped.test(((RoundRobinPartitionKey) groupKey).getAddress())) {
+                continue;
+            }
             Channel channel = pollHttp2Connection(key);
             if (channel != null) {
                 return channel;
@@ -692,6 +1031,76 @@ public class ChannelManager {
         return null;
     }
 
+    /**
+     * HTTP/2 connection coalescing (RFC 9113 §9.1.1, {@link AsyncHttpClientConfig#isHttp2ConnectionCoalescingEnabled()}):
+     * returns an active, non-draining HTTP/2 connection opened for another hostname that a request to {@code uri}
+     * may reuse, or {@code null}. The connection must be direct (no proxy, no virtual host), open to the port of
+     * {@code uri} on one of the IPs {@code uri}'s host resolved to, and its server certificate must cover that host,
+     * which must not have been refused on it with 421 Misdirected Request.
+     *
+     * <p>Scans every registered connection, so it only runs on the way to opening a new one.
+     *
+     * @param addresses the addresses {@code uri}'s host resolved to
+     */
+    public @Nullable Channel pollCoalescableHttp2Connection(Uri uri, List<InetSocketAddress> addresses) {
+        String host = uri.getHost();
+        int port = uri.getExplicitPort();
+        for (ConcurrentHashMap<Object, Channel> byKey : http2Connections.values()) {
+            for (Entry<Object, Channel> entry : byKey.entrySet()) {
+                if (baseKeyOf(entry.getKey()) instanceof ChannelPoolPartitioning.PartitionKey
+                        && isCoalescable(entry.getValue(), host, port, addresses)) {
+                    // validates liveness and draining like any other lookup
+                    Channel channel = pollHttp2Connection(entry.getKey());
+                    if (channel != null) {
+                        return channel;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param connection an HTTP/2 connection
+     * @param future     a request sent on {@code connection}
+     * @return whether the connection was opened for another origin than the request's, i.e. whether the request
+     * was coalesced onto it
+     */
+    public static boolean isCoalesced(Channel connection, NettyResponseFuture<?> future) {
+        Http2ConnectionState state = connection.attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
+        Object partitionKey = state != null ? state.getPartitionKey() : null;
+        return partitionKey != null && !baseKeyOf(partitionKey).equals(future.basePartitionKey());
+    }
+
+    private static boolean isCoalescable(Channel channel, String host, int port, List<InetSocketAddress> addresses) {
+        SocketAddress remoteAddress = channel.remoteAddress();
+        if (!(remoteAddress instanceof InetSocketAddress) || ((InetSocketAddress) remoteAddress).getPort() != port) {
+            return false;
+        }
+        InetAddress remoteIp = ((InetSocketAddress) remoteAddress).getAddress();
+        boolean resolvedToRemoteIp = false;
+        for (InetSocketAddress address : addresses) {
+            if (remoteIp.equals(address.getAddress())) {
+                resolvedToRemoteIp = true;
+                break;
+            }
+        }
+        Http2ConnectionState state = channel.attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
+        if (!resolvedToRemoteIp || state == null || state.isMisdirected(host)) {
+            return false;
+        }
+        List<String> certificateHostNames = state.getCertificateHostNames();
+        if (certificateHostNames == null) {
+            SslHandler sslHandler = channel.pipeline().get(SslHandler.class);
+            if (sslHandler == null) {
+                return false;
+            }
+            certificateHostNames = CertificateHostNames.of(sslHandler.engine().getSession());
+            state.setCertificateHostNames(certificateHostNames);
+        }
+        return CertificateHostNames.matches(certificateHostNames, host);
+    }
+
     /**
      * Polls for an HTTP/2 connection by URI/virtualHost/proxy, using the same partition key logic
      * as the regular pool. Returns the connection without removing it from the registry.
@@ -722,6 +1131,30 @@ public class ChannelManager {
         return channelPool.poll(partitionKey);
     }
 
+    /**
+     * Counts a connection lookup of a request for {@link ClientStats#getConnectionPoolStats()}.
+     *
+     * @param hit whether a pooled or multiplexed connection was found
+     */
+    public void recordPoolLookup(boolean hit) {
+        (hit ? poolHits : poolMisses).increment();
+    }
+
+    /**
+     * Counts connections opened by pool maintenance for {@link ClientStats#getConnectionPoolStats()}.
+     */
+    public void recordPrewarmedConnections(int count) {
+        prewarmedConnections.add(count);
+    }
+
+    /**
+     * @return the number of idle pooled channels in the partitions whose key matches, or {@code -1} when the
+     * channel pool cannot tell
+     */
+    public long getIdleChannelCount(Predicate<Object> partitionKeys) {
+        return channelPool.getIdleChannelCount(partitionKeys);
+    }
+
     public void removeAll(Channel connection) {
         channelPool.removeAll(connection);
     }
@@ -730,7 +1163,12 @@ public class ChannelManager {
         http2Connections.clear();
         ChannelGroupFuture groupFuture = openChannels.close();
         channelPool.destroy();
-        groupFuture.addListener(future -> sslEngineFactory.destroy());
+        groupFuture.addListener(future -> {
+            sslEngineFactory.destroy();
+            if (sslHandshakePool != null) {
+                sslHandshakePool.shutdown();
+            }
+        });
     }
 
     public void close() {
@@ -740,11 +1178,21 @@ public class ChannelManager {
         // runs after the (possibly long) graceful EventLoopGroup shutdown, and the nettyTimer that would
         // otherwise fire their deadline is being stopped in parallel.
         failHttp2ConnectionWaiters();
+        if (http3Connections != null) {
+            http3Connections.close();
+        }
+        // Likewise for the requests queued for a connection permit: no connection will be released to them.
+        if (acquisitionQueue != null) {
+            acquisitionQueue.close();
+        }
         // Close the resolver group first while the EventLoopGroup is still active,
         // since Netty DNS resolvers may need a live EventLoop for clean shutdown.
         if (addressResolverGroup != null) {
             addressResolverGroup.close();
         }
+        if (defaultNameResolver != null) {
+            defaultNameResolver.close();
+        }
         if (allowReleaseEventLoopGroup) {
             final long shutdownQuietPeriod = config.getShutdownQuietPeriod().toMillis();
             final long shutdownTimeout = config.getShutdownTimeout().toMillis();
@@ -767,6 +1215,14 @@ public class ChannelManager {
         openChannels.add(channel);
     }
 
+    // Bounded to sslHandshakeThreads threads, which time out when idle; the tasks of a handshake burst queue up.
+    private static ExecutorService newSslHandshakePool(AsyncHttpClientConfig config) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(config.getSslHandshakeThreads(), config.getSslHandshakeThreads(),
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DefaultThreadFactory(config.getThreadPoolName() + "-tls", true));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
     private HttpClientCodec newHttpClientCodec() {
         return new HttpClientCodec(//
                 config.getHttpClientCodecMaxInitialLineLength(),
@@ -779,13 +1235,59 @@ public class ChannelManager {
 
     private SslHandler createSslHandler(String peerHost, int peerPort, boolean http2Allowed) {
         SSLEngine sslEngine = sslEngineFactory.newSslEngine(config, peerHost, peerPort, http2Allowed);
-        SslHandler sslHandler = new SslHandler(sslEngine);
+        HandshakeTimingSslHandler sslHandler = new HandshakeTimingSslHandler(sslEngine,
+                sslHandshakeExecutor != null ? sslHandshakeExecutor : ImmediateExecutor.INSTANCE);
         if (handshakeTimeout > 0) {
             sslHandler.setHandshakeTimeoutMillis(handshakeTimeout);
         }
+        sslHandler.handshakeFuture().addListener(f -> {
+            if (f.isSuccess()) {
+                onTlsHandshake(sslEngine.getSession(), sslHandler.handshakeStartedAt);
+            }
+        });
         return sslHandler;
     }
 
+    // A resumed session, whether by session ID (TLS 1.2) or by PSK (TLS 1.3), keeps the creation time of the session
+    // it resumes, which predates this handshake; a full handshake creates its session while it runs. Conscrypt keeps
+    // that time in whole seconds, so such a time is compared with the second the handshake started in.
+    private void onTlsHandshake(SSLSession session, long handshakeStartedAt) {
+        tlsHandshakes.increment();
+        long createdAt = session.getCreationTime();
+        if (createdAt % 1000 == 0) {
+            handshakeStartedAt -= handshakeStartedAt % 1000;
+        }
+        if (createdAt < handshakeStartedAt) {
+            resumedTlsHandshakes.increment();
+        }
+    }
+
+    // Records when its handshake starts, which is once the channel is connected, or right away when it is added to a
+    // connected channel (a proxy tunnel): a session created by another connection while this one was connecting must
+    // not make its handshake look resumed.
+    private static final class HandshakeTimingSslHandler extends SslHandler {
+
+        private volatile long handshakeStartedAt;
+
+        private HandshakeTimingSslHandler(SSLEngine engine, Executor delegatedTaskExecutor) {
+            super(engine, delegatedTaskExecutor);
+        }
+
+        @Override
+        public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+            if (ctx.channel().isActive()) {
+                handshakeStartedAt = System.currentTimeMillis();
+            }
+            super.handlerAdded(ctx);
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) throws Exception {
+            handshakeStartedAt = System.currentTimeMillis();
+            super.channelActive(ctx);
+        }
+    }
+
     public Future<Channel> updatePipelineForHttpTunneling(ChannelPipeline pipeline, Uri requestUri) {
         Future<Channel> whenHandshaked = null;
 
@@ -990,6 +1492,38 @@ public class ChannelManager {
         return channel instanceof Http2StreamChannel;
     }
 
+    /**
+     * Checks whether the channel a response is handled on carries a single HTTP/2 stream: a stream child channel, or
+     * the connection of a stream driven by {@link Http2StreamDispatcher}. An HTTP/3 request stream, which its
+     * {@link Http3FrameAdapter} turns into an HTTP/2 one, is one too, see {@link #isHttp3Stream(Channel)}.
+     */
+    public static boolean isHttp2Stream(Channel channel) {
+        return channel instanceof Http2StreamChannel || isHttp2(channel) || isHttp3Stream(channel);
+    }
+
+    /**
+     * Checks whether the given channel is a QUIC request stream of an HTTP/3 connection, single-use like an HTTP/2
+     * stream child channel.
+     */
+    public static boolean isHttp3Stream(Channel channel) {
+        return channel.pipeline().get(HTTP3_FRAME_ADAPTER) != null;
+    }
+
+    /**
+     * Detaches the future from the HTTP/2 stream it is served on and ends that stream, leaving the connection open,
+     * so that the future can be sent again.
+     *
+     * @param channel the channel the response is handled on, see {@link #isHttp2Stream(Channel)}
+     * @param future  the request future
+     */
+    public void discardHttp2Stream(Channel channel, NettyResponseFuture<?> future) {
+        if (channel instanceof Http2StreamChannel || isHttp3Stream(channel)) {
+            closeChannel(channel);
+        } else {
+            Http2StreamDispatcher.discard(channel, future);
+        }
+    }
+
     /**
      * Returns the shared {@link Http2Handler} instance for use with stream child channels.
      */
@@ -1000,7 +1534,9 @@ public class ChannelManager {
     /**
      * Upgrades the pipeline from HTTP/1.1 to HTTP/2 after ALPN negotiates "h2".
      * Removes HTTP/1.1 handlers and adds {@link Http2FrameCodec} + {@link Http2MultiplexHandler}.
-     * The per-stream {@link Http2Handler} is added separately on each stream child channel.
+     * The per-stream {@link Http2Handler} is added separately on each stream child channel. With
+     * {@link AsyncHttpClientConfig#isHttp2LightweightStreamsEnabled()}, an {@link Http2StreamDispatcher} takes the
+     * place of the multiplex handler and hands the frames of every stream to the {@link Http2Handler} itself.
      */
     public void upgradePipelineToHttp2(ChannelPipeline pipeline) {
         // Remove HTTP/1.1 specific handlers
@@ -1032,18 +1568,35 @@ public class ChannelManager {
                 .initialSettings(settings)
                 .build();
 
-        // Http2MultiplexHandler creates a child channel per HTTP/2 stream.
-        // Server-push streams are rejected with RST_STREAM(REFUSED_STREAM).
-        Http2MultiplexHandler multiplexHandler = new Http2MultiplexHandler(new ChannelInitializer<Channel>() {
-            @Override
-            protected void initChannel(Channel ch) {
-                // Reject server push by sending RST_STREAM(REFUSED_STREAM)
-                ch.writeAndFlush(new DefaultHttp2ResetFrame(Http2Error.REFUSED_STREAM))
-                        .addListener(f -> ch.close());
-            }
-        });
+        ChannelHandler multiplexHandler;
+        if (config.isHttp2LightweightStreamsEnabled()) {
+            multiplexHandler = new Http2StreamDispatcher(frameCodec, http2Handler, config.isEnableAutomaticDecompression(),
+                    config.isKeepEncodingHeader(), config.getHttp2MaxDecompressedResponseSize(),
+                    config.isHttp2ConsumerFlowControlEnabled());
+        } else {
+            // Http2MultiplexHandler creates a child channel per HTTP/2 stream.
+            // Server-push streams are rejected with RST_STREAM(REFUSED_STREAM).
+            multiplexHandler = new Http2MultiplexHandler(new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(Channel ch) {
+                    // Reject server push by sending RST_STREAM(REFUSED_STREAM)
+                    ch.writeAndFlush(new DefaultHttp2ResetFrame(Http2Error.REFUSED_STREAM))
+                            .addListener(f -> ch.close());
+                }
+            });
+        }
 
         pipeline.addLast(HTTP2_FRAME_CODEC, frameCodec);
+        if (config.isHttp2WindowAutotuningEnabled()) {
+            // ahead of the multiplex handler, which hands the DATA frames to the stream channels
+            pipeline.addLast("http2-bdp-ping", new Http2BdpPingHandler(frameCodec, config.getHttp2InitialWindowSize(),
+                    config.getHttp2MaxWindowSize()));
+        }
+        if (config.getHttp2FlushConsolidationLimit() > 0) {
+            // between the codec and the streams, whose frames it flushes together
+            pipeline.addLast("http2-flush-consolidation",
+                    new Http2FlushConsolidationHandler(config.getHttp2FlushConsolidationLimit()));
+        }
         pipeline.addLast(HTTP2_MULTIPLEX, multiplexHandler);
 
         // Attach HTTP/2 connection state for MAX_CONCURRENT_STREAMS tracking and GOAWAY draining
@@ -1062,12 +1615,13 @@ public class ChannelManager {
             public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
                 if (msg instanceof Http2SettingsFrame) {
                     Http2SettingsFrame settingsFrame = (Http2SettingsFrame) msg;
-                    Long maxStreams = settingsFrame.settings().maxConcurrentStreams();
-                    if (maxStreams != null) {
-                        Http2ConnectionState connState = ctx.channel().attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
-                        if (connState != null) {
+                    Http2ConnectionState connState = ctx.channel().attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
+                    if (connState != null) {
+                        Long maxStreams = settingsFrame.settings().maxConcurrentStreams();
+                        if (maxStreams != null) {
                             connState.updateMaxConcurrentStreams(maxStreams.intValue());
                         }
+                        connState.onRemoteSettings();
                     }
                 }
                 ctx.fireChannelRead(msg);
@@ -1115,6 +1669,12 @@ public class ChannelManager {
             }
         });
 
+        long rttProbeIntervalNanos = config.getHttp2RttProbeInterval().toNanos();
+        if (rttProbeIntervalNanos > 0) {
+            // ahead of the keep-alive handlers below, see Http2RttPingHandler
+            pipeline.addLast("http2-rtt-ping", new Http2RttPingHandler(state, rttProbeIntervalNanos, this::checkHttp2ConnectionRtt));
+        }
+
         // Install PING handler for keepalive if configured
         long pingIntervalMs = config.getHttp2PingInterval().toMillis();
         if (pingIntervalMs > 0) {
@@ -1134,12 +1694,29 @@ public class ChannelManager {
             targetSslHandler = (SslHandler) pipeline.get(SSL_HANDLER);
         }
         if (targetSslHandler != null
-                && ApplicationProtocolNames.HTTP_2.equals(targetSslHandler.applicationProtocol())) {
+                && ApplicationProtocolNames.HTTP_2.equals(negotiatedApplicationProtocol(targetSslHandler))) {
             upgradePipelineToHttp2(pipeline);
             registerHttp2Connection(partitionKey, pipeline.channel());
         }
     }
 
+    /**
+     * @return the protocol ALPN selected on the connection, null if none. Netty reports it for the engines it drives
+     * ALPN on; an engine negotiating ALPN itself (the Conscrypt one used with a {@link org.asynchttpclient.TlsSessionStore})
+     * reports it through {@link SSLEngine#getApplicationProtocol()}.
+     */
+    public static @Nullable String negotiatedApplicationProtocol(SslHandler sslHandler) {
+        String protocol = sslHandler.applicationProtocol();
+        if (protocol == null) {
+            try {
+                protocol = sslHandler.engine().getApplicationProtocol();
+            } catch (UnsupportedOperationException e) {
+                return null;
+            }
+        }
+        return protocol == null || protocol.isEmpty() ? null : protocol;
+    }
+
     public void upgradePipelineForWebSockets(ChannelPipeline pipeline) {
         pipeline.addAfter(HTTP_CLIENT_CODEC, WS_ENCODER_HANDLER, new WebSocket08FrameEncoder(true));
         pipeline.addAfter(WS_ENCODER_HANDLER, WS_DECODER_HANDLER, new WebSocket08FrameDecoder(false,
@@ -1185,15 +1762,49 @@ public class ChannelManager {
         return addressResolverGroup;
     }
 
+    /**
+     * Return the hostname lookups in flight, which the concurrent resolutions of a hostname share.
+     */
+    public InflightHostnameLookups getInflightHostnameLookups() {
+        return inflightHostnameLookups;
+    }
+
+    /**
+     * Return the resolver to use for a request: the built-in caching resolver when the request carries the
+     * default blocking one and it is enabled, otherwise the request's own resolver unchanged.
+     */
+    public NameResolver<InetAddress> nameResolverFor(NameResolver<InetAddress> requestNameResolver) {
+        if (defaultNameResolver != null && requestNameResolver == RequestBuilderBase.DEFAULT_NAME_RESOLVER) {
+            return defaultNameResolver;
+        }
+        return requestNameResolver;
+    }
+
     /**
      * Builds a point-in-time stats snapshot, scanning open channels and idle pooled channels once each.
      */
     public ClientStats getClientStats() {
         Map<String, ConnectionCounts> connectionsPerHost = new HashMap<>();
+        List<Http2ConnectionRttStats> http2RttStats = new ArrayList<>();
+        boolean rttProbed = !config.getHttp2RttProbeInterval().isZero();
+        List<Http2ConnectionBdpStats> http2BdpStats = new ArrayList<>();
+        boolean windowAutotuned = config.isHttp2WindowAutotuningEnabled();
         for (Channel channel : openChannels) {
             SocketAddress remoteAddress = channel.remoteAddress();
             if (remoteAddress instanceof InetSocketAddress) {
                 String host = ((InetSocketAddress) remoteAddress).getHostString();
+                Http2ConnectionState state = rttProbed ? channel.attr(Http2ConnectionState.HTTP2_STATE_KEY).get() : null;
+                if (state != null) {
+                    http2RttStats.add(new Http2ConnectionRttStats(host + ':' + ((InetSocketAddress) remoteAddress).getPort(),
+                            Duration.ofNanos(state.getSmoothedRttNanos()), Duration.ofNanos(state.getMinRttNanos()),
+                            Duration.ofNanos(state.getLatestRttNanos()), state.getRttSampleCount(), state.isDegraded()));
+                }
+                Http2BdpPingHandler bdpPingHandler = windowAutotuned ? channel.pipeline().get(Http2BdpPingHandler.class) : null;
+                if (bdpPingHandler != null) {
+                    Http2BdpEstimator estimator = bdpPingHandler.getEstimator();
+                    http2BdpStats.add(new Http2ConnectionBdpStats(host + ':' + ((InetSocketAddress) remoteAddress).getPort(),
+                            estimator.getBdp(), estimator.getRtt(), estimator.getMaxBandwidth(), estimator.getSampleCount()));
+                }
                 ConnectionCounts counts = connectionsPerHost.get(host);
                 if (counts == null) {
                     counts = new ConnectionCounts();
@@ -1217,7 +1828,39 @@ public class ChannelManager {
                     counts.totalConnectionCount - counts.idleConnectionCount,
                     counts.idleConnectionCount));
         }
-        return new ClientStats(statsPerHost);
+        return new ClientStats.Builder(statsPerHost)
+                .setDnsCacheStats(defaultNameResolver != null ? defaultNameResolver.stats() : DnsCacheStats.EMPTY)
+                .setLatencyStatsPerAddress(latencySelector != null ? latencySelector.stats() : Collections.emptyMap())
+                .setConnectionPoolStats(new ConnectionPoolStats(poolHits.sum(), poolMisses.sum(), prewarmedConnections.sum()))
+                .setConnectionAcquisitionStats(acquisitionQueue != null ? acquisitionQueue.stats() : ConnectionAcquisitionStats.EMPTY)
+                .setHttp2ConnectionRttStats(http2RttStats)
+                .setHttp2DegradedConnectionCount(http2DegradedConnections.sum())
+                .setHttp2ConnectionBdpStats(http2BdpStats)
+                .setTlsHandshakeStats(new TlsHandshakeStats(tlsHandshakes.sum(), resumedTlsHandshakes.sum()))
+                .build();
+    }
+
+    /**
+     * @return the per-IP latency scores used by {@link LoadBalance#LEAST_LATENCY}, or {@code null} in the other modes
+     */
+    public @Nullable LatencyAwareAddressSelector getLatencySelector() {
+        return latencySelector;
+    }
+
+    /**
+     * @return the Alt-Svc alternatives advertised by the origins, or {@code null} unless
+     * {@link AsyncHttpClientConfig#isAltSvcEnabled()}
+     */
+    public @Nullable AltSvcCache getAltSvcCache() {
+        return altSvcCache;
+    }
+
+    /**
+     * @return the QUIC connections of the HTTP/3 requests, or {@code null} unless
+     * {@link AsyncHttpClientConfig#isHttp3Enabled()} and the QUIC codec is available
+     */
+    public @Nullable Http3Connections getHttp3Connections() {
+        return http3Connections;
     }
 
     private static final class ConnectionCounts {
@@ -1226,6 +1869,14 @@ public class ChannelManager {
         private long idleConnectionCount;
     }
 
+    /**
+     * @return whether new channels connect with TCP Fast Open, in which case their connect completes before the server
+     * answers
+     */
+    public boolean isTcpFastOpenConnect() {
+        return tcpFastOpenConnectOption != null;
+    }
+
     public boolean isOpen() {
         return channelPool.isOpen();
     }
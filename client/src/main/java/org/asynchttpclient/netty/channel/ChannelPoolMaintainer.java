@@ -0,0 +1,231 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import org.asynchttpclient.uri.Uri;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Keeps idle connections ready in the channel pool ahead of the requests that will need them, as configured by
+ * {@link org.asynchttpclient.AsyncHttpClientConfig#getConnectionPoolMinIdle()} and
+ * {@link org.asynchttpclient.AsyncHttpClientConfig#isConnectionPoolPredictiveWarmUpEnabled()}.
+ *
+ * <p>Every request looking a connection up is {@linkplain #record(Object, Uri, boolean) recorded} against its
+ * base partition key (the per-host key, whatever IP round-robin pinned it to). Every
+ * {@link org.asynchttpclient.AsyncHttpClientConfig#getConnectionPoolMaintenancePeriod() period}, the counts of the
+ * elapsed period are folded into an EWMA of the arrivals and of the misses (lookups that found no connection) of
+ * each partition, and the partition is topped up to its target number of idle connections:
+ * {@code minIdle}, or in predictive mode, if larger, the smoothed misses scaled by the growth of the arrivals over
+ * their average (capped at {@value #MAX_GROWTH}x), so that a ramping load finds its connections already open.
+ * Connections are opened by the warm-up function, i.e. {@link org.asynchttpclient.AsyncHttpClient#warmUp(String, int)},
+ * which acquires connection permits without waiting: {@code maxConnections} and {@code maxConnectionsPerHost} bound
+ * the maintenance exactly as they bound requests. At most one warm-up per partition is in flight.
+ *
+ * <p>A partition served by an HTTP/2 connection needs no idle connection and is skipped. A partition that saw no
+ * request for {@code idleTimeout} (the pooled connection idle timeout) is forgotten, so that its connections expire
+ * instead of being reopened forever.
+ *
+ * <p>Per-partition state is held in a bounded map (capped at {@value #MAX_TRACKED_PARTITIONS}); at the cap an
+ * arbitrary entry is evicted before a new one is added. Dropping an entry only forgets that partition's history.
+ *
+ * <p>Thread-safe: {@link #record(Object, Uri, boolean)} may be called from any thread, the maintenance pass runs
+ * on the timer thread.
+ */
+public final class ChannelPoolMaintainer implements TimerTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChannelPoolMaintainer.class);
+
+    // Cap on the number of per-partition entries retained (same approach as util/NonceCounter).
+    static final int MAX_TRACKED_PARTITIONS = 4096;
+
+    // Weight of the latest period in the EWMAs.
+    static final double ALPHA = 0.5;
+
+    // Cap on the arrival growth factor applied to the smoothed misses, so that a single burst does not open a
+    // connection storm.
+    static final int MAX_GROWTH = 4;
+
+    private final ConcurrentHashMap<Object, Demand> demands = new ConcurrentHashMap<>();
+    private final int minIdle;
+    private final boolean predictive;
+    private final long periodNanos;
+    private final long idleTimeoutNanos;
+    // base partition key -> number of idle pooled connections, -1 when the pool cannot tell
+    private final ToLongFunction<Object> idleCount;
+    // base partition key -> whether an HTTP/2 connection serves it
+    private final Predicate<Object> multiplexed;
+    // (origin, connections) -> number of connections opened
+    private final BiFunction<Uri, Integer, CompletableFuture<Integer>> warmUp;
+    private final BooleanSupplier closed;
+    private final LongSupplier nanoClock;
+
+    public ChannelPoolMaintainer(int minIdle, boolean predictive, Duration period, Duration idleTimeout, ToLongFunction<Object> idleCount,
+                                 Predicate<Object> multiplexed, BiFunction<Uri, Integer, CompletableFuture<Integer>> warmUp, BooleanSupplier closed) {
+        this(minIdle, predictive, period, idleTimeout, idleCount, multiplexed, warmUp, closed, System::nanoTime);
+    }
+
+    ChannelPoolMaintainer(int minIdle, boolean predictive, Duration period, Duration idleTimeout, ToLongFunction<Object> idleCount,
+                          Predicate<Object> multiplexed, BiFunction<Uri, Integer, CompletableFuture<Integer>> warmUp, BooleanSupplier closed,
+                          LongSupplier nanoClock) {
+        this.minIdle = minIdle;
+        this.predictive = predictive;
+        periodNanos = period.toNanos();
+        // a non-positive idle timeout disables the reaper: keep the partitions forever
+        idleTimeoutNanos = idleTimeout.isNegative() || idleTimeout.isZero() ? Long.MAX_VALUE : idleTimeout.toNanos();
+        this.idleCount = idleCount;
+        this.multiplexed = multiplexed;
+        this.warmUp = warmUp;
+        this.closed = closed;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Schedules the periodic maintenance pass on {@code timer}.
+     */
+    public void start(Timer timer) {
+        timer.newTimeout(this, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a request's connection lookup.
+     *
+     * @param baseKey the request's base partition key
+     * @param uri     the request's URI, whose origin connections are opened to
+     * @param hit     whether a pooled or multiplexed connection was found
+     */
+    public void record(Object baseKey, Uri uri, boolean hit) {
+        Demand demand = demands.get(baseKey);
+        if (demand == null) {
+            if (demands.size() >= MAX_TRACKED_PARTITIONS) {
+                Iterator<Object> it = demands.keySet().iterator();
+                if (it.hasNext()) {
+                    demands.remove(it.next());
+                }
+            }
+            demand = demands.computeIfAbsent(baseKey, k -> new Demand(uri.withNewQuery(null)));
+        }
+        demand.lastArrivalNanos = nanoClock.getAsLong();
+        demand.arrivals.increment();
+        if (!hit) {
+            demand.misses.increment();
+        }
+    }
+
+    @Override
+    public void run(Timeout timeout) {
+        if (closed.getAsBoolean()) {
+            return;
+        }
+        try {
+            maintain();
+        } catch (Exception e) {
+            LOGGER.warn("Connection pool maintenance failed", e);
+        }
+        timeout.timer().newTimeout(this, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Visible for testing
+    void maintain() {
+        long now = nanoClock.getAsLong();
+        for (Map.Entry<Object, Demand> entry : demands.entrySet()) {
+            Object baseKey = entry.getKey();
+            Demand demand = entry.getValue();
+            long arrivals = demand.arrivals.sumThenReset();
+            long misses = demand.misses.sumThenReset();
+            double growth = demand.arrivalEwma > 0 ? Math.min(MAX_GROWTH, Math.max(1, arrivals / demand.arrivalEwma)) : 1;
+            demand.arrivalEwma = ALPHA * arrivals + (1 - ALPHA) * demand.arrivalEwma;
+            demand.missEwma = ALPHA * misses + (1 - ALPHA) * demand.missEwma;
+
+            if (now - demand.lastArrivalNanos >= idleTimeoutNanos) {
+                demands.remove(baseKey, demand);
+                continue;
+            }
+            if (demand.warmingUp.get() || multiplexed.test(baseKey)) {
+                continue;
+            }
+            long target = minIdle;
+            if (predictive) {
+                target = Math.max(target, (long) Math.ceil(demand.missEwma * growth));
+            }
+            if (target == 0) {
+                continue;
+            }
+            long idle = idleCount.applyAsLong(baseKey);
+            if (idle < 0 || idle >= target) {
+                continue;
+            }
+            open(baseKey, demand, (int) (target - idle));
+        }
+    }
+
+    private void open(Object baseKey, Demand demand, int connections) {
+        LOGGER.debug("Opening {} connections ahead of demand for {}", connections, baseKey);
+        demand.warmingUp.set(true);
+        CompletableFuture<Integer> opened;
+        try {
+            opened = warmUp.apply(demand.origin, connections);
+        } catch (Exception e) {
+            // the client is closing
+            demand.warmingUp.set(false);
+            return;
+        }
+        opened.whenComplete((count, cause) -> {
+            if (cause != null) {
+                LOGGER.debug("Failed to open connections ahead of demand for {}", baseKey, cause);
+            }
+            demand.warmingUp.set(false);
+        });
+    }
+
+    // Visible for testing
+    int trackedPartitionCount() {
+        return demands.size();
+    }
+
+    private static final class Demand {
+
+        private final Uri origin;
+        private final LongAdder arrivals = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final AtomicBoolean warmingUp = new AtomicBoolean();
+        private volatile long lastArrivalNanos;
+        // only read and written by the maintenance pass
+        private double arrivalEwma;
+        private double missEwma;
+
+        private Demand(Uri origin) {
+            this.origin = origin;
+        }
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.channel.Channel;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import org.asynchttpclient.AsyncHttpClientConfig;
+import org.asynchttpclient.ConnectionAcquisitionStats;
+import org.asynchttpclient.exception.TooManyConnectionsPerHostException;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * The requests waiting for a connection while the connection limits are reached, see
+ * {@link AsyncHttpClientConfig#isConnectionAcquisitionQueueEnabled()}. Instead of parking its thread in the
+ * {@link ConnectionSemaphore}, a request that finds no free permit enqueues a {@link Waiter} and returns. Waiters are
+ * served in arrival order, each exactly once, by whichever of these happens first:
+ * <ul>
+ *   <li>a channel released by another request for the same partition is handed to it ({@link #handOff}), without
+ *   going through the pool;</li>
+ *   <li>a permit is released by a closed connection and it is the oldest waiter that can take one (see
+ *   {@link #wrap});</li>
+ *   <li>its deadline elapses, or the client closes: it fails as a blocking acquire timing out would.</li>
+ * </ul>
+ * Waiters are queued per partition, so handing off a released channel only looks at the waiters of that channel's
+ * partition. Permits are not tied to a partition when a global connection limit is set: a permit released by a
+ * connection to one host goes to the oldest waiter across all partitions, which may be a request for another host.
+ */
+public final class ConnectionAcquisitionQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionAcquisitionQueue.class);
+
+    /**
+     * A request waiting in the queue.
+     */
+    public abstract static class Waiter {
+
+        private final Object partitionKey;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private long enqueuedAt;
+        // Arrival order across partitions, see drainOnce()
+        private long sequence;
+        private volatile @Nullable Timeout deadline;
+
+        /**
+         * @param partitionKey the pool partition the request needs a connection to
+         */
+        protected Waiter(Object partitionKey) {
+            this.partitionKey = partitionKey;
+        }
+
+        /**
+         * Takes a connection permit for the request without waiting.
+         *
+         * @throws IOException as {@link ConnectionSemaphore#acquireChannelLock(Object, boolean)} when no permit is free
+         */
+        protected abstract void acquirePermit() throws IOException;
+
+        /**
+         * Gives back the permit taken by {@link #acquirePermit()}: the request was served otherwise (or timed out)
+         * while the permit was being acquired for it.
+         */
+        protected abstract void releasePermit();
+
+        /**
+         * @return whether the request completed while queued, for instance because it was cancelled
+         */
+        protected abstract boolean isDone();
+
+        /**
+         * Resumes the request with the permit it acquired: it opens a connection.
+         */
+        protected abstract void onPermit();
+
+        /**
+         * Resumes the request on a channel released by another request, on the channel's event loop.
+         */
+        protected abstract void onChannel(Channel channel);
+
+        /**
+         * Fails the request: no connection became available before its deadline, or the client is closing.
+         */
+        protected abstract void onTimeout();
+    }
+
+    // Per-partition queues are created and dropped under the map's bin lock (see enqueue() and pruneIfEmpty()), so
+    // a waiter is never added to a queue that was just unlinked from the map.
+    private final ConcurrentHashMap<Object, ConcurrentLinkedQueue<Waiter>> waitersByPartition = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    // Waiters not claimed yet; claimed ones may linger in their queue until a pass over it unlinks them.
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // Serializes the passes handing out released permits, see drain().
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final Timer nettyTimer;
+    private final long timeoutMillis;
+    private final LongSupplier nanoClock;
+    private final LongAdder acquiredCount = new LongAdder();
+    private final LongAdder handedOffCount = new LongAdder();
+    private final LongAdder timedOutCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    // Set once, when the client closes, before the waiters are failed: see enqueue().
+    private volatile boolean closed;
+
+    public ConnectionAcquisitionQueue(Timer nettyTimer, long timeoutMillis) {
+        this(nettyTimer, timeoutMillis, System::nanoTime);
+    }
+
+    // Visible for testing
+    ConnectionAcquisitionQueue(Timer nettyTimer, long timeoutMillis, LongSupplier nanoClock) {
+        this.nettyTimer = nettyTimer;
+        this.timeoutMillis = timeoutMillis;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Queues a request that could not acquire a permit. It may be served before this method returns, when a permit
+     * was released in the meantime.
+     */
+    public void enqueue(Waiter waiter) {
+        waiter.enqueuedAt = nanoClock.getAsLong();
+        waiter.sequence = sequence.getAndIncrement();
+        pendingCount.incrementAndGet();
+        waitersByPartition.compute(waiter.partitionKey, (key, partition) -> {
+            if (partition == null) {
+                partition = new ConcurrentLinkedQueue<>();
+            }
+            partition.add(waiter);
+            return partition;
+        });
+        if (closed) {
+            // close() sets the flag before failing the waiters, so a waiter it did not see fails here
+            if (claim(waiter)) {
+                unlink(waiter);
+                notify(waiter, false);
+            }
+            return;
+        }
+        Timeout deadline = nettyTimer.newTimeout(timeout -> expire(waiter), timeoutMillis, TimeUnit.MILLISECONDS);
+        waiter.deadline = deadline;
+        if (waiter.claimed.get()) {
+            // served between being queued and its deadline being assigned, which claim() could not cancel then
+            deadline.cancel();
+            return;
+        }
+        // a permit may have been released between the caller's failed acquire and the add above
+        drain();
+    }
+
+    /**
+     * @return whether requests are waiting for a connection; cheap enough to be called on every channel release
+     */
+    public boolean hasWaiters() {
+        return pendingCount.get() > 0;
+    }
+
+    /**
+     * Hands a channel released to the pool to the oldest request waiting for its partition.
+     *
+     * @return {@code true} if a waiter took the channel, {@code false} if none waits for it and it should be pooled
+     */
+    public boolean handOff(Channel channel, Object partitionKey) {
+        ConcurrentLinkedQueue<Waiter> partition = waitersByPartition.get(partitionKey);
+        if (partition == null) {
+            return false;
+        }
+        for (Iterator<Waiter> it = partition.iterator(); it.hasNext(); ) {
+            Waiter waiter = it.next();
+            if (waiter.claimed.get()) {
+                it.remove();
+            } else if (waiter.isDone()) {
+                abandon(waiter, it);
+            } else if (claim(waiter)) {
+                it.remove();
+                pruneIfEmpty(partitionKey, partition);
+                recordAcquired(waiter);
+                handedOffCount.increment();
+                // not on this stack: the caller is still completing the request that released the channel
+                resume(waiter, channel);
+                return true;
+            }
+        }
+        pruneIfEmpty(partitionKey, partition);
+        return false;
+    }
+
+    /**
+     * Hands a newly registered HTTP/2 connection to all the requests waiting for a partition it can serve: they
+     * multiplex onto it instead of waiting for a permit.
+     *
+     * @param partitionKeys selects the partitions the connection serves
+     */
+    public void handOffMultiplexed(Channel channel, Predicate<Object> partitionKeys) {
+        for (Map.Entry<Object, ConcurrentLinkedQueue<Waiter>> entry : waitersByPartition.entrySet()) {
+            if (!partitionKeys.test(entry.getKey())) {
+                continue;
+            }
+            ConcurrentLinkedQueue<Waiter> partition = entry.getValue();
+            for (Iterator<Waiter> it = partition.iterator(); it.hasNext(); ) {
+                Waiter waiter = it.next();
+                if (waiter.claimed.get()) {
+                    it.remove();
+                } else if (waiter.isDone()) {
+                    abandon(waiter, it);
+                } else if (claim(waiter)) {
+                    it.remove();
+                    recordAcquired(waiter);
+                    handedOffCount.increment();
+                    resume(waiter, channel);
+                }
+            }
+            pruneIfEmpty(entry.getKey(), partition);
+        }
+    }
+
+    /**
+     * @return {@code semaphore}, with every released permit offered to the waiters
+     */
+    public ConnectionSemaphore wrap(ConnectionSemaphore semaphore) {
+        return new DrainingConnectionSemaphore(semaphore);
+    }
+
+    /**
+     * Fails all waiters: no connection will be released any more.
+     */
+    public void close() {
+        closed = true;
+        for (Map.Entry<Object, ConcurrentLinkedQueue<Waiter>> entry : waitersByPartition.entrySet()) {
+            ConcurrentLinkedQueue<Waiter> partition = entry.getValue();
+            for (Waiter waiter; (waiter = partition.poll()) != null; ) {
+                if (claim(waiter)) {
+                    notify(waiter, false);
+                }
+            }
+            pruneIfEmpty(entry.getKey(), partition);
+        }
+    }
+
+    public ConnectionAcquisitionStats stats() {
+        return new ConnectionAcquisitionStats(pendingCount.get(), acquiredCount.sum(), handedOffCount.sum(), timedOutCount.sum(),
+                Duration.ofNanos(totalWaitNanos.sum()), Duration.ofNanos(maxWaitNanos.get()));
+    }
+
+    /**
+     * Gives the released permits to the oldest waiters that can take one. Passes are serialized: a release during a
+     * pass, including one caused by a waiter the pass resumes, makes the running pass go over the queues once more
+     * instead of starting a concurrent one.
+     */
+    // Visible for testing
+    void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int requests = 1;
+        do {
+            drainOnce();
+            requests = drainRequests.addAndGet(-requests);
+        } while (requests != 0);
+    }
+
+    // Serves the waiters in arrival order across partitions: each step takes the oldest head among the partitions
+    // that may still get a permit, which costs one look at each waiting partition per waiter served.
+    private void drainOnce() {
+        Set<Object> exhaustedPartitions = null;
+        while (hasWaiters()) {
+            Waiter oldest = null;
+            for (Map.Entry<Object, ConcurrentLinkedQueue<Waiter>> entry : waitersByPartition.entrySet()) {
+                if (exhaustedPartitions != null && exhaustedPartitions.contains(entry.getKey())) {
+                    continue;
+                }
+                Waiter head = head(entry.getKey(), entry.getValue());
+                if (head != null && (oldest == null || head.sequence < oldest.sequence)) {
+                    oldest = head;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            try {
+                oldest.acquirePermit();
+            } catch (TooManyConnectionsPerHostException e) {
+                // only this host is at its limit: younger waiters for other hosts may still get a permit
+                if (exhaustedPartitions == null) {
+                    exhaustedPartitions = new HashSet<>();
+                }
+                exhaustedPartitions.add(oldest.partitionKey);
+                continue;
+            } catch (IOException e) {
+                // the global limit is reached: no waiter can get a permit
+                return;
+            }
+            if (claim(oldest)) {
+                unlink(oldest);
+                recordAcquired(oldest);
+                notify(oldest, true);
+            } else {
+                // timed out or handed a channel concurrently: the permit is not needed, give it to the next waiter
+                oldest.releasePermit();
+            }
+        }
+    }
+
+    // The oldest waiter of a partition still to be served, unlinking the ones ahead of it that no longer are.
+    private @Nullable Waiter head(Object partitionKey, ConcurrentLinkedQueue<Waiter> partition) {
+        for (Iterator<Waiter> it = partition.iterator(); it.hasNext(); ) {
+            Waiter waiter = it.next();
+            if (waiter.claimed.get()) {
+                it.remove();
+            } else if (waiter.isDone()) {
+                abandon(waiter, it);
+            } else {
+                return waiter;
+            }
+        }
+        pruneIfEmpty(partitionKey, partition);
+        return null;
+    }
+
+    private void expire(Waiter waiter) {
+        if (claim(waiter)) {
+            unlink(waiter);
+            recordWait(waiter);
+            timedOutCount.increment();
+            notify(waiter, false);
+        }
+    }
+
+    // The request no longer needs a connection: unlink it without resuming it.
+    private void abandon(Waiter waiter, Iterator<Waiter> it) {
+        claim(waiter);
+        it.remove();
+    }
+
+    private void unlink(Waiter waiter) {
+        ConcurrentLinkedQueue<Waiter> partition = waitersByPartition.get(waiter.partitionKey);
+        if (partition != null) {
+            partition.remove(waiter);
+            pruneIfEmpty(waiter.partitionKey, partition);
+        }
+    }
+
+    // Drops the queue of a partition nobody waits for any more, unless a waiter was added to it concurrently.
+    private void pruneIfEmpty(Object partitionKey, ConcurrentLinkedQueue<Waiter> partition) {
+        if (partition.isEmpty()) {
+            waitersByPartition.computeIfPresent(partitionKey, (key, current) -> current.isEmpty() ? null : current);
+        }
+    }
+
+    private boolean claim(Waiter waiter) {
+        if (!waiter.claimed.compareAndSet(false, true)) {
+            return false;
+        }
+        pendingCount.decrementAndGet();
+        Timeout deadline = waiter.deadline;
+        if (deadline != null) {
+            deadline.cancel();
+        }
+        return true;
+    }
+
+    private void recordAcquired(Waiter waiter) {
+        recordWait(waiter);
+        acquiredCount.increment();
+    }
+
+    private void recordWait(Waiter waiter) {
+        long waitNanos = nanoClock.getAsLong() - waiter.enqueuedAt;
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private static void resume(Waiter waiter, Channel channel) {
+        try {
+            channel.eventLoop().execute(() -> waiter.onChannel(channel));
+        } catch (RejectedExecutionException e) {
+            // the event loop is shutting down with the client
+            notify(waiter, false);
+        }
+    }
+
+    // Resuming a waiter drives a request send: one that throws must not prevent the others from being served.
+    private static void notify(Waiter waiter, boolean permit) {
+        try {
+            if (permit) {
+                waiter.onPermit();
+            } else {
+                waiter.onTimeout();
+            }
+        } catch (Throwable t) {
+            LOGGER.warn("Connection acquisition waiter failed", t);
+        }
+    }
+
+    private final class DrainingConnectionSemaphore implements ConnectionSemaphore {
+
+        private final ConnectionSemaphore delegate;
+
+        private DrainingConnectionSemaphore(ConnectionSemaphore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void acquireChannelLock(Object partitionKey) throws IOException {
+            delegate.acquireChannelLock(partitionKey);
+        }
+
+        @Override
+        public void acquireChannelLock(Object partitionKey, boolean nonBlocking) throws IOException {
+            delegate.acquireChannelLock(partitionKey, nonBlocking);
+        }
+
+        @Override
+        public void releaseChannelLock(Object partitionKey) {
+            delegate.releaseChannelLock(partitionKey);
+            if (hasWaiters()) {
+                drain();
+            }
+        }
+    }
+}
@@ -21,8 +21,12 @@ import io.netty.util.AttributeKey;
 import io.netty.util.Timeout;
 import io.netty.util.Timer;
 import io.netty.util.TimerTask;
+import io.netty.util.NettyRuntime;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.internal.ThreadExecutorMap;
 import org.asynchttpclient.AsyncHttpClientConfig;
 import org.asynchttpclient.channel.ChannelPool;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,10 +37,14 @@ import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.function.Predicate;
 
@@ -44,17 +52,34 @@ import static org.asynchttpclient.util.DateUtils.unpreciseMillisTime;
 
 /**
  * A simple implementation of {@link ChannelPool} based on a {@link ConcurrentHashMap}
+ *
+ * <p>Each partition holds its idle channels in one {@link ConcurrentLinkedDeque}, or, when the pool is built with
+ * several event loop slots ({@link AsyncHttpClientConfig#isConnectionPoolEventLoopAffinity()}), in one deque per
+ * slot. A channel is offered to the slot of the event loop it is registered on, and {@code poll()} first leases
+ * from the slot of the calling event loop, only stealing from the other slots when that one is empty. Callers on
+ * an event loop thus mostly get a channel that runs on their own loop, and the loops no longer all contend on the
+ * head of a single deque.
+ *
+ * <p>Idle timeout and TTL expiry are indexed by deadline rather than found by scanning: a pooled channel is filed in
+ * the bucket of an {@link ExpiryWheel} for the cleaner tick its deadline falls in, and each tick only visits the
+ * channels of the buckets that came due. A channel leased and offered again keeps its single entry, which is
+ * re-filed when it comes due with a later deadline, so the wheel holds at most one entry per pooled channel and
+ * offers do not pay for it. Channels closed or {@linkplain #removeAll(Channel) removed} while pooled are unlinked
+ * at the next tick, from their own deque only.
  */
 public final class DefaultChannelPool implements ChannelPool {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultChannelPool.class);
     private static final AttributeKey<ChannelCreation> CHANNEL_CREATION_ATTRIBUTE_KEY = AttributeKey.valueOf("channelCreation");
     private static final AttributeKey<IdleState> IDLE_STATE_ATTRIBUTE_KEY = AttributeKey.valueOf("channelIdleState");
+    // Cap on the number of wheel buckets. A deadline further away than the wheel spans is filed in its last bucket
+    // and re-filed from there, so this only bounds memory, not the deadlines that can be tracked.
+    private static final int MAX_WHEEL_SIZE = 1024;
 
     // The partition deques hold the bare Channel; per-checkout idle state (start timestamp + the
     // ownership/generation word) lives on the channel's IDLE_STATE_ATTRIBUTE_KEY attribute, which is
     // allocated once per physical connection and reused across every pool cycle (no per-offer holder).
-    private final ConcurrentHashMap<Object, ConcurrentLinkedDeque<Channel>> partitions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, Partition> partitions = new ConcurrentHashMap<>();
     private final AtomicBoolean isClosed = new AtomicBoolean(false);
     private final AtomicBoolean rejectedOfferLogged = new AtomicBoolean(false);
     private final Timer nettyTimer;
@@ -63,11 +88,20 @@ public final class DefaultChannelPool implements ChannelPool {
     private final long maxIdleTime;
     private final boolean maxIdleTimeEnabled;
     private final long cleanerPeriod;
+    // Null when neither the idle timeout nor the TTL is enabled.
+    private final @Nullable ExpiryWheel expiryWheel;
     private final PoolLeaseStrategy poolLeaseStrategy;
+    // Number of per-event-loop deques in each partition; 1 disables event loop affinity.
+    private final int eventLoopSlots;
+    // Event loop -> slot, assigned in order of first use. Event loops are few and long-lived, so this stays small.
+    private final ConcurrentHashMap<EventExecutor, Integer> slotsByEventLoop = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
 
     public DefaultChannelPool(AsyncHttpClientConfig config, Timer hashedWheelTimer) {
         this(config.getPooledConnectionIdleTimeout(),
                 config.getConnectionTtl(),
+                PoolLeaseStrategy.LIFO,
+                config.isConnectionPoolEventLoopAffinity() ? eventLoopCount(config) : 1,
                 hashedWheelTimer,
                 config.getConnectionPoolCleanerPeriod());
     }
@@ -77,6 +111,19 @@ public final class DefaultChannelPool implements ChannelPool {
     }
 
     public DefaultChannelPool(Duration maxIdleTime, Duration connectionTtl, PoolLeaseStrategy poolLeaseStrategy, Timer nettyTimer, Duration cleanerPeriod) {
+        this(maxIdleTime, connectionTtl, poolLeaseStrategy, 1, nettyTimer, cleanerPeriod);
+    }
+
+    /**
+     * @param eventLoopSlots the number of per-event-loop deques kept in each partition, normally the number of
+     *                       event loops; {@code 1} keeps a single deque shared by all event loops
+     */
+    public DefaultChannelPool(Duration maxIdleTime, Duration connectionTtl, PoolLeaseStrategy poolLeaseStrategy, int eventLoopSlots,
+                              Timer nettyTimer, Duration cleanerPeriod) {
+        if (eventLoopSlots < 1) {
+            throw new IllegalArgumentException("eventLoopSlots must be positive: " + eventLoopSlots);
+        }
+        this.eventLoopSlots = eventLoopSlots;
         final long maxIdleTimeInMs = maxIdleTime.toMillis();
         final long connectionTtlInMs = connectionTtl.toMillis();
         final long cleanerPeriodInMs = cleanerPeriod.toMillis();
@@ -91,11 +138,50 @@ public final class DefaultChannelPool implements ChannelPool {
                 maxIdleTimeEnabled ? maxIdleTimeInMs : Integer.MAX_VALUE));
 
         if (connectionTtlEnabled || maxIdleTimeEnabled) {
-            scheduleNewIdleChannelDetector(new IdleChannelDetector());
+            long maxDeadline = Math.max(connectionTtlEnabled ? connectionTtlInMs : 0, maxIdleTimeEnabled ? maxIdleTimeInMs : 0);
+            expiryWheel = new ExpiryWheel((int) Math.min(MAX_WHEEL_SIZE, maxDeadline / this.cleanerPeriod + 2), unpreciseMillisTime());
+            scheduleExpiryWheel(expiryWheel);
+        } else {
+            expiryWheel = null;
         }
     }
 
-    private void scheduleNewIdleChannelDetector(TimerTask task) {
+    // Visible for testing: the number of channels linked in a partition, tombstones included.
+    int partitionSize(Object partitionKey) {
+        Partition partition = partitions.get(partitionKey);
+        return partition == null ? 0 : partition.size();
+    }
+
+    // Visible for testing
+    boolean hasPartition(Object partitionKey) {
+        return partitions.containsKey(partitionKey);
+    }
+
+    // Same default as Netty's MultithreadEventLoopGroup, which ChannelManager creates with ioThreadsCount.
+    private static int eventLoopCount(AsyncHttpClientConfig config) {
+        return config.getIoThreadsCount() > 0 ? config.getIoThreadsCount() : NettyRuntime.availableProcessors() * 2;
+    }
+
+    private int slotOf(EventExecutor eventLoop) {
+        Integer slot = slotsByEventLoop.get(eventLoop);
+        if (slot == null) {
+            slot = slotsByEventLoop.computeIfAbsent(eventLoop, loop -> nextSlot.getAndIncrement() % eventLoopSlots);
+        }
+        return slot;
+    }
+
+    // The slot to lease from first: the calling event loop's. A thread that is not an event loop (the user thread
+    // of an execute() call) has no preference; spreading such threads over the slots keeps them from all
+    // contending on the same one.
+    private int callerSlot() {
+        EventExecutor current = ThreadExecutorMap.currentExecutor();
+        if (current != null) {
+            return slotOf(current);
+        }
+        return (int) (Thread.currentThread().getId() % eventLoopSlots);
+    }
+
+    private void scheduleExpiryWheel(TimerTask task) {
         nettyTimer.newTimeout(task, cleanerPeriod, TimeUnit.MILLISECONDS);
     }
 
@@ -127,10 +213,30 @@ public final class DefaultChannelPool implements ChannelPool {
         if (connectionTtlEnabled && accepted) {
             registerChannelCreation(channel, partitionKey, now);
         }
+        if (expiryWheel != null && accepted) {
+            expiryWheel.schedule(channel);
+        }
 
         return accepted;
     }
 
+    @Override
+    public boolean handOff(Channel channel, Object partitionKey) {
+        if (isClosed.get()) {
+            return false;
+        }
+
+        long now = unpreciseMillisTime();
+        if (isTtlExpired(channel, now)) {
+            return false;
+        }
+        // the time to live of a channel that is only ever handed over still starts on its first release
+        if (connectionTtlEnabled) {
+            registerChannelCreation(channel, partitionKey, now);
+        }
+        return true;
+    }
+
     private boolean offer0(Channel channel, Object partitionKey, long now) {
         // Reuse the channel's IdleState instead of allocating a holder per offer; reset() stamps the
         // idle start and publishes the next, leasable generation (which happens-before offerFirst
@@ -145,9 +251,18 @@ public final class DefaultChannelPool implements ChannelPool {
             IdleState created = new IdleState();
             IdleState raced = idleStateAttribute.setIfAbsent(created);
             idleState = raced == null ? created : raced;
+            if (raced == null && expiryWheel != null) {
+                // once per connection: unlink it at the next tick if it gets closed while pooled
+                IdleState closing = created;
+                channel.closeFuture().addListener(f -> {
+                    if (closing.takeOwnership()) {
+                        expiryWheel.purge(closing.deque);
+                    }
+                });
+            }
         }
 
-        if (!idleState.reset(now)) {
+        if (!idleState.reserve()) {
             // No generation to transfer: the channel is already pooled (so this is a duplicate offer), or
             // a concurrent offer of the same channel won the reservation. Adding it would double-link it
             // in a deque, so treat this as an accepted no-op and leave the existing generation and
@@ -160,15 +275,19 @@ public final class DefaultChannelPool implements ChannelPool {
             return true;
         }
 
-        // Resolve the partition only once the generation transfer succeeded, so a rejected offer cannot
-        // leave an empty deque behind for the cleaner to walk on every tick. Keep the plain get() fast
-        // path: computeIfAbsent only returns lock-free when the key is its bin's head node, and otherwise
-        // locks the bin (or joins a resize), which get() never does.
-        ConcurrentLinkedDeque<Channel> partition = partitions.get(partitionKey);
+        // Resolve the partition only once the generation transfer is reserved, so a rejected offer cannot
+        // leave an empty deque behind. Keep the plain get() fast path: computeIfAbsent only returns lock-free
+        // when the key is its bin's head node, and otherwise locks the bin (or joins a resize), which get()
+        // never does. The deque is recorded before the generation is published, so whoever claims the
+        // generation (the expiry wheel, removeAll, the close listener) knows which deque to unlink it from.
+        Partition partition = partitions.get(partitionKey);
         if (partition == null) {
-            partition = partitions.computeIfAbsent(partitionKey, pk -> new ConcurrentLinkedDeque<>());
+            partition = partitions.computeIfAbsent(partitionKey, pk -> new Partition(eventLoopSlots));
         }
-        return partition.offerFirst(channel);
+        ConcurrentLinkedDeque<Channel> deque = eventLoopSlots == 1 ? partition.deques[0] : partition.deques[slotOf(channel.eventLoop())];
+        idleState.deque = deque;
+        idleState.publish(now);
+        return deque.offerFirst(channel);
     }
 
     private static void registerChannelCreation(Channel channel, Object partitionKey, long now) {
@@ -180,13 +299,31 @@ public final class DefaultChannelPool implements ChannelPool {
 
     @Override
     public Channel poll(Object partitionKey) {
-        ConcurrentLinkedDeque<Channel> partition = partitions.get(partitionKey);
+        Partition partition = partitions.get(partitionKey);
         if (partition == null) {
             return null;
         }
+        ConcurrentLinkedDeque<Channel>[] deques = partition.deques;
+        if (deques.length == 1) {
+            return lease(deques[0]);
+        }
 
+        // Own event loop first, then steal from the others, starting with the next slot so that concurrent
+        // stealers do not all hit the same victim.
+        int first = callerSlot();
+        for (int i = 0; i < deques.length; i++) {
+            int slot = first + i;
+            Channel channel = lease(deques[slot < deques.length ? slot : slot - deques.length]);
+            if (channel != null) {
+                return channel;
+            }
+        }
+        return null;
+    }
+
+    private Channel lease(ConcurrentLinkedDeque<Channel> deque) {
         for (; ; ) {
-            Channel channel = poolLeaseStrategy.lease(partition);
+            Channel channel = poolLeaseStrategy.lease(deque);
             if (channel == null) {
                 // pool is empty
                 return null;
@@ -215,12 +352,18 @@ public final class DefaultChannelPool implements ChannelPool {
 
         // O(1) tombstone instead of an O(n) ConcurrentLinkedDeque value scan: claim the channel's
         // IdleState. A claimed channel is skipped by poll() (its takeOwnership fails) and physically
-        // unlinked by the idle cleaner on its next tick. removeAll only acts when connectionTtlEnabled,
-        // which guarantees the cleaner is scheduled (see constructor), so a tombstone is never orphaned.
-        // Returns true only when this call transitions an idle, leasable channel to claimed — matching
-        // the old "the channel was present in the pool" contract.
+        // unlinked from its deque by the expiry wheel on its next tick. removeAll only acts when
+        // connectionTtlEnabled, which guarantees the wheel is scheduled (see constructor), so a tombstone is
+        // never orphaned. Returns true only when this call transitions an idle, leasable channel to
+        // claimed — matching the old "the channel was present in the pool" contract.
         IdleState idleState = channel.attr(IDLE_STATE_ATTRIBUTE_KEY).get();
-        return idleState != null && idleState.takeOwnership();
+        if (idleState == null || !idleState.takeOwnership()) {
+            return false;
+        }
+        if (expiryWheel != null) {
+            expiryWheel.purge(idleState.deque);
+        }
+        return true;
     }
 
     @Override
@@ -243,29 +386,35 @@ public final class DefaultChannelPool implements ChannelPool {
         Channels.silentlyCloseChannel(channel);
     }
 
-    private void flushPartition(Object partitionKey, ConcurrentLinkedDeque<Channel> partition) {
+    private void flushPartition(Object partitionKey, Partition partition) {
         if (partition != null) {
             partitions.remove(partitionKey);
-            for (Channel channel : partition) {
-                // Claim before closing, the same rule the idle cleaner follows. Removing the partition
-                // from the map does not stop a concurrent poll(): a caller that read the deque reference
-                // first can still lease out of it, and this iterator can still see a node that poll has
-                // unlinked. Closing unconditionally would then kill a connection a request is already
-                // using. Losing the claim means somebody else owns the channel -- a lessee, a removeAll
-                // tombstone, or the cleaner -- and closing it is their responsibility, not ours.
-                // Winning the claim also leaves the channel owned, so the pool never holds a channel that
-                // is closed yet still reads as leasable.
-                IdleState idleState = channel.attr(IDLE_STATE_ATTRIBUTE_KEY).get();
-                if (idleState == null || idleState.takeOwnership()) {
-                    close(channel);
-                }
+            for (ConcurrentLinkedDeque<Channel> deque : partition.deques) {
+                flushDeque(deque);
+            }
+        }
+    }
+
+    private static void flushDeque(ConcurrentLinkedDeque<Channel> deque) {
+        for (Channel channel : deque) {
+            // Claim before closing, the same rule the idle cleaner follows. Removing the partition
+            // from the map does not stop a concurrent poll(): a caller that read the deque reference
+            // first can still lease out of it, and this iterator can still see a node that poll has
+            // unlinked. Closing unconditionally would then kill a connection a request is already
+            // using. Losing the claim means somebody else owns the channel -- a lessee, a removeAll
+            // tombstone, or the cleaner -- and closing it is their responsibility, not ours.
+            // Winning the claim also leaves the channel owned, so the pool never holds a channel that
+            // is closed yet still reads as leasable.
+            IdleState idleState = channel.attr(IDLE_STATE_ATTRIBUTE_KEY).get();
+            if (idleState == null || idleState.takeOwnership()) {
+                close(channel);
             }
         }
     }
 
     @Override
     public void flushPartitions(Predicate<Object> predicate) {
-        for (Map.Entry<Object, ConcurrentLinkedDeque<Channel>> partitionsEntry : partitions.entrySet()) {
+        for (Map.Entry<Object, Partition> partitionsEntry : partitions.entrySet()) {
             Object partitionKey = partitionsEntry.getKey();
             if (predicate.test(partitionKey)) {
                 flushPartition(partitionKey, partitionsEntry.getValue());
@@ -276,17 +425,19 @@ public final class DefaultChannelPool implements ChannelPool {
     @Override
     public Map<String, Long> getIdleChannelCountPerHost() {
         Map<String, Long> idleChannelsPerHost = new HashMap<>();
-        for (ConcurrentLinkedDeque<Channel> partition : partitions.values()) {
-            for (Channel channel : partition) {
-                // Skip channels that have been claimed (removeAll tombstone, a node a concurrent poll
-                // already leased, or an offer mid-transfer) but not yet unlinked, so the count reflects
-                // leasable channels.
-                if (isLeasable(channel)) {
-                    SocketAddress remoteAddress = channel.remoteAddress();
-                    if (remoteAddress.getClass() == InetSocketAddress.class) {
-                        String host = ((InetSocketAddress) remoteAddress).getHostString();
-                        Long currentCount = idleChannelsPerHost.get(host);
-                        idleChannelsPerHost.put(host, currentCount == null ? 1L : currentCount + 1L);
+        for (Partition partition : partitions.values()) {
+            for (ConcurrentLinkedDeque<Channel> deque : partition.deques) {
+                for (Channel channel : deque) {
+                    // Skip channels that have been claimed (removeAll tombstone, a node a concurrent poll
+                    // already leased, or an offer mid-transfer) but not yet unlinked, so the count reflects
+                    // leasable channels.
+                    if (isLeasable(channel)) {
+                        SocketAddress remoteAddress = channel.remoteAddress();
+                        if (remoteAddress.getClass() == InetSocketAddress.class) {
+                            String host = ((InetSocketAddress) remoteAddress).getHostString();
+                            Long currentCount = idleChannelsPerHost.get(host);
+                            idleChannelsPerHost.put(host, currentCount == null ? 1L : currentCount + 1L);
+                        }
                     }
                 }
             }
@@ -294,6 +445,23 @@ public final class DefaultChannelPool implements ChannelPool {
         return idleChannelsPerHost;
     }
 
+    @Override
+    public long getIdleChannelCount(Predicate<Object> partitionKeys) {
+        long count = 0;
+        for (Map.Entry<Object, Partition> entry : partitions.entrySet()) {
+            if (partitionKeys.test(entry.getKey())) {
+                for (ConcurrentLinkedDeque<Channel> deque : entry.getValue().deques) {
+                    for (Channel channel : deque) {
+                        if (isLeasable(channel)) {
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
     private static boolean isLeasable(Channel channel) {
         IdleState idleState = channel.attr(IDLE_STATE_ATTRIBUTE_KEY).get();
         return idleState != null && !idleState.isOwned();
@@ -316,6 +484,27 @@ public final class DefaultChannelPool implements ChannelPool {
         abstract <E> E lease(Deque<E> d);
     }
 
+    // The idle channels of one partition: a single deque, or one per event loop slot.
+    private static final class Partition {
+        final ConcurrentLinkedDeque<Channel>[] deques;
+
+        @SuppressWarnings("unchecked")
+        Partition(int slots) {
+            deques = new ConcurrentLinkedDeque[slots];
+            for (int i = 0; i < slots; i++) {
+                deques[i] = new ConcurrentLinkedDeque<>();
+            }
+        }
+
+        int size() {
+            int size = 0;
+            for (ConcurrentLinkedDeque<Channel> deque : deques) {
+                size += deque.size();
+            }
+            return size;
+        }
+    }
+
     private static final class ChannelCreation {
         final long creationTime;
         final Object partitionKey;
@@ -357,9 +546,16 @@ public final class DefaultChannelPool implements ChannelPool {
 
         private static final AtomicLongFieldUpdater<IdleState> STATE_UPDATER =
                 AtomicLongFieldUpdater.newUpdater(IdleState.class, "state");
+        private static final AtomicIntegerFieldUpdater<IdleState> SCHEDULED_UPDATER =
+                AtomicIntegerFieldUpdater.newUpdater(IdleState.class, "scheduled");
 
         private volatile long start;
         private volatile long state = OWNED;
+        // The deque the current generation is linked in, written before the generation is published.
+        volatile @Nullable ConcurrentLinkedDeque<Channel> deque;
+        // 1 while the channel has an entry in the expiry wheel.
+        @SuppressWarnings("unused")
+        private volatile int scheduled;
 
         long start() {
             return start;
@@ -420,126 +616,207 @@ public final class DefaultChannelPool implements ChannelPool {
          * the reservation, in which case nothing changed
          */
         boolean reset(long now) {
-            long stateSnapshot = state;
-            if (!isOwned(stateSnapshot) || (stateSnapshot & RESETTING) != 0
-                    || !STATE_UPDATER.compareAndSet(this, stateSnapshot, stateSnapshot | RESETTING)) {
+            if (!reserve()) {
                 return false;
             }
-            start = now;
-            state = (stateSnapshot & ~(OWNED | RESETTING)) + GENERATION_INCREMENT;
+            publish(now);
             return true;
         }
+
+        /**
+         * The first half of {@link #reset(long)}: reserves the transfer of the current, owned generation. The
+         * channel stays unleasable until {@link #publish(long)}, which only the reserving caller may call.
+         */
+        boolean reserve() {
+            long stateSnapshot = state;
+            return isOwned(stateSnapshot) && (stateSnapshot & RESETTING) == 0
+                    && STATE_UPDATER.compareAndSet(this, stateSnapshot, stateSnapshot | RESETTING);
+        }
+
+        /** The second half of {@link #reset(long)}: stamps the idle start and publishes the next generation. */
+        void publish(long now) {
+            start = now;
+            state = (state & ~(OWNED | RESETTING)) + GENERATION_INCREMENT;
+        }
+
+        /** Takes the channel's single expiry wheel entry; false if it already has one. */
+        boolean schedule() {
+            return SCHEDULED_UPDATER.compareAndSet(this, 0, 1);
+        }
+
+        void unschedule() {
+            scheduled = 0;
+        }
     }
 
-    private final class IdleChannelDetector implements TimerTask {
+    /**
+     * Idle timeout and TTL deadlines, bucketed per cleaner tick on a ring of {@code size} buckets, like
+     * {@link io.netty.util.HashedWheelTimer} does with timeouts. Each pooled channel has at most one entry,
+     * {@linkplain IdleState#schedule() guarded} by its {@link IdleState}, filed for the deadline it had when it was
+     * scheduled. An entry is only evaluated when its bucket comes due: the channel is expired if its deadline,
+     * recomputed from its current idle start, has passed, and re-filed for that later deadline otherwise (it was
+     * leased and offered again meanwhile, or its deadline is beyond the span of the ring). A channel leased when
+     * its entry comes due loses its entry, and gets a new one when it is offered back.
+     *
+     * <p>Dropping the entry of a leased channel races with its re-offer, which does not file a new entry while the
+     * old one exists. Both sides write their flag before reading the other's (the wheel clears
+     * {@code scheduled} then reads {@code state}, the offer publishes {@code state} then sets {@code scheduled}),
+     * so at least one of them sees the channel pooled and unscheduled and files it.
+     *
+     * <p>An entry added by an offer racing with the tick that drains its bucket may only be seen one revolution
+     * later: expiry can then be late by the span of the ring, never missed.
+     */
+    private final class ExpiryWheel implements TimerTask {
+
+        private final ConcurrentLinkedQueue<Channel>[] buckets;
+        // Deques holding a claimed channel (closed, or tombstoned by removeAll) that the next tick unlinks.
+        private final Set<ConcurrentLinkedDeque<Channel>> dequesToPurge = ConcurrentHashMap.newKeySet();
+        // The last tick whose bucket was drained; ticks are counted in cleaner periods since the epoch.
+        private volatile long processedTick;
+
+        @SuppressWarnings("unchecked")
+        ExpiryWheel(int size, long now) {
+            buckets = new ConcurrentLinkedQueue[size];
+            for (int i = 0; i < size; i++) {
+                buckets[i] = new ConcurrentLinkedQueue<>();
+            }
+            processedTick = now / cleanerPeriod;
+        }
+
+        void schedule(Channel channel) {
+            IdleState idleState = channel.attr(IDLE_STATE_ATTRIBUTE_KEY).get();
+            if (idleState != null && idleState.schedule()) {
+                file(channel, deadline(channel, idleState.start()));
+            }
+        }
+
+        void purge(@Nullable ConcurrentLinkedDeque<Channel> deque) {
+            if (deque != null) {
+                dequesToPurge.add(deque);
+            }
+        }
+
+        private long deadline(Channel channel, long idleStart) {
+            long deadline = maxIdleTimeEnabled ? idleStart + maxIdleTime : Long.MAX_VALUE;
+            if (connectionTtlEnabled) {
+                ChannelCreation creation = channel.attr(CHANNEL_CREATION_ATTRIBUTE_KEY).get();
+                if (creation != null) {
+                    deadline = Math.min(deadline, creation.creationTime + connectionTtl);
+                }
+            }
+            return deadline;
+        }
 
-        private boolean isIdleTimeoutExpired(long idleStart, long now) {
-            return maxIdleTimeEnabled && now - idleStart >= maxIdleTime;
+        private void file(Channel channel, long deadline) {
+            long current = processedTick;
+            // the first tick at which now >= deadline
+            long tick = deadline == Long.MAX_VALUE ? Long.MAX_VALUE : (deadline + cleanerPeriod - 1) / cleanerPeriod;
+            if (tick <= current) {
+                tick = current + 1;
+            } else if (tick - current >= buckets.length) {
+                // beyond the span of the ring: re-filed from the last bucket
+                tick = current + buckets.length - 1;
+            }
+            buckets[(int) (tick % buckets.length)].add(channel);
         }
 
         @Override
         public void run(Timeout timeout) {
-
             if (isClosed.get()) {
                 return;
             }
 
-            if (LOGGER.isDebugEnabled()) {
-                for (Map.Entry<Object, ConcurrentLinkedDeque<Channel>> entry : partitions.entrySet()) {
-                    int size = entry.getValue().size();
-                    if (size > 0) {
-                        LOGGER.debug("Entry count for : {} : {}", entry.getKey(), size);
-                    }
-                }
-            }
-
             long start = unpreciseMillisTime();
             int closedCount = 0;
-            int totalCount = 0;
-
-            for (ConcurrentLinkedDeque<Channel> partition : partitions.values()) {
-                if (LOGGER.isDebugEnabled()) {
-                    totalCount += partition.size();
-                }
-
-                if (partition.isEmpty()) {
-                    continue;
+            int visitedCount = 0;
+
+            long nowTick = start / cleanerPeriod;
+            // after a stall longer than the ring, every bucket is due once
+            long tick = Math.max(processedTick, nowTick - buckets.length);
+            while (tick < nowTick) {
+                tick++;
+                processedTick = tick;
+                ConcurrentLinkedQueue<Channel> bucket = buckets[(int) (tick % buckets.length)];
+                Channel channel;
+                while ((channel = bucket.poll()) != null) {
+                    visitedCount++;
+                    if (expire(channel, start)) {
+                        closedCount++;
+                    }
                 }
+            }
 
-                closedCount += reapPartition(partition, start);
+            for (Iterator<ConcurrentLinkedDeque<Channel>> it = dequesToPurge.iterator(); it.hasNext(); ) {
+                ConcurrentLinkedDeque<Channel> deque = it.next();
+                it.remove();
+                unlinkClaimed(deque);
             }
 
-            if (LOGGER.isDebugEnabled()) {
-                long duration = unpreciseMillisTime() - start;
-                if (closedCount > 0) {
-                    LOGGER.debug("Closed {} connections out of {} in {} ms", closedCount, totalCount, duration);
-                }
+            if (LOGGER.isDebugEnabled() && closedCount > 0) {
+                LOGGER.debug("Closed {} connections out of {} due in {} ms", closedCount, visitedCount, unpreciseMillisTime() - start);
             }
 
-            scheduleNewIdleChannelDetector(timeout.task());
+            scheduleExpiryWheel(timeout.task());
         }
 
         /**
-         * One pass over a partition. A channel is dropped from the deque when it is a
-         * {@code removeAll(Channel)} tombstone, remotely closed, idle-timeout expired or TTL expired.
-         * Tombstoned/concurrently leased channels are only unlinked (their owner closes them); expired
-         * channels are closed here, but only after this cleaner exclusively claims them, so a channel that
-         * {@code poll()} is leasing concurrently is never closed. Returns the number of channels closed by
-         * this tick.
-         *
-         * <p>Drop-worthy channels are unlinked in place through the iterator (O(1) amortized each) as the
-         * scan reaches them. The earlier approach collected them into a list and called
-         * {@link java.util.concurrent.ConcurrentLinkedDeque#removeAll(java.util.Collection) removeAll} after
-         * the scan, which re-walks every node doing an O(m) list {@code contains()} per node — O(n*m),
-         * degenerating toward O(n^2) when a whole partition is dropped in one tick (a load spike's
-         * connections idling out together, or a peer dropping many keep-alives at once). Unlinking via the
-         * iterator keeps the whole pass O(n).
+         * Evaluates the entry of a channel whose bucket came due: closes it if it is idle-timeout expired, TTL
+         * expired or remotely closed, re-files it if it is still pooled but not due yet, and drops the entry if it
+         * is leased. An expired channel is closed only after this wheel exclusively claims exactly the generation
+         * it evaluated, so a channel that {@code poll()} is leasing concurrently, or that was leased and offered
+         * again meanwhile, is never closed on a stale verdict.
          */
-        private int reapPartition(ConcurrentLinkedDeque<Channel> partition, long now) {
-            int closed = 0;
-
-            Iterator<Channel> it = partition.iterator();
-            while (it.hasNext()) {
-                Channel channel = it.next();
-                IdleState idleState = channel.attr(IDLE_STATE_ATTRIBUTE_KEY).get();
-                if (idleState == null) {
-                    continue;
-                }
-
+        private boolean expire(Channel channel, long now) {
+            IdleState idleState = channel.attr(IDLE_STATE_ATTRIBUTE_KEY).get();
+            if (idleState == null) {
+                return false;
+            }
+            for (; ; ) {
+                idleState.unschedule();
                 long stateSnapshot = idleState.snapshot();
-                if (IdleState.isOwned(stateSnapshot)) {
-                    // In-deque + owned ==> a removeAll(Channel) tombstone, a node a concurrent poll() has
-                    // already leased and unlinked, or an offer whose transfer is in progress. Either way:
-                    // unlink, never close: whoever holds the claim is responsible for the channel.
-                    // Unlinking an already-unlinked node through the iterator is a harmless no-op.
-                    it.remove();
-                    continue;
+                if (IdleState.isOwned(stateSnapshot) || !idleState.schedule()) {
+                    // leased, tombstoned or being offered (the offer files it again), or already re-filed by a
+                    // concurrent offer
+                    return false;
                 }
 
-                boolean isIdleTimeoutExpired = isIdleTimeoutExpired(idleState.start(), now);
+                // start only moves forward, so a start read from a later generation can only defer the verdict
+                long deadline = deadline(channel, idleState.start());
                 boolean isRemotelyClosed = !Channels.isChannelActive(channel);
-                boolean isTtlExpired = isTtlExpired(channel, now);
-                if (!isIdleTimeoutExpired && !isRemotelyClosed && !isTtlExpired) {
-                    continue; // healthy idle channel, leave it for poll()
+                if (deadline > now && !isRemotelyClosed) {
+                    file(channel, deadline);
+                    return false;
                 }
 
-                // Claim exactly the generation this verdict was computed from, in a single atomic step:
-                // the channel is never closed on a verdict that a lease + re-offer has invalidated, and a
-                // generation this cleaner did not evaluate is never even transiently owned (which would
-                // starve a concurrent poll() into dropping a live channel). The counter only ever
-                // advances, so a successful claim also proves the start read above belongs to it.
-                if (!idleState.tryTakeOwnership(stateSnapshot)) {
-                    continue; // leased, tombstoned or re-offered meanwhile; that owner now handles it
+                if (idleState.tryTakeOwnership(stateSnapshot)) {
+                    LOGGER.debug("Closing Idle Channel {} isRemotelyClosed={}", channel, isRemotelyClosed);
+                    close(channel);
+                    ConcurrentLinkedDeque<Channel> deque = idleState.deque;
+                    if (deque != null) {
+                        // the longest idle channels sit at the tail, whichever lease strategy is used
+                        deque.removeLastOccurrence(channel);
+                    }
+                    idleState.unschedule();
+                    return true;
                 }
-
-                LOGGER.debug("Closing Idle Channel {} isIdleTimeoutExpired={} isRemotelyClosed={} isTtlExpired={}",
-                        channel, isIdleTimeoutExpired, isRemotelyClosed, isTtlExpired);
-                close(channel);
-                closed++;
-                it.remove();
+                // leased, tombstoned or re-offered since the snapshot: evaluate the channel again
             }
+        }
 
-            return closed;
+        /**
+         * Unlinks the claimed channels of a deque: {@code removeAll(Channel)} tombstones, channels closed while
+         * pooled, and nodes a concurrent {@code poll()} has already leased. Never closes them: whoever holds the
+         * claim is responsible for the channel. Drop-worthy nodes are unlinked in place through the iterator, so
+         * the pass is O(n) however many of them there are.
+         */
+        private void unlinkClaimed(ConcurrentLinkedDeque<Channel> deque) {
+            Iterator<Channel> it = deque.iterator();
+            while (it.hasNext()) {
+                IdleState idleState = it.next().attr(IDLE_STATE_ATTRIBUTE_KEY).get();
+                if (idleState != null && idleState.isOwned()) {
+                    it.remove();
+                }
+            }
         }
     }
 }
@@ -15,9 +15,13 @@
  */
 package org.asynchttpclient.netty.channel;
 
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDatagramChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.DatagramChannel;
 
 import java.util.concurrent.ThreadFactory;
 
@@ -41,4 +45,14 @@ class EpollTransportFactory implements TransportFactory<EpollSocketChannel, Epol
     public EpollEventLoopGroup newEventLoopGroup(int ioThreadsCount, ThreadFactory threadFactory) {
         return new EpollEventLoopGroup(ioThreadsCount, threadFactory);
     }
+
+    @Override
+    public ChannelFactory<? extends DatagramChannel> newDatagramChannelFactory() {
+        return EpollDatagramChannel::new;
+    }
+
+    @Override
+    public ChannelOption<Integer> tcpFastOpenConnectOption() {
+        return LinuxSocketOptions.TCP_FASTOPEN_CONNECT;
+    }
 }
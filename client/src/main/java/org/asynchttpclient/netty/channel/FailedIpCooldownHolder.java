@@ -15,9 +15,11 @@
  */
 package org.asynchttpclient.netty.channel;
 
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.LongSupplier;
@@ -40,6 +42,15 @@ import java.util.function.LongSupplier;
  * somewhere to go. It tracks TCP connect failures only (TLS/handshake failures are not fed back here),
  * matching where address-level failover happens.
  *
+ * <p>When constructed with an {@link OutlierDetection}, the holder also ejects addresses that accept
+ * connections but misbehave on completed requests, as Envoy's outlier detection does: consecutive 5xx
+ * responses or timeouts ({@link #onResponse}, {@link #onTimeout}), or an average response time that is
+ * several times the median of the host's other addresses. An ejected address is handled like a cooling one
+ * by {@link #reorder}, is skipped by {@link RoundRobinAddressSelector} and by the HTTP/2 sibling lookup (see
+ * {@link #isEjected}), and stays ejected for an interval that doubles with each ejection of the same address.
+ * Only a configured percentage of a host's addresses are ejected at a time, so a
+ * host-wide failure cannot eject every address.
+ *
  * <p>Per-host state is held in a bounded map (capped at {@value #MAX_TRACKED_HOSTS}); at the cap an
  * arbitrary entry is evicted before a new one is added, so memory stays bounded even for clients that
  * touch very many distinct hosts. Dropping a host's state is harmless — it simply forgets any cooldowns
@@ -60,8 +71,16 @@ public final class FailedIpCooldownHolder {
     // recovered IP rejoins the order quickly. The DNS/resolver layer remains the authority on liveness.
     static final Duration DEFAULT_FAILED_IP_COOLDOWN = Duration.ofSeconds(10);
 
+    // Number of response time samples an address needs before it can be judged a latency outlier.
+    static final int MIN_LATENCY_SAMPLES = 10;
+
+    // Weight of a new sample in an address's response time average.
+    private static final double LATENCY_EWMA_WEIGHT = 0.2;
+
     private final ConcurrentHashMap<String, HostState> hosts = new ConcurrentHashMap<>();
+    // 0 when only outlier detection is enabled: markFailed is then a no-op
     private final long cooldownNanos;
+    private final OutlierDetection outlierDetection;
     private final LongSupplier nanoClock;
 
     public FailedIpCooldownHolder() {
@@ -69,7 +88,16 @@ public final class FailedIpCooldownHolder {
     }
 
     public FailedIpCooldownHolder(long cooldownNanos, LongSupplier nanoClock) {
+        this(cooldownNanos, null, nanoClock);
+    }
+
+    /**
+     * @param cooldownNanos    how long a failed address is deprioritized, {@code 0} to disable the cooldown
+     * @param outlierDetection the outlier ejection settings, or {@code null} to disable outlier ejection
+     */
+    public FailedIpCooldownHolder(long cooldownNanos, OutlierDetection outlierDetection, LongSupplier nanoClock) {
         this.cooldownNanos = cooldownNanos;
+        this.outlierDetection = outlierDetection;
         this.nanoClock = nanoClock;
     }
 
@@ -84,12 +112,20 @@ public final class FailedIpCooldownHolder {
      */
     public List<InetSocketAddress> reorder(String host, List<InetSocketAddress> addresses) {
         if (addresses.size() <= 1) {
+            if (outlierDetection != null) {
+                // keep the ejection percentage honest for a host that now resolves to a single address
+                HostState state = hosts.get(host);
+                if (state != null) {
+                    state.resolvedCount = addresses.size();
+                }
+            }
             return addresses;
         }
         // Touch the per-host state even when nothing is cooling yet, so a subsequent markFailed for this
         // host (which never resurrects an evicted entry) has somewhere to record the failure.
         HostState state = stateFor(host);
-        if (state.cooldowns.isEmpty()) {
+        state.resolvedCount = addresses.size();
+        if (state.cooldowns.isEmpty() && !state.hasEjections()) {
             return addresses;
         }
         return moveCoolingToBack(state, addresses);
@@ -103,11 +139,151 @@ public final class FailedIpCooldownHolder {
      */
     public void markFailed(String host, InetSocketAddress address) {
         HostState state = hosts.get(host);
-        if (state != null) {
+        if (state != null && cooldownNanos > 0) {
             state.cooldowns.put(address, nanoClock.getAsLong() + cooldownNanos);
         }
     }
 
+    /**
+     * @return whether an address of {@code host} was ever ejected by outlier detection: when not, the per-address
+     * {@link #isEjected} checks can be skipped altogether
+     */
+    public boolean hasEjections(String host) {
+        HostState state = hosts.get(host);
+        return state != null && state.hasEjections();
+    }
+
+    /**
+     * @return whether {@code address} of {@code host} is currently ejected by outlier detection
+     */
+    public boolean isEjected(String host, InetSocketAddress address) {
+        HostState state = hosts.get(host);
+        return state != null && state.hasEjections() && state.isEjected(address, nanoClock.getAsLong());
+    }
+
+    /**
+     * @return whether {@code address} of {@code host} is currently ejected by outlier detection; an
+     * {@link InetAddress}-only variant for callers holding an IP-aware partition key
+     */
+    public boolean isEjected(String host, InetAddress address) {
+        HostState state = hosts.get(host);
+        return state != null && state.hasEjections() && state.isEjected(address, nanoClock.getAsLong());
+    }
+
+    /**
+     * Records the final response status received from {@code address}, {@code elapsedNanos} after the request
+     * was written. A 5xx counts towards the consecutive error threshold, anything else resets it. No-op when
+     * outlier detection is disabled or the host is not tracked.
+     */
+    public void onResponse(String host, InetSocketAddress address, int statusCode, long elapsedNanos) {
+        OutlierState outlier = outlierStateFor(host, address);
+        if (outlier == null) {
+            return;
+        }
+        HostState state = hosts.get(host);
+        long now = nanoClock.getAsLong();
+        boolean eject;
+        synchronized (outlier) {
+            outlier.consecutiveErrors = statusCode >= 500 ? outlier.consecutiveErrors + 1 : 0;
+            outlier.latencyNanos = outlier.latencySamples == 0
+                    ? elapsedNanos
+                    : outlier.latencyNanos + LATENCY_EWMA_WEIGHT * (elapsedNanos - outlier.latencyNanos);
+            outlier.latencySamples++;
+            eject = outlier.consecutiveErrors >= outlierDetection.consecutiveErrors;
+        }
+        if (state != null && (eject || isLatencyOutlier(state, outlier))) {
+            eject(state, outlier, now);
+        }
+    }
+
+    /**
+     * Records that a request to {@code address} timed out; counts towards the consecutive error threshold like a
+     * 5xx response. No-op when outlier detection is disabled or the host is not tracked.
+     */
+    public void onTimeout(String host, InetSocketAddress address) {
+        OutlierState outlier = outlierStateFor(host, address);
+        if (outlier == null) {
+            return;
+        }
+        HostState state = hosts.get(host);
+        boolean eject;
+        synchronized (outlier) {
+            eject = ++outlier.consecutiveErrors >= outlierDetection.consecutiveErrors;
+        }
+        if (state != null && eject) {
+            eject(state, outlier, nanoClock.getAsLong());
+        }
+    }
+
+    // Like markFailed, never creates host state: only hosts that reorder has seen are tracked.
+    private OutlierState outlierStateFor(String host, InetSocketAddress address) {
+        if (outlierDetection == null || address.getAddress() == null) {
+            return null;
+        }
+        HostState state = hosts.get(host);
+        return state != null ? state.outliers.computeIfAbsent(address.getAddress(), a -> new OutlierState()) : null;
+    }
+
+    // An address is a latency outlier when its average response time exceeds latencyFactor times the median of
+    // the host's other sufficiently sampled addresses (the median of the others, so that with two addresses the
+    // slow one is compared with the fast one rather than with their mean).
+    private boolean isLatencyOutlier(HostState state, OutlierState outlier) {
+        if (outlierDetection.latencyFactor <= 0 || outlier.latencySamples < MIN_LATENCY_SAMPLES) {
+            return false;
+        }
+        double[] others = new double[state.outliers.size()];
+        int n = 0;
+        for (OutlierState other : state.outliers.values()) {
+            if (other != outlier && other.latencySamples >= MIN_LATENCY_SAMPLES && n < others.length) {
+                others[n++] = other.latencyNanos;
+            }
+        }
+        if (n == 0) {
+            return false;
+        }
+        Arrays.sort(others, 0, n);
+        double median = n % 2 == 1 ? others[n / 2] : (others[n / 2 - 1] + others[n / 2]) / 2;
+        return outlier.latencyNanos > outlierDetection.latencyFactor * median;
+    }
+
+    // Ejects the address unless it already is, or unless that would exceed maxEjectionPercent of the host's
+    // addresses. The interval doubles with each ejection; ejections are forgiven one per base interval spent
+    // healthy, so an address that misbehaves once in a while keeps getting short ejections.
+    private void eject(HostState state, OutlierState outlier, long now) {
+        synchronized (state) {
+            if (outlier.isEjected(now)) {
+                return;
+            }
+            int ejected = 0;
+            for (OutlierState other : state.outliers.values()) {
+                if (other.isEjected(now)) {
+                    ejected++;
+                }
+            }
+            int known = state.resolvedCount > 0 ? state.resolvedCount : state.outliers.size();
+            if ((ejected + 1) * 100L > (long) known * outlierDetection.maxEjectionPercent) {
+                return;
+            }
+            long base = outlierDetection.baseEjectionNanos;
+            int count = outlier.ejectionCount;
+            if (count > 0 && base > 0) {
+                long healthy = now - outlier.ejectedUntil;
+                count = healthy > 0 ? (int) Math.max(0, count - healthy / base) : count;
+            }
+            count = Math.min(count + 1, 32);
+            long interval = base > 0 ? base << Math.min(count - 1, Long.numberOfLeadingZeros(base) - 1) : 0;
+            synchronized (outlier) {
+                outlier.ejectionCount = count;
+                outlier.ejectedUntil = now + Math.min(interval, outlierDetection.maxEjectionNanos);
+                outlier.ejected = true;
+                // start afresh once the address is back
+                outlier.consecutiveErrors = 0;
+                outlier.latencySamples = 0;
+            }
+            state.ejectionsSeen = true;
+        }
+    }
+
     // Visible for testing: the number of hosts currently tracked (bounded by MAX_TRACKED_HOSTS).
     int trackedHostCount() {
         return hosts.size();
@@ -127,7 +303,12 @@ public final class FailedIpCooldownHolder {
         List<InetSocketAddress> cooling = null;
         for (InetSocketAddress address : addresses) {
             Long until = state.cooldowns.get(address);
-            if (until == null) {
+            if (state.hasEjections() && state.isEjected(address, now)) {
+                if (cooling == null) {
+                    cooling = new ArrayList<>();
+                }
+                cooling.add(address);
+            } else if (until == null) {
                 healthy.add(address);
             } else if (until - now > 0) { // nanoTime-safe comparison
                 if (cooling == null) {
@@ -162,8 +343,62 @@ public final class FailedIpCooldownHolder {
     }
 
     // Per-host set of addresses currently in cooldown (address -> nanoTime the cooldown expires). The map
-    // is bounded by the host's resolved-IP count and self-prunes as entries expire during reorder.
+    // is bounded by the host's resolved-IP count and self-prunes as entries expire during reorder. The outlier
+    // map is keyed by the IPs requests actually completed against, so it is bounded by the resolved IPs too.
     private static final class HostState {
         final ConcurrentHashMap<InetSocketAddress, Long> cooldowns = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<InetAddress, OutlierState> outliers = new ConcurrentHashMap<>();
+        // size of the address list last passed to reorder: the denominator of maxEjectionPercent
+        volatile int resolvedCount;
+        // set once an address of this host was ever ejected: keeps the lookups off the common path
+        volatile boolean ejectionsSeen;
+
+        boolean hasEjections() {
+            return ejectionsSeen;
+        }
+
+        boolean isEjected(InetSocketAddress address, long now) {
+            return address.getAddress() != null && isEjected(address.getAddress(), now);
+        }
+
+        boolean isEjected(InetAddress address, long now) {
+            OutlierState outlier = outliers.get(address);
+            return outlier != null && outlier.isEjected(now);
+        }
+    }
+
+    // Outlier detection state of one address; mutated under its own monitor.
+    private static final class OutlierState {
+        int consecutiveErrors;
+        double latencyNanos;
+        int latencySamples;
+        int ejectionCount;
+        volatile boolean ejected;
+        volatile long ejectedUntil;
+
+        boolean isEjected(long now) {
+            return ejected && ejectedUntil - now > 0; // nanoTime-safe comparison
+        }
+    }
+
+    /**
+     * Outlier ejection settings, see {@link org.asynchttpclient.AsyncHttpClientConfig#isOutlierDetectionEnabled()}.
+     */
+    public static final class OutlierDetection {
+
+        final int consecutiveErrors;
+        final int latencyFactor;
+        final long baseEjectionNanos;
+        final long maxEjectionNanos;
+        final int maxEjectionPercent;
+
+        public OutlierDetection(int consecutiveErrors, int latencyFactor, Duration baseEjectionTime, Duration maxEjectionTime,
+                                int maxEjectionPercent) {
+            this.consecutiveErrors = consecutiveErrors;
+            this.latencyFactor = latencyFactor;
+            this.baseEjectionNanos = baseEjectionTime.toNanos();
+            this.maxEjectionNanos = maxEjectionTime.toNanos();
+            this.maxEjectionPercent = maxEjectionPercent;
+        }
     }
 }
@@ -16,11 +16,19 @@
 package org.asynchttpclient.netty.channel;
 
 import io.netty.util.AttributeKey;
+import org.asynchttpclient.RequestPriority;
 import org.asynchttpclient.netty.NettyResponseFuture;
+import org.asynchttpclient.netty.request.NettyRequest;
+import org.asynchttpclient.netty.timeout.TimeoutsHolder;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -42,13 +50,34 @@ public class Http2ConnectionState {
     private static final class PendingOpener {
         final NettyResponseFuture<?> future;
         final Runnable opener;
+        final long queuedAt = System.nanoTime();
+        // RFC 9218 urgency of the request, lower is more urgent, the time its request timeout fires, Long.MAX_VALUE
+        // without one, and the enqueue order among requests equal on both
+        final int urgency;
+        final long deadline;
+        final long sequence;
+        // guarded by pendingLock: false once the opener was taken out of the queue or its future completed
+        boolean queued = true;
 
-        PendingOpener(NettyResponseFuture<?> future, Runnable opener) {
+        PendingOpener(NettyResponseFuture<?> future, Runnable opener, long sequence) {
             this.future = future;
             this.opener = opener;
+            this.sequence = sequence;
+            RequestPriority priority = future != null ? future.getCurrentRequest().getPriority() : null;
+            urgency = priority != null ? priority.getUrgency() : RequestPriority.DEFAULT_URGENCY;
+            TimeoutsHolder timeouts = future != null ? future.getTimeoutsHolder() : null;
+            long requestTimeout = timeouts != null ? timeouts.getRequestTimeoutMillisTime() : -1;
+            deadline = requestTimeout >= 0 ? requestTimeout : Long.MAX_VALUE;
         }
     }
 
+    private static final Comparator<PendingOpener> SERVING_ORDER = Comparator.<PendingOpener>comparingInt(p -> p.urgency)
+            .thenComparingLong(p -> p.deadline)
+            .thenComparingLong(p -> p.sequence);
+
+    // activeStreams value of a connection retired by tryRetire(): negative, so that no stream can be acquired again
+    private static final int RETIRED = Integer.MIN_VALUE;
+
     private final AtomicInteger activeStreams = new AtomicInteger(0);
     // The effective cap on concurrently open client-initiated streams is the MIN of the client's
     // configured limit and the server-advertised SETTINGS_MAX_CONCURRENT_STREAMS (RFC 9113 §5.1.2 — a
@@ -63,11 +92,16 @@ public class Http2ConnectionState {
     // grants slots — SETTINGS_MAX_CONCURRENT_STREAMS=0, or a small limit with streams it never completes — would
     // otherwise make every subsequent request queue forever, each pinning a NettyResponseFuture and its request
     // body buffer, until the client OOMs. Past the cap, offerPendingOpener rejects and the caller fails the
-    // request fast. All queue mutations happen under pendingLock, so pendingCount tracks size in O(1)
-    // (ConcurrentLinkedQueue.size() is O(n)).
+    // request fast. All queue accesses happen under pendingLock. Queued requests get a slot by urgency
+    // (RFC 9218), earliest request timeout first within the same urgency, then in arrival order.
+    // An opener whose future completes while queued (cancelled, timed out) is only marked: it stays in the heap,
+    // skipped, until polled or until such openers make up half of it. pendingCount counts the live openers; it is
+    // written under pendingLock but read without it, so that releasing a stream takes no lock when none waits.
     private static final int MAX_PENDING_OPENERS = 10_000;
-    private final ConcurrentLinkedQueue<PendingOpener> pendingOpeners = new ConcurrentLinkedQueue<>();
-    private int pendingCount;
+    private final PriorityQueue<PendingOpener> pendingOpeners = new PriorityQueue<>(SERVING_ORDER);
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private int discardedCount;
+    private long pendingSequence;
     private final Object pendingLock = new Object();
     private final AtomicBoolean closed = new AtomicBoolean(false);
     // Set when this connection lost the per-partition registration race (thundering herd): it is not in
@@ -82,6 +116,27 @@ public class Http2ConnectionState {
     // funnel through a single getAndSet, since a double release would push the semaphore above
     // maxConnectionsPerHost.
     private final AtomicReference<Runnable> permitRelease = new AtomicReference<>();
+    // Completed by the first SETTINGS frame from the server, i.e. once the connection preface exchange is done.
+    private final CompletableFuture<Void> remoteSettingsReceived = new CompletableFuture<>();
+    // Connection coalescing (RFC 9113 §9.1.1): the DNS names of the server certificate, read from the TLS session
+    // the first time another hostname looks for a connection to share, and the hostnames the server refused on
+    // this connection with 421 Misdirected Request, which are never coalesced onto it again.
+    private volatile List<String> certificateHostNames;
+    private final Set<String> misdirectedHosts = ConcurrentHashMap.newKeySet();
+    // Set while a timer is armed to open another connection once a queued request waited too long for a slot.
+    private final AtomicBoolean scaleOutTimerArmed = new AtomicBoolean(false);
+    // Round-trip time sampled by Http2RttPingHandler, in nanoseconds: a moving average weighted 1/8 per sample as TCP's
+    // SRTT (RFC 6298), the lowest and the latest sample, and the send time of the probe awaiting its ACK, NO_RTT_PROBE
+    // when none. Written on the event loop, read by the degradation check and ClientStats.
+    private static final long NO_RTT_PROBE = Long.MIN_VALUE;
+    private volatile long smoothedRttNanos;
+    private volatile long minRttNanos;
+    private volatile long latestRttNanos;
+    private volatile long rttSampleCount;
+    private volatile long rttProbeSentAt = NO_RTT_PROBE;
+    // Set once the RTT of this connection degraded past its siblings': it takes no new requests and closes once the
+    // streams it still serves are done.
+    private final AtomicBoolean degraded = new AtomicBoolean(false);
 
     public boolean tryAcquireStream() {
         if (draining.get() || closed.get()) {
@@ -89,7 +144,7 @@ public class Http2ConnectionState {
         }
         while (true) {
             int current = activeStreams.get();
-            if (current >= maxConcurrentStreams) {
+            if (current < 0 || current >= maxConcurrentStreams) {
                 return false;
             }
             if (activeStreams.compareAndSet(current, current + 1)) {
@@ -120,7 +175,10 @@ public class Http2ConnectionState {
 
     /**
      * Runs {@code opener} immediately if a stream slot is free, otherwise queues it for a later
-     * {@link #releaseStream()}. Returns {@code false} — <em>without</em> queuing — when the connection is
+     * {@link #releaseStream()}. Queued openers run by the urgency of the future's {@link RequestPriority}, the one
+     * whose request timeout fires first within the same urgency, then the oldest; an opener queued without its future
+     * has the default urgency and no deadline. A queued opener whose future completes before it got a slot never
+     * runs: it leaves the queue and the request body is released. Returns {@code false} — <em>without</em> queuing — when the connection is
      * already draining or closed, or when the pending queue is already at {@link #MAX_PENDING_OPENERS}: in
      * each case the caller MUST fail the request itself rather than let it sit until the request timeout fires
      * (Issue #2160). A draining/closed connection never runs a queued opener ({@link #drainPendingOpeners} leaves
@@ -138,40 +196,83 @@ public class Http2ConnectionState {
      *         connection is draining/closed or the pending queue is full (caller must fail the request)
      */
     public boolean offerPendingOpener(NettyResponseFuture<?> future, Runnable opener) {
-        boolean runOpener = false;
+        PendingOpener pending = null;
         synchronized (pendingLock) {
-            if (draining.get() || closed.get()) {
+            if (draining.get() || closed.get() || isRetired()) {
                 return false;
             }
-            if (tryAcquireStream()) {
-                runOpener = true;
-            } else {
-                if (pendingCount >= MAX_PENDING_OPENERS) {
+            if (!tryAcquireStream()) {
+                if (pendingCount.get() >= MAX_PENDING_OPENERS) {
                     return false;
                 }
-                pendingOpeners.add(new PendingOpener(future, opener));
-                pendingCount++;
+                pending = new PendingOpener(future, opener, pendingSequence++);
+                pendingOpeners.add(pending);
+                pendingCount.incrementAndGet();
             }
         }
-        if (runOpener) {
+        if (pending == null) {
             opener.run();
+            return true;
+        }
+        // releaseStream() decrements activeStreams, then reads pendingCount without the lock: a stream released
+        // between the tryAcquireStream() above and the increment saw no opener, so look for a free slot again.
+        if (activeStreams.get() < maxConcurrentStreams) {
+            drainPendingOpeners();
+        }
+        if (future != null) {
+            // run at once when the future is done already
+            PendingOpener queued = pending;
+            future.addListener(() -> discardPendingOpener(queued), null);
         }
         return true;
     }
 
+    // Takes the opener of a completed future out of the queue, unless it was run or taken already.
+    private void discardPendingOpener(PendingOpener pending) {
+        synchronized (pendingLock) {
+            if (!pending.queued) {
+                return;
+            }
+            pending.queued = false;
+            pendingCount.decrementAndGet();
+            if (++discardedCount > pendingOpeners.size() / 2) {
+                pendingOpeners.removeIf(p -> !p.queued);
+                discardedCount = 0;
+            }
+        }
+        // the request never reached a stream, whose close would have released its body
+        NettyRequest request = pending.future.getNettyRequest();
+        if (request != null) {
+            request.release();
+        }
+    }
+
+    // Polls the first live opener, dropping the discarded ones before it. Called under pendingLock.
+    private PendingOpener pollPendingOpener() {
+        PendingOpener pending;
+        while ((pending = pendingOpeners.poll()) != null) {
+            if (pending.queued) {
+                pending.queued = false;
+                pendingCount.decrementAndGet();
+                return pending;
+            }
+            discardedCount--;
+        }
+        return null;
+    }
+
     private void drainPendingOpeners() {
         // Drain every slot exposed by a SETTINGS increase; stopping after one can strand requests until another
         // stream completes (Issue #2160). Reserve and dequeue one opener per iteration under pendingLock:
         // tryAcquireStream() enforces capacity and draining/closed gates, the lock makes poll() non-null after
         // the emptiness check, and a throwing opener cannot strand a pre-reserved batch.
-        while (true) {
+        while (pendingCount.get() > 0) {
             PendingOpener pending;
             synchronized (pendingLock) {
-                if (pendingOpeners.isEmpty() || !tryAcquireStream()) {
+                if (pendingCount.get() == 0 || !tryAcquireStream()) {
                     return;
                 }
-                pendingCount--;
-                pending = pendingOpeners.poll();
+                pending = pollPendingOpener();
             }
             // Opening a stream can invoke user callbacks. Run without pendingLock so a slow callback does not
             // serialize unrelated submissions to this connection.
@@ -201,10 +302,11 @@ public class Http2ConnectionState {
             // leave the invariant the offerPendingOpener javadoc relies on resting on luck, not the lock.
             closed.set(true);
             PendingOpener p;
-            while ((p = pendingOpeners.poll()) != null) {
+            while ((p = pollPendingOpener()) != null) {
                 drained.add(p);
             }
-            pendingCount = 0;
+            pendingOpeners.clear();
+            discardedCount = 0;
         }
         // Fail outside the lock — failer may re-enter client code.
         for (PendingOpener p : drained) {
@@ -249,7 +351,167 @@ public class Http2ConnectionState {
     }
 
     public int getActiveStreams() {
-        return activeStreams.get();
+        return Math.max(activeStreams.get(), 0);
+    }
+
+    /**
+     * @return the share of the stream slots in use, in percent; {@code 0} while the number of slots is unbounded
+     */
+    public int getUtilizationPercent() {
+        int max = maxConcurrentStreams;
+        if (max == Integer.MAX_VALUE) {
+            return 0;
+        }
+        return max <= 0 ? 100 : (int) Math.min(100, getActiveStreams() * 100L / max);
+    }
+
+    /**
+     * Retires an idle connection opened to scale out a busy one: once this returns {@code true} no stream is ever
+     * opened on it again, so the caller may close it.
+     *
+     * @return {@code false} when a stream is open or a request is waiting for a slot
+     */
+    public boolean tryRetire() {
+        synchronized (pendingLock) {
+            return pendingCount.get() == 0 && activeStreams.compareAndSet(0, RETIRED);
+        }
+    }
+
+    public boolean isRetired() {
+        return activeStreams.get() < 0;
+    }
+
+    public boolean hasPendingOpeners() {
+        return pendingCount.get() > 0;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} at which the request waiting longest for a slot was queued, or
+     * {@code -1} when none is
+     */
+    public long oldestPendingOpenerQueuedAt() {
+        synchronized (pendingLock) {
+            long oldest = -1;
+            for (PendingOpener pending : pendingOpeners) {
+                if (pending.queued && (oldest == -1 || pending.queuedAt - oldest < 0)) {
+                    oldest = pending.queuedAt;
+                }
+            }
+            return oldest;
+        }
+    }
+
+    /**
+     * Removes up to {@code max} requests waiting for a slot, in the order they would have been served, so that they
+     * can be sent on another connection. Requests queued without their future are left in place.
+     *
+     * @return the futures of the removed requests
+     */
+    public List<NettyResponseFuture<?>> takePendingOpeners(int max) {
+        List<NettyResponseFuture<?>> taken = new ArrayList<>();
+        synchronized (pendingLock) {
+            List<PendingOpener> kept = new ArrayList<>();
+            PendingOpener pending;
+            while (taken.size() < max && (pending = pollPendingOpener()) != null) {
+                if (pending.future != null) {
+                    taken.add(pending.future);
+                } else {
+                    pending.queued = true;
+                    pendingCount.incrementAndGet();
+                    kept.add(pending);
+                }
+            }
+            pendingOpeners.addAll(kept);
+        }
+        return taken;
+    }
+
+    /**
+     * @return {@code true} if no scale-out timer was armed for this connection, which the caller now has to arm
+     */
+    public boolean tryArmScaleOutTimer() {
+        return scaleOutTimerArmed.compareAndSet(false, true);
+    }
+
+    public void disarmScaleOutTimer() {
+        scaleOutTimerArmed.set(false);
+    }
+
+    /**
+     * Records that an RTT probe was sent, unless one is still awaiting its ACK.
+     *
+     * @return {@code true} if the caller has to send the probe
+     */
+    public boolean tryStartRttProbe(long now) {
+        if (rttProbeSentAt != NO_RTT_PROBE) {
+            return false;
+        }
+        rttProbeSentAt = now;
+        return true;
+    }
+
+    /**
+     * Records the ACK of the outstanding RTT probe as an RTT sample.
+     */
+    public void onRttProbeAck(long now) {
+        long sentAt = rttProbeSentAt;
+        if (sentAt == NO_RTT_PROBE) {
+            return;
+        }
+        rttProbeSentAt = NO_RTT_PROBE;
+        recordRttSample(Math.max(now - sentAt, 0));
+    }
+
+    // only ever called on the event loop, so the volatile fields have a single writer
+    void recordRttSample(long rttNanos) {
+        long samples = rttSampleCount;
+        latestRttNanos = rttNanos;
+        if (samples == 0) {
+            smoothedRttNanos = rttNanos;
+            minRttNanos = rttNanos;
+        } else {
+            long smoothed = smoothedRttNanos;
+            smoothedRttNanos = smoothed + (rttNanos - smoothed) / 8;
+            minRttNanos = Math.min(minRttNanos, rttNanos);
+        }
+        rttSampleCount = samples + 1;
+    }
+
+    /**
+     * @return how long the outstanding RTT probe has been waiting for its ACK, {@code 0} when none is
+     */
+    public long getRttProbeAgeNanos(long now) {
+        long sentAt = rttProbeSentAt;
+        return sentAt == NO_RTT_PROBE ? 0 : Math.max(now - sentAt, 0);
+    }
+
+    public long getSmoothedRttNanos() {
+        return smoothedRttNanos;
+    }
+
+    public long getMinRttNanos() {
+        return minRttNanos;
+    }
+
+    public long getLatestRttNanos() {
+        return latestRttNanos;
+    }
+
+    public long getRttSampleCount() {
+        return rttSampleCount;
+    }
+
+    /**
+     * Marks this connection as degraded: it takes no new requests and closes once its last stream ends.
+     *
+     * @return {@code true} the first time
+     */
+    public boolean markDegraded() {
+        return degraded.compareAndSet(false, true);
+    }
+
+    public boolean isDegraded() {
+        return degraded.get();
     }
 
     public boolean isDraining() {
@@ -270,6 +532,19 @@ public class Http2ConnectionState {
         this.draining.set(true);
     }
 
+    /** Records that a SETTINGS frame was received from the server; only the first call has an effect. */
+    public void onRemoteSettings() {
+        remoteSettingsReceived.complete(null);
+    }
+
+    /**
+     * @return a future completed once the server's first SETTINGS frame was received, i.e. once the connection
+     * is fully established and its limits are known
+     */
+    public CompletableFuture<Void> remoteSettingsReceived() {
+        return remoteSettingsReceived;
+    }
+
     public int getLastGoAwayStreamId() {
         return lastGoAwayStreamId;
     }
@@ -301,4 +576,28 @@ public class Http2ConnectionState {
             release.run();
         }
     }
+
+    /**
+     * @return the DNS names of the server certificate, or {@code null} until
+     * {@link #setCertificateHostNames(List)} is called
+     */
+    public List<String> getCertificateHostNames() {
+        return certificateHostNames;
+    }
+
+    public void setCertificateHostNames(List<String> certificateHostNames) {
+        this.certificateHostNames = certificateHostNames;
+    }
+
+    /**
+     * Records that the server answered a request for {@code host} with 421 Misdirected Request, so that requests
+     * for that host are no longer coalesced onto this connection.
+     */
+    public void markMisdirected(String host) {
+        misdirectedHosts.add(host.toLowerCase(Locale.ROOT));
+    }
+
+    public boolean isMisdirected(String host) {
+        return !misdirectedHosts.isEmpty() && misdirectedHosts.contains(host.toLowerCase(Locale.ROOT));
+    }
 }
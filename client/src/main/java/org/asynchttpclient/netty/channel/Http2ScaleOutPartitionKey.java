@@ -0,0 +1,73 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import java.util.Objects;
+
+/**
+ * HTTP/2 registry key of a connection opened beside a busy one, see
+ * {@link org.asynchttpclient.AsyncHttpClientConfig#getHttp2MaxConnectionsPerHost()}.
+ *
+ * <p>It wraps the key the busy connection is registered under (the per-host base key, or a
+ * {@link RoundRobinPartitionKey} in round-robin mode), so that every connection of a group is registered under a
+ * distinct key while lookups by the group key can still pick the least loaded one.
+ */
+public final class Http2ScaleOutPartitionKey {
+
+    private final Object partitionKey;
+    private final int id;
+
+    public Http2ScaleOutPartitionKey(Object partitionKey, int id) {
+        this.partitionKey = partitionKey;
+        this.id = id;
+    }
+
+    /**
+     * @return the key of the group of connections this one was opened into
+     */
+    public Object getPartitionKey() {
+        return partitionKey;
+    }
+
+    /**
+     * @return the number telling this connection apart from the others of its group
+     */
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Http2ScaleOutPartitionKey that = (Http2ScaleOutPartitionKey) o;
+        return id == that.id && Objects.equals(partitionKey, that.partitionKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hashCode(partitionKey) + id;
+    }
+
+    @Override
+    public String toString() {
+        return "Http2ScaleOutPartitionKey(partitionKey=" + partitionKey + ", id=" + id + ")";
+    }
+}
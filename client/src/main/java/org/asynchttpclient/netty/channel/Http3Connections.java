@@ -0,0 +1,282 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.handler.codec.http3.Http3;
+import io.netty.handler.codec.http3.Http3ClientConnectionHandler;
+import io.netty.handler.codec.quic.Quic;
+import io.netty.handler.codec.quic.QuicChannel;
+import io.netty.handler.codec.quic.QuicSslContext;
+import io.netty.handler.codec.quic.QuicSslContextBuilder;
+import io.netty.handler.codec.quic.QuicStreamChannel;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.asynchttpclient.AsyncHttpClientConfig;
+import org.asynchttpclient.netty.handler.Http2ContentDecompressor;
+import org.asynchttpclient.netty.handler.Http3FrameAdapter;
+import org.asynchttpclient.uri.Uri;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The QUIC connections HTTP/3 requests are sent on, see {@link AsyncHttpClientConfig#isHttp3Enabled()}.
+ *
+ * <p>One connection is kept per origin and address, on a datagram channel of its own bound to an ephemeral port, and
+ * the requests to the origin are multiplexed on it as request streams. A connection is forgotten once closed, by the
+ * server or after {@link AsyncHttpClientConfig#getPooledConnectionIdleTimeout()} without traffic (never when it is
+ * not positive), and the next request opens another one.
+ *
+ * <p>Only instantiated when the HTTP/3 and QUIC codecs are on the classpath, see {@link #isAvailable()}: the other
+ * classes must not reference their types. Thread-safe.
+ */
+public final class Http3Connections {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Http3Connections.class);
+
+    // how long a host of AsyncHttpClientConfig#getHttp3Hosts() whose QUIC connection failed is sent requests over TCP
+    static final long BROKEN_HOST_NANOS = TimeUnit.MINUTES.toNanos(5);
+    // the QUIC flow-control windows granted to the server: for the whole connection, and for each response
+    private static final long INITIAL_MAX_DATA = 16 * 1024 * 1024;
+    private static final long INITIAL_MAX_STREAM_DATA = 1024 * 1024;
+
+    private final AsyncHttpClientConfig config;
+    private final EventLoopGroup eventLoopGroup;
+    private final ChannelFactory<? extends DatagramChannel> datagramChannelFactory;
+    private final QuicSslContext sslContext;
+    private final Set<String> hosts = new HashSet<>();
+    private final ConcurrentHashMap<String, Future<QuicChannel>> connections = new ConcurrentHashMap<>();
+    // origin -> System.nanoTime() until which it is sent requests over TCP
+    private final ConcurrentHashMap<String, Long> brokenHosts = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    static boolean isAvailable() {
+        try {
+            Class.forName("io.netty.handler.codec.http3.Http3");
+            Class.forName("io.netty.handler.codec.quic.Quic");
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+        return Quic.isAvailable();
+    }
+
+    Http3Connections(AsyncHttpClientConfig config, EventLoopGroup eventLoopGroup,
+                     ChannelFactory<? extends DatagramChannel> datagramChannelFactory) {
+        this.config = config;
+        this.eventLoopGroup = eventLoopGroup;
+        this.datagramChannelFactory = datagramChannelFactory;
+        for (String host : config.getHttp3Hosts()) {
+            hosts.add(host.toLowerCase(Locale.ROOT));
+        }
+        QuicSslContextBuilder sslContextBuilder = QuicSslContextBuilder.forClient()
+                .applicationProtocols(Http3.supportedApplicationProtocols());
+        if (config.isUseInsecureTrustManager()) {
+            sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+        }
+        if (!config.isDisableHttpsEndpointIdentificationAlgorithm()) {
+            sslContextBuilder.endpointIdentificationAlgorithm("HTTPS");
+        }
+        if (config.getSslSessionCacheSize() > 0) {
+            sslContextBuilder.sessionCacheSize(config.getSslSessionCacheSize());
+        }
+        if (config.getSslSessionTimeout() > 0) {
+            sslContextBuilder.sessionTimeout(config.getSslSessionTimeout());
+        }
+        sslContext = sslContextBuilder.build();
+    }
+
+    /**
+     * @return whether {@code uri} is the origin of a host of {@link AsyncHttpClientConfig#getHttp3Hosts()} whose
+     * QUIC connection did not fail lately
+     */
+    public boolean isHttp3Host(Uri uri) {
+        if (!hosts.contains(uri.getHost().toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+        String key = originKey(uri);
+        Long brokenUntil = brokenHosts.get(key);
+        if (brokenUntil == null) {
+            return true;
+        }
+        if (brokenUntil - System.nanoTime() > 0) {
+            return false;
+        }
+        brokenHosts.remove(key, brokenUntil);
+        return true;
+    }
+
+    /**
+     * Sends the requests to the origin of {@code uri}, a host of {@link AsyncHttpClientConfig#getHttp3Hosts()}, over
+     * TCP for a while, its QUIC connection having failed.
+     */
+    public void markBroken(Uri uri) {
+        brokenHosts.put(originKey(uri), System.nanoTime() + BROKEN_HOST_NANOS);
+    }
+
+    /**
+     * Opens a request stream to the origin of {@code uri} on its QUIC connection to {@code address}, connecting it
+     * first if need be. The stream pipeline translates HTTP/3 frames into HTTP/2 ones, see {@link Http3FrameAdapter},
+     * and hands them to {@code responseHandler}.
+     *
+     * @return the future of the stream, failed with a {@link ConnectException} when the QUIC connection could not be
+     * established
+     */
+    public Future<Channel> openStream(Uri uri, InetSocketAddress address, ChannelHandler responseHandler) {
+        Promise<Channel> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+        if (closed) {
+            return promise.setFailure(new ClosedChannelException());
+        }
+        String key = originKey(uri) + '@' + address;
+        Promise<QuicChannel> created = ImmediateEventExecutor.INSTANCE.newPromise();
+        Future<QuicChannel> connection = connections.putIfAbsent(key, created);
+        if (connection == null) {
+            connection = created;
+            try {
+                connect(key, created, uri, address);
+            } catch (Throwable t) {
+                connectFailed(key, created, address, t);
+            }
+        }
+        Future<QuicChannel> used = connection;
+        used.addListener((Future<QuicChannel> f) -> {
+            if (!f.isSuccess()) {
+                promise.tryFailure(f.cause());
+                return;
+            }
+            QuicChannel quicChannel = f.getNow();
+            if (!quicChannel.isActive()) {
+                // closed since, its closeFuture listener may not have run yet
+                connections.remove(key, used);
+                openStream(uri, address, responseHandler).addListener((Future<Channel> retried) -> {
+                    if (retried.isSuccess()) {
+                        promise.trySuccess(retried.getNow());
+                    } else {
+                        promise.tryFailure(retried.cause());
+                    }
+                });
+                return;
+            }
+            Http3.newRequestStream(quicChannel, new ChannelInitializer<QuicStreamChannel>() {
+                @Override
+                protected void initChannel(QuicStreamChannel stream) {
+                    stream.pipeline().addLast(ChannelManager.HTTP3_FRAME_ADAPTER, new Http3FrameAdapter());
+                    if (config.isEnableAutomaticDecompression()) {
+                        stream.pipeline().addLast("http2-decompressor",
+                                new Http2ContentDecompressor(config.isKeepEncodingHeader(),
+                                        config.getHttp2MaxDecompressedResponseSize()));
+                    }
+                    stream.pipeline().addLast(responseHandler);
+                }
+            }).addListener((Future<QuicStreamChannel> stream) -> {
+                if (stream.isSuccess()) {
+                    promise.trySuccess(stream.getNow());
+                } else {
+                    promise.tryFailure(stream.cause());
+                }
+            });
+        });
+        return promise;
+    }
+
+    private void connect(String key, Promise<QuicChannel> promise, Uri uri, InetSocketAddress address) {
+        // like the pool's, an idle timeout of 0 or less disables it, which QUIC spells 0
+        long idleTimeoutMillis = Math.max(0, config.getPooledConnectionIdleTimeout().toMillis());
+        ChannelHandler codec = Http3.newQuicClientCodecBuilder()
+                // the SNI and the certificate check name the origin, even when connecting to an alternative
+                .sslEngineProvider(quicChannel -> sslContext.newEngine(quicChannel.alloc(), uri.getHost(), uri.getExplicitPort()))
+                .maxIdleTimeout(idleTimeoutMillis, TimeUnit.MILLISECONDS)
+                .initialMaxData(INITIAL_MAX_DATA)
+                .initialMaxStreamDataBidirectionalLocal(INITIAL_MAX_STREAM_DATA)
+                .build();
+        new Bootstrap()
+                .group(eventLoopGroup)
+                .channelFactory(datagramChannelFactory)
+                .handler(codec)
+                .bind(0)
+                .addListener((ChannelFuture bound) -> {
+                    if (!bound.isSuccess()) {
+                        connectFailed(key, promise, address, bound.cause());
+                        return;
+                    }
+                    Channel datagramChannel = bound.channel();
+                    QuicChannel.newBootstrap(datagramChannel)
+                            .handler(new Http3ClientConnectionHandler())
+                            .remoteAddress(address)
+                            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) config.getConnectTimeout().toMillis())
+                            .connect()
+                            .addListener((Future<QuicChannel> connected) -> {
+                                if (!connected.isSuccess()) {
+                                    datagramChannel.close();
+                                    connectFailed(key, promise, address, connected.cause());
+                                    return;
+                                }
+                                QuicChannel quicChannel = connected.getNow();
+                                quicChannel.closeFuture().addListener(f -> {
+                                    connections.remove(key, promise);
+                                    datagramChannel.close();
+                                });
+                                if (closed) {
+                                    quicChannel.close();
+                                }
+                                LOGGER.debug("QUIC connection to {} established for {}", address, uri.getHost());
+                                promise.setSuccess(quicChannel);
+                            });
+                });
+    }
+
+    private void connectFailed(String key, Promise<QuicChannel> promise, InetSocketAddress address, Throwable cause) {
+        connections.remove(key, promise);
+        ConnectException e = new ConnectException("QUIC connection to " + address + " failed: " + cause.getMessage());
+        e.initCause(cause);
+        promise.tryFailure(e);
+    }
+
+    /**
+     * Closes the QUIC connections.
+     */
+    public void close() {
+        closed = true;
+        for (Future<QuicChannel> connection : connections.values()) {
+            QuicChannel quicChannel = connection.getNow();
+            if (quicChannel != null) {
+                quicChannel.close();
+            }
+        }
+    }
+
+    private static String originKey(Uri uri) {
+        return uri.getHost().toLowerCase(Locale.ROOT) + ':' + uri.getExplicitPort();
+    }
+}
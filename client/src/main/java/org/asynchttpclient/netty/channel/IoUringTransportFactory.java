@@ -15,8 +15,12 @@
  */
 package org.asynchttpclient.netty.channel;
 
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.uring.IoUring;
+import io.netty.channel.uring.IoUringDatagramChannel;
 import io.netty.channel.uring.IoUringIoHandler;
 import io.netty.channel.uring.IoUringSocketChannel;
 
@@ -42,4 +46,14 @@ class IoUringTransportFactory implements TransportFactory<IoUringSocketChannel,
     public MultiThreadIoEventLoopGroup newEventLoopGroup(int ioThreadsCount, ThreadFactory threadFactory) {
         return new MultiThreadIoEventLoopGroup(ioThreadsCount, threadFactory, IoUringIoHandler.newFactory());
     }
+
+    @Override
+    public ChannelFactory<? extends DatagramChannel> newDatagramChannelFactory() {
+        return IoUringDatagramChannel::new;
+    }
+
+    @Override
+    public ChannelOption<Integer> tcpFastOpenConnectOption() {
+        return LinuxSocketOptions.TCP_FASTOPEN_CONNECT;
+    }
 }
@@ -15,9 +15,12 @@
  */
 package org.asynchttpclient.netty.channel;
 
+import io.netty.channel.ChannelFactory;
 import io.netty.channel.kqueue.KQueue;
+import io.netty.channel.kqueue.KQueueDatagramChannel;
 import io.netty.channel.kqueue.KQueueEventLoopGroup;
 import io.netty.channel.kqueue.KQueueSocketChannel;
+import io.netty.channel.socket.DatagramChannel;
 
 import java.util.concurrent.ThreadFactory;
 
@@ -41,4 +44,9 @@ class KQueueTransportFactory implements TransportFactory<KQueueSocketChannel, KQ
     public KQueueEventLoopGroup newEventLoopGroup(int ioThreadsCount, ThreadFactory threadFactory) {
         return new KQueueEventLoopGroup(ioThreadsCount, threadFactory);
     }
+
+    @Override
+    public ChannelFactory<? extends DatagramChannel> newDatagramChannelFactory() {
+        return KQueueDatagramChannel::new;
+    }
 }
@@ -0,0 +1,258 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import org.asynchttpclient.AddressLatencyStats;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * Picks, per request, which resolved IP a new request should target first when
+ * {@link org.asynchttpclient.LoadBalance#LEAST_LATENCY} is enabled.
+ *
+ * <p>Each IP carries a peak-sensitive, time-decayed EWMA of its connect latency and of its response latency, plus
+ * the number of requests currently in flight to it. Its cost is the latency estimate (response EWMA, or connect
+ * EWMA until the first response was timed) multiplied by {@code inFlight + 1}. {@link #select(List)} uses the
+ * power-of-two-choices rule: it samples two distinct addresses at random and puts the cheaper one first, so a
+ * slow or saturated replica quickly gets a smaller share of the traffic without the herding that always picking
+ * the global minimum would cause. An address that has never been measured costs nothing and is tried soon.
+ *
+ * <p>A sample slower than the current estimate replaces it at once; faster samples blend in with a weight that
+ * depends on the time since the previous sample (the old value keeps {@code exp(-elapsed / }{@value #DECAY_SECONDS}
+ * {@code s)}), and the estimate also decays while no sample arrives, so an address that was slow a while ago and
+ * has received little traffic since is re-probed instead of being starved forever. A failed request only counts
+ * when its elapsed time makes the estimate worse: a request that fails fast must not make a broken replica look
+ * attractive.
+ *
+ * <p>This class only orders addresses; deprioritizing addresses whose connection attempts recently failed is
+ * still done by {@link FailedIpCooldownHolder}, applied on top of the selection.
+ *
+ * <p>Per-address state is held in a bounded map (capped at {@value #MAX_TRACKED_ADDRESSES}); at the cap an
+ * arbitrary entry is evicted before a new one is added. Dropping an entry only forgets that address's history.
+ *
+ * <p>Thread-safe.
+ */
+public final class LatencyAwareAddressSelector {
+
+    // Cap on the number of per-address entries retained (same approach as util/NonceCounter).
+    static final int MAX_TRACKED_ADDRESSES = 4096;
+
+    // Time constant of the EWMA decay: after this long without samples, an old estimate weighs ~37%.
+    static final long DECAY_SECONDS = 10;
+
+    private static final double DECAY_NANOS = Duration.ofSeconds(DECAY_SECONDS).toNanos();
+
+    private final ConcurrentHashMap<InetAddress, AddressState> addresses = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    // Returns a random int in [0, bound): the two-choices sampler
+    private final IntUnaryOperator random;
+
+    public LatencyAwareAddressSelector() {
+        this(System::nanoTime, bound -> ThreadLocalRandom.current().nextInt(bound));
+    }
+
+    LatencyAwareAddressSelector(LongSupplier nanoClock, IntUnaryOperator random) {
+        this.nanoClock = nanoClock;
+        this.random = random;
+    }
+
+    /**
+     * @param resolved the resolved socket addresses (size {@code >= 1}), in resolver order
+     * @return the same list instance when there is nothing to choose (size {@code <= 1}, or the chosen address is
+     * already first), otherwise a new list whose first element is the chosen address (otherwise preserving
+     * resolver order, so the connector can still fail over to the others)
+     */
+    public List<InetSocketAddress> select(List<InetSocketAddress> resolved) {
+        int n = resolved.size();
+        if (n <= 1) {
+            return resolved;
+        }
+        int a = random.applyAsInt(n);
+        int b = random.applyAsInt(n - 1);
+        if (b >= a) {
+            b++; // distinct from a, uniform over the others
+        }
+        long now = nanoClock.getAsLong();
+        int chosen = cost(resolved.get(b), now) < cost(resolved.get(a), now) ? b : a;
+        return chosen == 0 ? resolved : moveToFront(resolved, chosen);
+    }
+
+    /**
+     * Records a successful connection to {@code address} that took {@code elapsedNanos} to establish.
+     */
+    public void onConnected(InetSocketAddress address, long elapsedNanos) {
+        if (address.getAddress() != null) {
+            stateFor(address.getAddress()).connectLatency.sample(elapsedNanos, nanoClock.getAsLong(), false);
+        }
+    }
+
+    /**
+     * Counts a request dispatched to {@code address} as in flight until the returned lease is finished.
+     */
+    public Lease startRequest(InetAddress address) {
+        AddressState state = stateFor(address);
+        AddressState.IN_FLIGHT_UPDATER.incrementAndGet(state);
+        return new Lease(state, nanoClock.getAsLong());
+    }
+
+    /**
+     * @return a snapshot of the tracked addresses, keyed by IP literal
+     */
+    public Map<String, AddressLatencyStats> stats() {
+        if (addresses.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, AddressLatencyStats> stats = new HashMap<>();
+        for (Map.Entry<InetAddress, AddressState> entry : addresses.entrySet()) {
+            AddressState state = entry.getValue();
+            stats.put(entry.getKey().getHostAddress(), new AddressLatencyStats(state.inFlight,
+                    Duration.ofNanos((long) state.connectLatency.value), Duration.ofNanos((long) state.responseLatency.value)));
+        }
+        return Collections.unmodifiableMap(stats);
+    }
+
+    // Visible for testing
+    double cost(InetSocketAddress address, long now) {
+        AddressState state = address.getAddress() != null ? addresses.get(address.getAddress()) : null;
+        if (state == null) {
+            return 0;
+        }
+        Ewma latency = state.responseLatency.value > 0 ? state.responseLatency : state.connectLatency;
+        return latency.decayedValue(now) * (state.inFlight + 1);
+    }
+
+    // Visible for testing: the number of addresses currently tracked (bounded by MAX_TRACKED_ADDRESSES).
+    int trackedAddressCount() {
+        return addresses.size();
+    }
+
+    private AddressState stateFor(InetAddress address) {
+        AddressState state = addresses.get(address);
+        if (state != null) {
+            return state;
+        }
+        // Keep the map bounded: when it is full, drop one arbitrary entry before a new address is added.
+        if (addresses.size() >= MAX_TRACKED_ADDRESSES) {
+            var it = addresses.keySet().iterator();
+            if (it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        return addresses.computeIfAbsent(address, a -> new AddressState());
+    }
+
+    private static List<InetSocketAddress> moveToFront(List<InetSocketAddress> resolved, int index) {
+        List<InetSocketAddress> ordered = new ArrayList<>(resolved.size());
+        ordered.add(resolved.get(index));
+        for (int i = 0; i < resolved.size(); i++) {
+            if (i != index) {
+                ordered.add(resolved.get(i));
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * One request in flight to an address. {@link #finish(boolean)} is idempotent, so it can be called both when a
+     * request is redirected elsewhere and when its future completes.
+     */
+    public final class Lease {
+
+        private final AddressState state;
+        private final long startNanos;
+        @SuppressWarnings("unused")
+        private volatile int finished;
+
+        private Lease(AddressState state, long startNanos) {
+            this.state = state;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * @param success whether the request completed normally; a failure only raises the latency estimate
+         */
+        public void finish(boolean success) {
+            if (FINISHED_UPDATER.getAndSet(this, 1) == 0) {
+                AddressState.IN_FLIGHT_UPDATER.decrementAndGet(state);
+                long now = nanoClock.getAsLong();
+                state.responseLatency.sample(now - startNanos, now, !success);
+            }
+        }
+    }
+
+    private static final AtomicIntegerFieldUpdater<Lease> FINISHED_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(Lease.class, "finished");
+
+    private static final class AddressState {
+
+        private static final AtomicIntegerFieldUpdater<AddressState> IN_FLIGHT_UPDATER =
+                AtomicIntegerFieldUpdater.newUpdater(AddressState.class, "inFlight");
+
+        final Ewma connectLatency = new Ewma();
+        final Ewma responseLatency = new Ewma();
+        volatile int inFlight;
+    }
+
+    // Peak-sensitive, time-decayed exponentially weighted moving average, in nanoseconds (as in Finagle's peak EWMA
+    // balancer): a sample above the estimate replaces it at once, so a slowdown is acted upon immediately, while
+    // faster samples only pull it down gradually. Samples are rare compared to the EventLoop work around them, so
+    // updates simply synchronize; reads, done for every request, take no lock. A sample writes lastSampleNanos
+    // before value and readers load value first, so a reader that sees a new value also sees its timestamp (a
+    // reader racing the other way only decays the previous value slightly less).
+    private static final class Ewma {
+
+        volatile double value;
+        private volatile long lastSampleNanos;
+
+        synchronized void sample(long sampleNanos, long now, boolean onlyIfWorse) {
+            double current = value;
+            double next;
+            if (sampleNanos > current) {
+                next = sampleNanos;
+            } else if (!onlyIfWorse) {
+                double w = Math.exp(-Math.max(0, now - lastSampleNanos) / DECAY_NANOS);
+                next = current * w + sampleNanos * (1 - w);
+            } else {
+                return;
+            }
+            lastSampleNanos = now;
+            value = next;
+        }
+
+        // The estimate as seen at {@code now}: decays towards zero while no sample arrives, so a replica that
+        // is no longer receiving traffic is eventually re-probed.
+        double decayedValue(long now) {
+            double v = value;
+            if (v == 0) {
+                return 0;
+            }
+            return v * Math.exp(-Math.max(0, now - lastSampleNanos) / DECAY_NANOS);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.channel.unix.IntegerUnixChannelOption;
+
+/**
+ * Linux socket options the native transports set on the client channels. Only referenced from the epoll and
+ * io_uring transport factories, as the native transports are optional dependencies.
+ */
+final class LinuxSocketOptions {
+
+    /**
+     * {@code TCP_FASTOPEN_CONNECT} (Linux 4.11+), set on the socket before it connects: the connect completes without
+     * sending the SYN, which goes out with the first bytes written, and the kernel handles the Fast Open cookie and the
+     * fallback to a regular handshake. Netty's {@code ChannelOption.TCP_FASTOPEN_CONNECT} only puts in the SYN the
+     * bytes written before the connect, whereas the request, or the TLS ClientHello, is written once it completes.
+     */
+    static final IntegerUnixChannelOption TCP_FASTOPEN_CONNECT = new IntegerUnixChannelOption("TCP_FASTOPEN_CONNECT", 6, 30);
+
+    private LinuxSocketOptions() {
+    }
+}
@@ -17,6 +17,7 @@ package org.asynchttpclient.netty.channel;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import org.asynchttpclient.AsyncHandler;
 import org.asynchttpclient.AsyncHttpClientState;
 import org.asynchttpclient.netty.SimpleChannelFutureListener;
@@ -24,12 +25,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.ConnectException;
+import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
 
 public class NettyChannelConnector {
 
@@ -45,6 +52,11 @@ public class NettyChannelConnector {
     // Notified with each remote address whose TCP connect attempt fails, or null when no caller cares.
     // Used to put a failed IP in a short cooldown so new connections route around it; see FailedIpCooldownHolder.
     private final Consumer<InetSocketAddress> connectFailureListener;
+    // Delay between staggered Happy Eyeballs (RFC 8305) attempts, or null to try the addresses sequentially.
+    private final Duration happyEyeballsDelay;
+    // Notified with the winning remote address and how long its connect took (nanos), or null when no caller cares.
+    // Feeds the per-IP connect latency of LoadBalance.LEAST_LATENCY; see LatencyAwareAddressSelector.
+    private final ObjLongConsumer<InetSocketAddress> connectSuccessListener;
     private volatile int i;
 
     public NettyChannelConnector(InetAddress localAddress, List<InetSocketAddress> remoteAddresses, AsyncHandler<?> asyncHandler, AsyncHttpClientState clientState) {
@@ -53,11 +65,32 @@ public class NettyChannelConnector {
 
     public NettyChannelConnector(InetAddress localAddress, List<InetSocketAddress> remoteAddresses, AsyncHandler<?> asyncHandler, AsyncHttpClientState clientState,
                                  Consumer<InetSocketAddress> connectFailureListener) {
+        this(localAddress, remoteAddresses, asyncHandler, clientState, connectFailureListener, null);
+    }
+
+    /**
+     * @param happyEyeballsDelay when not null, several remote addresses are raced (RFC 8305): attempts are started
+     *                           this far apart over the family-interleaved addresses and the first to connect wins
+     */
+    public NettyChannelConnector(InetAddress localAddress, List<InetSocketAddress> remoteAddresses, AsyncHandler<?> asyncHandler, AsyncHttpClientState clientState,
+                                 Consumer<InetSocketAddress> connectFailureListener, Duration happyEyeballsDelay) {
+        this(localAddress, remoteAddresses, asyncHandler, clientState, connectFailureListener, happyEyeballsDelay, null);
+    }
+
+    /**
+     * @param connectSuccessListener when not null, notified with the address a connection was established to and the
+     *                               time, in nanoseconds, that attempt took
+     */
+    public NettyChannelConnector(InetAddress localAddress, List<InetSocketAddress> remoteAddresses, AsyncHandler<?> asyncHandler, AsyncHttpClientState clientState,
+                                 Consumer<InetSocketAddress> connectFailureListener, Duration happyEyeballsDelay,
+                                 ObjLongConsumer<InetSocketAddress> connectSuccessListener) {
         this.localAddress = localAddress != null ? new InetSocketAddress(localAddress, 0) : null;
         this.remoteAddresses = remoteAddresses;
         this.asyncHandler = asyncHandler;
         this.clientState = clientState;
         this.connectFailureListener = connectFailureListener;
+        this.happyEyeballsDelay = happyEyeballsDelay;
+        this.connectSuccessListener = connectSuccessListener;
     }
 
     private boolean pickNextRemoteAddress() {
@@ -66,6 +99,11 @@ public class NettyChannelConnector {
     }
 
     public void connect(final Bootstrap bootstrap, final NettyConnectListener<?> connectListener) {
+        if (happyEyeballsDelay != null && remoteAddresses.size() > 1) {
+            new HappyEyeballsRace(bootstrap, connectListener).startNextAttempt();
+            return;
+        }
+
         final InetSocketAddress remoteAddress = remoteAddresses.get(i);
 
         try {
@@ -88,10 +126,14 @@ public class NettyChannelConnector {
     }
 
     private void connect0(Bootstrap bootstrap, final NettyConnectListener<?> connectListener, InetSocketAddress remoteAddress) {
+        final long startNanos = System.nanoTime();
         bootstrap.connect(remoteAddress, localAddress)
                 .addListener(new SimpleChannelFutureListener() {
                     @Override
                     public void onSuccess(Channel channel) {
+                        if (connectSuccessListener != null) {
+                            connectSuccessListener.accept(remoteAddress, System.nanoTime() - startNanos);
+                        }
                         try {
                             asyncHandler.onTcpConnectSuccess(remoteAddress, channel);
                         } catch (Exception e) {
@@ -135,4 +177,225 @@ public class NettyChannelConnector {
         annotated.initCause(t);
         return annotated;
     }
+
+    /**
+     * Orders addresses for a Happy Eyeballs race (RFC 8305 §4): alternate between the two address families,
+     * starting with the family of the first address, while keeping the relative order within each family (which
+     * carries the resolver's preference and the failed-IP cooldown ordering).
+     */
+    static List<InetSocketAddress> interleaveByFamily(List<InetSocketAddress> addresses) {
+        boolean firstIsIpv6 = isIpv6(addresses.get(0));
+        List<InetSocketAddress> preferred = new ArrayList<>(addresses.size());
+        List<InetSocketAddress> other = new ArrayList<>(addresses.size());
+        for (InetSocketAddress address : addresses) {
+            (isIpv6(address) == firstIsIpv6 ? preferred : other).add(address);
+        }
+        if (other.isEmpty()) {
+            return addresses;
+        }
+        List<InetSocketAddress> interleaved = new ArrayList<>(addresses.size());
+        for (int p = 0, o = 0; p < preferred.size() || o < other.size(); ) {
+            if (p < preferred.size()) {
+                interleaved.add(preferred.get(p++));
+            }
+            if (o < other.size()) {
+                interleaved.add(other.get(o++));
+            }
+        }
+        return interleaved;
+    }
+
+    private static boolean isIpv6(InetSocketAddress address) {
+        return address.getAddress() instanceof Inet6Address;
+    }
+
+    /**
+     * One Happy Eyeballs connection race. Attempts are started in order, the next one when the attempt delay
+     * elapses or as soon as an attempt fails; the first attempt to connect wins and the still-pending ones are
+     * closed. Attempt outcomes complete on different event loops, so the race state is guarded by this object's
+     * monitor; callbacks into the handler and the connect listener are made outside of it.
+     */
+    private final class HappyEyeballsRace {
+
+        private final Bootstrap bootstrap;
+        private final NettyConnectListener<?> connectListener;
+        private final List<InetSocketAddress> addresses;
+        // attempts.get(n) is the connect future for addresses.get(n)
+        private final List<ChannelFuture> attempts;
+        private int pendingAttempts;
+        private boolean done;
+        private ScheduledFuture<?> nextAttemptTimer;
+
+        HappyEyeballsRace(Bootstrap bootstrap, NettyConnectListener<?> connectListener) {
+            // with TCP Fast Open, every attempt would connect at once, before the server is known to be reachable
+            this.bootstrap = bootstrap.clone().attr(ChannelManager.NO_TCP_FAST_OPEN, Boolean.TRUE);
+            this.connectListener = connectListener;
+            addresses = interleaveByFamily(remoteAddresses);
+            attempts = new ArrayList<>(addresses.size());
+        }
+
+        void startNextAttempt() {
+            final int index;
+            final InetSocketAddress remoteAddress;
+            synchronized (this) {
+                if (done || attempts.size() == addresses.size()) {
+                    return;
+                }
+                if (nextAttemptTimer != null) {
+                    nextAttemptTimer.cancel(false);
+                    nextAttemptTimer = null;
+                }
+                index = attempts.size();
+                remoteAddress = addresses.get(index);
+                attempts.add(null); // reserve the slot; filled in once connect() returned
+                pendingAttempts++;
+            }
+
+            try {
+                asyncHandler.onTcpConnectAttempt(remoteAddress);
+            } catch (Exception e) {
+                LOGGER.error("onTcpConnectAttempt crashed", e);
+                abort(null, e);
+                return;
+            }
+
+            final long startNanos = System.nanoTime();
+            final ChannelFuture attempt;
+            try {
+                attempt = bootstrap.connect(remoteAddress, localAddress);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    pendingAttempts--;
+                }
+                if (clientState.isClosed()) {
+                    LOGGER.info("Connect crash but engine is shutting down");
+                } else {
+                    abort(null, e);
+                }
+                return;
+            }
+
+            boolean lost;
+            synchronized (this) {
+                attempts.set(index, attempt);
+                lost = done;
+                if (!done && attempts.size() < addresses.size()) {
+                    nextAttemptTimer = bootstrap.config().group().next()
+                            .schedule(this::startNextAttempt, happyEyeballsDelay.toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            if (lost) {
+                // the race was decided while this attempt was being started
+                attempt.channel().close();
+                return;
+            }
+
+            attempt.addListener(new SimpleChannelFutureListener() {
+                @Override
+                public void onSuccess(Channel channel) {
+                    onAttemptSuccess(index, remoteAddress, channel, System.nanoTime() - startNanos);
+                }
+
+                @Override
+                public void onFailure(Channel channel, Throwable t) {
+                    onAttemptFailure(remoteAddress, channel, t);
+                }
+            });
+        }
+
+        private void onAttemptSuccess(int index, InetSocketAddress remoteAddress, Channel channel, long elapsedNanos) {
+            List<InetSocketAddress> overtaken = new ArrayList<>();
+            synchronized (this) {
+                if (done) {
+                    // another attempt won (or the race was aborted) while this one was completing
+                    channel.close();
+                    return;
+                }
+                done = true;
+                for (int n = 0; n < index; n++) {
+                    ChannelFuture attempt = attempts.get(n);
+                    if (attempt != null && !attempt.isDone()) {
+                        overtaken.add(addresses.get(n));
+                    }
+                }
+                cancelTimerAndCloseOthers(attempts.get(index));
+            }
+
+            if (connectFailureListener != null) {
+                // An address that was started earlier but is still connecting is slow (or black-holed): let the
+                // cooldown deprioritize it so the next connections lead with the address that just won.
+                for (InetSocketAddress address : overtaken) {
+                    connectFailureListener.accept(address);
+                }
+            }
+            if (connectSuccessListener != null) {
+                connectSuccessListener.accept(remoteAddress, elapsedNanos);
+            }
+            try {
+                asyncHandler.onTcpConnectSuccess(remoteAddress, channel);
+            } catch (Exception e) {
+                LOGGER.error("onTcpConnectSuccess crashed", e);
+                connectListener.onFailure(channel, e);
+                return;
+            }
+            connectListener.onSuccess(channel, remoteAddress);
+        }
+
+        private void onAttemptFailure(InetSocketAddress remoteAddress, Channel channel, Throwable t) {
+            boolean exhausted;
+            synchronized (this) {
+                if (done) {
+                    // closed because another attempt won: not a failure of this address
+                    return;
+                }
+                pendingAttempts--;
+                exhausted = pendingAttempts == 0 && attempts.size() == addresses.size();
+                if (exhausted) {
+                    done = true;
+                }
+            }
+
+            if (connectFailureListener != null) {
+                connectFailureListener.accept(remoteAddress);
+            }
+            try {
+                asyncHandler.onTcpConnectFailure(remoteAddress, t);
+            } catch (Exception e) {
+                LOGGER.error("onTcpConnectFailure crashed", e);
+                abort(channel, e);
+                return;
+            }
+            if (exhausted) {
+                connectListener.onFailure(channel, annotateConnectException(t, remoteAddress));
+            } else {
+                // RFC 8305 §5: a failed attempt starts the next one right away instead of waiting for the delay
+                startNextAttempt();
+            }
+        }
+
+        private void abort(Channel channel, Throwable cause) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                cancelTimerAndCloseOthers(null);
+            }
+            connectListener.onFailure(channel, cause);
+        }
+
+        // Must hold the monitor.
+        private void cancelTimerAndCloseOthers(ChannelFuture winner) {
+            if (nextAttemptTimer != null) {
+                nextAttemptTimer.cancel(false);
+                nextAttemptTimer = null;
+            }
+            for (ChannelFuture attempt : attempts) {
+                if (attempt != null && attempt != winner) {
+                    // closing a still-connecting channel fails its connect future, which onAttemptFailure ignores
+                    attempt.channel().close();
+                }
+            }
+        }
+    }
 }
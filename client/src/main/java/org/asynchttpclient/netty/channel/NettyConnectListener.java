@@ -71,6 +71,13 @@ public final class NettyConnectListener<T> {
             return;
         }
 
+        if (future.isWarmUp()) {
+            // nothing to write: the channel is handed to the pool (HTTP/1.1) or is already registered (HTTP/2)
+            channelManager.registerOpenChannel(channel);
+            requestSender.completeWarmUp(future, channel);
+            return;
+        }
+
         if (LOGGER.isDebugEnabled()) {
             HttpRequest httpRequest = future.getNettyRequest().getHttpRequest();
             LOGGER.debug("Using new Channel '{}' for '{}' to '{}'", channel, httpRequest.method(), httpRequest.uri());
@@ -224,7 +231,7 @@ public final class NettyConnectListener<T> {
                     // this guard is the backstop for a custom SslEngineFactory that still advertises h2.
                     // Without it, the WebSocket handshake would be written as a plain HTTP/2 request and the
                     // broken connection pooled in the H2 registry, mis-routing later wss:// requests. See #2160.
-                    String alpnProtocol = sslHandler.applicationProtocol();
+                    String alpnProtocol = ChannelManager.negotiatedApplicationProtocol(sslHandler);
                     boolean http2Negotiated = ApplicationProtocolNames.HTTP_2.equals(alpnProtocol);
                     if (http2Negotiated && uri.isWebSocket()) {
                         LOGGER.warn("Server negotiated HTTP/2 for WebSocket request to {}; WebSocket over HTTP/2 "
@@ -292,7 +299,10 @@ public final class NettyConnectListener<T> {
         // once: it is volatile (repinned on IP failover) and both uses below must agree.
         Object partitionKey = future.getPartitionKey();
         channelManager.registerHttp2Connection(partitionKey, channel);
-        if (partitionKey instanceof RoundRobinPartitionKey) {
+        // a connection opened to scale out a round-robin one is bounded by the per-host permit the same way
+        Object groupKey = partitionKey instanceof Http2ScaleOutPartitionKey
+                ? ((Http2ScaleOutPartitionKey) partitionKey).getPartitionKey() : partitionKey;
+        if (groupKey instanceof RoundRobinPartitionKey) {
             // The permit must be freed as soon as the connection stops serving new requests: on close, or
             // at drain start after GOAWAY (issue #2214). The closeFuture listener installed in onSuccess
             // covers close; this adds the drain hook. Both funnel through releasePermitOnce.
@@ -310,6 +320,19 @@ public final class NettyConnectListener<T> {
         // beware, channel can be null
         Channels.silentlyCloseChannel(channel);
 
+        AltSvcCache.Alternative alternative = future.getAltSvcAlternative();
+        AltSvcCache altSvcCache = channelManager.getAltSvcCache();
+        if (alternative != null && altSvcCache != null) {
+            // The advertised alternative can't be reached or doesn't authenticate as the origin: forget it and
+            // connect to the origin itself, without spending one of the request's retries.
+            LOGGER.debug("Alt-Svc alternative {} of {} failed, connecting to the origin", alternative, future.getUri().getBaseUrl());
+            future.setAltSvcAlternative(null);
+            altSvcCache.markBroken(future.getUri(), alternative);
+            if (requestSender.retry(future)) {
+                return;
+            }
+        }
+
         boolean canRetry = future.incrementRetryAndCheck();
         LOGGER.debug("Trying to recover from failing to connect channel {} with a retry value of {} ", channel, canRetry);
         if (canRetry//
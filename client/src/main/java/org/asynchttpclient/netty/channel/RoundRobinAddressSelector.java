@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.RandomAccess;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  * Picks, per host and per request, which resolved IP a new connection should target first when
@@ -35,7 +36,9 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * <p>This class is concerned only with rotation. Deprioritizing addresses whose connection attempts
  * recently failed is handled separately and mode-independently by {@link FailedIpCooldownHolder}, applied
- * on top of the rotation before a connection is opened.
+ * on top of the rotation before a connection is opened. Addresses ejected by its outlier detection are left
+ * out of the rotation itself (see {@link #rotate(String, List, Predicate)}), so the remaining addresses share
+ * the traffic evenly.
  *
  * <p>Per-host state is held in a bounded map (capped at {@value #MAX_TRACKED_HOSTS}); at the cap an
  * arbitrary entry is evicted before a new one is added, so memory stays bounded even for clients that
@@ -61,16 +64,49 @@ public final class RoundRobinAddressSelector {
      * round-robin-selected address (otherwise preserving resolver order)
      */
     public List<InetSocketAddress> rotate(String host, List<InetSocketAddress> resolved) {
+        return rotate(host, resolved, null);
+    }
+
+    /**
+     * Like {@link #rotate(String, List)}, but the selection only cycles over the addresses that are not
+     * {@code skipped}; when every address is skipped, all of them take part again.
+     *
+     * @param skipped the addresses to leave out of the rotation (e.g. ejected outliers), or {@code null}
+     */
+    public List<InetSocketAddress> rotate(String host, List<InetSocketAddress> resolved, Predicate<InetSocketAddress> skipped) {
         int n = resolved.size();
         if (n <= 1) {
             return resolved;
         }
 
         AtomicInteger counter = counterFor(host);
-        int index = (counter.getAndIncrement() & Integer.MAX_VALUE) % n;
+        int ticket = counter.getAndIncrement() & Integer.MAX_VALUE;
+        int index = ticket % n;
+        if (skipped != null) {
+            // snapshot the predicate: ejections may change concurrently
+            boolean[] skip = new boolean[n];
+            int eligible = 0;
+            for (int i = 0; i < n; i++) {
+                skip[i] = skipped.test(resolved.get(i));
+                if (!skip[i]) {
+                    eligible++;
+                }
+            }
+            if (eligible > 0 && eligible < n) {
+                index = nthEligible(skip, ticket % eligible);
+            }
+        }
         return index == 0 ? resolved : rotateBy(resolved, index);
     }
 
+    private static int nthEligible(boolean[] skip, int nth) {
+        for (int i = 0; ; i++) {
+            if (!skip[i] && nth-- == 0) {
+                return i;
+            }
+        }
+    }
+
     // Visible for testing: the number of hosts currently tracked (bounded by MAX_TRACKED_HOSTS).
     int trackedHostCount() {
         return counters.size();
@@ -44,6 +44,13 @@ public final class RoundRobinPartitionKey {
         return baseKey;
     }
 
+    /**
+     * @return the resolved IP this key pins connection reuse to
+     */
+    public InetAddress getAddress() {
+        return address;
+    }
+
     /**
      * @return a key with the same base but a different IP, used to re-pin to the IP actually connected
      * to when the connector fails over from the initially selected IP
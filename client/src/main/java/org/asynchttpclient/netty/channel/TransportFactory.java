@@ -17,11 +17,31 @@ package org.asynchttpclient.netty.channel;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFactory;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.concurrent.ThreadFactory;
 
 public interface TransportFactory<C extends Channel, L extends EventLoopGroup> extends ChannelFactory<C> {
 
     L newEventLoopGroup(int ioThreadsCount, ThreadFactory threadFactory);
+
+    /**
+     * @return the factory for the UDP channels the built-in DNS resolver queries name servers over; the channel type
+     * must be compatible with the event loops created by {@link #newEventLoopGroup(int, ThreadFactory)}
+     */
+    default ChannelFactory<? extends DatagramChannel> newDatagramChannelFactory() {
+        return NioDatagramChannel::new;
+    }
+
+    /**
+     * @return the channel option that, set to 1, makes the channels created by {@link #newChannel()} connect with TCP
+     * Fast Open, the first bytes written riding in the SYN; null when the transport does not support it
+     */
+    default @Nullable ChannelOption<Integer> tcpFastOpenConnectOption() {
+        return null;
+    }
 }
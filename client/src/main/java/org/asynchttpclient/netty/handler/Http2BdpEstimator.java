@@ -0,0 +1,141 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.handler;
+
+import java.time.Duration;
+
+/**
+ * Estimates the bandwidth-delay product of an HTTP/2 connection from the DATA received between a PING and its ACK,
+ * for {@link org.asynchttpclient.AsyncHttpClientConfig#isHttp2WindowAutotuningEnabled()}.
+ * <p>
+ * The first DATA frame received while no PING is outstanding starts a sample and sends a PING; every byte received
+ * until its ACK adds to the sample. A sample of a saturated connection holds at most 1.5 times the real BDP, so the
+ * bandwidth is taken as the sample over 1.5 round-trips. When a sample fills two thirds of the current estimate at the
+ * highest bandwidth seen so far, the window is too small to keep the link busy and the estimate doubles the sample, up
+ * to the configured maximum window size.
+ * <p>
+ * Only mutated on the connection's event loop; the getters may be read from any thread.
+ */
+public final class Http2BdpEstimator {
+
+    private static final double ALPHA = 0.9;
+    private static final double BETA = 0.66;
+    private static final int GAMMA = 2;
+    // the first round-trips are averaged before the smoothed RTT starts favoring the recent ones
+    private static final int BOOTSTRAP_SAMPLES = 10;
+
+    private final int maxWindowSize;
+    private volatile int bdp;
+    private volatile double rttNanos;
+    private volatile double maxBandwidth;
+    private volatile long sampleCount;
+    private boolean pingSent;
+    private long sample;
+    private long sentAt;
+
+    /**
+     * @param initialBdp    the estimate to start from, the size of the window before any sample
+     * @param maxWindowSize the largest estimate
+     */
+    public Http2BdpEstimator(int initialBdp, int maxWindowSize) {
+        this.bdp = initialBdp;
+        this.maxWindowSize = maxWindowSize;
+    }
+
+    /**
+     * Adds received DATA to the current sample.
+     *
+     * @param bytes the flow-controlled bytes of a DATA frame
+     * @param now   the {@link System#nanoTime()} of its reception
+     * @return whether a sample starts with this frame, in which case a PING must be sent right away
+     */
+    boolean onData(int bytes, long now) {
+        if (bdp >= maxWindowSize) {
+            return false;
+        }
+        if (!pingSent) {
+            pingSent = true;
+            sample = bytes;
+            sentAt = now;
+            long count = sampleCount;
+            sampleCount = count + 1;
+            return true;
+        }
+        sample += bytes;
+        return false;
+    }
+
+    /**
+     * Ends the current sample.
+     *
+     * @param now the {@link System#nanoTime()} at which the ACK of the PING was received
+     * @return the new estimate when it grew, {@code 0} otherwise
+     */
+    int onPingAck(long now) {
+        if (!pingSent) {
+            return 0;
+        }
+        pingSent = false;
+        double rttSample = Math.max(now - sentAt, 1);
+        double rtt = rttNanos;
+        long count = sampleCount;
+        rtt += (rttSample - rtt) * (count < BOOTSTRAP_SAMPLES ? 1.0 / count : ALPHA);
+        rttNanos = rtt;
+        double bandwidth = sample / (rtt * 1.5);
+        if (bandwidth > maxBandwidth) {
+            maxBandwidth = bandwidth;
+        }
+        int current = bdp;
+        if (sample >= BETA * current && bandwidth >= maxBandwidth && current < maxWindowSize) {
+            bdp = (int) Math.min(sample * GAMMA, maxWindowSize);
+            return bdp > current ? bdp : 0;
+        }
+        return 0;
+    }
+
+    /**
+     * @return the estimated bandwidth-delay product in bytes, which the receive windows are sized to
+     */
+    public int getBdp() {
+        return bdp;
+    }
+
+    /**
+     * @return the smoothed round-trip time of the PINGs, {@link Duration#ZERO} before the first ACK
+     */
+    public Duration getRtt() {
+        return Duration.ofNanos((long) rttNanos);
+    }
+
+    /**
+     * @return the highest bandwidth measured, in bytes per second
+     */
+    public long getMaxBandwidth() {
+        return (long) (maxBandwidth * 1_000_000_000L);
+    }
+
+    /**
+     * @return the number of samples taken
+     */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    @Override
+    public String toString() {
+        return "Http2BdpEstimator(bdp=" + bdp + ", rtt=" + getRtt() + ", maxBandwidth=" + getMaxBandwidth() + ", samples=" + sampleCount + ")";
+    }
+}
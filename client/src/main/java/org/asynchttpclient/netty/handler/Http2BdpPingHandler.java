@@ -0,0 +1,104 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.handler;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.DefaultHttp2SettingsFrame;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2PingFrame;
+import io.netty.handler.codec.http2.Http2Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sizes the HTTP/2 receive windows from the bandwidth-delay product measured with PING frames, see
+ * {@link org.asynchttpclient.AsyncHttpClientConfig#isHttp2WindowAutotuningEnabled()}. Sits between the
+ * {@link Http2FrameCodec} and the multiplex handler so that it sees the DATA frames of every stream.
+ * <p>
+ * The connection window is grown with a WINDOW_UPDATE, the stream windows with a SETTINGS frame raising
+ * SETTINGS_INITIAL_WINDOW_SIZE, which also applies to the streams already open. Windows only ever grow.
+ */
+public class Http2BdpPingHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Http2BdpPingHandler.class);
+    // Tells the ACKs of our PINGs apart from the keep-alive ones of Http2PingHandler, which carry a System.nanoTime().
+    static final long BDP_PING_CONTENT = 0x4244505F50494E47L;
+
+    private final Http2FrameCodec frameCodec;
+    private final Http2BdpEstimator estimator;
+    private int connectionWindowSize = Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+    private int streamWindowSize;
+
+    /**
+     * @param frameCodec        the codec of the connection, whose local flow controller owns the connection window
+     * @param initialWindowSize the SETTINGS_INITIAL_WINDOW_SIZE the connection was opened with
+     * @param maxWindowSize     the size the windows are grown to at most
+     */
+    public Http2BdpPingHandler(Http2FrameCodec frameCodec, int initialWindowSize, int maxWindowSize) {
+        this.frameCodec = frameCodec;
+        this.estimator = new Http2BdpEstimator(Http2CodecUtil.DEFAULT_WINDOW_SIZE, maxWindowSize);
+        this.streamWindowSize = initialWindowSize;
+    }
+
+    /**
+     * @return the bandwidth-delay product estimator of this connection
+     */
+    public Http2BdpEstimator getEstimator() {
+        return estimator;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof Http2DataFrame) {
+            if (estimator.onData(((Http2DataFrame) msg).initialFlowControlledBytes(), System.nanoTime())) {
+                ctx.writeAndFlush(new DefaultHttp2PingFrame(BDP_PING_CONTENT));
+            }
+        } else if (msg instanceof Http2PingFrame && ((Http2PingFrame) msg).ack() && ((Http2PingFrame) msg).content() == BDP_PING_CONTENT) {
+            int bdp = estimator.onPingAck(System.nanoTime());
+            if (bdp > 0) {
+                growWindows(ctx, bdp);
+            }
+            // consume our own PING ACK
+            return;
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    private void growWindows(ChannelHandlerContext ctx, int windowSize) {
+        if (windowSize > connectionWindowSize) {
+            try {
+                frameCodec.decoder().flowController().incrementWindowSize(frameCodec.connection().connectionStream(),
+                        windowSize - connectionWindowSize);
+                connectionWindowSize = windowSize;
+            } catch (Http2Exception e) {
+                LOGGER.debug("Can't grow the HTTP/2 connection window of {}", ctx.channel(), e);
+            }
+        }
+        if (windowSize > streamWindowSize) {
+            ctx.write(new DefaultHttp2SettingsFrame(new Http2Settings().initialWindowSize(windowSize)));
+            streamWindowSize = windowSize;
+        }
+        ctx.flush();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Grew the HTTP/2 receive windows of {} to {} bytes, {}", ctx.channel(), windowSize, estimator);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package org.asynchttpclient.netty.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
@@ -32,7 +33,8 @@ import io.netty.util.AsciiString;
 
 /**
  * HTTP/2 content decompressor that transparently decompresses gzip/deflate response bodies.
- * Installed on stream child channels when automatic decompression is enabled.
+ * Installed on stream child channels when automatic decompression is enabled, and called directly by
+ * {@link Http2StreamDispatcher} for streams driven without a child channel.
  * <p>
  * Uses Netty's {@link JdkZlibDecoder} via an {@link EmbeddedChannel} for streaming decompression,
  * forwarding decompressed data frames as they arrive rather than buffering the entire response.
@@ -58,6 +60,19 @@ public class Http2ContentDecompressor extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        Object decoded = decode(ctx.alloc(), msg);
+        if (decoded != null) {
+            ctx.fireChannelRead(decoded);
+        }
+    }
+
+    /**
+     * Decompresses a frame of the stream. Ownership of {@code msg} passes to this method.
+     *
+     * @return the frame to process in place of {@code msg}, which may be {@code msg} itself, or {@code null} when
+     * there is nothing to process yet
+     */
+    Object decode(ByteBufAllocator alloc, Object msg) throws Exception {
         if (msg instanceof Http2HeadersFrame) {
             Http2HeadersFrame headersFrame = (Http2HeadersFrame) msg;
             CharSequence contentEncoding = headersFrame.headers().get(HttpHeaderNames.CONTENT_ENCODING);
@@ -76,7 +91,7 @@ public class Http2ContentDecompressor extends ChannelInboundHandlerAdapter {
                     headersFrame.headers().remove(HttpHeaderNames.CONTENT_LENGTH);
                 }
             }
-            ctx.fireChannelRead(msg);
+            return msg;
         } else if (msg instanceof Http2DataFrame && decompressor != null) {
             Http2DataFrame dataFrame = (Http2DataFrame) msg;
             boolean endStream = dataFrame.isEndStream();
@@ -86,7 +101,7 @@ public class Http2ContentDecompressor extends ChannelInboundHandlerAdapter {
             // which would otherwise leak both the retained content (now held by the embedded decoder)
             // and the EmbeddedChannel itself, and surface a raw codec error. The catch releases all
             // three and re-raises a clean DecompressionException so the stream fails predictably.
-            CompositeByteBuf decompressed = ctx.alloc().compositeBuffer();
+            CompositeByteBuf decompressed = alloc.compositeBuffer();
             try {
                 ByteBuf content = dataFrame.content();
                 if (content.isReadable()) {
@@ -152,13 +167,12 @@ public class Http2ContentDecompressor extends ChannelInboundHandlerAdapter {
             }
 
             if (decompressed.isReadable() || endStream) {
-                ctx.fireChannelRead(new DefaultHttp2DataFrame(decompressed, endStream));
-            } else {
-                decompressed.release();
+                return new DefaultHttp2DataFrame(decompressed, endStream);
             }
-        } else {
-            ctx.fireChannelRead(msg);
+            decompressed.release();
+            return null;
         }
+        return msg;
     }
 
     @Override
@@ -166,7 +180,7 @@ public class Http2ContentDecompressor extends ChannelInboundHandlerAdapter {
         releaseDecompressor();
     }
 
-    private void releaseDecompressor() {
+    void releaseDecompressor() {
         if (decompressor != null) {
             decompressor.finishAndReleaseAll();
             decompressor = null;
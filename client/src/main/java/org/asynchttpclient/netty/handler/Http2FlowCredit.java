@@ -0,0 +1,150 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.handler;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameStream;
+import io.netty.handler.codec.http2.Http2LocalFlowController;
+import io.netty.handler.codec.http2.Http2Stream;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Holds back the flow-control credit of the DATA frames an HTTP/2 stream receives until the application marks the
+ * body parts built from them consumed, see
+ * {@link org.asynchttpclient.AsyncHttpClientConfig#isHttp2ConsumerFlowControlEnabled()}.
+ * <p>
+ * Only the stream window is held back: the connection window is grown by the bytes held back, and shrunk again once
+ * they are returned or the stream closes, so that a slow consumer does not starve the other streams of the
+ * connection. Sits first in the pipeline of a stream channel whose automatic stream flow control is off, so that it
+ * sees the frames before they are decompressed, or is fed by {@link Http2StreamDispatcher}. Every method but the
+ * actions {@link #take()} returns must be called on the event loop.
+ */
+public final class Http2FlowCredit extends ChannelInboundHandlerAdapter {
+
+    private final Channel connection;
+    private final Http2Connection http2Connection;
+    private final Http2LocalFlowController flowController;
+    private final Http2FrameStream stream;
+    // received and not returned yet
+    private int heldBytes;
+    // of which not handed out in a body part yet
+    private int pendingBytes;
+    private boolean closed;
+
+    /**
+     * @param connection the HTTP/2 connection
+     * @param frameCodec the codec of the connection
+     * @param stream     the stream
+     */
+    public Http2FlowCredit(Channel connection, Http2FrameCodec frameCodec, Http2FrameStream stream) {
+        this.connection = connection;
+        http2Connection = frameCodec.connection();
+        flowController = frameCodec.decoder().flowController();
+        this.stream = stream;
+    }
+
+    void received(Http2DataFrame frame) {
+        int bytes = frame.initialFlowControlledBytes();
+        if (bytes == 0 || closed) {
+            return;
+        }
+        heldBytes += bytes;
+        pendingBytes += bytes;
+        incrementConnectionWindow(bytes);
+    }
+
+    /**
+     * @return the action returning the bytes received since the last call to the server, from any thread, or
+     * {@code null} if none were
+     */
+    @Nullable
+    Runnable take() {
+        int bytes = pendingBytes;
+        if (bytes == 0) {
+            return null;
+        }
+        pendingBytes = 0;
+        return () -> {
+            if (connection.eventLoop().inEventLoop()) {
+                consume(bytes);
+            } else {
+                connection.eventLoop().execute(() -> consume(bytes));
+            }
+        };
+    }
+
+    private void consume(int bytes) {
+        if (closed) {
+            // the codec returned the bytes of the stream when it closed
+            return;
+        }
+        heldBytes -= bytes;
+        incrementConnectionWindow(-bytes);
+        Http2Stream http2Stream = http2Connection.stream(stream.id());
+        if (http2Stream != null) {
+            try {
+                if (flowController.consumeBytes(http2Stream, bytes)) {
+                    connection.flush();
+                }
+            } catch (Http2Exception e) {
+                connection.pipeline().fireExceptionCaught(e);
+            }
+        }
+    }
+
+    /**
+     * Gives up the bytes held back, once the stream closed.
+     */
+    void close() {
+        if (!closed) {
+            closed = true;
+            incrementConnectionWindow(-heldBytes);
+            heldBytes = 0;
+            pendingBytes = 0;
+        }
+    }
+
+    private void incrementConnectionWindow(int delta) {
+        if (delta == 0) {
+            return;
+        }
+        try {
+            flowController.incrementWindowSize(http2Connection.connectionStream(), delta);
+        } catch (Http2Exception e) {
+            connection.pipeline().fireExceptionCaught(e);
+        }
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof Http2DataFrame) {
+            received((Http2DataFrame) msg);
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        close();
+        ctx.fireChannelInactive();
+    }
+}
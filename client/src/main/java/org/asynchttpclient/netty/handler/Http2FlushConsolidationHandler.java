@@ -0,0 +1,142 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.handler;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+
+/**
+ * Holds back the flushes the streams of an HTTP/2 connection ask for until the event loop is done with its current
+ * tasks, so that the frames of the requests issued meanwhile go out in one write, see
+ * {@link org.asynchttpclient.AsyncHttpClientConfig#getHttp2FlushConsolidationLimit()}.
+ * <p>
+ * Like Netty's {@link io.netty.handler.flush.FlushConsolidationHandler}, but counts the streams that ended their
+ * request instead of the flushes: a request with a body asks for a flush per frame, which would otherwise use up the
+ * limit on a single stream. Sits between the frame codec and the handler of the streams, so that it sees the frames
+ * of every stream but not the frames the codec writes on its own.
+ */
+public final class Http2FlushConsolidationHandler extends ChannelDuplexHandler {
+
+    private final int limit;
+    private final Runnable flushTask;
+    private ChannelHandlerContext ctx;
+    private boolean readInProgress;
+    private boolean flushPending;
+    private boolean flushScheduled;
+    private int endedStreams;
+
+    /**
+     * @param limit the number of streams ending their request after which the frames are flushed at once
+     */
+    public Http2FlushConsolidationHandler(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        this.limit = limit;
+        flushTask = () -> {
+            flushScheduled = false;
+            if (flushPending) {
+                flushNow();
+            }
+        };
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (msg instanceof Http2HeadersFrame ? ((Http2HeadersFrame) msg).isEndStream()
+                : msg instanceof Http2DataFrame && ((Http2DataFrame) msg).isEndStream()) {
+            endedStreams++;
+        }
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        flushPending = true;
+        if (endedStreams >= limit) {
+            flushNow();
+        } else if (!readInProgress && !flushScheduled) {
+            // a flush asked for during a read goes out once the read completes
+            flushScheduled = true;
+            ctx.channel().eventLoop().execute(flushTask);
+        }
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        readInProgress = true;
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        readInProgress = false;
+        ctx.fireChannelReadComplete();
+        flushIfPending();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        if (!ctx.channel().isWritable()) {
+            // let the socket drain what is buffered
+            flushIfPending();
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        flushIfPending();
+        ctx.fireExceptionCaught(cause);
+    }
+
+    @Override
+    public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) {
+        flushIfPending();
+        ctx.disconnect(promise);
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) {
+        flushIfPending();
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        flushIfPending();
+    }
+
+    private void flushIfPending() {
+        if (flushPending) {
+            flushNow();
+        }
+    }
+
+    private void flushNow() {
+        flushPending = false;
+        endedStreams = 0;
+        ctx.flush();
+    }
+}
@@ -36,6 +36,7 @@ import org.asynchttpclient.AsyncHandler;
 import org.asynchttpclient.AsyncHandler.State;
 import org.asynchttpclient.AsyncHttpClientConfig;
 import org.asynchttpclient.HttpResponseBodyPart;
+import org.asynchttpclient.exception.ChannelClosedException;
 import org.asynchttpclient.netty.NettyResponseFuture;
 import org.asynchttpclient.netty.NettyResponseStatus;
 import org.asynchttpclient.netty.channel.ChannelManager;
@@ -49,20 +50,28 @@ import java.util.Map;
  * HTTP/2 channel handler for stream child channels created by {@link io.netty.handler.codec.http2.Http2MultiplexHandler}.
  * <p>
  * Each HTTP/2 stream is represented as a child channel. This handler is attached to each stream child channel
+ * (or is handed the frames of each stream by {@link Http2StreamDispatcher}, with the connection as the channel)
  * and processes {@link Http2HeadersFrame} (response status + headers) and {@link Http2DataFrame} (response body)
  * frames directly for maximum performance — no HTTP/1.1 object conversion overhead.
  * <p>
  * Follows the same structure as {@link HttpHandler} and reuses the same interceptor chain,
  * body part factory, and lifecycle methods from {@link AsyncHttpClientHandler}.
+ * <p>
+ * It handles the request streams of HTTP/3 connections too, whose frames their {@link Http3FrameAdapter} translates
+ * into HTTP/2 ones: such a stream is single-use like a stream child channel.
  */
 @Sharable
 public final class Http2Handler extends AsyncHttpClientHandler {
 
     private static final HttpVersion HTTP_2 = new HttpVersion("HTTP", 2, 0, true);
+    private static final HttpVersion HTTP_3 = new HttpVersion("HTTP", 3, 0, true);
     private static final HttpHeadersFactory HEADERS_FACTORY = DefaultHttpHeadersFactory.headersFactory();
 
+    private final boolean consumerFlowControl;
+
     public Http2Handler(AsyncHttpClientConfig config, ChannelManager channelManager, NettyRequestSender requestSender) {
         super(config, channelManager, requestSender);
+        consumerFlowControl = config.isHttp2ConsumerFlowControlEnabled();
     }
 
     /**
@@ -72,7 +81,10 @@ public final class Http2Handler extends AsyncHttpClientHandler {
     @Override
     public void handleRead(final Channel channel, final NettyResponseFuture<?> future, final Object e) throws Exception {
         if (future.isDone()) {
-            channelManager.closeChannel(channel);
+            // a stream driven by Http2StreamDispatcher is reset by the completion of its future
+            if (channel instanceof Http2StreamChannel || ChannelManager.isHttp3Stream(channel)) {
+                channelManager.closeChannel(channel);
+            }
             return;
         }
 
@@ -153,7 +165,8 @@ public final class Http2Handler extends AsyncHttpClientHandler {
         HttpHeaders responseHeaders = copyHttp2Headers(h2Headers);
 
         // Build a synthetic HttpResponse so the existing interceptor chain can be reused unchanged
-        HttpResponse syntheticResponse = new DefaultHttpResponse(HTTP_2, nettyStatus, responseHeaders);
+        HttpResponse syntheticResponse = new DefaultHttpResponse(ChannelManager.isHttp3Stream(channel) ? HTTP_3 : HTTP_2,
+                nettyStatus, responseHeaders);
 
         // Respect user's keepAlive config; only multiplex/pool if keepAlive is enabled
         future.setKeepAlive(config.isKeepAlive());
@@ -168,22 +181,29 @@ public final class Http2Handler extends AsyncHttpClientHandler {
         if (statusCode > 100 && statusCode < 200) {
             return;
         }
+        if (statusCode >= 200) {
+            requestSender.onResponseStatus(future, channel, statusCode);
+        }
 
-        if (!interceptors.exitAfterIntercept(channel, future, handler, syntheticResponse, status, responseHeaders)) {
-            // A 100 that the interceptor chain did not consume (no Expect/100-continue in flight) is still
-            // interim and must not be delivered to the AsyncHandler as the final status — that would fire
-            // onStatusReceived/onHeadersReceived a second time when the real response arrives.
-            if (statusCode == 100) {
-                return;
-            }
-            boolean abort = handler.onStatusReceived(status) == State.ABORT;
-            if (!abort) {
-                abort = handler.onHeadersReceived(responseHeaders) == State.ABORT;
-            }
-            if (abort) {
-                finishUpdate(future, channel, false);
-                return;
-            }
+        if (interceptors.exitAfterIntercept(channel, future, handler, syntheticResponse, status, responseHeaders)) {
+            // The interceptor took the future over (a redirect, an authentication or 421 retry, a replayed or
+            // aborted request): even when this HEADERS frame ends the stream, finishing it here would complete the
+            // future with this response while the next request is in flight.
+            return;
+        }
+        // A 100 that the interceptor chain did not consume (no Expect/100-continue in flight) is still
+        // interim and must not be delivered to the AsyncHandler as the final status — that would fire
+        // onStatusReceived/onHeadersReceived a second time when the real response arrives.
+        if (statusCode == 100) {
+            return;
+        }
+        boolean abort = handler.onStatusReceived(status) == State.ABORT;
+        if (!abort) {
+            abort = handler.onHeadersReceived(responseHeaders) == State.ABORT;
+        }
+        if (abort) {
+            finishUpdate(future, channel, false);
+            return;
         }
 
         // If headers frame also ends the stream (no body), finish the response
@@ -195,7 +215,8 @@ public final class Http2Handler extends AsyncHttpClientHandler {
     /**
      * Processes an HTTP/2 DATA frame, which carries response body bytes.
      * Passes body content directly to {@link AsyncHandler#onBodyPartReceived} using the
-     * configured {@link org.asynchttpclient.ResponseBodyPartFactory} — same as HTTP/1.1.
+     * configured {@link org.asynchttpclient.ResponseBodyPartFactory} — same as HTTP/1.1. With consumer flow control,
+     * the part carries the credit of the frames it was built from until the application marks it consumed.
      */
     private void handleHttp2DataFrame(Http2DataFrame dataFrame, Channel channel,
                                       NettyResponseFuture<?> future, AsyncHandler<?> handler) throws Exception {
@@ -204,6 +225,9 @@ public final class Http2Handler extends AsyncHttpClientHandler {
 
         if (data.isReadable() || last) {
             HttpResponseBodyPart bodyPart = config.getResponseBodyPartFactory().newResponseBodyPart(data, last);
+            if (consumerFlowControl) {
+                bodyPart.setConsumedListener(takeCredit(channel));
+            }
             boolean abort = handler.onBodyPartReceived(bodyPart) == State.ABORT;
             if (abort || last) {
                 finishUpdate(future, channel, false);
@@ -211,6 +235,15 @@ public final class Http2Handler extends AsyncHttpClientHandler {
         }
     }
 
+    private static Runnable takeCredit(Channel channel) {
+        if (channel instanceof Http2StreamChannel) {
+            Http2FlowCredit credit = channel.pipeline().get(Http2FlowCredit.class);
+            return credit != null ? credit.take() : null;
+        }
+        Http2StreamDispatcher dispatcher = Http2StreamDispatcher.of(channel);
+        return dispatcher != null ? dispatcher.takeCredit() : null;
+    }
+
     /**
      * Processes trailing HTTP/2 HEADERS frame (no :status pseudo-header), which carries trailer headers
      * sent after the DATA frames. Delegates to {@link AsyncHandler#onTrailingHeadersReceived}.
@@ -265,7 +298,7 @@ public final class Http2Handler extends AsyncHttpClientHandler {
     /**
      * Processes an HTTP/2 RST_STREAM frame, which indicates the server aborted the stream.
      */
-    private void handleHttp2ResetFrame(Http2ResetFrame resetFrame, Channel channel, NettyResponseFuture<?> future) {
+    void handleHttp2ResetFrame(Http2ResetFrame resetFrame, Channel channel, NettyResponseFuture<?> future) {
         long errorCode = resetFrame.errorCode();
         // RFC 7540 §5.4.2/§6.4: RST_STREAM is stream-scoped and MUST NOT terminate the connection.
         // Fail only this stream's future and close only the (single-use) stream child channel —
@@ -280,21 +313,25 @@ public final class Http2Handler extends AsyncHttpClientHandler {
      * offered back to the pool so future requests can open new streams on the same connection.
      *
      * @param future      the completed request future
-     * @param streamChannel the stream child channel (single-use, will be closed)
+     * @param streamChannel the stream child channel (single-use, will be closed), or the connection of a stream
+     *                      driven by {@link Http2StreamDispatcher}, which the completion of the future ends
      * @param close       if {@code true}, close the parent connection entirely rather than pooling it
      */
     @Override
     void finishUpdate(NettyResponseFuture<?> future, Channel streamChannel, boolean close) {
         future.cancelTimeouts();
 
-        // Stream channels are single-use in HTTP/2 — close the stream
-        streamChannel.close();
-
         // The parent HTTP/2 connection stays in the HTTP/2 registry (not the regular pool)
         // to allow concurrent multiplexed requests. We only need to release the stream count.
-        Channel parentChannel = (streamChannel instanceof Http2StreamChannel)
-                ? ((Http2StreamChannel) streamChannel).parent()
-                : null;
+        Channel parentChannel;
+        if (streamChannel instanceof Http2StreamChannel || ChannelManager.isHttp3Stream(streamChannel)) {
+            // Stream channels are single-use in HTTP/2 — close the stream. The parent of an HTTP/3 request stream
+            // is its QUIC connection, which serves the next requests until it is idle.
+            streamChannel.close();
+            parentChannel = streamChannel.parent();
+        } else {
+            parentChannel = streamChannel;
+        }
 
         if (parentChannel != null) {
             // The stream slot is released — and a fully-drained draining connection closed — by the
@@ -334,7 +371,7 @@ public final class Http2Handler extends AsyncHttpClientHandler {
      * When the PARENT connection genuinely drops, Netty fires {@code channelInactive} on every child
      * stream, so each in-flight future is still failed individually and promptly.
      */
-    private void streamFailed(Channel channel, NettyResponseFuture<?> future, Throwable t) {
+    void streamFailed(Channel channel, NettyResponseFuture<?> future, Throwable t) {
         if (future.isDone()) {
             return;
         }
@@ -354,6 +391,19 @@ public final class Http2Handler extends AsyncHttpClientHandler {
         streamFailed(future.channel(), future, error);
     }
 
+    /**
+     * Fails the future of a stream driven by {@link Http2StreamDispatcher} that the codec closed before the response
+     * completed, as {@code channelInactive} does for a stream child channel.
+     */
+    void handleStreamClosed(Channel connection, NettyResponseFuture<?> future) {
+        future.touch();
+        if (hasIOExceptionFilters
+                && requestSender.applyIoExceptionFiltersAndReplayRequest(future, ChannelClosedException.INSTANCE, connection)) {
+            return;
+        }
+        streamFailed(connection, future, new IOException("HTTP/2 stream closed unexpectedly"));
+    }
+
     @Override
     public void handleChannelInactive(NettyResponseFuture<?> future) {
         // Stream-scoped (see streamFailed): closing the parent here would fail unrelated sibling
@@ -0,0 +1,103 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.handler;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.Http2PingFrame;
+import org.asynchttpclient.netty.channel.Http2ConnectionState;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Samples the round-trip time of an HTTP/2 connection with a PING frame every
+ * {@link org.asynchttpclient.AsyncHttpClientConfig#getHttp2RttProbeInterval()}, whether streams are open or not, and
+ * records it in the connection's {@link Http2ConnectionState}. At most one probe is in flight: a tick that finds the
+ * previous probe unanswered sends none, so that the age of that probe tells how late its ACK is.
+ * <p>
+ * Sits ahead of {@link Http2PingHandler}, which consumes every PING ACK, and of its idle state handler, so that the
+ * probes do not keep an idle connection from being pinged.
+ */
+public class Http2RttPingHandler extends ChannelInboundHandlerAdapter {
+
+    // Tells the ACKs of our PINGs apart from the keep-alive and BDP ones.
+    static final long RTT_PING_CONTENT = 0x5254545F50494E47L;
+
+    private final Http2ConnectionState state;
+    private final long intervalNanos;
+    private final Consumer<Channel> onProbe;
+    private ScheduledFuture<?> probeFuture;
+
+    /**
+     * @param state         the state of the connection, which keeps the RTT samples
+     * @param intervalNanos the interval between probes
+     * @param onProbe       called on the event loop after each probe is sent or answered, to check the RTT
+     */
+    public Http2RttPingHandler(Http2ConnectionState state, long intervalNanos, Consumer<Channel> onProbe) {
+        this.state = state;
+        this.intervalNanos = intervalNanos;
+        this.onProbe = onProbe;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        // the pipeline is upgraded to HTTP/2 on an active channel
+        probeFuture = ctx.executor().scheduleAtFixedRate(() -> probe(ctx), intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void probe(ChannelHandlerContext ctx) {
+        if (!ctx.channel().isActive()) {
+            return;
+        }
+        if (state.tryStartRttProbe(System.nanoTime())) {
+            ctx.writeAndFlush(new DefaultHttp2PingFrame(RTT_PING_CONTENT));
+        }
+        onProbe.accept(ctx.channel());
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof Http2PingFrame && ((Http2PingFrame) msg).ack() && ((Http2PingFrame) msg).content() == RTT_PING_CONTENT) {
+            state.onRttProbeAck(System.nanoTime());
+            onProbe.accept(ctx.channel());
+            // consume our own PING ACK
+            return;
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        cancelProbes();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        cancelProbes();
+    }
+
+    private void cancelProbes() {
+        if (probeFuture != null) {
+            probeFuture.cancel(false);
+            probeFuture = null;
+        }
+    }
+}
@@ -0,0 +1,506 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.handler;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
+import io.netty.handler.codec.http2.DefaultHttp2ResetFrame;
+import io.netty.handler.codec.http2.Http2ChannelDuplexHandler;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2Error;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameStream;
+import io.netty.handler.codec.http2.Http2FrameStreamEvent;
+import io.netty.handler.codec.http2.Http2FrameStreamException;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.handler.codec.http2.Http2ResetFrame;
+import io.netty.handler.codec.http2.Http2Stream;
+import io.netty.handler.codec.http2.Http2StreamFrame;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
+import org.asynchttpclient.netty.NettyResponseFuture;
+import org.asynchttpclient.netty.channel.ChannelManager;
+import org.asynchttpclient.netty.request.body.Http2StreamOutput;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+
+/**
+ * Drives the streams of an HTTP/2 connection directly on its {@link Http2FrameCodec}, in place of the
+ * {@link io.netty.handler.codec.http2.Http2MultiplexHandler} and its child channel per stream, see
+ * {@link org.asynchttpclient.AsyncHttpClientConfig#isHttp2LightweightStreamsEnabled()}.
+ * <p>
+ * The state of a stream is a {@link Stream} in a map keyed by stream id. Its frames are handed to the shared
+ * {@link Http2Handler} with the connection as the channel, and the request future is not attached to any channel:
+ * a future completed from outside, by a timeout or a cancellation, resets its stream through a completion listener
+ * instead of closing a child channel. A stream that the codec closes before the response completed fails its future,
+ * as {@code channelInactive} does for a stream child channel.
+ */
+public final class Http2StreamDispatcher extends Http2ChannelDuplexHandler {
+
+    private final Http2FrameCodec frameCodec;
+    private final Http2Handler http2Handler;
+    private final boolean decompress;
+    private final boolean keepEncodingHeader;
+    private final long maxDecompressedBytes;
+    private final boolean consumerFlowControl;
+    private final IntObjectMap<Stream> streams = new IntObjectHashMap<>();
+    private ChannelHandlerContext ctx;
+    // the stream whose first HEADERS are being written: the codec only assigns its id during that write
+    private Stream opening;
+    // the stream whose frame is being handled, which the interceptors look up to discard or resume it
+    private Stream dispatching;
+
+    /**
+     * @param frameCodec           the codec of the connection
+     * @param http2Handler         the handler the frames of every stream are handed to
+     * @param decompress           whether to decompress gzip and deflate response bodies
+     * @param keepEncodingHeader   whether to keep the Content-Encoding header of a decompressed response
+     * @param maxDecompressedBytes the largest decompressed response body, 0 for no limit
+     * @param consumerFlowControl  whether the credit of DATA frames is only returned once their body part is consumed
+     */
+    public Http2StreamDispatcher(Http2FrameCodec frameCodec, Http2Handler http2Handler, boolean decompress,
+                                 boolean keepEncodingHeader, long maxDecompressedBytes, boolean consumerFlowControl) {
+        this.frameCodec = frameCodec;
+        this.http2Handler = http2Handler;
+        this.decompress = decompress;
+        this.keepEncodingHeader = keepEncodingHeader;
+        this.maxDecompressedBytes = maxDecompressedBytes;
+        this.consumerFlowControl = consumerFlowControl;
+    }
+
+    /**
+     * @param connection an HTTP/2 connection
+     * @return the dispatcher of the connection, or {@code null} if its streams are child channels
+     */
+    public static Http2StreamDispatcher of(Channel connection) {
+        ChannelHandler handler = connection.pipeline().get(ChannelManager.HTTP2_MULTIPLEX);
+        return handler instanceof Http2StreamDispatcher ? (Http2StreamDispatcher) handler : null;
+    }
+
+    /**
+     * @param connection an HTTP/2 connection
+     * @param future     a request future
+     * @return the stream the future is being served on, or {@code null} if there is none
+     */
+    public static Http2StreamOutput streamOf(Channel connection, NettyResponseFuture<?> future) {
+        Http2StreamDispatcher dispatcher = of(connection);
+        return dispatcher != null ? dispatcher.find(future) : null;
+    }
+
+    /**
+     * Detaches the future from its stream, and resets the stream unless it already ended, so that the future can be
+     * sent again. Must be called on the event loop.
+     *
+     * @param connection an HTTP/2 connection
+     * @param future     a request future
+     */
+    public static void discard(Channel connection, NettyResponseFuture<?> future) {
+        Http2StreamDispatcher dispatcher = of(connection);
+        Stream stream = dispatcher != null ? dispatcher.find(future) : null;
+        if (stream != null) {
+            stream.detach();
+        }
+    }
+
+    /**
+     * @return the number of streams of the connection
+     */
+    public int getStreamCount() {
+        return streams.size();
+    }
+
+    /**
+     * Starts a stream serving {@code future}, whose first HEADERS frame opens it. Must be called on the event loop.
+     *
+     * @param future the request future
+     * @return the stream
+     */
+    public Http2StreamOutput openStream(NettyResponseFuture<?> future) {
+        Http2ContentDecompressor decompressor = decompress
+                ? new Http2ContentDecompressor(keepEncodingHeader, maxDecompressedBytes)
+                : null;
+        Http2FrameStream frameStream = newStream();
+        Http2FlowCredit credit = consumerFlowControl ? new Http2FlowCredit(ctx.channel(), frameCodec, frameStream) : null;
+        Stream stream = new Stream(frameStream, future, decompressor, credit);
+        future.addListener(stream, null);
+        return stream;
+    }
+
+    /**
+     * @return the action returning the credit of the DATA frames the stream being dispatched received since the last
+     * call, or {@code null} if there is none
+     */
+    Runnable takeCredit() {
+        Stream stream = dispatching;
+        return stream != null && stream.credit != null ? stream.credit.take() : null;
+    }
+
+    private Stream find(NettyResponseFuture<?> future) {
+        if (dispatching != null && dispatching.future == future) {
+            return dispatching;
+        }
+        for (IntObjectMap.PrimitiveEntry<Stream> entry : streams.entries()) {
+            if (entry.value().future == future) {
+                return entry.value();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected void handlerAdded0(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (!(msg instanceof Http2StreamFrame)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        Http2StreamFrame frame = (Http2StreamFrame) msg;
+        Stream stream = streams.get(frame.stream().id());
+        if (stream == null) {
+            if (frame instanceof Http2HeadersFrame && !frameCodec.connection().local().isValidStreamId(frame.stream().id())) {
+                // server push, which SETTINGS_ENABLE_PUSH=0 forbids anyway
+                ctx.writeAndFlush(new DefaultHttp2ResetFrame(Http2Error.REFUSED_STREAM).stream(frame.stream()));
+            }
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+
+        if (frame instanceof Http2ResetFrame) {
+            stream.reset = true;
+            NettyResponseFuture<?> future = stream.future;
+            if (future != null) {
+                http2Handler.handleHttp2ResetFrame((Http2ResetFrame) frame, ctx.channel(), future);
+            }
+        } else if (frame instanceof Http2HeadersFrame) {
+            stream.endStreamReceived |= ((Http2HeadersFrame) frame).isEndStream();
+            dispatch(stream, frame);
+        } else if (frame instanceof Http2DataFrame) {
+            Http2DataFrame dataFrame = (Http2DataFrame) frame;
+            int flowControlledBytes = dataFrame.initialFlowControlledBytes();
+            stream.endStreamReceived |= dataFrame.isEndStream();
+            if (stream.credit != null) {
+                // returned once the body part built from the frame is consumed
+                stream.credit.received(dataFrame);
+                dispatch(stream, dataFrame);
+                return;
+            }
+            try {
+                dispatch(stream, dataFrame);
+            } finally {
+                // the bytes are processed once handled, whatever became of the request
+                consumeBytes(ctx, frame.stream().id(), flowControlledBytes);
+            }
+        } else {
+            // stream WINDOW_UPDATE and PRIORITY frames: flow control is the codec's business
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    private void dispatch(Stream stream, Http2StreamFrame frame) {
+        NettyResponseFuture<?> future = stream.future;
+        if (future == null) {
+            ReferenceCountUtil.release(frame);
+            return;
+        }
+        Object msg = null;
+        dispatching = stream;
+        try {
+            msg = stream.decompressor != null ? stream.decompressor.decode(ctx.alloc(), frame) : frame;
+            if (msg != null) {
+                future.touch();
+                http2Handler.handleRead(ctx.channel(), future, msg);
+            }
+        } catch (Exception e) {
+            // a corrupt compressed body, or a handler failure handleRead did not catch
+            http2Handler.streamFailed(ctx.channel(), future, e);
+        } finally {
+            dispatching = null;
+            if (msg != null) {
+                ReferenceCountUtil.release(msg);
+            }
+        }
+    }
+
+    private void consumeBytes(ChannelHandlerContext ctx, int streamId, int bytes) {
+        if (bytes == 0) {
+            return;
+        }
+        Http2Connection connection = frameCodec.connection();
+        Http2Stream stream = connection.stream(streamId);
+        if (stream != null) {
+            try {
+                connection.local().flowController().consumeBytes(stream, bytes);
+            } catch (Http2Exception e) {
+                ctx.fireExceptionCaught(e);
+            }
+        }
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof Http2FrameStreamEvent) {
+            Http2FrameStreamEvent event = (Http2FrameStreamEvent) evt;
+            Http2FrameStream frameStream = event.stream();
+            Stream stream = streams.get(frameStream.id());
+            if (stream == null && opening != null && opening.frameStream == frameStream) {
+                stream = opening;
+            }
+            if (stream != null) {
+                if (event.type() == Http2FrameStreamEvent.Type.State) {
+                    if (frameStream.state() == Http2Stream.State.CLOSED) {
+                        onClosed(stream, null);
+                    }
+                } else if (stream.writabilityListener != null && stream.isWritable()) {
+                    stream.writabilityListener.run();
+                }
+                return;
+            }
+        }
+        ctx.fireUserEventTriggered(evt);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        if (cause instanceof Http2FrameStreamException) {
+            Http2FrameStreamException streamException = (Http2FrameStreamException) cause;
+            Stream stream = streams.get(streamException.stream().id());
+            if (stream != null) {
+                // a stream error is reset by the handler of the stream's frames, not by the codec
+                stream.reset(streamException.error());
+                NettyResponseFuture<?> future = stream.future;
+                if (future != null) {
+                    http2Handler.streamFailed(ctx.channel(), future, streamException.getCause());
+                }
+                return;
+            }
+        }
+        ctx.fireExceptionCaught(cause);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        // the codec passes channelInactive on before closing its streams: fail them now, as the multiplex handler does
+        if (!streams.isEmpty()) {
+            for (Stream stream : streams.values().toArray(new Stream[0])) {
+                onClosed(stream, null);
+            }
+        }
+        ctx.fireChannelInactive();
+    }
+
+    private void onClosed(Stream stream, Throwable cause) {
+        if (stream.closed) {
+            return;
+        }
+        stream.closed = true;
+        int streamId = stream.frameStream.id();
+        if (streamId > 0 && streams.get(streamId) == stream) {
+            streams.remove(streamId);
+        }
+        stream.writabilityListener = null;
+        if (stream.decompressor != null) {
+            stream.decompressor.releaseDecompressor();
+        }
+        if (stream.credit != null) {
+            stream.credit.close();
+        }
+        Runnable closeListener = stream.closeListener;
+        stream.closeListener = null;
+        if (closeListener != null) {
+            closeListener.run();
+        }
+        NettyResponseFuture<?> future = stream.future;
+        stream.future = null;
+        if (future != null && !future.isDone()) {
+            if (cause != null) {
+                http2Handler.streamFailed(ctx.channel(), future, cause);
+            } else {
+                http2Handler.handleStreamClosed(ctx.channel(), future);
+            }
+        }
+    }
+
+    /**
+     * A stream of the connection. Also listens to the completion of its request future, and to the write of its
+     * first HEADERS frame.
+     */
+    private final class Stream implements Http2StreamOutput, ChannelFutureListener, Runnable {
+
+        private final Http2FrameStream frameStream;
+        private final Http2ContentDecompressor decompressor;
+        private final Http2FlowCredit credit;
+        private NettyResponseFuture<?> future;
+        private Runnable writabilityListener;
+        private Runnable closeListener;
+        private boolean opened;
+        private boolean endStreamSent;
+        private boolean endStreamReceived;
+        private boolean reset;
+        private boolean closed;
+
+        Stream(Http2FrameStream frameStream, NettyResponseFuture<?> future, Http2ContentDecompressor decompressor,
+               Http2FlowCredit credit) {
+            this.frameStream = frameStream;
+            this.future = future;
+            this.decompressor = decompressor;
+            this.credit = credit;
+        }
+
+        @Override
+        public EventLoop eventLoop() {
+            return ctx.channel().eventLoop();
+        }
+
+        @Override
+        public ByteBufAllocator alloc() {
+            return ctx.alloc();
+        }
+
+        @Override
+        public ChannelFuture write(Http2StreamFrame frame) {
+            if (closed) {
+                ReferenceCountUtil.release(frame);
+                return ctx.newFailedFuture(new ClosedChannelException());
+            }
+            if (frame instanceof Http2HeadersFrame ? ((Http2HeadersFrame) frame).isEndStream()
+                    : frame instanceof Http2DataFrame && ((Http2DataFrame) frame).isEndStream()) {
+                endStreamSent = true;
+            }
+            if (opened) {
+                return ctx.write(frame.stream(frameStream));
+            }
+            opened = true;
+            ChannelFuture writeFuture;
+            opening = this;
+            try {
+                writeFuture = ctx.write(frame.stream(frameStream));
+            } finally {
+                opening = null;
+            }
+            if (!closed && frameStream.id() > 0) {
+                streams.put(frameStream.id(), this);
+            }
+            writeFuture.addListener(this);
+            return writeFuture;
+        }
+
+        @Override
+        public void flush() {
+            ctx.flush();
+        }
+
+        @Override
+        public boolean isWritable() {
+            if (frameStream.id() <= 0) {
+                return ctx.channel().isWritable();
+            }
+            Http2Connection connection = frameCodec.connection();
+            Http2Stream stream = connection.stream(frameStream.id());
+            // accounts for the connection window and the channel writability as well
+            return stream != null && connection.remote().flowController().isWritable(stream);
+        }
+
+        @Override
+        public void setWritabilityListener(Runnable listener) {
+            writabilityListener = closed ? null : listener;
+        }
+
+        @Override
+        public void addCloseListener(Runnable listener) {
+            if (closed) {
+                listener.run();
+            } else if (closeListener == null) {
+                closeListener = listener;
+            } else {
+                Runnable previous = closeListener;
+                closeListener = () -> {
+                    previous.run();
+                    listener.run();
+                };
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                if (frameStream.id() > 0 && frameCodec.connection().stream(frameStream.id()) != null) {
+                    reset(Http2Error.CANCEL);
+                } else {
+                    onClosed(this, new IOException("HTTP/2 stream closed before it was opened"));
+                }
+            }
+        }
+
+        /**
+         * Detaches the request future from the stream, and resets the stream unless both sides ended it.
+         */
+        void detach() {
+            future = null;
+            if (closed) {
+                return;
+            }
+            if (frameStream.id() <= 0 || frameCodec.connection().stream(frameStream.id()) == null) {
+                // the HEADERS were never written
+                onClosed(this, null);
+            } else if (!(endStreamSent && endStreamReceived)) {
+                reset(Http2Error.CANCEL);
+            }
+        }
+
+        void reset(Http2Error error) {
+            if (!reset) {
+                reset = true;
+                ctx.writeAndFlush(new DefaultHttp2ResetFrame(error).stream(frameStream));
+            }
+        }
+
+        /**
+         * The request future completed.
+         */
+        @Override
+        public void run() {
+            if (ctx.executor().inEventLoop()) {
+                detach();
+            } else {
+                ctx.executor().execute(this::detach);
+            }
+        }
+
+        /**
+         * The first HEADERS frame was written: a stream the codec did not create never closes, so fail it here.
+         */
+        @Override
+        public void operationComplete(ChannelFuture writeFuture) {
+            if (!writeFuture.isSuccess() && !closed
+                    && (frameStream.id() <= 0 || frameCodec.connection().stream(frameStream.id()) == null)) {
+                onClosed(this, writeFuture.cause());
+            }
+        }
+    }
+}
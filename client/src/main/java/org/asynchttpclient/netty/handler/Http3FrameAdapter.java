@@ -0,0 +1,105 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.handler;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.socket.ChannelInputShutdownEvent;
+import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.handler.codec.http3.DefaultHttp3DataFrame;
+import io.netty.handler.codec.http3.DefaultHttp3Headers;
+import io.netty.handler.codec.http3.DefaultHttp3HeadersFrame;
+import io.netty.handler.codec.http3.Http3DataFrame;
+import io.netty.handler.codec.http3.Http3Headers;
+import io.netty.handler.codec.http3.Http3HeadersFrame;
+import io.netty.handler.codec.quic.QuicStreamChannel;
+import io.netty.util.ReferenceCountUtil;
+
+import java.util.Map;
+
+/**
+ * Translates between the HTTP/3 frames of a QUIC request stream and the HTTP/2 frames the client writes requests and
+ * handles responses with, so that {@link Http2Handler}, {@link Http2ContentDecompressor} and the HTTP/2 body writers
+ * serve HTTP/3 request streams unchanged.
+ * <p>
+ * HEADERS and DATA frames map one to one. The end of a stream, a frame flag in HTTP/2, is the FIN of the QUIC stream
+ * in HTTP/3: the FIN of the response is passed on as an empty DATA frame ending the stream, and a request frame ending
+ * the stream shuts the output of the QUIC stream down once written.
+ */
+public final class Http3FrameAdapter extends ChannelDuplexHandler {
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof Http3HeadersFrame) {
+            ctx.fireChannelRead(new DefaultHttp2HeadersFrame(toHttp2Headers(((Http3HeadersFrame) msg).headers()), false));
+        } else if (msg instanceof Http3DataFrame) {
+            ctx.fireChannelRead(new DefaultHttp2DataFrame(((Http3DataFrame) msg).content(), false));
+        } else {
+            // RFC 9114 §9: frames of unknown types are ignored
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
+        if (evt == ChannelInputShutdownEvent.INSTANCE) {
+            ctx.fireChannelRead(new DefaultHttp2DataFrame(Unpooled.EMPTY_BUFFER, true));
+        }
+        ctx.fireUserEventTriggered(evt);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        Object frame;
+        boolean endStream;
+        if (msg instanceof Http2HeadersFrame) {
+            Http2HeadersFrame headersFrame = (Http2HeadersFrame) msg;
+            frame = new DefaultHttp3HeadersFrame(toHttp3Headers(headersFrame.headers()));
+            endStream = headersFrame.isEndStream();
+        } else if (msg instanceof Http2DataFrame) {
+            Http2DataFrame dataFrame = (Http2DataFrame) msg;
+            frame = new DefaultHttp3DataFrame(dataFrame.content());
+            endStream = dataFrame.isEndStream();
+        } else {
+            ctx.write(msg, promise);
+            return;
+        }
+        ctx.write(frame, endStream ? promise.unvoid().addListener(QuicStreamChannel.SHUTDOWN_OUTPUT) : promise);
+    }
+
+    private static Http2Headers toHttp2Headers(Http3Headers h3Headers) {
+        Http2Headers headers = new DefaultHttp2Headers(false);
+        for (Map.Entry<CharSequence, CharSequence> entry : h3Headers) {
+            headers.add(entry.getKey(), entry.getValue());
+        }
+        return headers;
+    }
+
+    private static Http3Headers toHttp3Headers(Http2Headers h2Headers) {
+        Http3Headers headers = new DefaultHttp3Headers();
+        for (Map.Entry<CharSequence, CharSequence> entry : h2Headers) {
+            headers.add(entry.getKey(), entry.getValue());
+        }
+        return headers;
+    }
+}
@@ -66,6 +66,9 @@ public final class HttpHandler extends AsyncHttpClientHandler {
 
         NettyResponseStatus status = new NettyResponseStatus(future.getUri(), response, channel);
         HttpHeaders responseHeaders = response.headers();
+        if (status.getStatusCode() >= 200) {
+            requestSender.onResponseStatus(future, channel, status.getStatusCode());
+        }
 
         if (!interceptors.exitAfterIntercept(channel, future, handler, response, status, responseHeaders)) {
             boolean abort = abortAfterHandlingStatus(handler, httpRequest.method(), status) || abortAfterHandlingHeaders(handler, responseHeaders);
@@ -16,9 +16,9 @@
 package org.asynchttpclient.netty.handler.intercept;
 
 import io.netty.channel.Channel;
-import io.netty.handler.codec.http2.Http2StreamChannel;
 import org.asynchttpclient.netty.NettyResponseFuture;
 import org.asynchttpclient.netty.OnLastHttpContentCallback;
+import org.asynchttpclient.netty.channel.ChannelManager;
 import org.asynchttpclient.netty.channel.Channels;
 import org.asynchttpclient.netty.request.NettyRequestSender;
 
@@ -39,7 +39,7 @@ class Continue100Interceptor {
         future.setHeadersAlreadyWrittenOnContinue(true);
         future.setDontWriteBodyBecauseExpectContinue(false);
 
-        if (channel instanceof Http2StreamChannel) {
+        if (ChannelManager.isHttp2Stream(channel)) {
             // HTTP/2: the HEADERS frame was already sent with endStream=false; now send the deferred body
             // as DATA frame(s). writeRequest() can't be reused here — its isHttp2() check looks for the
             // parent connection's multiplex handler, which a stream child channel doesn't have, so it would
@@ -51,7 +51,7 @@ class Continue100Interceptor {
             // An unsolicited interim 100 on such a request is ignored (keep waiting for the final response).
             if (bodyWasDeferred) {
                 try {
-                    requestSender.sendHttp2RequestBody(future, (Http2StreamChannel) channel);
+                    requestSender.sendHttp2RequestBody(future, channel);
                 } catch (Exception e) {
                     requestSender.abort(channel, future, e);
                 }
@@ -29,6 +29,7 @@ import org.asynchttpclient.Realm;
 import org.asynchttpclient.Request;
 import org.asynchttpclient.cookie.CookieStore;
 import org.asynchttpclient.netty.NettyResponseFuture;
+import org.asynchttpclient.netty.channel.AltSvcCache;
 import org.asynchttpclient.netty.channel.ChannelManager;
 import org.asynchttpclient.netty.request.NettyRequestSender;
 import org.asynchttpclient.proxy.ProxyServer;
@@ -44,9 +45,11 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
+import static io.netty.handler.codec.http.HttpHeaderNames.ALT_SVC;
 import static io.netty.handler.codec.http.HttpHeaderNames.SET_COOKIE;
 import static org.asynchttpclient.Dsl.realm;
 import static org.asynchttpclient.util.HttpConstants.ResponseStatusCodes.CONTINUE_100;
+import static org.asynchttpclient.util.HttpConstants.ResponseStatusCodes.MISDIRECTED_REQUEST_421;
 import static org.asynchttpclient.util.HttpConstants.ResponseStatusCodes.OK_200;
 import static org.asynchttpclient.util.HttpConstants.ResponseStatusCodes.PROXY_AUTHENTICATION_REQUIRED_407;
 import static org.asynchttpclient.util.HttpConstants.ResponseStatusCodes.UNAUTHORIZED_401;
@@ -60,10 +63,12 @@ public class Interceptors {
     private final ProxyUnauthorized407Interceptor proxyUnauthorized407Interceptor;
     private final Continue100Interceptor continue100Interceptor;
     private final Redirect30xInterceptor redirect30xInterceptor;
+    private final MisdirectedRequest421Interceptor misdirectedRequest421Interceptor;
     private final ConnectSuccessInterceptor connectSuccessInterceptor;
     private final ResponseFiltersInterceptor responseFiltersInterceptor;
     private final boolean hasResponseFilters;
     private final ClientCookieDecoder cookieDecoder;
+    private final ChannelManager channelManager;
     private final NonceCounter nonceCounter;
     private final NettyRequestSender requestSender;
 
@@ -71,12 +76,14 @@ public class Interceptors {
                         ChannelManager channelManager,
                         NettyRequestSender requestSender) {
         this.config = config;
+        this.channelManager = channelManager;
         this.requestSender = requestSender;
         nonceCounter = new NonceCounter();
         unauthorized401Interceptor = new Unauthorized401Interceptor(channelManager, requestSender, nonceCounter);
         proxyUnauthorized407Interceptor = new ProxyUnauthorized407Interceptor(channelManager, requestSender, nonceCounter);
         continue100Interceptor = new Continue100Interceptor(requestSender);
         redirect30xInterceptor = new Redirect30xInterceptor(channelManager, config, requestSender);
+        misdirectedRequest421Interceptor = new MisdirectedRequest421Interceptor(channelManager, requestSender);
         connectSuccessInterceptor = new ConnectSuccessInterceptor(channelManager, requestSender);
         responseFiltersInterceptor = new ResponseFiltersInterceptor(config, requestSender);
         hasResponseFilters = !config.getResponseFilters().isEmpty();
@@ -109,6 +116,16 @@ public class Interceptors {
             }
         }
 
+        // Only an origin reached directly speaks for itself: through a proxy the header may be the proxy's
+        AltSvcCache altSvcCache = channelManager.getAltSvcCache();
+        if (altSvcCache != null && request.getAddress() == null
+                && (proxyServer == null || proxyServer.isIgnoredForHost(request.getUri().getHost()))) {
+            String altSvc = responseHeaders.get(ALT_SVC);
+            if (altSvc != null) {
+                altSvcCache.onAltSvc(request.getUri(), altSvc);
+            }
+        }
+
         if (hasResponseFilters && responseFiltersInterceptor.exitAfterProcessingFilters(channel, future, handler, status, responseHeaders)) {
             return true;
         }
@@ -129,6 +146,11 @@ public class Interceptors {
             return redirect30xInterceptor.exitAfterHandlingRedirect(channel, future, response, request, statusCode, realm);
         }
 
+        if (statusCode == MISDIRECTED_REQUEST_421 && config.isHttp2ConnectionCoalescingEnabled()
+                && misdirectedRequest421Interceptor.exitAfterHandling421(channel, future, request)) {
+            return true;
+        }
+
         if (httpRequest.method() == HttpMethod.CONNECT && statusCode == OK_200) {
             return connectSuccessInterceptor.exitAfterHandlingConnect(channel, future, request, proxyServer);
         }
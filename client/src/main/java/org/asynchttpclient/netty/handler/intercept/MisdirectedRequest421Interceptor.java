@@ -0,0 +1,65 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.handler.intercept;
+
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import org.asynchttpclient.Request;
+import org.asynchttpclient.netty.NettyResponseFuture;
+import org.asynchttpclient.netty.channel.ChannelManager;
+import org.asynchttpclient.netty.channel.Http2ConnectionState;
+import org.asynchttpclient.netty.request.NettyRequestSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Retries a request coalesced onto an HTTP/2 connection opened for another hostname that the server refused with
+ * 421 Misdirected Request (RFC 9110 §15.5.20): the host is no longer coalesced onto that connection, and the
+ * request is sent again on a connection of its own.
+ */
+class MisdirectedRequest421Interceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MisdirectedRequest421Interceptor.class);
+
+    private final ChannelManager channelManager;
+    private final NettyRequestSender requestSender;
+
+    MisdirectedRequest421Interceptor(ChannelManager channelManager, NettyRequestSender requestSender) {
+        this.channelManager = channelManager;
+        this.requestSender = requestSender;
+    }
+
+    public boolean exitAfterHandling421(Channel channel, NettyResponseFuture<?> future, Request request) {
+        // a 421 on a connection opened for the request's own origin is the server's final answer
+        if (!ChannelManager.isHttp2Stream(channel) || future.isCoalescingDisabled()) {
+            return false;
+        }
+        Channel connection = channel instanceof Http2StreamChannel ? ((Http2StreamChannel) channel).parent() : channel;
+        if (!ChannelManager.isCoalesced(connection, future)) {
+            return false;
+        }
+        Http2ConnectionState state = connection.attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
+        if (state != null) {
+            state.markMisdirected(request.getUri().getHost());
+        }
+        future.setCoalescingDisabled(true);
+
+        LOGGER.debug("{} was misdirected to HTTP/2 connection {}, retrying on a connection of its own", request.getUri(), connection);
+        channelManager.discardHttp2Stream(channel, future);
+        requestSender.sendNextRequest(request, future);
+        return true;
+    }
+}
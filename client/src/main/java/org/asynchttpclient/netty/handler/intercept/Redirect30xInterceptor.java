@@ -31,7 +31,6 @@ import org.asynchttpclient.handler.MaxRedirectException;
 import org.asynchttpclient.netty.NettyResponseFuture;
 import org.asynchttpclient.netty.channel.ChannelManager;
 import org.asynchttpclient.netty.request.NettyRequestSender;
-import io.netty.handler.codec.http2.Http2StreamChannel;
 import org.asynchttpclient.uri.Uri;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -187,10 +186,11 @@ public class Redirect30xInterceptor {
 
                 LOGGER.debug("Sending redirect to {}", newUri);
 
-                if (channel instanceof Http2StreamChannel) {
-                    // HTTP/2 stream channels are single-use and close immediately after the response.
-                    // No draining needed — just close the stream and send the next request.
-                    channel.close();
+                if (ChannelManager.isHttp2Stream(channel)) {
+                    // HTTP/2 streams are single-use and close immediately after the response.
+                    // No draining needed — just close the stream and send the next request. The stream is
+                    // detached from the future first, or its closing would fail the redirected request.
+                    channelManager.discardHttp2Stream(channel, future);
                     requestSender.sendNextRequest(nextRequest, future);
                 } else if (future.isKeepAlive() && !HttpUtil.isTransferEncodingChunked(response)) {
                     if (sameBase) {
@@ -28,7 +28,6 @@ import org.asynchttpclient.netty.NettyResponseFuture;
 import org.asynchttpclient.netty.channel.ChannelManager;
 import org.asynchttpclient.netty.channel.ChannelState;
 import org.asynchttpclient.netty.request.NettyRequestSender;
-import io.netty.handler.codec.http2.Http2StreamChannel;
 import org.asynchttpclient.ntlm.NtlmEngine;
 import org.asynchttpclient.scram.ScramContext;
 import org.asynchttpclient.scram.ScramException;
@@ -136,8 +135,8 @@ public class Unauthorized401Interceptor {
 
             final Request nextRequest = future.getCurrentRequest().toBuilder().setHeaders(requestHeaders).build();
             LOGGER.debug("Sending authentication to {}", request.getUri());
-            if (channel instanceof Http2StreamChannel) {
-                channel.close();
+            if (ChannelManager.isHttp2Stream(channel)) {
+                channelManager.discardHttp2Stream(channel, future);
                 requestSender.sendNextRequest(nextRequest, future);
             } else if (future.isKeepAlive() && !HttpUtil.isTransferEncodingChunked(httpRequest) && !HttpUtil.isTransferEncodingChunked(response)) {
                 future.setReuseChannel(true);
@@ -281,9 +280,9 @@ public class Unauthorized401Interceptor {
         final Request nextRequest = future.getCurrentRequest().toBuilder().setHeaders(requestHeaders).build();
 
         LOGGER.debug("Sending authentication to {}", request.getUri());
-        if (channel instanceof Http2StreamChannel) {
-            // HTTP/2 stream channels are single-use — close the stream and send the auth retry.
-            channel.close();
+        if (ChannelManager.isHttp2Stream(channel)) {
+            // HTTP/2 streams are single-use — close the stream and send the auth retry.
+            channelManager.discardHttp2Stream(channel, future);
             requestSender.sendNextRequest(nextRequest, future);
         } else if (future.isKeepAlive() && !HttpUtil.isTransferEncodingChunked(httpRequest) && !HttpUtil.isTransferEncodingChunked(response)) {
             future.setReuseChannel(true);
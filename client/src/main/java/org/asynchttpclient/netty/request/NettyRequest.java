@@ -16,6 +16,7 @@
 package org.asynchttpclient.netty.request;
 
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http2.Http2Headers;
 import io.netty.util.ReferenceCountUtil;
 import org.asynchttpclient.netty.request.body.NettyBody;
 
@@ -40,18 +41,33 @@ public final class NettyRequest {
 
     private final HttpRequest httpRequest;
     private final NettyBody body;
+    private final Http2Headers http2Headers;
     @SuppressWarnings("unused")
     private volatile int state;
 
     NettyRequest(HttpRequest httpRequest, NettyBody body) {
+        this(httpRequest, body, null);
+    }
+
+    NettyRequest(HttpRequest httpRequest, NettyBody body, Http2Headers http2Headers) {
         this.httpRequest = httpRequest;
         this.body = body;
+        this.http2Headers = http2Headers;
     }
 
     public HttpRequest getHttpRequest() {
         return httpRequest;
     }
 
+    /**
+     * The HEADERS of a request built for an open HTTP/2 connection, pseudo-headers included, or {@code null} for a
+     * request built as HTTP/1.1. When set, {@link #getHttpRequest()} only carries the request line and the body: its
+     * headers are empty, and the request cannot be written as HTTP/1.1.
+     */
+    public Http2Headers getHttp2Headers() {
+        return http2Headers;
+    }
+
     public NettyBody getBody() {
         return body;
     }
@@ -21,6 +21,7 @@ import io.netty.handler.codec.compression.Brotli;
 import io.netty.handler.codec.compression.Zstd;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpHeaders;
@@ -28,10 +29,13 @@ import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.cookie.ClientCookieEncoder;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.Http2Headers;
 import io.netty.util.AsciiString;
 import org.asynchttpclient.AsyncHttpClientConfig;
 import org.asynchttpclient.Realm;
 import org.asynchttpclient.Request;
+import org.asynchttpclient.RequestPriority;
 import org.asynchttpclient.netty.request.body.NettyBody;
 import org.asynchttpclient.netty.request.body.NettyBodyBody;
 import org.asynchttpclient.netty.request.body.NettyByteArrayBody;
@@ -51,6 +55,7 @@ import org.asynchttpclient.util.StringUtils;
 import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Locale;
 import java.util.Map;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.ACCEPT;
@@ -72,6 +77,7 @@ import static org.asynchttpclient.util.AuthenticatorUtils.perRequestAuthorizatio
 import static org.asynchttpclient.util.AuthenticatorUtils.perRequestProxyAuthorizationHeader;
 import static org.asynchttpclient.util.HttpUtils.ACCEPT_ALL_HEADER_VALUE;
 import static org.asynchttpclient.util.HttpUtils.GZIP_DEFLATE;
+import static org.asynchttpclient.util.HttpUtils.GZIP_DEFLATE_HPACK;
 import static org.asynchttpclient.util.HttpUtils.filterOutBrotliFromAcceptEncoding;
 import static org.asynchttpclient.util.HttpUtils.filterOutZstdFromAcceptEncoding;
 import static org.asynchttpclient.util.HttpUtils.hostHeader;
@@ -83,6 +89,7 @@ import static org.asynchttpclient.ws.WebSocketUtils.getWebSocketKey;
 public final class NettyRequestFactory {
 
     private static final Integer ZERO_CONTENT_LENGTH = 0;
+    private static final AsciiString PRIORITY = AsciiString.cached("priority");
 
     /**
      * Known header-name spelling -> a pre-built {@link AsciiString} with the same bytes. Built once. When a
@@ -337,9 +344,242 @@ public final class NettyRequestFactory {
             headers.set(USER_AGENT, config.getUserAgent());
         }
 
+        // RFC 9218 priority, unless the user set the header itself; not on CONNECT, which the proxy answers
+        RequestPriority priority = request.getPriority();
+        if (priority != null && !connect && !headers.contains(PRIORITY)) {
+            headers.set(PRIORITY, priority.toHeaderValue());
+        }
+
         return nettyRequest;
     }
 
+    /**
+     * Builds a request for an open HTTP/2 connection, encoding its headers as {@link Http2Headers} straight from
+     * {@code request} rather than building the {@link HttpHeaders} of an HTTP/1.1 request and converting them with
+     * {@link #toHttp2Headers}. The headers are the ones {@link #newNettyRequest} followed by that conversion would
+     * produce for a direct connection: lower-cased names, the effective Host as {@code :authority}, and no
+     * connection-specific header. The {@link HttpRequest} of the returned request only carries the request line and
+     * the body, for the code that inspects the method or the body length.
+     *
+     * @return the request, or {@code null} when it cannot be encoded this way: a WebSocket upgrade, or a streaming body
+     */
+    public NettyRequest newHttp2Request(Request request, Realm realm, Realm proxyRealm) {
+        Uri uri = request.getUri();
+        if (uri.isWebSocket() || hasStreamingBody(request)) {
+            return null;
+        }
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        String requestUri = uri.toRelativeUrl();
+        NettyBody body = body(request);
+
+        Http2Headers headers = new DefaultHttp2Headers()
+                .method(method.asciiName())
+                .path(requestUri)
+                .scheme(uri.getScheme());
+
+        // assign headers as configured on request, but the connection-specific ones (see toHttp2Headers)
+        CharSequence host = null;
+        Iterator<Map.Entry<CharSequence, CharSequence>> it = request.getHeaders().iteratorCharSequence();
+        while (it.hasNext()) {
+            Map.Entry<CharSequence, CharSequence> entry = it.next();
+            CharSequence name = entry.getKey();
+            CharSequence value = entry.getValue();
+            if (isHttp2ExcludedHeader(name)) {
+                if (host == null && HOST.contentEqualsIgnoreCase(name)) {
+                    host = value;
+                }
+                continue;
+            }
+            if (HttpHeaderNames.TE.contentEqualsIgnoreCase(name) && !HttpHeaderValues.TRAILERS.contentEqualsIgnoreCase(value)) {
+                continue;
+            }
+            headers.add(toLowerCaseHeaderName(name), value);
+        }
+
+        if (isNonEmpty(request.getCookies())) {
+            headers.set(COOKIE, cookieEncoder.encode(request.getCookies()));
+        }
+
+        CharSequence userDefinedAcceptEncoding = headers.get(ACCEPT_ENCODING);
+        if (userDefinedAcceptEncoding != null) {
+            if (config.isEnableAutomaticDecompression()) {
+                if (!Brotli.isAvailable()) {
+                    headers.set(ACCEPT_ENCODING, filterOutBrotliFromAcceptEncoding(userDefinedAcceptEncoding.toString()));
+                }
+                if (!Zstd.isAvailable()) {
+                    headers.set(ACCEPT_ENCODING, filterOutZstdFromAcceptEncoding(userDefinedAcceptEncoding.toString()));
+                }
+            }
+        } else if (config.isCompressionEnforced()) {
+            headers.set(ACCEPT_ENCODING, GZIP_DEFLATE_HPACK);
+            if (Brotli.isAvailable()) {
+                headers.add(ACCEPT_ENCODING, HttpHeaderValues.BR);
+            }
+            if (Zstd.isAvailable()) {
+                headers.add(ACCEPT_ENCODING, HttpHeaderValues.ZSTD);
+            }
+        }
+
+        ByteBuf content = Unpooled.EMPTY_BUFFER;
+        if (body != null) {
+            content = ((NettyDirectBody) body).byteBuf();
+            if (!headers.contains(CONTENT_LENGTH)) {
+                headers.setLong(CONTENT_LENGTH, body.getContentLength());
+            }
+            if (body.getContentTypeOverride() != null) {
+                headers.set(CONTENT_TYPE, body.getContentTypeOverride());
+            }
+        } else if (!headers.contains(CONTENT_LENGTH) && (method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.PATCH)) {
+            headers.setInt(CONTENT_LENGTH, ZERO_CONTENT_LENGTH);
+        }
+
+        if (host == null) {
+            String virtualHost = request.getVirtualHost();
+            host = virtualHost != null ? virtualHost : hostHeader(uri);
+        }
+        headers.authority(stripUserInfo(host));
+
+        String authorization = perRequestAuthorizationHeader(request, realm);
+        if (authorization != null) {
+            headers.add(AUTHORIZATION, authorization);
+        }
+        if (!uri.isSecured()) {
+            String proxyAuthorization = perRequestProxyAuthorizationHeader(request, proxyRealm);
+            if (proxyAuthorization != null) {
+                headers.set(PROXY_AUTHORIZATION, proxyAuthorization);
+            }
+        }
+
+        if (!headers.contains(ACCEPT)) {
+            headers.set(ACCEPT, ACCEPT_ALL_HEADER_VALUE);
+        }
+        if (!headers.contains(USER_AGENT) && config.getUserAgent() != null) {
+            headers.set(USER_AGENT, config.getUserAgent());
+        }
+        RequestPriority priority = request.getPriority();
+        if (priority != null && !headers.contains(PRIORITY)) {
+            headers.set(PRIORITY, priority.toHeaderValue());
+        }
+
+        HttpRequest httpRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, method, requestUri, content,
+                EmptyHttpHeaders.INSTANCE, EmptyHttpHeaders.INSTANCE);
+        // body is passed as null as it's held by httpRequest, like a direct body of newNettyRequest
+        return new NettyRequest(httpRequest, null, headers);
+    }
+
+    /**
+     * Whether {@link #body} would return a streaming body for {@code request}, checked without creating it: its
+     * sources are looked at in the same order.
+     */
+    private static boolean hasStreamingBody(Request request) {
+        if (request.getByteData() != null || request.getCompositeByteData() != null || request.getStringData() != null
+                || request.getByteBufferData() != null || request.getByteBufData() != null) {
+            return false;
+        }
+        return request.getStreamData() != null || (!isNonEmpty(request.getFormParams())
+                && (isNonEmpty(request.getBodyParts()) || request.getFile() != null || request.getBodyGenerator() != null));
+    }
+
+    /**
+     * Converts an HTTP/1.1 request built by {@link #newNettyRequest} to HTTP/2 HEADERS: the pseudo-headers, then its
+     * headers with the connection-specific ones dropped (RFC 7540 §8.1.2.2), any {@code TE} other than
+     * {@code trailers} dropped (RFC 9113 §8.2.2) and the names lower-cased. {@code :authority} carries the Host
+     * header the factory computed, which honours a virtual host, minus any userinfo.
+     */
+    static Http2Headers toHttp2Headers(HttpRequest httpRequest, Uri uri) {
+        // :path reuses Uri.toRelativeUrl() (pooled StringBuilder) instead of re-concatenating path + "?" + query
+        // on every request. :authority must carry the effective Host — RFC 9113 §8.3.1 makes :authority
+        // authoritative and it replaces the Host header (which isHttp2ExcludedHeader strips below). Reuse the Host
+        // newNettyRequest already computed (which honours setVirtualHost(...) and any explicit Host) instead of
+        // re-deriving from the URI, so a virtual host is not dropped on HTTP/2 the way it would be with a bare
+        // hostHeader(uri).
+        CharSequence hostValue = httpRequest.headers().get(HOST);
+        CharSequence authority = stripUserInfo(hostValue != null ? hostValue : hostHeader(uri));
+        Http2Headers h2Headers = new DefaultHttp2Headers()
+                .method(httpRequest.method().name())
+                .path(uri.toRelativeUrl())
+                .scheme(uri.getScheme())
+                .authority(authority);
+
+        // iteratorCharSequence() avoids the per-name String the String-typed iterator forces
+        Iterator<Map.Entry<CharSequence, CharSequence>> it = httpRequest.headers().iteratorCharSequence();
+        while (it.hasNext()) {
+            Map.Entry<CharSequence, CharSequence> entry = it.next();
+            CharSequence name = entry.getKey();
+            CharSequence value = entry.getValue();
+            if (isHttp2ExcludedHeader(name)) {
+                continue;
+            }
+            // Forwarding a user's "TE: gzip" verbatim makes a conformant server reset the stream
+            // (PROTOCOL_ERROR), so drop every TE value except the permitted "trailers".
+            if (HttpHeaderNames.TE.contentEqualsIgnoreCase(name)
+                    && !HttpHeaderValues.TRAILERS.contentEqualsIgnoreCase(value)) {
+                continue;
+            }
+            h2Headers.add(toLowerCaseHeaderName(name), http2HeaderValue(name, value));
+        }
+        return h2Headers;
+    }
+
+    /**
+     * Whether {@code name} is a connection-specific header forbidden in HTTP/2 (RFC 7540 §8.1.2.2).
+     * Matched case-insensitively against the {@link HttpHeaderNames} {@link AsciiString} constants, so the
+     * per-request header copy needs no {@link String}/{@code toLowerCase} allocation to run this check.
+     */
+    static boolean isHttp2ExcludedHeader(CharSequence name) {
+        return HttpHeaderNames.CONNECTION.contentEqualsIgnoreCase(name)
+                || HttpHeaderNames.HOST.contentEqualsIgnoreCase(name)
+                || HttpHeaderNames.TRANSFER_ENCODING.contentEqualsIgnoreCase(name)
+                || HttpHeaderNames.UPGRADE.contentEqualsIgnoreCase(name)
+                || HttpHeaderNames.KEEP_ALIVE.contentEqualsIgnoreCase(name)
+                || HttpHeaderNames.PROXY_CONNECTION.contentEqualsIgnoreCase(name);
+    }
+
+    /**
+     * Lower-cases an HTTP/1.1 header name for HTTP/2, allocating nothing when it is already lowercase.
+     * Netty's validating {@link DefaultHttp2Headers} throws {@link io.netty.handler.codec.http2.Http2Exception}
+     * on a name with any uppercase ASCII letter (it does not normalise), so mixed-case user names must be
+     * lowercased before they are added. {@link AsciiString#toLowerCase()} and {@link String#toLowerCase(Locale)}
+     * both return the same instance when nothing changes, so already-lowercase names — AHC's own
+     * {@link HttpHeaderNames} constants — allocate nothing.
+     */
+    static CharSequence toLowerCaseHeaderName(CharSequence name) {
+        if (name instanceof AsciiString) {
+            return ((AsciiString) name).toLowerCase();
+        }
+        return name.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Removes any userinfo subcomponent from an authority before it becomes the HTTP/2 {@code :authority}
+     * pseudo-header. RFC 9113 §8.3.1: ":authority MUST NOT include the deprecated userinfo subcomponent". Drops
+     * everything up to and including the last {@code '@'} (userinfo itself cannot contain a raw '@', RFC 3986
+     * §3.2.1), leaving {@code host[:port]} — an IPv6 literal such as {@code [::1]:443} contains no '@' and is
+     * untouched. Allocation-free when there is no userinfo (the common case).
+     */
+    static CharSequence stripUserInfo(CharSequence authority) {
+        if (authority == null) {
+            return null;
+        }
+        for (int i = authority.length() - 1; i >= 0; i--) {
+            if (authority.charAt(i) == '@') {
+                return authority.subSequence(i + 1, authority.length());
+            }
+        }
+        return authority;
+    }
+
+    /**
+     * The HTTP/2 form of a header value: the {@code gzip,deflate} Accept-Encoding the factory sets is swapped for the
+     * {@code gzip, deflate} spelling of the HPACK static table (RFC 7541 Appendix A), which is sent as an index.
+     */
+    static CharSequence http2HeaderValue(CharSequence name, CharSequence value) {
+        if (value == GZIP_DEFLATE && HttpHeaderNames.ACCEPT_ENCODING.contentEqualsIgnoreCase(name)) {
+            return GZIP_DEFLATE_HPACK;
+        }
+        return value;
+    }
+
     private static String requestUri(Uri uri, ProxyServer proxyServer, boolean connect) {
         if (connect) {
             // proxy tunnelling, connect need host and explicit port
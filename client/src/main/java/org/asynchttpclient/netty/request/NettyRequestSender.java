@@ -24,20 +24,18 @@ import io.netty.channel.ChannelProgressivePromise;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
-import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
-import io.netty.handler.codec.http2.DefaultHttp2Headers;
 import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
 import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2FrameCodec;
 import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
-import io.netty.resolver.AddressResolver;
+import io.netty.handler.codec.http2.Http2StreamChannelOption;
 import io.netty.resolver.AddressResolverGroup;
-import io.netty.util.AsciiString;
 import io.netty.util.Timeout;
 import io.netty.util.Timer;
 import io.netty.util.concurrent.EventExecutor;
@@ -47,32 +45,45 @@ import io.netty.util.concurrent.Promise;
 import org.asynchttpclient.AsyncHandler;
 import org.asynchttpclient.AsyncHttpClientConfig;
 import org.asynchttpclient.AsyncHttpClientState;
+import org.asynchttpclient.HttpResponseBodyPart;
+import org.asynchttpclient.HttpResponseStatus;
 import org.asynchttpclient.ListenableFuture;
 import org.asynchttpclient.Realm;
 import org.asynchttpclient.Realm.AuthScheme;
 import org.asynchttpclient.Request;
+import org.asynchttpclient.RequestBuilder;
 import org.asynchttpclient.LoadBalance;
 import org.asynchttpclient.exception.FilterException;
 import org.asynchttpclient.exception.PoolAlreadyClosedException;
 import org.asynchttpclient.exception.RemotelyClosedException;
+import org.asynchttpclient.channel.ChannelPoolPartitioning;
 import org.asynchttpclient.filter.FilterContext;
 import org.asynchttpclient.filter.IOExceptionFilter;
 import org.asynchttpclient.handler.TransferCompletionHandler;
 import org.asynchttpclient.netty.NettyResponseFuture;
 import org.asynchttpclient.netty.OnLastHttpContentCallback;
 import org.asynchttpclient.netty.SimpleFutureListener;
+import org.asynchttpclient.netty.channel.AltSvcCache;
 import org.asynchttpclient.netty.channel.ChannelManager;
+import org.asynchttpclient.netty.channel.ChannelPoolMaintainer;
 import org.asynchttpclient.netty.channel.ChannelState;
 import org.asynchttpclient.netty.channel.Channels;
+import org.asynchttpclient.netty.channel.ConnectionAcquisitionQueue;
 import org.asynchttpclient.netty.channel.ConnectionSemaphore;
 import org.asynchttpclient.netty.channel.Http2ConnectionState;
+import org.asynchttpclient.netty.channel.Http2ScaleOutPartitionKey;
+import org.asynchttpclient.netty.channel.Http3Connections;
 import org.asynchttpclient.netty.channel.DefaultConnectionSemaphoreFactory;
 import org.asynchttpclient.netty.channel.FailedIpCooldownHolder;
+import org.asynchttpclient.netty.channel.LatencyAwareAddressSelector;
 import org.asynchttpclient.netty.channel.NettyChannelConnector;
 import org.asynchttpclient.netty.channel.NettyConnectListener;
 import org.asynchttpclient.netty.channel.RoundRobinAddressSelector;
 import org.asynchttpclient.netty.channel.RoundRobinPartitionKey;
 import org.asynchttpclient.netty.handler.Http2ContentDecompressor;
+import org.asynchttpclient.netty.handler.Http2FlowCredit;
+import org.asynchttpclient.netty.handler.Http2StreamDispatcher;
+import org.asynchttpclient.netty.request.body.Http2StreamOutput;
 import org.asynchttpclient.netty.request.body.NettyBody;
 import org.asynchttpclient.netty.request.body.NettyDirectBody;
 import org.asynchttpclient.netty.timeout.TimeoutsHolder;
@@ -82,22 +93,25 @@ import org.asynchttpclient.resolver.RequestHostnameResolver;
 import org.asynchttpclient.uri.Uri;
 import org.asynchttpclient.ws.WebSocketUpgradeHandler;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.net.ConnectException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
 import java.time.Duration;
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.EXPECT;
 import static java.util.Collections.singletonList;
@@ -106,9 +120,6 @@ import static org.asynchttpclient.util.AuthenticatorUtils.perConnectionAuthoriza
 import static org.asynchttpclient.util.AuthenticatorUtils.perConnectionProxyAuthorizationHeader;
 import static org.asynchttpclient.util.HttpConstants.Methods.CONNECT;
 import static org.asynchttpclient.util.HttpConstants.Methods.GET;
-import static org.asynchttpclient.util.HttpUtils.GZIP_DEFLATE;
-import static org.asynchttpclient.util.HttpUtils.GZIP_DEFLATE_HPACK;
-import static org.asynchttpclient.util.HttpUtils.hostHeader;
 import static org.asynchttpclient.util.MiscUtils.getCause;
 import static org.asynchttpclient.util.ProxyUtils.getProxyServer;
 
@@ -119,29 +130,59 @@ public final class NettyRequestSender {
     private final AsyncHttpClientConfig config;
     private final ChannelManager channelManager;
     private final ConnectionSemaphore connectionSemaphore;
+    // Requests waiting for a connection while the connection limits are reached; null unless
+    // connectionAcquisitionQueueEnabled is set, see ChannelManager.
+    private final ConnectionAcquisitionQueue acquisitionQueue;
     private final Timer nettyTimer;
     private final AsyncHttpClientState clientState;
     private final NettyRequestFactory requestFactory;
     private final RoundRobinAddressSelector rrSelector = new RoundRobinAddressSelector();
     // Deprioritizes a recently-failed IP when ordering a direct connection's resolved addresses, in any
-    // LoadBalance mode. Null when the failed-IP cooldown is disabled; call sites gate on ipCooldown != null.
+    // LoadBalance mode, and ejects the outliers among them when outlier detection is enabled. Null when both are
+    // disabled; call sites gate on ipCooldown != null.
     private final FailedIpCooldownHolder ipCooldown;
+    // Opens idle connections ahead of demand; null unless connectionPoolMinIdle or predictive warm-up is enabled.
+    private final ChannelPoolMaintainer poolMaintainer;
 
     public NettyRequestSender(AsyncHttpClientConfig config, ChannelManager channelManager, Timer nettyTimer, AsyncHttpClientState clientState) {
         this.config = config;
         this.channelManager = channelManager;
-        connectionSemaphore = config.getConnectionSemaphoreFactory() == null
+        ConnectionSemaphore semaphore = config.getConnectionSemaphoreFactory() == null
                 ? new DefaultConnectionSemaphoreFactory().newConnectionSemaphore(config)
                 : config.getConnectionSemaphoreFactory().newConnectionSemaphore(config);
+        acquisitionQueue = channelManager.getAcquisitionQueue();
+        // every released permit goes to the oldest queued request that can take it
+        connectionSemaphore = acquisitionQueue != null ? acquisitionQueue.wrap(semaphore) : semaphore;
         this.nettyTimer = nettyTimer;
         this.clientState = clientState;
         requestFactory = new NettyRequestFactory(config);
         // Guard the period against a custom AsyncHttpClientConfig that enables the cooldown but returns a
         // null period: leave the cooldown off rather than NPE while constructing the client.
         Duration cooldownPeriod = config.getFailedIpCooldownPeriod();
-        ipCooldown = config.isFailedIpCooldownEnabled() && cooldownPeriod != null
-                ? new FailedIpCooldownHolder(cooldownPeriod.toNanos(), System::nanoTime)
+        boolean cooldownEnabled = config.isFailedIpCooldownEnabled() && cooldownPeriod != null;
+        FailedIpCooldownHolder.OutlierDetection outlierDetection = config.isOutlierDetectionEnabled()
+                ? new FailedIpCooldownHolder.OutlierDetection(config.getOutlierDetectionConsecutiveErrors(),
+                config.getOutlierDetectionLatencyFactor(), config.getOutlierDetectionBaseEjectionTime(),
+                config.getOutlierDetectionMaxEjectionTime(), config.getOutlierDetectionMaxEjectionPercent())
                 : null;
+        ipCooldown = cooldownEnabled || outlierDetection != null
+                ? new FailedIpCooldownHolder(cooldownEnabled ? cooldownPeriod.toNanos() : 0, outlierDetection, System::nanoTime)
+                : null;
+        if (config.getConnectionPoolMinIdle() > 0 || config.isConnectionPoolPredictiveWarmUpEnabled()) {
+            poolMaintainer = new ChannelPoolMaintainer(config.getConnectionPoolMinIdle(), config.isConnectionPoolPredictiveWarmUpEnabled(),
+                    config.getConnectionPoolMaintenancePeriod(), config.getPooledConnectionIdleTimeout(),
+                    baseKey -> channelManager.getIdleChannelCount(key -> key.equals(baseKey)
+                            || (key instanceof RoundRobinPartitionKey && ((RoundRobinPartitionKey) key).getBaseKey().equals(baseKey))),
+                    baseKey -> channelManager.pollHttp2SiblingConnection(baseKey) != null,
+                    (origin, connections) -> warmUp(origin, connections).thenApply(opened -> {
+                        channelManager.recordPrewarmedConnections(opened);
+                        return opened;
+                    }),
+                    this::isClosed);
+            poolMaintainer.start(nettyTimer);
+        } else {
+            poolMaintainer = null;
+        }
     }
 
     // needConnect returns true if the request is secure/websocket and a HTTP proxy is set
@@ -159,11 +200,24 @@ public final class NettyRequestSender {
         validateWebSocketRequest(request, asyncHandler);
         ProxyServer proxyServer = getProxyServer(config, request);
 
+        // HTTP/3 for the origins known to serve it, see sendRequestOverHttp3
+        Http3Connections http3Connections = channelManager.getHttp3Connections();
+        if (http3Connections != null && (future == null || !future.isHttp3Disabled()) && request.getUri().isSecured()
+                && !request.getUri().isWebSocket() && isDirectConnection(request, proxyServer)) {
+            AltSvcCache altSvcCache = channelManager.getAltSvcCache();
+            AltSvcCache.Alternative alternative = altSvcCache != null ? altSvcCache.getHttp3(request.getUri()) : null;
+            if (alternative != null || http3Connections.isHttp3Host(request.getUri())) {
+                return sendRequestOverHttp3(request, asyncHandler, future, proxyServer, http3Connections, alternative);
+            }
+        }
+
         // Round-robin across the host's resolved IPs: resolve first, pick the next IP, then proceed.
         // Re-evaluated when the target base changes (e.g. a cross-host redirect, or a same-host
         // scheme/port change such as an HTTP-to-HTTPS upgrade — the cached addresses and partition key
         // carry the old port/scheme); same-base retries keep their pick. See LoadBalance.ROUND_ROBIN.
-        if (config.getLoadBalance() == LoadBalance.ROUND_ROBIN) {
+        // LoadBalance.LEAST_LATENCY takes the same path, only choosing the IP by latency instead of in turn.
+        LoadBalance loadBalance = config.getLoadBalance();
+        if (loadBalance == LoadBalance.ROUND_ROBIN || loadBalance == LoadBalance.LEAST_LATENCY) {
             boolean overrideMatchesBase = future != null && future.getRoundRobinBaseUri() != null
                     && request.getUri().isSameBase(future.getRoundRobinBaseUri());
             if (isDirectConnection(request, proxyServer) && !overrideMatchesBase) {
@@ -193,6 +247,179 @@ public final class NettyRequestSender {
         }
     }
 
+    /**
+     * Opens up to {@code connections} connections to the origin of {@code uri} without sending any request on them:
+     * each is resolved, connected and, for HTTPS, TLS handshaked exactly like the connection of a request would
+     * be, then offered to the channel pool, or, when HTTP/2 was negotiated, registered once the server's SETTINGS
+     * arrived. Connections count against {@code maxConnectionsPerHost} and, in {@link LoadBalance#ROUND_ROBIN} and
+     * {@link LoadBalance#LEAST_LATENCY} mode, are spread over the resolved IPs like requests are.
+     *
+     * <p>The first connection is opened alone: when it turns out to be HTTP/2 outside the per-IP modes, the
+     * origin is multiplexed onto it and the warm-up stops there. Connections through a tunneling (CONNECT)
+     * proxy and WebSocket connections are never warmed up.
+     *
+     * @return a future completed with the number of connections opened; completed exceptionally only when the
+     * first connection could not be opened
+     */
+    public CompletableFuture<Integer> warmUp(Uri uri, int connections) {
+        if (isClosed()) {
+            throw new IllegalStateException("Closed");
+        }
+        Request request = new RequestBuilder(GET).setUri(uri).build();
+        ProxyServer proxyServer = getProxyServer(config, request);
+        if (uri.isWebSocket() || needConnect(request, proxyServer)) {
+            return CompletableFuture.completedFuture(0);
+        }
+        LoadBalance loadBalance = config.getLoadBalance();
+        boolean connectionPerIp = (loadBalance == LoadBalance.ROUND_ROBIN || loadBalance == LoadBalance.LEAST_LATENCY)
+                && isDirectConnection(request, proxyServer);
+
+        return openWarmUpConnection(request, proxyServer, connectionPerIp).thenCompose(first -> {
+            // null: the origin already had a live HTTP/2 connection
+            boolean multiplexed = first == null || ChannelManager.isHttp2(first);
+            int opened = first != null ? 1 : 0;
+            if (connections == 1 || (multiplexed && !connectionPerIp)) {
+                return CompletableFuture.completedFuture(opened);
+            }
+            List<CompletableFuture<Channel>> others = new ArrayList<>(connections - 1);
+            for (int i = 1; i < connections; i++) {
+                // a failure past the first (typically maxConnectionsPerHost being reached) only lowers the count
+                others.add(openWarmUpConnection(request, proxyServer, connectionPerIp).exceptionally(t -> null));
+            }
+            return CompletableFuture.allOf(others.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+                int count = opened;
+                for (CompletableFuture<Channel> other : others) {
+                    if (other.join() != null) {
+                        count++;
+                    }
+                }
+                return count;
+            });
+        });
+    }
+
+    // Runs the dispatch of a request up to its new connection (resolution, IP choice, connection permit, connect,
+    // TLS); NettyConnectListener then hands the connection to completeWarmUp instead of writing the request.
+    private CompletableFuture<Channel> openWarmUpConnection(Request request, ProxyServer proxyServer, boolean connectionPerIp) {
+        WarmUpHandler handler = new WarmUpHandler();
+        NettyResponseFuture<Channel> future = newNettyRequestAndResponseFuture(request, handler, null, proxyServer, false);
+        future.setWarmUp(true);
+        try {
+            if (connectionPerIp) {
+                sendRequestRoundRobin(request, handler, future, proxyServer);
+            } else {
+                connectForWarmUp(request, proxyServer, future, handler);
+            }
+        } catch (Exception e) {
+            abort(null, future, e);
+        }
+        return future.toCompletableFuture();
+    }
+
+    private <T> void connectForWarmUp(Request request, ProxyServer proxyServer, NettyResponseFuture<T> future, AsyncHandler<T> asyncHandler) {
+        // A live HTTP/2 connection for this partition already serves every request to it; a second one would
+        // only be marked redundant.
+        if (config.isHttp2Enabled() && channelManager.pollHttp2Connection(future.getPartitionKey()) != null) {
+            future.done();
+            return;
+        }
+        sendRequestWithNewChannel(request, proxyServer, future, asyncHandler);
+    }
+
+    /**
+     * Completes a warm-up future (see {@link #warmUp(Uri, int)}) once its connection is established: an HTTP/1.1
+     * connection is offered to the pool, an HTTP/2 one (already registered by the connect listener) is waited
+     * on until the server's SETTINGS arrived.
+     */
+    public void completeWarmUp(NettyResponseFuture<?> future, Channel channel) {
+        WarmUpHandler handler = (WarmUpHandler) future.getAsyncHandler();
+        if (!ChannelManager.isHttp2(channel)) {
+            handler.channel = channel;
+            // cancel the request timeout first, it would otherwise close the pooled channel; complete last, so that
+            // the connection is in the pool once the warm-up future completes
+            future.cancelTimeouts();
+            channelManager.tryToOfferChannelToPool(channel, handler, true, future.getPartitionKey());
+            future.done();
+            return;
+        }
+        Http2ConnectionState state = channel.attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
+        if (state == null || state.isRedundant()) {
+            // lost the registration race to a concurrent connection: nothing will ever use it
+            channelManager.closeChannel(channel);
+            future.done();
+            return;
+        }
+        channel.closeFuture().addListener(f -> future.abort(new IOException("HTTP/2 connection closed before the server's SETTINGS arrived")));
+        state.remoteSettingsReceived().thenRun(() -> {
+            handler.channel = channel;
+            future.done();
+        });
+    }
+
+    // The handler of a warm-up future: no response is ever received, the future's value is the warmed-up channel,
+    // or null when there was nothing to open.
+    private static final class WarmUpHandler implements AsyncHandler<Channel> {
+
+        private volatile Channel channel;
+
+        @Override
+        public State onStatusReceived(HttpResponseStatus responseStatus) {
+            return State.ABORT;
+        }
+
+        @Override
+        public State onHeadersReceived(HttpHeaders headers) {
+            return State.ABORT;
+        }
+
+        @Override
+        public State onBodyPartReceived(HttpResponseBodyPart bodyPart) {
+            return State.ABORT;
+        }
+
+        @Override
+        public void onThrowable(Throwable t) {
+        }
+
+        @Override
+        public Channel onCompleted() {
+            return channel;
+        }
+    }
+
+    /**
+     * Feeds the final status of a response received on {@code channel} to outlier detection. Called by the
+     * HTTP/1.1 and HTTP/2 handlers; no-op unless outlier detection is enabled and the connection is direct.
+     */
+    public void onResponseStatus(NettyResponseFuture<?> future, Channel channel, int statusCode) {
+        InetSocketAddress remoteAddress = outlierTrackedAddress(future, channel);
+        if (remoteAddress != null) {
+            ipCooldown.onResponse(future.getTargetRequest().getUri().getHost(), remoteAddress, statusCode,
+                    System.nanoTime() - future.getRequestSentNanos());
+        }
+    }
+
+    /**
+     * Feeds a request or read timeout to outlier detection; no-op unless outlier detection is enabled, the
+     * connection is direct and the request was already sent.
+     */
+    public void onRequestTimeout(NettyResponseFuture<?> future) {
+        InetSocketAddress remoteAddress = outlierTrackedAddress(future, future.channel());
+        if (remoteAddress != null) {
+            ipCooldown.onTimeout(future.getTargetRequest().getUri().getHost(), remoteAddress);
+        }
+    }
+
+    // The remote IP a response or timeout should be attributed to, keyed like reorder() (direct connections only).
+    private InetSocketAddress outlierTrackedAddress(NettyResponseFuture<?> future, Channel channel) {
+        if (ipCooldown == null || !config.isOutlierDetectionEnabled() || channel == null
+                || !isDirectConnection(future.getTargetRequest(), future.getProxyServer())) {
+            return null;
+        }
+        SocketAddress remoteAddress = channel.remoteAddress();
+        return remoteAddress instanceof InetSocketAddress ? (InetSocketAddress) remoteAddress : null;
+    }
+
     // Whether the request opens a direct connection to the target host, i.e. the connector targets the
     // host's resolved IPs (keyed in DNS/cooldown state by uri.getHost()). Excluded: an explicit address
     // (bypasses resolution), and any proxied host — HTTP or SOCKS — since the socket is established to the
@@ -207,16 +434,29 @@ public final class NettyRequestSender {
         return proxyServer == null || proxyServer.isIgnoredForHost(uri.getHost());
     }
 
+    // Whether a request about to open a connection may instead be coalesced onto an HTTP/2 connection opened for
+    // another hostname: only direct HTTPS requests without a virtual host, whose :authority is the host the server
+    // certificate is checked against, and never again once a coalesced connection refused them with 421.
+    private boolean isCoalescable(Request request, ProxyServer proxy, NettyResponseFuture<?> future) {
+        Uri uri = request.getUri();
+        return config.isHttp2ConnectionCoalescingEnabled() && config.isHttp2Enabled()
+                && uri.isSecured() && !uri.isWebSocket() && request.getVirtualHost() == null
+                && !future.isWarmUp() && !future.isCoalescingDisabled() && !future.isDone()
+                && isDirectConnection(request, proxy);
+    }
+
     /**
      * Round-robin dispatch: resolve the host first, pick the next IP (rotating the address list so the
      * connector targets it while keeping the others for failover), pin connection reuse to that IP via
-     * an IP-aware partition key, then run the normal reuse-or-connect logic.
+     * an IP-aware partition key, then run the normal reuse-or-connect logic. In LEAST_LATENCY mode the
+     * IP is picked by {@link LatencyAwareAddressSelector} instead, and the request is counted against it.
      */
     private <T> ListenableFuture<T> sendRequestRoundRobin(Request request, AsyncHandler<T> asyncHandler, NettyResponseFuture<T> future,
                                                           ProxyServer proxyServer) {
         NettyResponseFuture<T> newFuture = newNettyRequestAndResponseFuture(request, asyncHandler, future, proxyServer, false);
         Uri uri = request.getUri();
         String host = uri.getHost();
+        LatencyAwareAddressSelector latencySelector = channelManager.getLatencySelector();
 
         // Round-robin resolves up front — before the pool check and before the per-host semaphore — so
         // every eligible request resolves first, even one that immediately reuses a pooled connection and
@@ -230,7 +470,14 @@ public final class NettyRequestSender {
             protected void onSuccess(List<InetSocketAddress> addresses) {
                 List<InetSocketAddress> ordered = addresses;
                 if (addresses.size() > 1) {
-                    ordered = rrSelector.rotate(host, addresses);
+                    if (latencySelector != null) {
+                        ordered = latencySelector.select(addresses);
+                    } else if (ipCooldown != null && ipCooldown.hasEjections(host)) {
+                        // leave the IPs ejected by outlier detection out of the rotation
+                        ordered = rrSelector.rotate(host, addresses, address -> ipCooldown.isEjected(host, address));
+                    } else {
+                        ordered = rrSelector.rotate(host, addresses);
+                    }
                     // Apply the failed-IP cooldown on top of the rotation, before pinning the IP-aware
                     // partition key below, so the pool pin and the chosen IP avoid a recently-dead address.
                     if (ipCooldown != null) {
@@ -248,6 +495,11 @@ public final class NettyRequestSender {
                     // any stale IP-aware key so we don't poll/pool/lock under the previous host's IP
                     newFuture.setPartitionKeyOverride(null);
                 }
+                if (latencySelector != null && !newFuture.isWarmUp() && !ordered.isEmpty() && ordered.get(0).getAddress() != null) {
+                    // counted as in flight to the first-choice IP until the future completes; a connect failover
+                    // to another IP is rare enough not to warrant moving the lease
+                    newFuture.setLatencyLease(latencySelector.startRequest(ordered.get(0).getAddress()));
+                }
                 // Always feed the resolved addresses back so the new-channel path doesn't resolve twice;
                 // recording the base URI lets sendRequest skip re-rotation on same-base retries while
                 // re-resolving when the scheme/host/port changes (e.g. an HTTP-to-HTTPS redirect).
@@ -267,6 +519,10 @@ public final class NettyRequestSender {
 
     // Reuse-or-connect once the round-robin IP has been chosen and recorded on the future.
     private <T> void dispatchResolved(Request request, ProxyServer proxyServer, NettyResponseFuture<T> future, AsyncHandler<T> asyncHandler) {
+        if (future.isWarmUp()) {
+            connectForWarmUp(request, proxyServer, future, asyncHandler);
+            return;
+        }
         Channel channel = getOpenChannel(future, request, proxyServer, asyncHandler);
         if (Channels.isChannelActive(channel)) {
             sendRequestWithOpenChannel(future, asyncHandler, channel);
@@ -294,7 +550,7 @@ public final class NettyRequestSender {
         Channel channel = getOpenChannel(future, request, proxyServer, asyncHandler);
         if (Channels.isChannelActive(channel)) {
             NettyResponseFuture<T> newFuture = newNettyRequestAndResponseFuture(request, asyncHandler, future,
-                    proxyServer, performConnectRequest);
+                    proxyServer, performConnectRequest, ChannelManager.isHttp2(channel));
             return sendRequestWithOpenChannel(newFuture, asyncHandler, channel);
         } else {
             // A new channel is not expected when performConnectRequest is false. We need to
@@ -342,6 +598,15 @@ public final class NettyRequestSender {
 
     private <T> NettyResponseFuture<T> newNettyRequestAndResponseFuture(final Request request, final AsyncHandler<T> asyncHandler, NettyResponseFuture<T> originalFuture,
                                                                         ProxyServer proxy, boolean performConnectRequest) {
+        return newNettyRequestAndResponseFuture(request, asyncHandler, originalFuture, proxy, performConnectRequest, false);
+    }
+
+    /**
+     * @param http2 whether the request goes on an open HTTP/2 connection, in which case it may be built as HTTP/2
+     *              headers directly, see {@link AsyncHttpClientConfig#isHttp2DirectHeadersEnabled()}
+     */
+    private <T> NettyResponseFuture<T> newNettyRequestAndResponseFuture(final Request request, final AsyncHandler<T> asyncHandler, NettyResponseFuture<T> originalFuture,
+                                                                        ProxyServer proxy, boolean performConnectRequest, boolean http2) {
         Realm realm;
         if (originalFuture != null) {
             realm = originalFuture.getRealm();
@@ -359,7 +624,15 @@ public final class NettyRequestSender {
             proxyRealm = proxy.getRealm();
         }
 
-        NettyRequest nettyRequest = requestFactory.newNettyRequest(request, performConnectRequest, proxy, realm, proxyRealm);
+        NettyRequest nettyRequest = null;
+        // a TransferCompletionHandler is handed the HTTP/1.1 headers of the request
+        if (http2 && config.isHttp2DirectHeadersEnabled() && proxy == null && !performConnectRequest
+                && !(asyncHandler instanceof TransferCompletionHandler)) {
+            nettyRequest = requestFactory.newHttp2Request(request, realm, proxyRealm);
+        }
+        if (nettyRequest == null) {
+            nettyRequest = requestFactory.newNettyRequest(request, performConnectRequest, proxy, realm, proxyRealm);
+        }
         if (originalFuture == null) {
             NettyResponseFuture<T> future = newNettyResponseFuture(request, asyncHandler, nettyRequest, proxy);
             future.setRealm(realm);
@@ -467,13 +740,26 @@ public final class NettyRequestSender {
                 // acquireFreeChannelTimeout would stall every other connection it serves (and the permit
                 // may be released only by a task queued on this same loop). Off the loop — the initial
                 // execute() on the caller thread — keep the configured blocking wait.
-                future.acquirePartitionLockLazily(isOnEventLoop());
+                // A warm-up never waits for a permit: maxConnectionsPerHost being reached just ends the warm-up.
+                // With the acquisition queue no thread waits either: the request is queued below instead.
+                future.acquirePartitionLockLazily(future.isWarmUp() || acquisitionQueue != null || isOnEventLoop());
             } catch (IOException semaphoreException) {
+                if (acquisitionQueue != null && !future.isWarmUp()) {
+                    // The queue is woken by released channels and permits and by HTTP/2 connections registering
+                    // for this origin, so only an already registered one is worth multiplexing onto right away.
+                    Channel h2Channel = config.isHttp2Enabled() && !request.getUri().isWebSocket()
+                            ? pollHttp2(http2KeyOf(request, proxy, future.getPartitionKeyOverride()), request.getUri().getHost()) : null;
+                    if (h2Channel != null) {
+                        return sendRequestWithOpenChannel(future, asyncHandler, h2Channel);
+                    }
+                    acquisitionQueue.enqueue(new QueuedAcquisition<>(request, proxy, future, asyncHandler, semaphoreException));
+                    return future;
+                }
                 // The per-host permit is exhausted, but a sibling request may be establishing an HTTP/2
                 // connection to this origin we can multiplex onto (stream reuse needs no permit). Reuse one
                 // if it exists; otherwise wait for one WITHOUT blocking the caller thread. Returns the
                 // pending future when handled; null means we should fail with the permit exception.
-                if (config.isHttp2Enabled()) {
+                if (config.isHttp2Enabled() && !future.isWarmUp()) {
                     ListenableFuture<T> handled = reuseOrDeferHttp2Connection(request, proxy, future, asyncHandler, semaphoreException);
                     if (handled != null) {
                         return handled;
@@ -487,6 +773,12 @@ public final class NettyRequestSender {
             return future;
         }
 
+        connectWithPermit(request, proxy, future, asyncHandler);
+        return future;
+    }
+
+    // Resolves the remote addresses and connects, once the request holds its connection permit.
+    private <T> void connectWithPermit(Request request, ProxyServer proxy, NettyResponseFuture<T> future, AsyncHandler<T> asyncHandler) {
         // In round-robin mode the addresses were already resolved (and rotated) before polling the pool,
         // so reuse them directly instead of resolving a second time. The up-front resolve deliberately did
         // NOT schedule the request timeout (see sendRequestRoundRobin), so schedule it here — once — for this
@@ -498,13 +790,17 @@ public final class NettyRequestSender {
             // resolve listener would swallow and leave the request hanging with no timeout scheduled.
             if (roundRobinAddresses.isEmpty()) {
                 abort(null, future, new UnknownHostException("No addresses resolved for " + request.getUri().getHost()));
-                return future;
+                return;
             }
             scheduleRequestTimeout(future, roundRobinAddresses.get(0));
             connectWithAddresses(request, proxy, future, asyncHandler, roundRobinAddresses);
-            return future;
+            return;
         }
 
+        // Alt-Svc: connect to the alternative the origin advertised, if any, see resolveAddresses
+        AltSvcCache altSvcCache = channelManager.getAltSvcCache();
+        future.setAltSvcAlternative(altSvcCache != null && isDirectConnection(request, proxy) ? altSvcCache.get(request.getUri()) : null);
+
         resolveAddresses(request, proxy, future, asyncHandler, true).addListener(new SimpleFutureListener<List<InetSocketAddress>>() {
 
             @Override
@@ -525,12 +821,25 @@ public final class NettyRequestSender {
                 abort(null, future, getCause(cause));
             }
         });
-
-        return future;
     }
 
     private <T> void connectWithAddresses(Request request, ProxyServer proxy, NettyResponseFuture<T> future, AsyncHandler<T> asyncHandler,
                                           List<InetSocketAddress> addresses) {
+        // Connection coalescing: the host has no connection of its own, but one opened for another hostname may
+        // serve it now that its IPs are known. The stream needs no permit, so the one taken for connecting is
+        // given back.
+        if (isCoalescable(request, proxy, future)) {
+            Channel coalesced = channelManager.pollCoalescableHttp2Connection(request.getUri(), addresses);
+            if (coalesced != null) {
+                Object partitionKeyLock = future.takePartitionKeyLock();
+                if (partitionKeyLock != null) {
+                    connectionSemaphore.releaseChannelLock(partitionKeyLock);
+                }
+                LOGGER.debug("Coalescing {} onto HTTP/2 connection {}", request.getUri().getHost(), coalesced);
+                sendRequestWithOpenChannel(future, asyncHandler, coalesced);
+                return;
+            }
+        }
         NettyConnectListener<T> connectListener = new NettyConnectListener<>(future, NettyRequestSender.this, channelManager, connectionSemaphore);
         // Feed TCP connect failures back so the cooldown deprioritizes a dead IP for a short window instead
         // of the next new connection re-targeting it (and burning another connectTimeout). Applied to direct
@@ -540,11 +849,20 @@ public final class NettyRequestSender {
             String host = request.getUri().getHost();
             connectFailureListener = address -> ipCooldown.markFailed(host, address);
         }
-        NettyChannelConnector connector = new NettyChannelConnector(request.getLocalAddress(), addresses, asyncHandler, clientState, connectFailureListener);
+        Duration happyEyeballsDelay = config.isHappyEyeballsEnabled() ? config.getHappyEyeballsConnectionAttemptDelay() : null;
+        // Connect times feed the per-IP latency estimate of LoadBalance.LEAST_LATENCY (direct connections only,
+        // for the same reason as the cooldown above). A TCP Fast Open connect completes before the server answers,
+        // so only the connects of a Happy Eyeballs race, which never use it, are timed then.
+        LatencyAwareAddressSelector latencySelector = channelManager.getLatencySelector();
+        boolean connectTimed = !channelManager.isTcpFastOpenConnect() || (happyEyeballsDelay != null && addresses.size() > 1);
+        ObjLongConsumer<InetSocketAddress> connectSuccessListener = latencySelector != null && connectTimed && isDirectConnection(request, proxy)
+                ? latencySelector::onConnected : null;
+        NettyChannelConnector connector = new NettyChannelConnector(request.getLocalAddress(), addresses, asyncHandler, clientState,
+                connectFailureListener, happyEyeballsDelay, connectSuccessListener);
         if (!future.isDone()) {
             // Do not throw an exception when we need an extra connection for a redirect
             // FIXME why? This violate the max connection per host handling, right?
-            channelManager.getBootstrap(request.getUri(), request.getNameResolver(), proxy).addListener((Future<Bootstrap> whenBootstrap) -> {
+            channelManager.getBootstrap(request.getUri(), channelManager.nameResolverFor(request.getNameResolver()), proxy).addListener((Future<Bootstrap> whenBootstrap) -> {
                 if (whenBootstrap.isSuccess()) {
                     connector.connect(whenBootstrap.get(), connectListener);
                 } else {
@@ -576,8 +894,16 @@ public final class NettyRequestSender {
             return resolveHostname(request, unresolvedRemoteAddress, asyncHandler);
         } else {
             int port = uri.getExplicitPort();
+            String host = uri.getHost();
+            AltSvcCache.Alternative alternative = future.getAltSvcAlternative();
+            if (alternative != null) {
+                port = alternative.getPort();
+                if (alternative.getHost() != null) {
+                    host = alternative.getHost();
+                }
+            }
 
-            InetSocketAddress unresolvedRemoteAddress = InetSocketAddress.createUnresolved(uri.getHost(), port);
+            InetSocketAddress unresolvedRemoteAddress = InetSocketAddress.createUnresolved(host, port);
             if (scheduleTimeout) {
                 scheduleRequestTimeout(future, unresolvedRemoteAddress);
             }
@@ -595,10 +921,11 @@ public final class NettyRequestSender {
     private Future<List<InetSocketAddress>> resolveHostname(Request request, InetSocketAddress unresolvedRemoteAddress, AsyncHandler<?> asyncHandler) {
         AddressResolverGroup<InetSocketAddress> group = channelManager.getAddressResolverGroup();
         if (group != null) {
-            AddressResolver<InetSocketAddress> resolver = group.getResolver(channelManager.getEventLoopGroup().next());
-            return RequestHostnameResolver.INSTANCE.resolve(resolver, unresolvedRemoteAddress, asyncHandler);
+            return RequestHostnameResolver.INSTANCE.resolve(group, channelManager.getEventLoopGroup().next(), unresolvedRemoteAddress, asyncHandler,
+                    channelManager.getInflightHostnameLookups());
         }
-        return RequestHostnameResolver.INSTANCE.resolve(request.getNameResolver(), unresolvedRemoteAddress, asyncHandler);
+        return RequestHostnameResolver.INSTANCE.resolve(channelManager.nameResolverFor(request.getNameResolver()), unresolvedRemoteAddress, asyncHandler,
+                channelManager.getInflightHostnameLookups());
     }
 
     private <T> NettyResponseFuture<T> newNettyResponseFuture(Request request, AsyncHandler<T> asyncHandler, NettyRequest nettyRequest, ProxyServer proxyServer) {
@@ -618,54 +945,6 @@ public final class NettyRequestSender {
         return future;
     }
 
-    /**
-     * Whether {@code name} is a connection-specific header forbidden in HTTP/2 (RFC 7540 §8.1.2.2).
-     * Matched case-insensitively against the {@link HttpHeaderNames} {@link AsciiString} constants, so the
-     * per-request header copy needs no {@link String}/{@code toLowerCase} allocation to run this check.
-     */
-    private static boolean isHttp2ExcludedHeader(CharSequence name) {
-        return HttpHeaderNames.CONNECTION.contentEqualsIgnoreCase(name)
-                || HttpHeaderNames.HOST.contentEqualsIgnoreCase(name)
-                || HttpHeaderNames.TRANSFER_ENCODING.contentEqualsIgnoreCase(name)
-                || HttpHeaderNames.UPGRADE.contentEqualsIgnoreCase(name)
-                || HttpHeaderNames.KEEP_ALIVE.contentEqualsIgnoreCase(name)
-                || HttpHeaderNames.PROXY_CONNECTION.contentEqualsIgnoreCase(name);
-    }
-
-    /**
-     * Lower-cases an HTTP/1.1 header name for HTTP/2, allocating nothing when it is already lowercase.
-     * Netty's validating {@link DefaultHttp2Headers} throws {@link io.netty.handler.codec.http2.Http2Exception}
-     * on a name with any uppercase ASCII letter (it does not normalise), so mixed-case user names must be
-     * lowercased before they are added. {@link AsciiString#toLowerCase()} and {@link String#toLowerCase(Locale)}
-     * both return the same instance when nothing changes, so already-lowercase names — AHC's own
-     * {@link HttpHeaderNames} constants — allocate nothing.
-     */
-    private static CharSequence toLowerCaseHeaderName(CharSequence name) {
-        if (name instanceof AsciiString) {
-            return ((AsciiString) name).toLowerCase();
-        }
-        return name.toString().toLowerCase(Locale.ROOT);
-    }
-
-    /**
-     * Removes any userinfo subcomponent from an authority before it becomes the HTTP/2 {@code :authority}
-     * pseudo-header. RFC 9113 §8.3.1: ":authority MUST NOT include the deprecated userinfo subcomponent". Drops
-     * everything up to and including the last {@code '@'} (userinfo itself cannot contain a raw '@', RFC 3986
-     * §3.2.1), leaving {@code host[:port]} — an IPv6 literal such as {@code [::1]:443} contains no '@' and is
-     * untouched. Allocation-free when there is no userinfo (the common case).
-     */
-    private static CharSequence stripUserInfo(CharSequence authority) {
-        if (authority == null) {
-            return null;
-        }
-        for (int i = authority.length() - 1; i >= 0; i--) {
-            if (authority.charAt(i) == '@') {
-                return authority.subSequence(i + 1, authority.length());
-            }
-        }
-        return authority;
-    }
-
     public <T> void writeRequest(NettyResponseFuture<T> future, Channel channel) {
         // if the channel is dead because it was pooled and the remote server decided to close it,
         // we just let it go and the channelInactive do its work
@@ -673,6 +952,10 @@ public final class NettyRequestSender {
             return;
         }
 
+        if (!future.isHeadersAlreadyWrittenOnContinue()) {
+            future.setRequestSentNanos(System.nanoTime());
+        }
+
         // Route to HTTP/2 path if the parent channel has the HTTP/2 multiplex handler installed
         if (ChannelManager.isHttp2(channel)) {
             writeHttp2Request(future, channel);
@@ -745,6 +1028,19 @@ public final class NettyRequestSender {
     private <T> void writeHttp2Request(NettyResponseFuture<T> future, Channel parentChannel) {
         Http2ConnectionState state = parentChannel.attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
 
+        if (state != null && state.isRetired()) {
+            // An idle scale-out or degraded connection was retired since it was polled: another one of its group
+            // takes the request, or a new one is opened.
+            Channel other = channelManager.pollHttp2Connection(ChannelManager.groupKeyOf(state.getPartitionKey()));
+            if (other != null) {
+                writeHttp2Request(future, other);
+            } else {
+                releaseHttp2Request(future);
+                sendNextRequest(future.getCurrentRequest(), future);
+            }
+            return;
+        }
+
         if (state != null && !state.tryAcquireStream()) {
             if (state.isDraining()) {
                 // Connection is draining from GOAWAY — fail the future so it retries on a new connection.
@@ -774,17 +1070,249 @@ public final class NettyRequestSender {
                 releaseHttp2Request(future);
                 abort(parentChannel, future,
                         new java.io.IOException("HTTP/2 connection closed while request was queued"));
+                return;
             }
+            maybeScaleOutHttp2(future, parentChannel, state);
             return;
         }
+        if (state != null) {
+            maybeScaleOutHttp2(future, parentChannel, state);
+        }
         openHttp2Stream(future, parentChannel, state);
     }
 
+    // HTTP/2 scale-out (AsyncHttpClientConfig#getHttp2MaxConnectionsPerHost()): opens another connection beside this
+    // one right away once its streams are busy past the threshold, and arms a timer to do so once a request waited for
+    // a slot for too long.
+    private void maybeScaleOutHttp2(NettyResponseFuture<?> future, Channel connection, Http2ConnectionState state) {
+        if (config.getHttp2MaxConnectionsPerHost() <= 1 || future.isWarmUp()) {
+            return;
+        }
+        boolean queued = state.hasPendingOpeners();
+        int threshold = config.getHttp2ScaleOutThreshold();
+        if (threshold > 0 && (queued || state.getUtilizationPercent() >= threshold)) {
+            scaleOutHttp2(future, connection, state);
+        }
+        long maxPendingNanos = config.getHttp2ScaleOutMaxPendingTime().toNanos();
+        if (queued && maxPendingNanos > 0 && state.tryArmScaleOutTimer()) {
+            scheduleHttp2ScaleOutCheck(future, connection, state, maxPendingNanos);
+        }
+    }
+
+    private void scheduleHttp2ScaleOutCheck(NettyResponseFuture<?> future, Channel connection, Http2ConnectionState state, long delayNanos) {
+        if (isClosed()) {
+            state.disarmScaleOutTimer();
+            return;
+        }
+        nettyTimer.newTimeout(timeout -> {
+            long queuedAt = state.oldestPendingOpenerQueuedAt();
+            if (queuedAt < 0 || !connection.isActive() || isClosed()) {
+                state.disarmScaleOutTimer();
+                return;
+            }
+            long maxPendingNanos = config.getHttp2ScaleOutMaxPendingTime().toNanos();
+            long waited = System.nanoTime() - queuedAt;
+            if (waited < maxPendingNanos) {
+                // the request the timer was armed for got a slot, check again when the next oldest one is due
+                scheduleHttp2ScaleOutCheck(future, connection, state, maxPendingNanos - waited);
+                return;
+            }
+            state.disarmScaleOutTimer();
+            scaleOutHttp2(future, connection, state);
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Opens an HTTP/2 connection to the same IP as the busy one, the way warmUp does, and moves the requests waiting
+    // for a slot on the busy one onto it once its SETTINGS arrived. Only direct connections are scaled out: neither a
+    // tunnel nor a connection coalesced onto from another hostname.
+    private void scaleOutHttp2(NettyResponseFuture<?> trigger, Channel busy, Http2ConnectionState state) {
+        Request request = trigger.getCurrentRequest();
+        ProxyServer proxy = trigger.getProxyServer();
+        Object partitionKey = state.getPartitionKey();
+        if (partitionKey == null || !(busy.remoteAddress() instanceof InetSocketAddress) || isClosed()
+                || !isDirectConnection(request, proxy) || ChannelManager.isCoalesced(busy, trigger)) {
+            return;
+        }
+        Http2ScaleOutPartitionKey scaleOutKey = channelManager.tryStartHttp2ScaleOut(partitionKey);
+        if (scaleOutKey == null) {
+            return;
+        }
+        LOGGER.debug("Opening another HTTP/2 connection beside {}", busy);
+        Request scaleOutRequest = new RequestBuilder(GET)
+                .setUri(request.getUri())
+                .setVirtualHost(request.getVirtualHost())
+                .setLocalAddress(request.getLocalAddress())
+                .setChannelPoolPartitioning(request.getChannelPoolPartitioning())
+                .build();
+        WarmUpHandler handler = new WarmUpHandler();
+        NettyResponseFuture<Channel> future = newNettyRequestAndResponseFuture(scaleOutRequest, handler, null, proxy, false);
+        future.setWarmUp(true);
+        future.setPartitionKeyOverride(scaleOutKey);
+        future.setRoundRobinAddresses(singletonList((InetSocketAddress) busy.remoteAddress()));
+        future.toCompletableFuture().whenComplete((connection, t) -> {
+            channelManager.endHttp2ScaleOut(scaleOutKey);
+            if (connection == null) {
+                return;
+            }
+            Http2ConnectionState scaleOutState = connection.attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
+            if (scaleOutState == null) {
+                // the server picked HTTP/1.1 this time
+                channelManager.closeChannel(connection);
+                return;
+            }
+            int room = scaleOutState.getMaxConcurrentStreams() - scaleOutState.getActiveStreams();
+            for (NettyResponseFuture<?> moved : state.takePendingOpeners(room)) {
+                writeHttp2Request(moved, connection);
+            }
+        });
+        try {
+            sendRequestWithNewChannel(scaleOutRequest, proxy, future, handler);
+        } catch (Exception e) {
+            abort(null, future, e);
+        }
+    }
+
+    // HTTP/3 (AsyncHttpClientConfig#isHttp3Enabled()): the request goes on a request stream of the QUIC connection to the
+    // h3 alternative its origin advertised, or to the UDP port of the origin itself for a configured host. The stream
+    // carries HTTP/2 frames for Http2Handler and sendHttp2Frames, see Http3FrameAdapter. The resolved addresses are
+    // tried in the failed-IP cooldown order, the next one when the QUIC connection to one fails. When the stream
+    // cannot be opened the request is sent again over TCP; when it is the connections to all the addresses that
+    // failed, the next requests to the origin go over TCP as well: its alternative is forgotten, or its host set aside
+    // for a while.
+    private <T> ListenableFuture<T> sendRequestOverHttp3(Request request, AsyncHandler<T> asyncHandler, NettyResponseFuture<T> future,
+                                                         ProxyServer proxyServer, Http3Connections http3Connections,
+                                                         AltSvcCache.@Nullable Alternative alternative) {
+        NettyResponseFuture<T> newFuture = newNettyRequestAndResponseFuture(request, asyncHandler, future, proxyServer, false);
+        Uri uri = request.getUri();
+        String host = alternative != null && alternative.getHost() != null ? alternative.getHost() : uri.getHost();
+        int port = alternative != null ? alternative.getPort() : uri.getExplicitPort();
+        InetSocketAddress unresolvedRemoteAddress = InetSocketAddress.createUnresolved(host, port);
+        scheduleRequestTimeout(newFuture, unresolvedRemoteAddress);
+
+        resolveHostname(request, unresolvedRemoteAddress, asyncHandler).addListener((Future<List<InetSocketAddress>> resolved) -> {
+            if (!resolved.isSuccess()) {
+                sendHttp3RequestOverTcp(newFuture, resolved.cause(), true, http3Connections, alternative);
+                return;
+            }
+            List<InetSocketAddress> addresses = resolved.getNow();
+            if (ipCooldown != null && addresses.size() > 1) {
+                addresses = ipCooldown.reorder(uri.getHost(), addresses);
+            }
+            openHttp3Stream(newFuture, addresses, 0, http3Connections, alternative);
+        });
+        return newFuture;
+    }
+
+    private <T> void openHttp3Stream(NettyResponseFuture<T> future, List<InetSocketAddress> addresses, int index,
+                                     Http3Connections http3Connections, AltSvcCache.@Nullable Alternative alternative) {
+        Uri uri = future.getUri();
+        InetSocketAddress address = addresses.get(index);
+        http3Connections.openStream(uri, address, channelManager.getHttp2Handler())
+                .addListener((Future<Channel> opened) -> {
+                    if (opened.isSuccess()) {
+                        if (opened.getNow().eventLoop().inEventLoop()) {
+                            writeHttp3Request(future, opened.getNow());
+                        } else {
+                            opened.getNow().eventLoop().execute(() -> writeHttp3Request(future, opened.getNow()));
+                        }
+                        return;
+                    }
+                    Throwable cause = opened.cause();
+                    boolean connectionFailed = cause instanceof ConnectException;
+                    if (connectionFailed) {
+                        if (ipCooldown != null) {
+                            ipCooldown.markFailed(uri.getHost(), address);
+                        }
+                        if (index + 1 < addresses.size() && !future.isDone()) {
+                            LOGGER.debug("QUIC connection to {} failed, trying {}", address, addresses.get(index + 1), cause);
+                            openHttp3Stream(future, addresses, index + 1, http3Connections, alternative);
+                            return;
+                        }
+                    }
+                    sendHttp3RequestOverTcp(future, cause, connectionFailed, http3Connections, alternative);
+                });
+    }
+
+    private <T> void writeHttp3Request(NettyResponseFuture<T> future, Channel stream) {
+        // see openHttp2Stream: the closing of the stream frees a body an Expect: 100-continue request never sent
+        final NettyRequest openedRequest = future.getNettyRequest();
+        stream.closeFuture().addListener(closed -> openedRequest.release());
+        if (future.isDone()) {
+            // timed out or cancelled while connecting
+            stream.close();
+            return;
+        }
+
+        channelManager.registerOpenChannel(stream);
+        Channels.setAttribute(stream, future);
+        Channels.setActiveToken(stream);
+        future.attachChannel(stream, false);
+        try {
+            AsyncHandler<T> asyncHandler = future.getAsyncHandler();
+            try {
+                asyncHandler.onRequestSend(future.getNettyRequest());
+            } catch (Exception e) {
+                LOGGER.error("onRequestSend crashed", e);
+                abort(stream, future, e);
+                return;
+            }
+
+            if (asyncHandler instanceof TransferCompletionHandler) {
+                configureTransferAdapter(asyncHandler, future.getNettyRequest().getHttpRequest());
+            }
+
+            sendHttp2Frames(future, Http2StreamOutput.ofHttp3Stream(stream));
+            scheduleReadTimeout(future);
+        } catch (Exception e) {
+            LOGGER.error("Can't write HTTP/3 request", e);
+            abort(stream, future, e);
+        }
+    }
+
+    private <T> void sendHttp3RequestOverTcp(NettyResponseFuture<T> future, Throwable cause, boolean connectionFailed,
+                                             Http3Connections http3Connections, AltSvcCache.@Nullable Alternative alternative) {
+        releaseHttp2Request(future);
+        if (future.isDone()) {
+            return;
+        }
+        LOGGER.debug("Sending {} over TCP, its HTTP/3 stream could not be opened", future.getUri(), cause);
+        if (connectionFailed) {
+            AltSvcCache altSvcCache = channelManager.getAltSvcCache();
+            if (alternative != null && altSvcCache != null) {
+                altSvcCache.markBroken(future.getUri(), alternative);
+            } else {
+                http3Connections.markBroken(future.getUri());
+            }
+        }
+        future.cancelTimeouts();
+        future.setHttp3Disabled(true);
+        try {
+            sendNextRequest(future.getCurrentRequest(), future);
+        } catch (Exception e) {
+            abort(null, future, e);
+        }
+    }
+
     private <T> void openHttp2Stream(NettyResponseFuture<T> future, Channel parentChannel, Http2ConnectionState state) {
+        Http2StreamDispatcher dispatcher = Http2StreamDispatcher.of(parentChannel);
+        if (dispatcher != null) {
+            if (parentChannel.eventLoop().inEventLoop()) {
+                openLightweightHttp2Stream(future, parentChannel, state, dispatcher);
+            } else {
+                parentChannel.eventLoop().execute(() -> openLightweightHttp2Stream(future, parentChannel, state, dispatcher));
+            }
+            return;
+        }
         new Http2StreamChannelBootstrap(parentChannel)
+                // with consumer flow control, Http2FlowCredit returns the credit of consumed body parts instead
+                .option(Http2StreamChannelOption.AUTO_STREAM_FLOW_CONTROL, !config.isHttp2ConsumerFlowControlEnabled())
                 .handler(new ChannelInitializer<Http2StreamChannel>() {
                     @Override
                     protected void initChannel(Http2StreamChannel streamCh) {
+                        if (config.isHttp2ConsumerFlowControlEnabled()) {
+                            streamCh.pipeline().addLast("http2-flow-credit", new Http2FlowCredit(parentChannel,
+                                    parentChannel.pipeline().get(Http2FrameCodec.class), streamCh.stream()));
+                        }
                         if (config.isEnableAutomaticDecompression()) {
                             streamCh.pipeline().addLast("http2-decompressor",
                                     new Http2ContentDecompressor(config.isKeepEncodingHeader(),
@@ -812,24 +1340,7 @@ public final class NettyRequestSender {
                         // guaranteed to run exactly once per opened stream, so activeStreams cannot leak and
                         // wedge the connection. (The open-FAILURE branch below has no channel and releases
                         // inline.) The listener also closes a draining connection once its last stream ends.
-                        streamChannel.closeFuture().addListener(closed -> {
-                            // Safety net: free the request body when the stream ends, however it ends —
-                            // covers an Expect/100-continue request whose server answered the final response
-                            // without a 100, so the deferred body was never sent (hence never released).
-                            // Idempotent with the prompt releases on the normal/abort paths.
-                            if (openedRequest != null) {
-                                openedRequest.release();
-                            }
-                            if (state != null) {
-                                state.releaseStream();
-                                // Close the parent once it has no active streams AND it is either draining
-                                // (GOAWAY) or a redundant duplicate (#10 thundering-herd loser) — neither
-                                // will serve further requests, so it must not linger open.
-                                if ((state.isDraining() || state.isRedundant()) && state.getActiveStreams() <= 0) {
-                                    channelManager.closeChannel(parentChannel);
-                                }
-                            }
-                        });
+                        streamChannel.closeFuture().addListener(closed -> onHttp2StreamClosed(openedRequest, parentChannel, state));
 
                         channelManager.registerOpenChannel(streamChannel);
                         Channels.setAttribute(streamChannel, future);
@@ -853,7 +1364,7 @@ public final class NettyRequestSender {
                                 configureTransferAdapter(asyncHandler, future.getNettyRequest().getHttpRequest());
                             }
 
-                            sendHttp2Frames(future, streamChannel);
+                            sendHttp2Frames(future, Http2StreamOutput.of(streamChannel));
                             scheduleReadTimeout(future);
                         } catch (Exception e) {
                             LOGGER.error("Can't write HTTP/2 request", e);
@@ -881,11 +1392,75 @@ public final class NettyRequestSender {
                 });
     }
 
+    /**
+     * Opens a stream for the request on a connection whose streams are driven by an {@link Http2StreamDispatcher}
+     * rather than child channels, and writes the request on it. The future is attached to no channel: the dispatcher
+     * resets the stream when the future completes from outside, e.g. on a timeout.
+     */
+    private <T> void openLightweightHttp2Stream(NettyResponseFuture<T> future, Channel parentChannel, Http2ConnectionState state,
+                                                Http2StreamDispatcher dispatcher) {
+        final NettyRequest openedRequest = future.getNettyRequest();
+        if (future.isDone()) {
+            // cancelled or timed out while queued for a stream slot
+            onHttp2StreamClosed(openedRequest, parentChannel, state);
+            return;
+        }
+        Http2StreamOutput stream = dispatcher.openStream(future);
+        stream.addCloseListener(() -> onHttp2StreamClosed(openedRequest, parentChannel, state));
+        future.attachChannel(null, false);
+        try {
+            AsyncHandler<T> asyncHandler = future.getAsyncHandler();
+            try {
+                asyncHandler.onRequestSend(future.getNettyRequest());
+            } catch (Exception e) {
+                LOGGER.error("onRequestSend crashed", e);
+                releaseHttp2Request(future);
+                abort(parentChannel, future, e);
+                return;
+            }
+
+            if (asyncHandler instanceof TransferCompletionHandler) {
+                configureTransferAdapter(asyncHandler, future.getNettyRequest().getHttpRequest());
+            }
+
+            sendHttp2Frames(future, stream);
+            scheduleReadTimeout(future);
+        } catch (Exception e) {
+            LOGGER.error("Can't write HTTP/2 request", e);
+            // aborting the future ends the stream, which releases the slot
+            releaseHttp2Request(future);
+            abort(parentChannel, future, e);
+        }
+    }
+
+    // Runs once per opened stream, however it ends.
+    private void onHttp2StreamClosed(NettyRequest openedRequest, Channel parentChannel, Http2ConnectionState state) {
+        // Safety net: free the request body when the stream ends, however it ends —
+        // covers an Expect/100-continue request whose server answered the final response
+        // without a 100, so the deferred body was never sent (hence never released).
+        // Idempotent with the prompt releases on the normal/abort paths.
+        if (openedRequest != null) {
+            openedRequest.release();
+        }
+        if (state != null) {
+            state.releaseStream();
+            // Close the parent once it has no active streams AND it is either draining
+            // (GOAWAY), a redundant duplicate (#10 thundering-herd loser) or degraded (its RTT,
+            // see ChannelManager#checkHttp2ConnectionRtt) — none will serve further requests,
+            // so it must not linger open.
+            if ((state.isDraining() || state.isRedundant() || state.isDegraded()) && state.getActiveStreams() <= 0) {
+                channelManager.closeChannel(parentChannel);
+            } else if (config.getHttp2MaxConnectionsPerHost() > 1) {
+                channelManager.retireIdleHttp2Connection(parentChannel);
+            }
+        }
+    }
+
     /**
      * Builds and writes HTTP/2 frames for the given request on the stream child channel.
      * <p>
-     * Manually assembles {@link DefaultHttp2Headers} with HTTP/2 pseudo-headers (:method, :path,
-     * :scheme, :authority) plus all regular request headers, then writes them as a
+     * Writes the request's {@link Http2Headers} — HTTP/2 pseudo-headers (:method, :path, :scheme, :authority)
+     * plus all regular request headers, see {@link NettyRequestFactory#toHttp2Headers} — as a
      * {@link DefaultHttp2HeadersFrame}. If the request has a body, writes it as a
      * {@link DefaultHttp2DataFrame} with {@code endStream=true}.
      * <p>
@@ -893,49 +1468,18 @@ public final class NettyRequestSender {
      * {@link org.asynchttpclient.netty.request.body.NettyDirectBody}). Streaming bodies
      * (file uploads, input streams) are not yet supported over HTTP/2.
      */
-    private <T> void sendHttp2Frames(NettyResponseFuture<T> future, Http2StreamChannel streamChannel) throws IOException {
+    private <T> void sendHttp2Frames(NettyResponseFuture<T> future, Http2StreamOutput streamChannel) throws IOException {
         NettyRequest nettyRequest = future.getNettyRequest();
         HttpRequest httpRequest = nettyRequest.getHttpRequest();
         Uri uri = future.getUri();
         boolean releaseRequest = true;
 
         try {
-            // Build HTTP/2 pseudo-headers + regular headers. :path reuses Uri.toRelativeUrl() (pooled
-            // StringBuilder) instead of re-concatenating path + "?" + query on every request.
-            // :authority must carry the effective Host — RFC 9113 §8.3.1 makes :authority authoritative and
-            // it replaces the Host header (which isHttp2ExcludedHeader strips below). Reuse the Host the
-            // request factory already computed (which honours setVirtualHost(...) and any explicit Host,
-            // NettyRequestFactory) instead of re-deriving from the URI, so a virtual host is not dropped on
-            // HTTP/2 the way it would be with a bare hostHeader(uri).
-            // RFC 9113 §8.3.1: :authority MUST NOT include the deprecated userinfo subcomponent, so strip any
-            // "user@" / "user:pass@" prefix from the effective Host before it becomes :authority.
-            CharSequence hostValue = httpRequest.headers().get(HttpHeaderNames.HOST);
-            CharSequence authority = stripUserInfo(hostValue != null ? hostValue : hostHeader(uri));
-            Http2Headers h2Headers = new DefaultHttp2Headers()
-                    .method(httpRequest.method().name())
-                    .path(uri.toRelativeUrl())
-                    .scheme(uri.getScheme())
-                    .authority(authority);
-
-            // Copy the HTTP/1.1 headers, dropping connection-specific names forbidden in HTTP/2 (RFC 7540
-            // §8.1.2.2). iteratorCharSequence() avoids the per-name String the String-typed iterator forces;
-            // see isHttp2ExcludedHeader and toLowerCaseHeaderName for the skip-check and lowercasing rules.
-            Iterator<Map.Entry<CharSequence, CharSequence>> it = httpRequest.headers().iteratorCharSequence();
-            while (it.hasNext()) {
-                Map.Entry<CharSequence, CharSequence> entry = it.next();
-                CharSequence name = entry.getKey();
-                CharSequence value = entry.getValue();
-                if (isHttp2ExcludedHeader(name)) {
-                    continue;
-                }
-                // RFC 9113 §8.2.2: TE MUST NOT be sent over HTTP/2 with any value other than "trailers".
-                // Forwarding a user's "TE: gzip" verbatim makes a conformant server reset the stream
-                // (PROTOCOL_ERROR), so drop every TE value except the permitted "trailers".
-                if (HttpHeaderNames.TE.contentEqualsIgnoreCase(name)
-                        && !HttpHeaderValues.TRAILERS.contentEqualsIgnoreCase(value)) {
-                    continue;
-                }
-                h2Headers.add(toLowerCaseHeaderName(name), http2HeaderValue(name, value));
+            // A request built for this HTTP/2 connection carries its HEADERS already; the headers of one built as
+            // HTTP/1.1 (for a new connection, through a proxy, with a streaming body) are converted.
+            Http2Headers h2Headers = nettyRequest.getHttp2Headers();
+            if (h2Headers == null) {
+                h2Headers = NettyRequestFactory.toHttp2Headers(httpRequest, uri);
             }
 
             // Determine the body to send: an in-memory buffer (DefaultFullHttpRequest content or a
@@ -973,13 +1517,6 @@ public final class NettyRequestSender {
         }
     }
 
-    private static CharSequence http2HeaderValue(CharSequence name, CharSequence value) {
-        if (value == GZIP_DEFLATE && HttpHeaderNames.ACCEPT_ENCODING.contentEqualsIgnoreCase(name)) {
-            return GZIP_DEFLATE_HPACK;
-        }
-        return value;
-    }
-
     /**
      * Sends the body of an HTTP/2 request whose HEADERS were already written with {@code endStream=false}
      * because it carried {@code Expect: 100-continue}. Invoked by {@code Continue100Interceptor} once the
@@ -987,6 +1524,29 @@ public final class NettyRequestSender {
      * releases the request.
      */
     public void sendHttp2RequestBody(NettyResponseFuture<?> future, Http2StreamChannel streamChannel) throws IOException {
+        sendHttp2RequestBody(future, Http2StreamOutput.of(streamChannel));
+    }
+
+    /**
+     * Sends the deferred body of an HTTP/2 request, as {@link #sendHttp2RequestBody(NettyResponseFuture, Http2StreamChannel)}
+     * does, on the channel its response is handled on.
+     *
+     * @param channel a stream child channel, an HTTP/3 request stream, or the connection of a stream driven by an
+     *                {@link Http2StreamDispatcher}
+     */
+    public void sendHttp2RequestBody(NettyResponseFuture<?> future, Channel channel) throws IOException {
+        Http2StreamOutput stream = channel instanceof Http2StreamChannel
+                ? Http2StreamOutput.of((Http2StreamChannel) channel)
+                : ChannelManager.isHttp3Stream(channel)
+                ? Http2StreamOutput.ofHttp3Stream(channel)
+                : Http2StreamDispatcher.streamOf(channel, future);
+        if (stream == null) {
+            throw new IOException("HTTP/2 stream of " + future + " is closed");
+        }
+        sendHttp2RequestBody(future, stream);
+    }
+
+    private void sendHttp2RequestBody(NettyResponseFuture<?> future, Http2StreamOutput streamChannel) throws IOException {
         NettyRequest nettyRequest = future.getNettyRequest();
         NettyBody nettyBody = nettyRequest.getBody();
         ByteBuf bodyBuf = http2BodyBuf(nettyRequest.getHttpRequest(), nettyBody);
@@ -996,7 +1556,8 @@ public final class NettyRequestSender {
                 writeHttp2BodyFrames(future, streamChannel, bodyBuf, hasStreamingBody, nettyBody);
             } else {
                 // No body materialised (unexpected on this path) — just end the stream.
-                streamChannel.writeAndFlush(new DefaultHttp2DataFrame(streamChannel.alloc().buffer(0), true));
+                streamChannel.write(new DefaultHttp2DataFrame(streamChannel.alloc().buffer(0), true));
+                streamChannel.flush();
             }
         } finally {
             nettyRequest.release();
@@ -1028,7 +1589,7 @@ public final class NettyRequestSender {
      * Writes the request body as HTTP/2 DATA frame(s) with {@code endStream=true} (the HEADERS frame has
      * already been written).
      */
-    private void writeHttp2BodyFrames(NettyResponseFuture<?> future, Http2StreamChannel streamChannel,
+    private void writeHttp2BodyFrames(NettyResponseFuture<?> future, Http2StreamOutput streamChannel,
                                       ByteBuf bodyBuf, boolean hasStreamingBody, NettyBody nettyBody) throws IOException {
         if (hasStreamingBody) {
             streamChannel.flush();
@@ -1092,7 +1653,9 @@ public final class NettyRequestSender {
             future.abort(t);
         }
 
-        if (channel != null && channel.isActive()) {
+        // The connection of a stream driven by an Http2StreamDispatcher is not the future's channel: it carries the
+        // sibling streams, and the abort of the future already reset this one.
+        if (channel != null && channel.isActive() && (channel == future.channel() || !ChannelManager.isHttp2(channel))) {
             channelManager.closeChannel(channel);
         }
     }
@@ -1110,7 +1673,8 @@ public final class NettyRequestSender {
     }
 
     public boolean retry(NettyResponseFuture<?> future) {
-        if (isClosed()) {
+        // a retry would go through sendRequest, which writes the request; a failed warm-up connection is just dropped
+        if (isClosed() || future.isWarmUp()) {
             return false;
         }
 
@@ -1230,9 +1794,7 @@ public final class NettyRequestSender {
         // future.basePartitionKey() so a filter replay that rewrites the host still polls the correct key
         // (the future's targetRequest is only kept in sync on the redirect path).
         Object override = future.getPartitionKeyOverride();
-        Object h2Key = override != null ? override
-                : request.getChannelPoolPartitioning().getPartitionKey(request.getUri(), request.getVirtualHost(), proxy);
-        Channel h2Channel = pollHttp2(h2Key);
+        Channel h2Channel = pollHttp2(http2KeyOf(request, proxy, override), request.getUri().getHost());
         if (h2Channel != null) {
             return sendRequestWithOpenChannel(future, asyncHandler, h2Channel);
         }
@@ -1302,9 +1864,7 @@ public final class NettyRequestSender {
             // A connection may have registered between the caller's poll (in reuseOrDeferHttp2Connection) and
             // addHttp2ConnectionWaiter above — a lost wakeup. Re-poll now that the waiter is registered, using
             // the same live-request key the caller resolved.
-            Object h2Key = override != null ? override
-                    : request.getChannelPoolPartitioning().getPartitionKey(request.getUri(), request.getVirtualHost(), proxy);
-            Channel raced = pollHttp2(h2Key);
+            Channel raced = pollHttp2(http2KeyOf(request, proxy, override), request.getUri().getHost());
             if (raced != null) {
                 accept(raced);
             }
@@ -1339,6 +1899,81 @@ public final class NettyRequestSender {
         }
     }
 
+    // The key an HTTP/2 connection for the request is registered under: the IP-pinned override in round-robin mode,
+    // the per-host base key otherwise. Derived from the live request rather than future.basePartitionKey(), so that a
+    // filter replay rewriting the host polls the right key.
+    private static Object http2KeyOf(Request request, ProxyServer proxy, Object override) {
+        return override != null ? override
+                : request.getChannelPoolPartitioning().getPartitionKey(request.getUri(), request.getVirtualHost(), proxy);
+    }
+
+    /**
+     * A request queued in the {@link ConnectionAcquisitionQueue} because the connection limits were reached when it
+     * needed a new connection. It resumes on a connection released by another request, or opens one with a released
+     * permit; it fails with the original permit exception when neither happens within
+     * {@code acquireFreeChannelTimeout}, as the blocking acquire would have.
+     */
+    private final class QueuedAcquisition<T> extends ConnectionAcquisitionQueue.Waiter {
+
+        private final Request request;
+        private final ProxyServer proxy;
+        private final NettyResponseFuture<T> future;
+        private final AsyncHandler<T> asyncHandler;
+        private final IOException semaphoreException;
+
+        QueuedAcquisition(Request request, ProxyServer proxy, NettyResponseFuture<T> future, AsyncHandler<T> asyncHandler,
+                          IOException semaphoreException) {
+            super(future.getPartitionKey());
+            this.request = request;
+            this.proxy = proxy;
+            this.future = future;
+            this.asyncHandler = asyncHandler;
+            this.semaphoreException = semaphoreException;
+        }
+
+        @Override
+        protected void acquirePermit() throws IOException {
+            future.acquirePartitionLockLazily(true);
+        }
+
+        @Override
+        protected void releasePermit() {
+            Object partitionKey = future.takePartitionKeyLock();
+            if (partitionKey != null) {
+                connectionSemaphore.releaseChannelLock(partitionKey);
+            }
+        }
+
+        @Override
+        protected boolean isDone() {
+            return future.isDone();
+        }
+
+        @Override
+        protected void onPermit() {
+            if (!future.isDone()) {
+                connectWithPermit(request, proxy, future, asyncHandler);
+            }
+        }
+
+        @Override
+        protected void onChannel(Channel channel) {
+            if (future.isDone()) {
+                // cancelled since it was handed the channel: give it to the next request, or to the pool
+                if (!ChannelManager.isHttp2(channel)) {
+                    channelManager.tryToOfferChannelToPool(channel, asyncHandler, true, future.getPartitionKey());
+                }
+                return;
+            }
+            sendRequestWithOpenChannel(future, asyncHandler, channel);
+        }
+
+        @Override
+        protected void onTimeout() {
+            abort(null, future, semaphoreException);
+        }
+    }
+
     // Polls the HTTP/2 registry for the already-resolved partition key (computed once by the caller from the
     // live request). In round-robin mode the key is the per-IP RoundRobinPartitionKey: the exact per-IP
     // connection is tried first (keeping reuse pinned to this request's IP), and only if that misses do we
@@ -1346,10 +1981,13 @@ public final class NettyRequestSender {
     // instead of failing (issue #2214). Otherwise the key is the plain per-host base key and no sibling
     // fallback applies. The fallback is confined to this permit-failure path — the happy path
     // (pollPooledChannel) deliberately does not use it, so steady-state reuse keeps spreading across IPs.
-    private Channel pollHttp2(Object h2Key) {
+    // The fallback never picks a sibling whose IP is ejected by outlier detection.
+    private Channel pollHttp2(Object h2Key, String host) {
         Channel h2Channel = channelManager.pollHttp2Connection(h2Key);
         if (h2Channel == null && h2Key instanceof RoundRobinPartitionKey) {
-            h2Channel = channelManager.pollHttp2SiblingConnection(((RoundRobinPartitionKey) h2Key).getBaseKey());
+            Predicate<InetAddress> ejected = ipCooldown != null && ipCooldown.hasEjections(host)
+                    ? address -> ipCooldown.isEjected(host, address) : null;
+            h2Channel = channelManager.pollHttp2SiblingConnection(((RoundRobinPartitionKey) h2Key).getBaseKey(), ejected);
         }
         return h2Channel;
     }
@@ -1381,20 +2019,21 @@ public final class NettyRequestSender {
         // HTTP/2 registry and the HTTP/1.1 pool).
         Object override = future != null ? future.getPartitionKeyOverride() : null;
         if (override != null) {
+            Object baseKey = ((RoundRobinPartitionKey) override).getBaseKey();
             if (!uri.isWebSocket()) {
                 Channel h2Channel = channelManager.pollHttp2Connection(override);
                 if (h2Channel != null) {
                     if (LOGGER.isDebugEnabled()) {
                         LOGGER.debug("Using HTTP/2 multiplexed Channel '{}' for '{}' to '{}'", h2Channel, request.getMethod(), uri);
                     }
-                    return h2Channel;
+                    return recordPoolLookup(h2Channel, baseKey, request);
                 }
             }
             Channel channel = channelManager.poll(override);
             if (channel != null && LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Using pooled Channel '{}' for '{}' to '{}'", channel, request.getMethod(), uri);
             }
-            return channel;
+            return recordPoolLookup(channel, baseKey, request);
         }
 
         // Check HTTP/2 connection registry first — these connections support multiplexing and are not
@@ -1415,7 +2054,7 @@ public final class NettyRequestSender {
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("Using HTTP/2 multiplexed Channel '{}' for '{}' to '{}'", h2Channel, request.getMethod(), uri);
                 }
-                return h2Channel;
+                return recordPoolLookup(h2Channel, partitionKey, request);
             }
         }
 
@@ -1424,6 +2063,20 @@ public final class NettyRequestSender {
         if (channel != null && LOGGER.isDebugEnabled()) {
             LOGGER.debug("Using pooled Channel '{}' for '{}' to '{}'", channel, request.getMethod(), uri);
         }
+        return recordPoolLookup(channel, partitionKey, request);
+    }
+
+    // Counts the lookup in the client stats and, when pool maintenance is on, in the demand of its partition. Only
+    // the partitions warmUp opens connections into are tracked: the default partitioning of a request without
+    // virtual host or request-level proxy.
+    private Channel recordPoolLookup(Channel channel, Object baseKey, Request request) {
+        boolean hit = channel != null;
+        channelManager.recordPoolLookup(hit);
+        if (poolMaintainer != null && request.getVirtualHost() == null && request.getProxyServer() == null
+                && request.getChannelPoolPartitioning() == ChannelPoolPartitioning.PerHostChannelPoolPartitioning.INSTANCE
+                && !request.getUri().isWebSocket()) {
+            poolMaintainer.record(baseKey, request.getUri(), hit);
+        }
         return channel;
     }
 
@@ -1450,9 +2103,8 @@ public final class NettyRequestSender {
         // the old stream (so the stream's imminent channelInactive does not fail the just-replayed request —
         // the same disconnect drainChannelAndOffer performs by swapping the channel attribute) and close it,
         // which fires the closeFuture slot release. The replay opens a fresh stream/connection below.
-        if (channel instanceof Http2StreamChannel) {
-            Channels.setDiscard(channel);
-            channelManager.closeChannel(channel);
+        if (ChannelManager.isHttp2Stream(channel)) {
+            channelManager.discardHttp2Stream(channel, future);
         } else {
             channelManager.drainChannelAndOffer(channel, future);
         }
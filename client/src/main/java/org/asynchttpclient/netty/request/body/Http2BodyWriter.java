@@ -19,8 +19,6 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
-import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
 import io.netty.handler.codec.http2.Http2StreamChannel;
 import org.slf4j.Logger;
@@ -29,7 +27,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 
 /**
- * Streams a request body to an HTTP/2 stream child channel as a sequence of
+ * Streams a request body to an {@link Http2StreamOutput HTTP/2 stream} as a sequence of
  * {@link DefaultHttp2DataFrame DATA frames}, honouring HTTP/2 flow control and channel writability.
  * <p>
  * The previous implementation looped over the whole body up front, queuing one DATA frame per chunk
@@ -44,8 +42,8 @@ import java.io.IOException;
  *   <li>It only produces the next chunk while {@link Http2StreamChannel#isWritable()} is {@code true}.
  *       A stream child channel becomes unwritable when the HTTP/2 flow-control window is exhausted or
  *       the local high-water mark is reached (child writes go through {@code incrementPendingOutboundBytes}).
- *       When it goes unwritable the pump parks; a transient {@link ChannelInboundHandlerAdapter} added to
- *       the stream pipeline resumes it from {@code channelWritabilityChanged}.</li>
+ *       When it goes unwritable the pump parks; the {@link Http2StreamOutput#setWritabilityListener writability
+ *       listener} of the stream (a transient handler in the stream pipeline of a child channel) resumes it.</li>
  *   <li>It reads one chunk ahead so the <em>final</em> DATA frame can carry {@code endStream=true};
  *       an empty body still sends a single empty DATA frame with {@code endStream=true}.</li>
  *   <li>This writer holds at most one buffered "pending" chunk across a writability wait. Production stops
@@ -57,14 +55,14 @@ import java.io.IOException;
  * <strong>Lifecycle / cleanup.</strong> Because the pump completes asynchronously (after {@code writeHttp2}
  * returns), source cleanup ({@link ChunkSource#close()}) happens when the pump finishes — on success after
  * the last write completes, or on any read/write error. {@link #finish(Throwable)} is idempotent: it closes
- * the source, removes the transient writability handler, releases any unwritten chunk it still owns, and on
- * error closes the stream channel. Closing the stream channel fires {@code channelInactive}, which
- * AsyncHttpClient's {@code Http2Handler.handleChannelInactive} turns into a stream-scoped failure of the
- * request future — matching how the rest of the HTTP/2 path signals stream errors without touching sibling
- * multiplexed streams.
+ * the source, removes the writability listener, releases any unwritten chunk it still owns, and on error
+ * closes the stream. Closing a stream child channel fires {@code channelInactive}, which AsyncHttpClient's
+ * {@code Http2Handler.handleChannelInactive} turns into a stream-scoped failure of the request future, and a
+ * stream driven without a child channel is failed the same way when its reset closes it — matching how the
+ * rest of the HTTP/2 path signals stream errors without touching sibling multiplexed streams.
  * <p>
  * <strong>Reference counting.</strong> Each chunk {@link ByteBuf} is owned by this writer from allocation
- * until it is wrapped in a {@link DefaultHttp2DataFrame} and handed to {@link Http2StreamChannel#write},
+ * until it is wrapped in a {@link DefaultHttp2DataFrame} and handed to {@link Http2StreamOutput#write},
  * after which Netty owns and releases it (including on write failure). The only buffer held across an await
  * is the single {@code pending} chunk, which {@link #finish(Throwable)} releases if it was never written.
  */
@@ -116,7 +114,7 @@ final class Http2BodyWriter {
         void close();
     }
 
-    private final Http2StreamChannel channel;
+    private final Http2StreamOutput channel;
     private final ChunkSource source;
 
     // Single buffered chunk read ahead so the final DATA frame can carry endStream=true. Owned by this
@@ -130,14 +128,14 @@ final class Http2BodyWriter {
     private boolean pumping;
     private boolean terminalWritten;
 
-    // Transient handler that resumes the pump when the channel becomes writable again. Added lazily the
-    // first time the pump parks, removed by finish().
-    private WritabilityResumeHandler resumeHandler;
+    // Whether the pump listens for the stream becoming writable again. Set lazily the first time the pump
+    // parks, cleared by finish().
+    private boolean resumeListening;
 
     // Set while the pump is parked on a ChunkSource.SUSPEND, to ignore spurious/duplicate feed resumes.
     private boolean suspended;
 
-    private Http2BodyWriter(Http2StreamChannel channel, ChunkSource source) {
+    private Http2BodyWriter(Http2StreamOutput channel, ChunkSource source) {
         this.channel = channel;
         this.source = source;
         source.onResume(this::resumeFromSuspend);
@@ -149,7 +147,7 @@ final class Http2BodyWriter {
         // finish() is idempotent and runs on the event loop (closeFuture fires there), so this is a no-op
         // once the pump has completed normally. cause=null: the stream is already closed, so finish() only
         // needs to release resources — the request future is failed separately via handleChannelInactive.
-        channel.closeFuture().addListener(f -> finish(null));
+        channel.addCloseListener(() -> finish(null));
     }
 
     /**
@@ -173,6 +171,13 @@ final class Http2BodyWriter {
      * with {@code endStream=false}) must not write further frames on this stream.
      */
     static void start(Http2StreamChannel channel, ChunkSource source) {
+        start(Http2StreamOutput.of(channel), source);
+    }
+
+    /**
+     * Starts streaming {@code source} to {@code channel}, as {@link #start(Http2StreamChannel, ChunkSource)} does.
+     */
+    static void start(Http2StreamOutput channel, ChunkSource source) {
         Http2BodyWriter writer = new Http2BodyWriter(channel, source);
         if (channel.eventLoop().inEventLoop()) {
             writer.pump();
@@ -278,9 +283,18 @@ final class Http2BodyWriter {
     }
 
     private void ensureResumeHandler() {
-        if (resumeHandler == null) {
-            resumeHandler = new WritabilityResumeHandler();
-            channel.pipeline().addLast(resumeHandler);
+        if (!resumeListening) {
+            resumeListening = true;
+            channel.setWritabilityListener(this::resumeFromWritability);
+        }
+    }
+
+    /**
+     * Resumes the parked pump when the stream becomes writable again.
+     */
+    private void resumeFromWritability() {
+        if (!done && !terminalWritten && channel.isWritable()) {
+            pump();
         }
     }
 
@@ -300,12 +314,9 @@ final class Http2BodyWriter {
             pending = null;
         }
 
-        if (resumeHandler != null) {
-            // removeLast/remove may be called from within the handler's own callback; Netty handles this.
-            if (channel.pipeline().context(resumeHandler) != null) {
-                channel.pipeline().remove(resumeHandler);
-            }
-            resumeHandler = null;
+        if (resumeListening) {
+            channel.setWritabilityListener(null);
+            resumeListening = false;
         }
 
         try {
@@ -322,17 +333,4 @@ final class Http2BodyWriter {
             channel.close();
         }
     }
-
-    /**
-     * Resumes the parked pump when the stream channel becomes writable again.
-     */
-    private final class WritabilityResumeHandler extends ChannelInboundHandlerAdapter {
-        @Override
-        public void channelWritabilityChanged(ChannelHandlerContext ctx) {
-            if (!done && !terminalWritten && ctx.channel().isWritable()) {
-                pump();
-            }
-            ctx.fireChannelWritabilityChanged();
-        }
-    }
 }
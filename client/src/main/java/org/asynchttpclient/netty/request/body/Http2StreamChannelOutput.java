@@ -0,0 +1,107 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.request.body;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoop;
+import io.netty.handler.codec.http2.Http2StreamFrame;
+
+/**
+ * An {@link Http2StreamOutput} over a stream child channel, or over an HTTP/3 request stream whose pipeline translates
+ * the HTTP/2 frames. Writability changes are picked up by a transient handler added to the stream pipeline while a
+ * listener is set.
+ */
+final class Http2StreamChannelOutput implements Http2StreamOutput {
+
+    private final Channel channel;
+    private WritabilityHandler writabilityHandler;
+
+    Http2StreamChannelOutput(Channel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public EventLoop eventLoop() {
+        return channel.eventLoop();
+    }
+
+    @Override
+    public ByteBufAllocator alloc() {
+        return channel.alloc();
+    }
+
+    @Override
+    public ChannelFuture write(Http2StreamFrame frame) {
+        return channel.write(frame);
+    }
+
+    @Override
+    public void flush() {
+        channel.flush();
+    }
+
+    @Override
+    public boolean isWritable() {
+        return channel.isWritable();
+    }
+
+    @Override
+    public void setWritabilityListener(Runnable listener) {
+        if (listener != null) {
+            if (writabilityHandler == null) {
+                writabilityHandler = new WritabilityHandler(listener);
+                channel.pipeline().addLast(writabilityHandler);
+            }
+        } else if (writabilityHandler != null) {
+            // may be called from within the handler's own callback; Netty handles this
+            if (channel.pipeline().context(writabilityHandler) != null) {
+                channel.pipeline().remove(writabilityHandler);
+            }
+            writabilityHandler = null;
+        }
+    }
+
+    @Override
+    public void addCloseListener(Runnable listener) {
+        channel.closeFuture().addListener(f -> listener.run());
+    }
+
+    @Override
+    public void close() {
+        channel.close();
+    }
+
+    private static final class WritabilityHandler extends ChannelInboundHandlerAdapter {
+
+        private final Runnable listener;
+
+        WritabilityHandler(Runnable listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+            if (ctx.channel().isWritable()) {
+                listener.run();
+            }
+            ctx.fireChannelWritabilityChanged();
+        }
+    }
+}
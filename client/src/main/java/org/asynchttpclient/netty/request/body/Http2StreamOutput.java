@@ -0,0 +1,89 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.request.body;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamFrame;
+
+/**
+ * The HTTP/2 stream a request is written to: a stream child channel of the connection's
+ * {@link io.netty.handler.codec.http2.Http2MultiplexHandler}, a stream driven directly on the connection's frame
+ * codec when {@link org.asynchttpclient.AsyncHttpClientConfig#isHttp2LightweightStreamsEnabled()} is set, or an
+ * HTTP/3 request stream.
+ * <p>
+ * All methods but {@link #eventLoop()} must be called on the event loop.
+ */
+public interface Http2StreamOutput {
+
+    /**
+     * @param channel a stream child channel
+     * @return an output writing to {@code channel}
+     */
+    static Http2StreamOutput of(Http2StreamChannel channel) {
+        return new Http2StreamChannelOutput(channel);
+    }
+
+    /**
+     * @param channel an HTTP/3 request stream, see {@link org.asynchttpclient.netty.handler.Http3FrameAdapter}
+     * @return an output writing to {@code channel}
+     */
+    static Http2StreamOutput ofHttp3Stream(Channel channel) {
+        return new Http2StreamChannelOutput(channel);
+    }
+
+    EventLoop eventLoop();
+
+    ByteBufAllocator alloc();
+
+    /**
+     * Writes a HEADERS or DATA frame of this stream without flushing it. The frame is owned by the transport from
+     * then on, including when the write fails.
+     *
+     * @param frame the frame, not yet bound to a stream
+     * @return the future of the write
+     */
+    ChannelFuture write(Http2StreamFrame frame);
+
+    void flush();
+
+    /**
+     * @return whether a DATA frame can be written without exceeding the flow-control windows or the write buffer
+     */
+    boolean isWritable();
+
+    /**
+     * Sets the callback run when the stream may have become writable again.
+     *
+     * @param listener the callback, or {@code null} to remove it
+     */
+    void setWritabilityListener(Runnable listener);
+
+    /**
+     * Runs {@code listener} on the event loop once the stream is closed, however it is closed.
+     *
+     * @param listener the callback
+     */
+    void addCloseListener(Runnable listener);
+
+    /**
+     * Resets the stream, which fails its request unless it is already done.
+     */
+    void close();
+}
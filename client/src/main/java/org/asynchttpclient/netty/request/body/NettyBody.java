@@ -32,6 +32,10 @@ public interface NettyBody {
     void write(Channel channel, NettyResponseFuture<?> future) throws IOException;
 
     default void writeHttp2(Http2StreamChannel channel, NettyResponseFuture<?> future) throws IOException {
+        writeHttp2(Http2StreamOutput.of(channel), future);
+    }
+
+    default void writeHttp2(Http2StreamOutput output, NettyResponseFuture<?> future) throws IOException {
         throw new UnsupportedOperationException(
                 "Streaming request bodies (" + getClass().getSimpleName()
                         + ") are not yet supported over HTTP/2. Use an in-memory body or disable HTTP/2.");
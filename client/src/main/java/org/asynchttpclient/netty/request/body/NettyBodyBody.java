@@ -20,7 +20,6 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelProgressiveFuture;
 import io.netty.handler.codec.http.LastHttpContent;
-import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.handler.stream.ChunkedWriteHandler;
 import org.asynchttpclient.AsyncHttpClientConfig;
 import org.asynchttpclient.netty.NettyResponseFuture;
@@ -94,13 +93,13 @@ public class NettyBodyBody implements NettyBody {
     }
 
     @Override
-    public void writeHttp2(Http2StreamChannel channel, NettyResponseFuture<?> future) throws IOException {
+    public void writeHttp2(Http2StreamOutput output, NettyResponseFuture<?> future) throws IOException {
         // Stream the body one bounded chunk at a time with HTTP/2 flow control / writability backpressure,
         // so a large body does not buffer in heap or get drained inline on the event loop. Cleanup
         // (closeSilently(body)) happens when the async pump completes — see BodyChunkSource.close.
         BodyGenerator bg = future.getTargetRequest().getBodyGenerator();
         FeedableBodyGenerator feedable = bg instanceof FeedableBodyGenerator ? (FeedableBodyGenerator) bg : null;
-        Http2BodyWriter.start(channel, new BodyChunkSource(body, feedable));
+        Http2BodyWriter.start(output, new BodyChunkSource(body, feedable));
     }
 
     /**
@@ -20,7 +20,6 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.DefaultFileRegion;
 import io.netty.handler.codec.http.LastHttpContent;
-import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.handler.stream.ChunkedNioFile;
 import org.asynchttpclient.AsyncHttpClientConfig;
 import org.asynchttpclient.netty.NettyResponseFuture;
@@ -78,12 +77,12 @@ public class NettyFileBody implements NettyBody {
     }
 
     @Override
-    public void writeHttp2(Http2StreamChannel channel, NettyResponseFuture<?> future) throws IOException {
+    public void writeHttp2(Http2StreamOutput output, NettyResponseFuture<?> future) throws IOException {
         // Stream the file region one bounded chunk at a time with HTTP/2 flow control / writability
         // backpressure, so a large file upload does not buffer in heap or read the whole file inline on the
         // event loop. The file is opened here so an open failure still surfaces synchronously to the caller's
         // openHttp2Stream catch; cleanup happens when the async pump completes (see FileChunkSource.close).
-        Http2BodyWriter.start(channel, new FileChunkSource(file, offset, length, config.getChunkedFileChunkSize()));
+        Http2BodyWriter.start(output, new FileChunkSource(file, offset, length, config.getChunkedFileChunkSize()));
     }
 
     /**
@@ -20,7 +20,6 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelProgressiveFuture;
 import io.netty.handler.codec.http.LastHttpContent;
-import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.handler.stream.ChunkedStream;
 import org.asynchttpclient.netty.NettyResponseFuture;
 import org.asynchttpclient.netty.request.WriteProgressListener;
@@ -84,7 +83,7 @@ public class NettyInputStreamBody implements NettyBody {
     }
 
     @Override
-    public void writeHttp2(Http2StreamChannel channel, NettyResponseFuture<?> future) throws IOException {
+    public void writeHttp2(Http2StreamOutput output, NettyResponseFuture<?> future) throws IOException {
         final InputStream is = inputStream;
 
         if (future.isStreamConsumed()) {
@@ -107,7 +106,7 @@ public class NettyInputStreamBody implements NettyBody {
         // backpressure, so a large upload does not buffer the whole stream in heap or read it all inline on
         // the event loop. Cleanup (closeSilently) happens when the async pump completes — see
         // InputStreamChunkSource.close.
-        Http2BodyWriter.start(channel, new InputStreamChunkSource(is));
+        Http2BodyWriter.start(output, new InputStreamChunkSource(is));
     }
 
     /**
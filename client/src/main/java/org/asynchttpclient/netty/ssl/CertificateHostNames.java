@@ -0,0 +1,120 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.ssl;
+
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateParsingException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The DNS names a server certificate is valid for, as used to decide whether an HTTP/2 connection opened for one
+ * hostname may carry requests for another (RFC 9113 section 9.1.1).
+ * <p>
+ * Only the {@code dNSName} entries of the subject alternative name extension count (RFC 6125 section 6.4.4): a
+ * certificate without them covers no other hostname, and its common name is ignored.
+ */
+public final class CertificateHostNames {
+
+    // GeneralName tag of a dNSName, see X509Certificate.getSubjectAlternativeNames()
+    private static final int DNS_NAME = 2;
+
+    private CertificateHostNames() {
+    }
+
+    /**
+     * @param session an established TLS session
+     * @return the lower-cased DNS names of the peer's leaf certificate, empty when the peer is not authenticated
+     * by an X.509 certificate or the certificate can't be parsed
+     */
+    public static List<String> of(SSLSession session) {
+        Certificate[] certificates;
+        try {
+            certificates = session.getPeerCertificates();
+        } catch (SSLPeerUnverifiedException e) {
+            return Collections.emptyList();
+        }
+        if (certificates.length == 0 || !(certificates[0] instanceof X509Certificate)) {
+            return Collections.emptyList();
+        }
+        Collection<List<?>> alternativeNames;
+        try {
+            alternativeNames = ((X509Certificate) certificates[0]).getSubjectAlternativeNames();
+        } catch (CertificateParsingException e) {
+            return Collections.emptyList();
+        }
+        if (alternativeNames == null) {
+            return Collections.emptyList();
+        }
+        List<String> names = new ArrayList<>(alternativeNames.size());
+        for (List<?> alternativeName : alternativeNames) {
+            if (alternativeName.size() >= 2 && Integer.valueOf(DNS_NAME).equals(alternativeName.get(0))
+                    && alternativeName.get(1) instanceof String) {
+                names.add(((String) alternativeName.get(1)).toLowerCase(Locale.ROOT));
+            }
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Matches {@code host} against DNS names as returned by {@link #of(SSLSession)}. A wildcard name only matches
+     * a single leftmost label ({@code *.example.com} matches {@code api.example.com}, but neither
+     * {@code example.com} nor {@code a.b.example.com}) and never an IP literal.
+     *
+     * @param names the DNS names of a certificate
+     * @param host  a hostname
+     * @return {@code true} if one of the names covers {@code host}
+     */
+    public static boolean matches(List<String> names, String host) {
+        String hostName = host.toLowerCase(Locale.ROOT);
+        if (hostName.endsWith(".")) {
+            hostName = hostName.substring(0, hostName.length() - 1);
+        }
+        boolean ipLiteral = isIpLiteral(hostName);
+        for (String name : names) {
+            if (name.equals(hostName)) {
+                return true;
+            }
+            if (!ipLiteral && name.startsWith("*.") && name.indexOf('*', 1) < 0) {
+                int firstDot = hostName.indexOf('.');
+                // the suffix must still hold a dot, so "*.com" can't cover every .com host
+                if (firstDot > 0 && name.indexOf('.', 2) > 0 && hostName.substring(firstDot).equals(name.substring(1))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIpLiteral(String host) {
+        if (host.indexOf(':') >= 0) {
+            return true;
+        }
+        for (int i = 0; i < host.length(); i++) {
+            char c = host.charAt(i);
+            if (c != '.' && (c < '0' || c > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.ssl;
+
+import io.netty.handler.ssl.JdkSslContext;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import org.asynchttpclient.TlsSessionStore;
+import org.conscrypt.Conscrypt;
+import org.conscrypt.SSLClientSessionCache;
+import org.jetbrains.annotations.Nullable;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSession;
+
+/**
+ * Builds the client {@link SslContext} on Conscrypt, whose sessions can be exported and imported, and connects its
+ * persistent session cache to a {@link TlsSessionStore}: Conscrypt saves every new resumable session to the store and,
+ * when its in-memory cache has no session for a peer, looks one up in the store before the handshake. Conscrypt keeps
+ * single-use sessions, such as those of TLS 1.3 tickets, out of the store. Conscrypt is an optional dependency, only
+ * loaded through this class.
+ */
+final class ConscryptTlsSessions {
+
+    private ConscryptTlsSessions() {
+    }
+
+    static boolean isAvailable() {
+        try {
+            return Conscrypt.isAvailable();
+        } catch (LinkageError e) {
+            // not on the classpath, or no native library for this platform
+            return false;
+        }
+    }
+
+    static SslContextBuilder useConscrypt(SslContextBuilder builder) {
+        return builder.sslProvider(SslProvider.JDK).sslContextProvider(Conscrypt.newProvider());
+    }
+
+    // An engine of a context attach() refused is not a Conscrypt one, and negotiates no protocol.
+    static void setApplicationProtocols(SSLEngine engine, String[] protocols) {
+        if (Conscrypt.isConscrypt(engine)) {
+            Conscrypt.setApplicationProtocols(engine, protocols);
+        }
+    }
+
+    /**
+     * @return false if the context is not a Conscrypt one, for instance because
+     * {@link DefaultSslEngineFactory#configureSslContextBuilder} changed its provider
+     */
+    static boolean attach(SslContext sslContext, TlsSessionStore store) {
+        if (!(sslContext instanceof JdkSslContext) || !Conscrypt.isConscrypt(((JdkSslContext) sslContext).context())) {
+            return false;
+        }
+        Conscrypt.setClientSessionCache(((JdkSslContext) sslContext).context(), new StoreSessionCache(store));
+        return true;
+    }
+
+    private static final class StoreSessionCache implements SSLClientSessionCache {
+
+        private final TlsSessionStore store;
+
+        private StoreSessionCache(TlsSessionStore store) {
+            this.store = store;
+        }
+
+        @Override
+        public byte @Nullable [] getSessionData(String host, int port) {
+            return store.get(host, port);
+        }
+
+        @Override
+        public void putSessionData(SSLSession session, byte[] sessionData) {
+            String host = session.getPeerHost();
+            if (host != null) {
+                store.put(host, session.getPeerPort(), sessionData);
+            }
+        }
+    }
+}
@@ -25,6 +25,10 @@ import io.netty.handler.ssl.SslProvider;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import io.netty.util.ReferenceCountUtil;
 import org.asynchttpclient.AsyncHttpClientConfig;
+import org.asynchttpclient.TlsSessionStore;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLException;
@@ -34,20 +38,29 @@ import static org.asynchttpclient.util.MiscUtils.isNonEmpty;
 
 public class DefaultSslEngineFactory extends SslEngineFactoryBase {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultSslEngineFactory.class);
+
     private volatile SslContext sslContext;
     // WebSocket connections use a context that advertises only http/1.1 in ALPN: AsyncHttpClient does not
     // implement RFC 8441 (WebSocket over HTTP/2), so the server must not be able to negotiate h2 for them.
     private volatile SslContext http1OnlySslContext;
+    // The store the sessions of a Conscrypt context are saved to, null when the context is not built on Conscrypt.
+    private volatile @Nullable TlsSessionStore tlsSessionStore;
 
     private SslContext buildSslContext(AsyncHttpClientConfig config, boolean http2Allowed) throws SSLException {
         if (config.getSslContext() != null) {
             return config.getSslContext();
         }
 
+        TlsSessionStore tlsSessionStore = this.tlsSessionStore;
         SslContextBuilder sslContextBuilder = SslContextBuilder.forClient()
                 .sslProvider(config.isUseOpenSsl() ? SslProvider.OPENSSL : SslProvider.JDK)
                 .sessionCacheSize(config.getSslSessionCacheSize())
                 .sessionTimeout(config.getSslSessionTimeout());
+        if (tlsSessionStore != null) {
+            // neither the JDK nor the OpenSSL provider can import a session
+            ConscryptTlsSessions.useConscrypt(sslContextBuilder);
+        }
 
         if (isNonEmpty(config.getEnabledProtocols())) {
             sslContextBuilder.protocols(config.getEnabledProtocols());
@@ -66,20 +79,30 @@ public class DefaultSslEngineFactory extends SslEngineFactoryBase {
         sslContextBuilder.endpointIdentificationAlgorithm(
                 config.isDisableHttpsEndpointIdentificationAlgorithm() ? "" : "HTTPS");
 
-        if (config.isHttp2Enabled()) {
-            // For a WebSocket connection (http2Allowed=false) advertise only http/1.1, so the server cannot
-            // select h2 (which AHC cannot speak for WebSocket — no RFC 8441). Otherwise advertise h2 then http/1.1.
-            String[] protocols = http2Allowed
-                    ? new String[]{ApplicationProtocolNames.HTTP_2, ApplicationProtocolNames.HTTP_1_1}
-                    : new String[]{ApplicationProtocolNames.HTTP_1_1};
+        if (config.isHttp2Enabled() && tlsSessionStore == null) {
             sslContextBuilder.applicationProtocolConfig(new ApplicationProtocolConfig(
                     ApplicationProtocolConfig.Protocol.ALPN,
                     ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
                     ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
-                    protocols));
+                    alpnProtocols(http2Allowed)));
         }
+        // else newSslEngine sets the protocols on each Conscrypt engine: Netty does not drive ALPN on Conscrypt
+        // engines on Java 15+, and its generic JDK ALPN wrapper fails the handshake when the server does not
+        // negotiate ALPN.
+
+        SslContext sslContext = configureSslContextBuilder(sslContextBuilder).build();
+        if (tlsSessionStore != null && !ConscryptTlsSessions.attach(sslContext, tlsSessionStore)) {
+            LOGGER.warn("TLS sessions cannot be saved to the configured store: the SslContext is not a Conscrypt one");
+        }
+        return sslContext;
+    }
 
-        return configureSslContextBuilder(sslContextBuilder).build();
+    // For a WebSocket connection (http2Allowed=false) advertise only http/1.1, so the server cannot
+    // select h2 (which AHC cannot speak for WebSocket — no RFC 8441). Otherwise advertise h2 then http/1.1.
+    private static String[] alpnProtocols(boolean http2Allowed) {
+        return http2Allowed
+                ? new String[]{ApplicationProtocolNames.HTTP_2, ApplicationProtocolNames.HTTP_1_1}
+                : new String[]{ApplicationProtocolNames.HTTP_1_1};
     }
 
     @Override
@@ -94,6 +117,9 @@ public class DefaultSslEngineFactory extends SslEngineFactoryBase {
                 context.newEngine(ByteBufAllocator.DEFAULT) :
                 context.newEngine(ByteBufAllocator.DEFAULT, domain(peerHost), peerPort);
         configureSslEngine(sslEngine, config);
+        if (tlsSessionStore != null && config.isHttp2Enabled() && config.getSslContext() == null) {
+            ConscryptTlsSessions.setApplicationProtocols(sslEngine, alpnProtocols(http2Allowed));
+        }
         return sslEngine;
     }
 
@@ -115,7 +141,8 @@ public class DefaultSslEngineFactory extends SslEngineFactoryBase {
             synchronized (this) {
                 ctx = http1OnlySslContext;
                 if (ctx == null) {
-                    if (config.getSslContext() != null || !config.isHttp2Enabled()) {
+                    // a Conscrypt context gets its ALPN protocols per engine, see newSslEngine
+                    if (config.getSslContext() != null || !config.isHttp2Enabled() || tlsSessionStore != null) {
                         ctx = sslContext;
                     } else {
                         try {
@@ -133,6 +160,17 @@ public class DefaultSslEngineFactory extends SslEngineFactoryBase {
 
     @Override
     public void init(AsyncHttpClientConfig config) throws SSLException {
+        TlsSessionStore configuredStore = config.getTlsSessionStore();
+        if (configuredStore != null && config.getSslContext() == null) {
+            if (ConscryptTlsSessions.isAvailable()) {
+                tlsSessionStore = configuredStore;
+                if (config.isUseOpenSsl()) {
+                    LOGGER.warn("useOpenSsl is ignored: the SslContext is built on Conscrypt to save TLS sessions to the configured store");
+                }
+            } else {
+                LOGGER.warn("TLS sessions cannot be saved to the configured store: Conscrypt is not available on this platform");
+            }
+        }
         sslContext = buildSslContext(config, true);
         // http1OnlySslContext is built lazily on the first WebSocket connection — see http1OnlySslContext().
     }
@@ -67,6 +67,14 @@ public class TimeoutsHolder {
         }
     }
 
+    /**
+     * @return the {@link org.asynchttpclient.util.DateUtils#unpreciseMillisTime()} at which the request times out, or
+     * {@code -1} when it has no request timeout
+     */
+    public long getRequestTimeoutMillisTime() {
+        return requestTimeoutMillisTime;
+    }
+
     public void setResolvedRemoteAddress(InetSocketAddress address) {
         remoteAddress = address;
     }
@@ -0,0 +1,338 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.resolver;
+
+import io.netty.channel.EventLoop;
+import io.netty.handler.codec.dns.DnsRecord;
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.NameResolver;
+import io.netty.resolver.dns.DnsCache;
+import io.netty.resolver.dns.DnsCacheEntry;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.util.NetUtil;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.asynchttpclient.DnsCacheStats;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Non-blocking, caching {@link InetNameResolver} that the client uses by default when no
+ * {@link org.asynchttpclient.AsyncHttpClientConfig#getAddressResolverGroup() AddressResolverGroup} is configured
+ * and a request keeps the default per-request resolver.
+ *
+ * <p>Lookups are delegated to Netty's asynchronous {@link io.netty.resolver.dns.DnsNameResolver}, so an uncached
+ * hostname never blocks the thread that called {@code execute()}. On top of it this class keeps its own cache:
+ * <ul>
+ *   <li>a positive cache whose entries live for the record TTL reported by the name server, clamped to
+ *       {@code [minTtl, maxTtl]} (addresses that did not come from DNS, e.g. from the hosts file, use
+ *       {@code maxTtl});</li>
+ *   <li>a negative cache that remembers a failed lookup for {@code negativeTtl} so a burst of requests to a
+ *       dead name does not hammer the name servers ({@link Duration#ZERO} disables it);</li>
+ *   <li>refresh-ahead: once a positive entry has lived through {@value #REFRESH_AHEAD_PERCENT}% of its TTL, the
+ *       next hit still answers from the cache but also starts a single background lookup, so hot hostnames are
+ *       re-resolved before they expire instead of making a request wait for the name server.</li>
+ * </ul>
+ * Hits, misses, refreshes and lookup latency are counted and exposed through {@link #stats()}.
+ *
+ * <p>Netty's own resolver cache is replaced by a recorder that only captures the TTL of the answers (and never
+ * answers itself), so every miss or refresh really goes to the wire and the TTL bookkeeping lives in one place.
+ *
+ * <p>Per-hostname state is held in a bounded map (capped at {@value #MAX_CACHED_HOSTNAMES}); at the cap an
+ * arbitrary entry is evicted before a new one is added. Dropping an entry is harmless — the hostname is simply
+ * looked up again the next time it is seen.
+ *
+ * <p>Thread-safe.
+ */
+public final class CachingDnsNameResolver extends InetNameResolver {
+
+    // Cap on the number of hostnames retained, so a client that touches very many distinct hosts
+    // (crawler/gateway) can't grow the cache without bound (same approach as FailedIpCooldownHolder).
+    static final int MAX_CACHED_HOSTNAMES = 4096;
+
+    // A positive entry that has lived through this share of its TTL triggers a background refresh on its next hit.
+    static final int REFRESH_AHEAD_PERCENT = 80;
+
+    private final ConcurrentHashMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private final NameResolver<InetAddress> delegate;
+    private final TtlRecorder ttlRecorder;
+    private final long minTtlNanos;
+    private final long maxTtlNanos;
+    private final long negativeTtlNanos;
+    private final LongSupplier nanoClock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+
+    /**
+     * @param builder     a builder configured with the event loop, channel factory and name servers to query; its
+     *                    resolve cache is replaced by this class's TTL recorder
+     * @param minTtl      lower bound applied to the TTL of cached answers
+     * @param maxTtl      upper bound applied to the TTL of cached answers
+     * @param negativeTtl how long a failed lookup is remembered, {@link Duration#ZERO} disables negative caching
+     */
+    public CachingDnsNameResolver(DnsNameResolverBuilder builder, Duration minTtl, Duration maxTtl, Duration negativeTtl) {
+        this(builder, minTtl, maxTtl, negativeTtl, System::nanoTime);
+    }
+
+    CachingDnsNameResolver(DnsNameResolverBuilder builder, Duration minTtl, Duration maxTtl, Duration negativeTtl, LongSupplier nanoClock) {
+        // Promises complete on the thread that completes the lookup (the resolver's event loop), or on the
+        // caller for a cache hit — the same contract as the DefaultNameResolver this replaces.
+        super(ImmediateEventExecutor.INSTANCE);
+        if (minTtl.isNegative() || maxTtl.compareTo(minTtl) < 0 || negativeTtl.isNegative()) {
+            throw new IllegalArgumentException("Invalid DNS cache TTLs: minTtl=" + minTtl + ", maxTtl=" + maxTtl + ", negativeTtl=" + negativeTtl);
+        }
+        ttlRecorder = new TtlRecorder();
+        delegate = builder.resolveCache(ttlRecorder).build();
+        minTtlNanos = minTtl.toNanos();
+        maxTtlNanos = maxTtl.toNanos();
+        negativeTtlNanos = negativeTtl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+        Promise<List<InetAddress>> all = ImmediateEventExecutor.INSTANCE.newPromise();
+        all.addListener((Future<List<InetAddress>> f) -> {
+            if (f.isSuccess()) {
+                promise.trySuccess(f.getNow().get(0));
+            } else {
+                promise.tryFailure(f.cause());
+            }
+        });
+        doResolveAll(inetHost, all);
+    }
+
+    @Override
+    protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+        if (NetUtil.isValidIpV4Address(inetHost) || NetUtil.isValidIpV6Address(inetHost)) {
+            // Literal addresses need no lookup, so there is nothing worth caching or counting.
+            cascade(delegate.resolveAll(inetHost), promise);
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+        CacheEntry entry = cache.get(inetHost);
+        if (entry != null && entry.expiresAtNanos - now > 0) { // nanoTime-safe comparison
+            hits.increment();
+            if (entry.addresses != null) {
+                if (now - entry.refreshAtNanos >= 0 && entry.claimRefresh()) {
+                    refreshes.increment();
+                    lookup(inetHost, null);
+                }
+                promise.trySuccess(entry.addresses);
+            } else {
+                promise.tryFailure(entry.cause);
+            }
+            return;
+        }
+
+        misses.increment();
+        lookup(inetHost, promise);
+    }
+
+    /**
+     * @return a point-in-time snapshot of this resolver's counters
+     */
+    public DnsCacheStats stats() {
+        return new DnsCacheStats(hits.sum(), misses.sum(), refreshes.sum(), lookups.sum(), lookupNanos.sum(), cache.size());
+    }
+
+    @Override
+    public void close() {
+        cache.clear();
+        delegate.close();
+    }
+
+    // Queries the name servers and caches the outcome. A refresh passes a null promise: nobody waits on it, and a
+    // failed refresh keeps serving the still-valid entry until it expires instead of caching the failure over it.
+    private void lookup(String inetHost, @Nullable Promise<List<InetAddress>> promise) {
+        long start = nanoClock.getAsLong();
+        delegate.resolveAll(inetHost).addListener((Future<List<InetAddress>> f) -> {
+            long now = nanoClock.getAsLong();
+            lookups.increment();
+            lookupNanos.add(now - start);
+            if (f.isSuccess()) {
+                List<InetAddress> addresses = f.getNow();
+                long ttl = clampTtl(ttlRecorder.ttlNanos(addresses, maxTtlNanos));
+                if (!addresses.isEmpty() && ttl > 0) {
+                    put(inetHost, new CacheEntry(Collections.unmodifiableList(addresses), null, now, ttl));
+                }
+                if (promise != null) {
+                    promise.trySuccess(addresses);
+                }
+            } else {
+                if (promise != null) {
+                    Throwable cause = flattenCause(f.cause());
+                    if (negativeTtlNanos > 0) {
+                        put(inetHost, new CacheEntry(null, cause, now, negativeTtlNanos));
+                    }
+                    promise.tryFailure(cause);
+                }
+            }
+        });
+    }
+
+    // Netty reports a failed lookup as an UnknownHostException caused by a DnsErrorCauseException/DnsNameResolverException.
+    // The request path unwraps failures to their root cause (MiscUtils.getCause), which would surface Netty's internal
+    // type instead of the UnknownHostException the blocking DefaultNameResolver used to produce, so hand out a
+    // cause-less copy and keep the original as a suppressed exception for diagnostics.
+    private static Throwable flattenCause(Throwable cause) {
+        if (cause instanceof UnknownHostException && cause.getCause() != null) {
+            UnknownHostException flattened = new UnknownHostException(cause.getMessage());
+            flattened.setStackTrace(cause.getStackTrace());
+            flattened.addSuppressed(cause);
+            return flattened;
+        }
+        return cause;
+    }
+
+    private long clampTtl(long ttlNanos) {
+        return Math.max(minTtlNanos, Math.min(maxTtlNanos, ttlNanos));
+    }
+
+    private void put(String inetHost, CacheEntry entry) {
+        // Keep the map bounded: when it is full, drop one arbitrary entry before a new hostname is added.
+        if (cache.size() >= MAX_CACHED_HOSTNAMES && !cache.containsKey(inetHost)) {
+            var it = cache.keySet().iterator();
+            if (it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        cache.put(inetHost, entry);
+    }
+
+    private static <T> void cascade(Future<T> future, Promise<T> promise) {
+        future.addListener((Future<T> f) -> {
+            if (f.isSuccess()) {
+                promise.trySuccess(f.getNow());
+            } else {
+                promise.tryFailure(f.cause());
+            }
+        });
+    }
+
+    // Either a positive entry (addresses != null) or a negative one (cause != null).
+    private static final class CacheEntry {
+
+        private static final AtomicIntegerFieldUpdater<CacheEntry> REFRESHING_UPDATER =
+                AtomicIntegerFieldUpdater.newUpdater(CacheEntry.class, "refreshing");
+
+        final @Nullable List<InetAddress> addresses;
+        final @Nullable Throwable cause;
+        final long expiresAtNanos;
+        final long refreshAtNanos;
+        @SuppressWarnings("unused")
+        private volatile int refreshing;
+
+        CacheEntry(@Nullable List<InetAddress> addresses, @Nullable Throwable cause, long now, long ttlNanos) {
+            this.addresses = addresses;
+            this.cause = cause;
+            this.expiresAtNanos = now + ttlNanos;
+            // Negative entries are never refreshed ahead: the next request after expiry simply retries.
+            this.refreshAtNanos = addresses != null ? now + ttlNanos / 100 * REFRESH_AHEAD_PERCENT : expiresAtNanos;
+        }
+
+        // At most one background refresh per entry; a successful refresh replaces the entry (resetting this flag).
+        boolean claimRefresh() {
+            return REFRESHING_UPDATER.compareAndSet(this, 0, 1);
+        }
+    }
+
+    // Stands in for Netty's resolve cache: it never answers (so every lookup goes to the name servers) and only
+    // records the TTL of each resolved address, for the enclosing resolver to size its own cache entry with.
+    // Keyed by address rather than hostname because Netty may cache under a search-domain-expanded name.
+    static final class TtlRecorder implements DnsCache {
+
+        private final ConcurrentHashMap<InetAddress, Long> ttlNanosByAddress = new ConcurrentHashMap<>();
+
+        // Smallest recorded TTL among the addresses, or fallbackNanos when none came from DNS (hosts file).
+        long ttlNanos(List<InetAddress> addresses, long fallbackNanos) {
+            long ttl = Long.MAX_VALUE;
+            for (InetAddress address : addresses) {
+                Long recorded = ttlNanosByAddress.get(address);
+                if (recorded != null) {
+                    ttl = Math.min(ttl, recorded);
+                }
+            }
+            return ttl == Long.MAX_VALUE ? fallbackNanos : ttl;
+        }
+
+        @Override
+        public void clear() {
+            ttlNanosByAddress.clear();
+        }
+
+        @Override
+        public boolean clear(String hostname) {
+            return false;
+        }
+
+        @Override
+        public List<? extends DnsCacheEntry> get(String hostname, DnsRecord[] additionals) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public DnsCacheEntry cache(String hostname, DnsRecord[] additionals, InetAddress address, long originalTtl, EventLoop loop) {
+            if (ttlNanosByAddress.size() >= MAX_CACHED_HOSTNAMES && !ttlNanosByAddress.containsKey(address)) {
+                ttlNanosByAddress.clear(); // a stale TTL only falls back to maxTtl; no need for finer eviction
+            }
+            ttlNanosByAddress.put(address, Duration.ofSeconds(originalTtl).toNanos());
+            return new RecordedEntry(address, null);
+        }
+
+        @Override
+        public DnsCacheEntry cache(String hostname, DnsRecord[] additionals, Throwable cause, EventLoop loop) {
+            return new RecordedEntry(null, cause);
+        }
+    }
+
+    private static final class RecordedEntry implements DnsCacheEntry {
+
+        private final @Nullable InetAddress address;
+        private final @Nullable Throwable cause;
+
+        RecordedEntry(@Nullable InetAddress address, @Nullable Throwable cause) {
+            this.address = address;
+            this.cause = cause;
+        }
+
+        @Override
+        public @Nullable InetAddress address() {
+            return address;
+        }
+
+        @Override
+        public @Nullable Throwable cause() {
+            return cause;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.resolver;
+
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.NameResolver;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The hostname lookups of one client that are in flight, which {@link RequestHostnameResolver} coalesces
+ * (single-flight): the first caller starts the lookup and every caller arriving while it is in flight waits on that
+ * same lookup instead of firing an identical one, so a burst of requests to a cold host (at startup or right after a
+ * DNS cache expiry) sends one query rather than one per request.
+ *
+ * <p>A lookup is only shared by callers going through the same {@link NameResolver}, or the same
+ * {@link AddressResolverGroup} whatever the event loop its resolver is bound to. An entry is removed as soon as its
+ * lookup completes, so nothing is cached here: later callers go back to the resolver, which owns caching.
+ */
+public final class InflightHostnameLookups {
+
+    // keyed by resolver identity + hostname, or group identity + unresolved address for the AddressResolverGroup
+    // path, whose results carry the port
+    private final ConcurrentHashMap<InflightKey, Future<List<InetAddress>>> nameLookups = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<InflightKey, Future<List<InetSocketAddress>>> addressLookups = new ConcurrentHashMap<>();
+
+    /**
+     * @param nameResolver the resolver to look the hostname up with
+     * @param hostname     the hostname
+     * @return the lookup of {@code hostname} through {@code nameResolver} in flight, a new one if there is none
+     */
+    public Future<List<InetAddress>> resolveAll(NameResolver<InetAddress> nameResolver, String hostname) {
+        return coalesce(nameLookups, new InflightKey(nameResolver, hostname), () -> nameResolver.resolveAll(hostname));
+    }
+
+    /**
+     * @param addressResolverGroup the group whose resolver looks the address up
+     * @param executor             the event loop a new lookup is run on
+     * @param unresolvedAddress    the unresolved socket address
+     * @return the lookup of {@code unresolvedAddress} through {@code addressResolverGroup} in flight, a new one if
+     * there is none
+     */
+    public Future<List<InetSocketAddress>> resolveAll(AddressResolverGroup<InetSocketAddress> addressResolverGroup, EventExecutor executor,
+                                                      InetSocketAddress unresolvedAddress) {
+        return coalesce(addressLookups, new InflightKey(addressResolverGroup, unresolvedAddress),
+                () -> addressResolverGroup.getResolver(executor).resolveAll(unresolvedAddress));
+    }
+
+    /**
+     * Returns the in-flight lookup for {@code key} if there is one, otherwise starts {@code lookup} and publishes
+     * it for concurrent callers until it completes.
+     */
+    private static <T> Future<T> coalesce(ConcurrentHashMap<InflightKey, Future<T>> inflight, InflightKey key, Supplier<Future<T>> lookup) {
+        Future<T> existing = inflight.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        final Promise<T> shared = ImmediateEventExecutor.INSTANCE.newPromise();
+        existing = inflight.putIfAbsent(key, shared);
+        if (existing != null) {
+            return existing;
+        }
+
+        final Future<T> whenResolved;
+        try {
+            whenResolved = lookup.get();
+        } catch (Throwable t) {
+            inflight.remove(key, shared);
+            shared.tryFailure(t);
+            return shared;
+        }
+        whenResolved.addListener((Future<T> f) -> {
+            // unpublish before completing, so a caller reacting to the outcome starts a fresh lookup
+            inflight.remove(key, shared);
+            if (f.isSuccess()) {
+                shared.trySuccess(f.getNow());
+            } else {
+                shared.tryFailure(f.cause());
+            }
+        });
+        return shared;
+    }
+
+    private static final class InflightKey {
+
+        private final Object resolver;
+        private final Object target;
+
+        InflightKey(Object resolver, Object target) {
+            this.resolver = resolver;
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof InflightKey)) {
+                return false;
+            }
+            InflightKey that = (InflightKey) o;
+            // resolvers are compared by identity: two resolvers may be configured differently even if equal
+            return resolver == that.resolver && target.equals(that.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(resolver) + target.hashCode();
+        }
+    }
+}
@@ -16,7 +16,9 @@
 package org.asynchttpclient.resolver;
 
 import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
 import io.netty.resolver.NameResolver;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.ImmediateEventExecutor;
 import io.netty.util.concurrent.Promise;
@@ -30,7 +32,14 @@ import java.net.InetSocketAddress;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
+/**
+ * Resolves request hostnames, calling the {@link AsyncHandler} hostname resolution callbacks around each lookup.
+ *
+ * <p>Given the {@link InflightHostnameLookups} of a client, concurrent resolutions of the same hostname share one
+ * lookup; each caller still gets its own promise and its own {@code onHostnameResolution*} callbacks.
+ */
 public enum RequestHostnameResolver {
 
     INSTANCE;
@@ -38,6 +47,57 @@ public enum RequestHostnameResolver {
     private static final Logger LOGGER = LoggerFactory.getLogger(RequestHostnameResolver.class);
 
     public Future<List<InetSocketAddress>> resolve(NameResolver<InetAddress> nameResolver, InetSocketAddress unresolvedAddress, AsyncHandler<?> asyncHandler) {
+        return resolveNames(unresolvedAddress, asyncHandler, () -> nameResolver.resolveAll(unresolvedAddress.getHostString()));
+    }
+
+    /**
+     * Resolve an unresolved address with a {@link NameResolver}, sharing the lookup with the concurrent resolutions
+     * of the same hostname through the same resolver.
+     *
+     * @param nameResolver the name resolver
+     * @param unresolvedAddress the unresolved socket address
+     * @param asyncHandler the async handler for lifecycle callbacks
+     * @param inflightLookups the lookups in flight of the client
+     * @return a future that completes with the list of resolved addresses
+     */
+    public Future<List<InetSocketAddress>> resolve(NameResolver<InetAddress> nameResolver, InetSocketAddress unresolvedAddress, AsyncHandler<?> asyncHandler,
+                                                   InflightHostnameLookups inflightLookups) {
+        return resolveNames(unresolvedAddress, asyncHandler, () -> inflightLookups.resolveAll(nameResolver, unresolvedAddress.getHostString()));
+    }
+
+    /**
+     * Resolve an unresolved address using an {@link AddressResolver} obtained from
+     * a {@link io.netty.resolver.AddressResolverGroup}. This path provides non-blocking
+     * DNS resolution with inflight coalescing.
+     *
+     * @param addressResolver the address resolver (from the group, bound to an event loop)
+     * @param unresolvedAddress the unresolved socket address
+     * @param asyncHandler the async handler for lifecycle callbacks
+     * @return a future that completes with the list of resolved addresses
+     */
+    public Future<List<InetSocketAddress>> resolve(AddressResolver<InetSocketAddress> addressResolver, InetSocketAddress unresolvedAddress, AsyncHandler<?> asyncHandler) {
+        return resolveAddresses(unresolvedAddress, asyncHandler, () -> addressResolver.resolveAll(unresolvedAddress));
+    }
+
+    /**
+     * Resolve an unresolved address using the {@link AddressResolver} of an {@link AddressResolverGroup}, sharing the
+     * lookup with the concurrent resolutions of the same address through the same group, whatever the event loop
+     * they run on.
+     *
+     * @param addressResolverGroup the address resolver group
+     * @param executor the event loop a new lookup is run on
+     * @param unresolvedAddress the unresolved socket address
+     * @param asyncHandler the async handler for lifecycle callbacks
+     * @param inflightLookups the lookups in flight of the client
+     * @return a future that completes with the list of resolved addresses
+     */
+    public Future<List<InetSocketAddress>> resolve(AddressResolverGroup<InetSocketAddress> addressResolverGroup, EventExecutor executor,
+                                                   InetSocketAddress unresolvedAddress, AsyncHandler<?> asyncHandler, InflightHostnameLookups inflightLookups) {
+        return resolveAddresses(unresolvedAddress, asyncHandler, () -> inflightLookups.resolveAll(addressResolverGroup, executor, unresolvedAddress));
+    }
+
+    private static Future<List<InetSocketAddress>> resolveNames(InetSocketAddress unresolvedAddress, AsyncHandler<?> asyncHandler,
+                                                                Supplier<Future<List<InetAddress>>> lookup) {
         final String hostname = unresolvedAddress.getHostString();
         final int port = unresolvedAddress.getPort();
         final Promise<List<InetSocketAddress>> promise = ImmediateEventExecutor.INSTANCE.newPromise();
@@ -50,7 +110,7 @@ public enum RequestHostnameResolver {
             return promise;
         }
 
-        final Future<List<InetAddress>> whenResolved = nameResolver.resolveAll(hostname);
+        final Future<List<InetAddress>> whenResolved = lookup.get();
 
         whenResolved.addListener(new SimpleFutureListener<List<InetAddress>>() {
 
@@ -86,17 +146,8 @@ public enum RequestHostnameResolver {
         return promise;
     }
 
-    /**
-     * Resolve an unresolved address using an {@link AddressResolver} obtained from
-     * a {@link io.netty.resolver.AddressResolverGroup}. This path provides non-blocking
-     * DNS resolution with inflight coalescing.
-     *
-     * @param addressResolver the address resolver (from the group, bound to an event loop)
-     * @param unresolvedAddress the unresolved socket address
-     * @param asyncHandler the async handler for lifecycle callbacks
-     * @return a future that completes with the list of resolved addresses
-     */
-    public Future<List<InetSocketAddress>> resolve(AddressResolver<InetSocketAddress> addressResolver, InetSocketAddress unresolvedAddress, AsyncHandler<?> asyncHandler) {
+    private static Future<List<InetSocketAddress>> resolveAddresses(InetSocketAddress unresolvedAddress, AsyncHandler<?> asyncHandler,
+                                                                    Supplier<Future<List<InetSocketAddress>>> lookup) {
         final String hostname = unresolvedAddress.getHostString();
         final Promise<List<InetSocketAddress>> promise = ImmediateEventExecutor.INSTANCE.newPromise();
 
@@ -108,12 +159,14 @@ public enum RequestHostnameResolver {
             return promise;
         }
 
-        final Future<List<InetSocketAddress>> whenResolved = addressResolver.resolveAll(unresolvedAddress);
+        final Future<List<InetSocketAddress>> whenResolved = lookup.get();
 
         whenResolved.addListener(new SimpleFutureListener<List<InetSocketAddress>>() {
 
             @Override
-            protected void onSuccess(List<InetSocketAddress> socketAddresses) {
+            protected void onSuccess(List<InetSocketAddress> value) {
+                // the resolved list may be shared with coalesced callers: give each request its own copy
+                List<InetSocketAddress> socketAddresses = new ArrayList<>(value);
                 try {
                     asyncHandler.onHostnameResolutionSuccess(hostname, socketAddresses);
                 } catch (Exception e) {
@@ -51,6 +51,7 @@ public final class HttpConstants {
         public static final int PERMANENT_REDIRECT_308 = HttpResponseStatus.PERMANENT_REDIRECT.code();
         public static final int UNAUTHORIZED_401 = HttpResponseStatus.UNAUTHORIZED.code();
         public static final int PROXY_AUTHENTICATION_REQUIRED_407 = HttpResponseStatus.PROXY_AUTHENTICATION_REQUIRED.code();
+        public static final int MISDIRECTED_REQUEST_421 = HttpResponseStatus.MISDIRECTED_REQUEST.code();
 
         private ResponseStatusCodes() {
             // Prevent outside initialization
@@ -0,0 +1,127 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.asynchttpclient.test.TestUtils.addHttpsConnector;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * End-to-end coverage for {@link AsyncHttpClientConfig#isAltSvcEnabled()}: an HTTPS origin advertises an
+ * alternative on another port of the same server. Both ports answer with the same Alt-Svc header and with the port
+ * the request came in on.
+ */
+public class AltSvcTest {
+
+    private static final String LOCAL_PORT = "X-Local-Port";
+
+    private Server server;
+    private int originPort;
+    private int alternativePort;
+    private volatile String altSvc;
+
+    @BeforeEach
+    public void start() throws Exception {
+        server = new Server();
+        ServerConnector origin = addHttpsConnector(server);
+        ServerConnector alternative = addHttpsConnector(server);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) {
+                response.setHeader(LOCAL_PORT, String.valueOf(request.getLocalPort()));
+                response.setHeader("Alt-Svc", altSvc);
+                response.setStatus(200);
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+        originPort = origin.getLocalPort();
+        alternativePort = alternative.getLocalPort();
+    }
+
+    @AfterEach
+    public void stop() throws Exception {
+        server.stop();
+    }
+
+    private AsyncHttpClient client(boolean altSvcEnabled) {
+        // without keep-alive every request opens a new connection, which is when the alternatives are consulted
+        return asyncHttpClient(config().setUseInsecureTrustManager(true).setKeepAlive(false).setAltSvcEnabled(altSvcEnabled));
+    }
+
+    private String localPortOf(AsyncHttpClient client) throws Exception {
+        Response response = client.prepareGet("https://localhost:" + originPort + "/").execute().get(30, SECONDS);
+        assertEquals(200, response.getStatusCode());
+        return response.getHeader(LOCAL_PORT);
+    }
+
+    @Test
+    public void newConnectionsGoToTheAdvertisedAlternative() throws Exception {
+        altSvc = "h3=\":443\"; ma=60, http/1.1=\":" + alternativePort + "\"; ma=60";
+        try (AsyncHttpClient client = client(true)) {
+            assertEquals(String.valueOf(originPort), localPortOf(client));
+            assertEquals(String.valueOf(alternativePort), localPortOf(client));
+            assertEquals(String.valueOf(alternativePort), localPortOf(client));
+        }
+    }
+
+    @Test
+    public void clearForgetsTheAlternatives() throws Exception {
+        altSvc = "http/1.1=\":" + alternativePort + "\"";
+        try (AsyncHttpClient client = client(true)) {
+            assertEquals(String.valueOf(originPort), localPortOf(client));
+            altSvc = "clear";
+            assertEquals(String.valueOf(alternativePort), localPortOf(client));
+            assertEquals(String.valueOf(originPort), localPortOf(client));
+        }
+    }
+
+    @Test
+    public void unreachableAlternativeFallsBackToTheOrigin() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        altSvc = "http/1.1=\":" + closedPort + "\"";
+        try (AsyncHttpClient client = client(true)) {
+            assertEquals(String.valueOf(originPort), localPortOf(client));
+            assertEquals(String.valueOf(originPort), localPortOf(client));
+        }
+    }
+
+    @Test
+    public void alternativesAreIgnoredByDefault() throws Exception {
+        altSvc = "http/1.1=\":" + alternativePort + "\"";
+        try (AsyncHttpClient client = client(false)) {
+            assertEquals(String.valueOf(originPort), localPortOf(client));
+            assertEquals(String.valueOf(originPort), localPortOf(client));
+        }
+    }
+}
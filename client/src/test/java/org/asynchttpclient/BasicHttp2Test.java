@@ -38,6 +38,7 @@ import io.netty.handler.codec.http2.DefaultHttp2ResetFrame;
 import io.netty.handler.codec.http2.Http2DataFrame;
 import io.netty.handler.codec.http2.Http2Error;
 import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.util.AttributeKey;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.handler.codec.http2.Http2Headers;
 import io.netty.handler.codec.http2.Http2HeadersFrame;
@@ -136,6 +137,8 @@ public class BasicHttp2Test {
      * Path-routing HTTP/2 server handler that supports multiple test scenarios.
      */
     private static final class Http2TestServerHandler extends SimpleChannelInboundHandler<Object> {
+        // the first :authority a connection served, see the /misdirected route
+        private static final AttributeKey<String> FIRST_AUTHORITY = AttributeKey.valueOf("firstAuthority");
         private Http2Headers requestHeaders;
         private final List<ByteBuf> bodyChunks = new ArrayList<>();
 
@@ -217,6 +220,13 @@ public class BasicHttp2Test {
                 }
                 ctx.write(new DefaultHttp2HeadersFrame(responseHeaders, true));
                 ctx.flush();
+            } else if (routePath.equals("/misdirected")) {
+                // like a server that doesn't share connections between its virtual hosts: only the first
+                // authority a connection served is answered, any other one is refused with a 421
+                ReferenceCountUtil.safeRelease(body);
+                String authority = String.valueOf(requestHeaders.authority());
+                String first = ctx.channel().parent().attr(FIRST_AUTHORITY).setIfAbsent(authority);
+                sendSimpleResponse(ctx, first == null || first.equals(authority) ? "200" : "421", Unpooled.EMPTY_BUFFER, null);
             } else if (routePath.equals("/head")) {
                 ReferenceCountUtil.safeRelease(body);
                 Http2Headers responseHeaders = new DefaultHttp2Headers()
@@ -356,6 +366,8 @@ public class BasicHttp2Test {
     public void startServer() throws Exception {
         X509Bundle bundle = new CertificateBuilder()
                 .subject("CN=localhost")
+                .addSanDnsName("localhost")
+                .addSanDnsName("api.coalesce.test")
                 .setIsCertificateAuthority(true)
                 .buildSelfSigned();
 
@@ -408,17 +420,24 @@ public class BasicHttp2Test {
         ReferenceCountUtil.release(serverSslCtx);
     }
 
-    private String httpsUrl(String path) {
+    protected String httpsUrl(String path) {
         return "https://localhost:" + serverPort + path;
     }
 
+    /**
+     * The config of the HTTP/2 clients: trusts self-signed certs (for testing) with HTTP/2 enabled.
+     */
+    protected DefaultAsyncHttpClientConfig.Builder http2Config() {
+        return config()
+                .setUseInsecureTrustManager(true)
+                .setHttp2Enabled(true);
+    }
+
     /**
      * Creates an AHC client configured to trust self-signed certs (for testing) with HTTP/2 enabled.
      */
     private AsyncHttpClient http2Client() {
-        return asyncHttpClient(config()
-                .setUseInsecureTrustManager(true)
-                .setHttp2Enabled(true));
+        return asyncHttpClient(http2Config());
     }
 
     /**
@@ -434,9 +453,7 @@ public class BasicHttp2Test {
      * Creates an AHC client with custom config + trust manager + HTTP/2.
      */
     private AsyncHttpClient http2ClientWithConfig(Consumer<DefaultAsyncHttpClientConfig.Builder> customizer) {
-        DefaultAsyncHttpClientConfig.Builder builder = config()
-                .setUseInsecureTrustManager(true)
-                .setHttp2Enabled(true);
+        DefaultAsyncHttpClientConfig.Builder builder = http2Config();
         customizer.accept(builder);
         return asyncHttpClient(builder);
     }
@@ -729,6 +746,119 @@ public class BasicHttp2Test {
         return http2ClientWithConfig(b -> b.setMaxRedirects(maxRedirects).setFollowRedirect(true));
     }
 
+    /**
+     * {@link AsyncHttpClient#warmUp(String, int)} against an HTTP/2 origin: the host is multiplexed onto one
+     * connection, so only the first connection is opened, and it is registered once the server's SETTINGS arrived.
+     */
+    @Test
+    public void http2WarmUpOpensASingleMultiplexedConnection() throws Exception {
+        try (AsyncHttpClient client = http2Client()) {
+            assertEquals(1, client.warmUp(httpsUrl("/"), 4).get(30, SECONDS));
+            assertEquals(1, serverChildChannels.size());
+
+            for (int i = 0; i < 3; i++) {
+                Response response = client.prepareGet(httpsUrl("/hello")).execute().get(30, SECONDS);
+                assertEquals(200, response.getStatusCode());
+            }
+            assertEquals(1, serverChildChannels.size(), "requests must multiplex onto the warmed-up connection");
+            assertEquals(0, client.warmUp(httpsUrl("/"), 1).get(30, SECONDS), "an already warm origin opens nothing");
+        }
+    }
+
+    /**
+     * Connection coalescing: a host that resolves to the IP of an existing connection and is covered by its
+     * certificate multiplexes onto it, while a host the certificate doesn't cover gets a connection of its own.
+     */
+    @Test
+    public void http2CoalescesHostsCoveredByTheCertificate() throws Exception {
+        io.netty.resolver.NameResolver<java.net.InetAddress> resolver = multiIpResolver("127.0.0.1");
+        try (AsyncHttpClient client = http2ClientWithConfig(b -> b.setHttp2ConnectionCoalescingEnabled(true))) {
+            assertEquals(200, client.executeRequest(org.asynchttpclient.Dsl.get(httpsUrl("/ok")).setNameResolver(resolver)).get(30, SECONDS).getStatusCode());
+
+            Response coalesced = client.executeRequest(
+                    org.asynchttpclient.Dsl.get("https://api.coalesce.test:" + serverPort + "/hello").setNameResolver(resolver)).get(30, SECONDS);
+            assertEquals(200, coalesced.getStatusCode());
+            assertEquals(1, serverChildChannels.size(), "a host covered by the certificate must reuse the connection");
+
+            Response uncovered = client.executeRequest(
+                    org.asynchttpclient.Dsl.get("https://other.test:" + serverPort + "/hello").setNameResolver(resolver)).get(30, SECONDS);
+            assertEquals(200, uncovered.getStatusCode());
+            assertEquals(2, serverChildChannels.size(), "a host the certificate doesn't cover needs a connection of its own");
+        }
+    }
+
+    @Test
+    public void http2CoalescingIsOptIn() throws Exception {
+        io.netty.resolver.NameResolver<java.net.InetAddress> resolver = multiIpResolver("127.0.0.1");
+        try (AsyncHttpClient client = http2Client()) {
+            assertEquals(200, client.executeRequest(org.asynchttpclient.Dsl.get(httpsUrl("/ok")).setNameResolver(resolver)).get(30, SECONDS).getStatusCode());
+            assertEquals(200, client.executeRequest(
+                    org.asynchttpclient.Dsl.get("https://api.coalesce.test:" + serverPort + "/hello").setNameResolver(resolver))
+                    .get(30, SECONDS).getStatusCode());
+            assertEquals(2, serverChildChannels.size());
+        }
+    }
+
+    /**
+     * A coalesced request answered 421 Misdirected Request is retried on a connection of its own, and its host is
+     * no longer coalesced onto the connection that refused it.
+     */
+    @Test
+    public void http2MisdirectedRequestIsRetriedOnADedicatedConnection() throws Exception {
+        io.netty.resolver.NameResolver<java.net.InetAddress> resolver = multiIpResolver("127.0.0.1");
+        try (AsyncHttpClient client = http2ClientWithConfig(b -> b.setHttp2ConnectionCoalescingEnabled(true))) {
+            assertEquals(200, client.executeRequest(org.asynchttpclient.Dsl.get(httpsUrl("/misdirected")).setNameResolver(resolver)).get(30, SECONDS).getStatusCode());
+
+            for (int i = 0; i < 2; i++) {
+                Response response = client.executeRequest(
+                        org.asynchttpclient.Dsl.get("https://api.coalesce.test:" + serverPort + "/misdirected").setNameResolver(resolver))
+                        .get(30, SECONDS);
+                assertEquals(200, response.getStatusCode());
+            }
+            assertEquals(2, serverChildChannels.size(), "the retry must open one dedicated connection, reused afterwards");
+            assertEquals(200, client.executeRequest(org.asynchttpclient.Dsl.get(httpsUrl("/misdirected")).setNameResolver(resolver)).get(30, SECONDS).getStatusCode());
+        }
+    }
+
+    /**
+     * HTTP/2 scale-out: once the stream slots of the connection are all busy, the requests waiting for one get a
+     * connection opened beside it, up to http2MaxConnectionsPerHost.
+     */
+    @Test
+    public void http2OpensAnotherConnectionWhenStreamSlotsRunOut() throws Exception {
+        try (AsyncHttpClient client = http2ClientWithConfig(b -> b
+                .setHttp2MaxConcurrentStreams(2)
+                .setHttp2MaxConnectionsPerHost(3))) {
+            assertEquals(200, client.prepareGet(httpsUrl("/ok")).execute().get(30, SECONDS).getStatusCode());
+
+            List<Future<Response>> responses = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                responses.add(client.prepareGet(httpsUrl("/delay/500")).execute());
+            }
+            for (Future<Response> response : responses) {
+                assertEquals(200, response.get(30, SECONDS).getStatusCode());
+            }
+            int connections = serverChildChannels.size();
+            assertTrue(connections > 1 && connections <= 3, "expected between 2 and 3 connections, got " + connections);
+        }
+    }
+
+    @Test
+    public void http2ScaleOutIsOptIn() throws Exception {
+        try (AsyncHttpClient client = http2ClientWithConfig(b -> b.setHttp2MaxConcurrentStreams(2))) {
+            assertEquals(200, client.prepareGet(httpsUrl("/ok")).execute().get(30, SECONDS).getStatusCode());
+
+            List<Future<Response>> responses = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                responses.add(client.prepareGet(httpsUrl("/delay/100")).execute());
+            }
+            for (Future<Response> response : responses) {
+                assertEquals(200, response.get(30, SECONDS).getStatusCode());
+            }
+            assertEquals(1, serverChildChannels.size());
+        }
+    }
+
     // -------------------------------------------------------------------------
     // Existing test cases
     // -------------------------------------------------------------------------
@@ -797,6 +927,34 @@ public class BasicHttp2Test {
         }
     }
 
+    @Test
+    public void largeBodyOverHttp2WithWindowAutotuning() throws Exception {
+        byte[] body = new byte[4 * 1024 * 1024];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) (i % 251);
+        }
+        try (AsyncHttpClient client = http2ClientWithConfig(b -> b
+                .setHttp2WindowAutotuningEnabled(true)
+                .setHttp2InitialWindowSize(65_535))) {
+            for (int i = 0; i < 3; i++) {
+                Response response = client.preparePost(httpsUrl("/echo"))
+                        .setBody(body)
+                        .setHeader(CONTENT_TYPE, "application/octet-stream")
+                        .execute()
+                        .get(30, SECONDS);
+
+                assertEquals(200, response.getStatusCode());
+                assertArrayEquals(body, response.getResponseBodyAsBytes());
+            }
+            assertEquals(1, serverChildChannels.size());
+
+            List<Http2ConnectionBdpStats> bdpStats = client.getClientStats().getHttp2ConnectionBdpStats();
+            assertEquals(1, bdpStats.size());
+            assertTrue(bdpStats.get(0).getSampleCount() > 0);
+            assertTrue(bdpStats.get(0).getBdp() > 65_535, bdpStats.get(0).toString());
+        }
+    }
+
     @Test
     public void multipleSequentialRequestsOverHttp2() throws Exception {
         try (AsyncHttpClient client = http2Client()) {
@@ -1060,6 +1218,19 @@ public class BasicHttp2Test {
         }
     }
 
+    @Test
+    public void priorityIsSentInThePriorityHeader() throws Exception {
+        try (AsyncHttpClient client = http2Client()) {
+            Response response = client.prepareGet(httpsUrl("/echo"))
+                    .setPriority(RequestPriority.of(1, true))
+                    .execute()
+                    .get(30, SECONDS);
+
+            assertEquals(200, response.getStatusCode());
+            assertEquals("u=1, i", response.getHeader("X-priority"));
+        }
+    }
+
     /**
      * Regression guard for the HTTP/2 header copy: a user-supplied mixed-case header name must be
      * lowercased before it reaches the validating {@link DefaultHttp2Headers}, which otherwise throws
@@ -1383,6 +1554,16 @@ public class BasicHttp2Test {
     // Redirects and methods tests
     // -------------------------------------------------------------------------
 
+    @Test
+    public void followsRedirectsOverHttp2() throws Exception {
+        try (AsyncHttpClient client = http2ClientWithRedirects(5)) {
+            // each 302 is a HEADERS frame that ends the stream, which must not complete the redirected request
+            Response response = client.prepareGet(httpsUrl("/redirect/2")).execute().get(30, SECONDS);
+            assertEquals(200, response.getStatusCode());
+            assertEquals(httpsUrl("/redirect/0"), response.getUri().toUrl());
+        }
+    }
+
     @Test
     public void reachingMaxRedirectThrowsMaxRedirectExceptionOverHttp2() throws Exception {
         try (AsyncHttpClient client = http2ClientWithRedirects(1)) {
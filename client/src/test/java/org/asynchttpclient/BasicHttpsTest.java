@@ -24,13 +24,19 @@ import org.asynchttpclient.testserver.HttpTest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
 
 import javax.net.ssl.SSLHandshakeException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -42,8 +48,10 @@ import static org.asynchttpclient.test.TestUtils.TIMEOUT;
 import static org.asynchttpclient.test.TestUtils.createSslEngineFactory;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class BasicHttpsTest extends HttpTest {
 
@@ -216,4 +224,97 @@ public class BasicHttpsTest extends HttpTest {
                 }));
         logger.debug("<<< testNormalEventsFired");
     }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void secondConnectionResumesTheTlsSession() throws Throwable {
+        withClient(config().setSslEngineFactory(createSslEngineFactory()).setKeepAlive(false)).run(client ->
+                withServer(server).run(server -> {
+                    assertEquals(TlsHandshakeStats.EMPTY, client.getClientStats().getTlsHandshakeStats());
+
+                    for (int i = 0; i < 2; i++) {
+                        server.enqueueOk();
+                        assertEquals(200, client.prepareGet(getTargetUrl()).execute().get(TIMEOUT, SECONDS).getStatusCode());
+                    }
+
+                    TlsHandshakeStats stats = client.getClientStats().getTlsHandshakeStats();
+                    assertEquals(2, stats.getHandshakeCount());
+                    assertEquals(1, stats.getResumedHandshakeCount());
+                    assertEquals(0.5, stats.getResumptionRatio());
+                }));
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void firstConnectionAfterARestartResumesTheStoredTlsSession(@TempDir Path dir) throws Throwable {
+        // TLS 1.3 tickets are single-use and never saved
+        String[] tls12 = {"TLSv1.2"};
+        Path sessions = dir.resolve("tls-sessions");
+        FileTlsSessionStore beforeRestart = new FileTlsSessionStore(sessions);
+        withClient(config().setUseInsecureTrustManager(true).setEnabledProtocols(tls12).setTlsSessionStore(beforeRestart)).run(client ->
+                withServer(server).run(server -> {
+                    server.enqueueOk();
+                    assertEquals(200, client.prepareGet(getTargetUrl()).execute().get(TIMEOUT, SECONDS).getStatusCode());
+                    assertEquals(0, client.getClientStats().getTlsHandshakeStats().getResumedHandshakeCount());
+                }));
+        assertEquals(1, beforeRestart.size());
+        beforeRestart.snapshot();
+        // Conscrypt dates sessions to the second: a resumption is only told apart from a full handshake a second later
+        Thread.sleep(1000);
+
+        withClient(config().setUseInsecureTrustManager(true).setEnabledProtocols(tls12).setTlsSessionStore(new FileTlsSessionStore(sessions))).run(client ->
+                withServer(server).run(server -> {
+                    server.enqueueOk();
+                    assertEquals(200, client.prepareGet(getTargetUrl()).execute().get(TIMEOUT, SECONDS).getStatusCode());
+                    TlsHandshakeStats stats = client.getClientStats().getTlsHandshakeStats();
+                    assertEquals(1, stats.getHandshakeCount());
+                    assertEquals(1, stats.getResumedHandshakeCount());
+                }));
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void tlsHandshakeTasksRunOnTheConfiguredExecutor() throws Throwable {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        AtomicInteger tasks = new AtomicInteger();
+        Executor executor = task -> {
+            tasks.incrementAndGet();
+            pool.execute(task);
+        };
+        try {
+            withClient(config().setSslEngineFactory(createSslEngineFactory()).setSslHandshakeExecutor(executor)).run(client ->
+                    withServer(server).run(server -> {
+                        server.enqueueOk();
+                        assertEquals(200, client.prepareGet(getTargetUrl()).execute().get(TIMEOUT, SECONDS).getStatusCode());
+                        assertTrue(tasks.get() > 0);
+                    }));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void tlsHandshakeTasksRunOnTheHandshakePoolByDefault() throws Throwable {
+        withClient(config().setSslEngineFactory(createSslEngineFactory()).setThreadPoolName("tls-pool-default").setKeepAlive(false)).run(client ->
+                withServer(server).run(server -> {
+                    for (int i = 0; i < 3; i++) {
+                        server.enqueueOk();
+                        assertEquals(200, client.prepareGet(getTargetUrl()).execute().get(TIMEOUT, SECONDS).getStatusCode());
+                    }
+                    assertEquals(3, client.getClientStats().getTlsHandshakeStats().getHandshakeCount());
+                    assertTrue(threadExists("tls-pool-default-tls"), "the handshake tasks ran on the handshake pool");
+                }));
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void tlsHandshakeTasksRunOnTheEventLoopWhenTheHandshakePoolIsDisabled() throws Throwable {
+        withClient(config().setSslEngineFactory(createSslEngineFactory()).setThreadPoolName("tls-pool-disabled").setSslHandshakeThreads(0)).run(client ->
+                withServer(server).run(server -> {
+                    server.enqueueOk();
+                    assertEquals(200, client.prepareGet(getTargetUrl()).execute().get(TIMEOUT, SECONDS).getStatusCode());
+                    assertFalse(threadExists("tls-pool-disabled-tls"), "no handshake pool thread is started");
+                }));
+    }
+
+    private static boolean threadExists(String namePrefix) {
+        return Thread.getAllStackTraces().keySet().stream().anyMatch(thread -> thread.getName().startsWith(namePrefix));
+    }
 }
+
@@ -181,4 +181,23 @@ public class ClientStatsTest extends AbstractBasicTest {
             assertNull(idleCachedStats.getStatsPerHost().get(hostname));
         }
     }
+
+    @Test
+    public void testConnectionPoolHitRatio() throws Throwable {
+        try (final AsyncHttpClient client = asyncHttpClient(config().setKeepAlive(true))) {
+            final String url = getTargetUrl();
+
+            assertEquals(ConnectionPoolStats.EMPTY, client.getClientStats().getConnectionPoolStats());
+
+            for (int i = 0; i < 4; i++) {
+                client.prepareGet(url).execute().get();
+            }
+
+            final ConnectionPoolStats poolStats = client.getClientStats().getConnectionPoolStats();
+            assertEquals(3, poolStats.getHitCount());
+            assertEquals(1, poolStats.getMissCount());
+            assertEquals(0.75, poolStats.getHitRatio());
+            assertEquals(0, poolStats.getPrewarmedConnectionCount());
+        }
+    }
 }
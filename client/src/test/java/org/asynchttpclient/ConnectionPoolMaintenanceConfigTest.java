@@ -0,0 +1,63 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionPoolMaintenanceConfigTest {
+
+    @Test
+    void defaultsToDisabled() {
+        AsyncHttpClientConfig config = config().build();
+        assertEquals(0, config.getConnectionPoolMinIdle());
+        assertFalse(config.isConnectionPoolPredictiveWarmUpEnabled());
+        assertEquals(Duration.ofSeconds(1), config.getConnectionPoolMaintenancePeriod());
+    }
+
+    @Test
+    void nullPeriodResetsToDefault() {
+        AsyncHttpClientConfig config = config().setConnectionPoolMaintenancePeriod(null).build();
+        assertEquals(Duration.ofSeconds(1), config.getConnectionPoolMaintenancePeriod());
+    }
+
+    @Test
+    void invalidValuesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> config().setConnectionPoolMinIdle(-1));
+        assertThrows(IllegalArgumentException.class, () -> config().setConnectionPoolMaintenancePeriod(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> config().setConnectionPoolMaintenancePeriod(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void copyConstructorPreservesValues() {
+        AsyncHttpClientConfig source = config()
+                .setConnectionPoolMinIdle(3)
+                .setConnectionPoolPredictiveWarmUpEnabled(true)
+                .setConnectionPoolMaintenancePeriod(Duration.ofMillis(250))
+                .build();
+        AsyncHttpClientConfig copy = new DefaultAsyncHttpClientConfig.Builder(source).build();
+        assertEquals(3, copy.getConnectionPoolMinIdle());
+        assertTrue(copy.isConnectionPoolPredictiveWarmUpEnabled());
+        assertEquals(Duration.ofMillis(250), copy.getConnectionPoolMaintenancePeriod());
+    }
+}
@@ -2,8 +2,14 @@ package org.asynchttpclient;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DefaultAsyncHttpClientConfigTest {
@@ -48,6 +54,24 @@ class DefaultAsyncHttpClientConfigTest {
                 "Builder must plumb the configured value through");
     }
 
+    @Test
+    void testHttp3_DefaultIsDisabled() {
+        DefaultAsyncHttpClientConfig config = new DefaultAsyncHttpClientConfig.Builder().build();
+        assertFalse(config.isHttp3Enabled(), "Default should be false");
+        assertTrue(config.getHttp3Hosts().isEmpty());
+    }
+
+    @Test
+    void testHttp3_CopiedFromConfig() {
+        DefaultAsyncHttpClientConfig source = new DefaultAsyncHttpClientConfig.Builder()
+                .setHttp3Enabled(true)
+                .addHttp3Host("example.com")
+                .build();
+        DefaultAsyncHttpClientConfig copy = new DefaultAsyncHttpClientConfig.Builder(source).build();
+        assertTrue(copy.isHttp3Enabled());
+        assertEquals(Collections.singletonList("example.com"), copy.getHttp3Hosts());
+    }
+
     @Test
     void testStripAuthorizationOnRedirect_DefaultIsFalse() {
         DefaultAsyncHttpClientConfig config = new DefaultAsyncHttpClientConfig.Builder().build();
@@ -69,4 +93,186 @@ class DefaultAsyncHttpClientConfigTest {
                 .build();
         assertFalse(config.isStripAuthorizationOnRedirect(), "Should be false when set to false");
     }
+
+    @Test
+    void testConnectionAcquisitionQueue_DefaultIsDisabled() {
+        DefaultAsyncHttpClientConfig config = new DefaultAsyncHttpClientConfig.Builder().build();
+        assertFalse(config.isConnectionAcquisitionQueueEnabled(), "Default should be false");
+    }
+
+    @Test
+    void testConnectionAcquisitionQueue_CopiedFromConfig() {
+        DefaultAsyncHttpClientConfig source = new DefaultAsyncHttpClientConfig.Builder()
+                .setConnectionAcquisitionQueueEnabled(true)
+                .build();
+        assertTrue(new DefaultAsyncHttpClientConfig.Builder(source).build().isConnectionAcquisitionQueueEnabled(),
+                "Builder(config) must copy the value");
+    }
+
+    @Test
+    void testHttp2ConnectionCoalescing_DefaultIsDisabled() {
+        DefaultAsyncHttpClientConfig config = new DefaultAsyncHttpClientConfig.Builder().build();
+        assertFalse(config.isHttp2ConnectionCoalescingEnabled(), "Default should be false");
+    }
+
+    @Test
+    void testHttp2ConnectionCoalescing_CopiedFromConfig() {
+        DefaultAsyncHttpClientConfig source = new DefaultAsyncHttpClientConfig.Builder()
+                .setHttp2ConnectionCoalescingEnabled(true)
+                .build();
+        assertTrue(new DefaultAsyncHttpClientConfig.Builder(source).build().isHttp2ConnectionCoalescingEnabled(),
+                "Builder(config) must copy the value");
+    }
+
+    @Test
+    void testHttp2ScaleOut_DefaultIsOneConnectionPerHost() {
+        DefaultAsyncHttpClientConfig config = new DefaultAsyncHttpClientConfig.Builder().build();
+        assertEquals(1, config.getHttp2MaxConnectionsPerHost(), "Default should keep a single connection per host");
+        assertEquals(80, config.getHttp2ScaleOutThreshold());
+        assertEquals(Duration.ofMillis(100), config.getHttp2ScaleOutMaxPendingTime());
+    }
+
+    @Test
+    void testHttp2ScaleOut_CopiedFromConfig() {
+        DefaultAsyncHttpClientConfig source = new DefaultAsyncHttpClientConfig.Builder()
+                .setHttp2MaxConnectionsPerHost(4)
+                .setHttp2ScaleOutThreshold(0)
+                .setHttp2ScaleOutMaxPendingTime(Duration.ofMillis(250))
+                .build();
+        DefaultAsyncHttpClientConfig copy = new DefaultAsyncHttpClientConfig.Builder(source).build();
+        assertEquals(4, copy.getHttp2MaxConnectionsPerHost());
+        assertEquals(0, copy.getHttp2ScaleOutThreshold());
+        assertEquals(Duration.ofMillis(250), copy.getHttp2ScaleOutMaxPendingTime());
+    }
+
+    @Test
+    void testHttp2LightweightStreams_DefaultIsDisabled() {
+        DefaultAsyncHttpClientConfig config = new DefaultAsyncHttpClientConfig.Builder().build();
+        assertFalse(config.isHttp2LightweightStreamsEnabled(), "Default should be false");
+    }
+
+    @Test
+    void testHttp2LightweightStreams_CopiedFromConfig() {
+        DefaultAsyncHttpClientConfig source = new DefaultAsyncHttpClientConfig.Builder()
+                .setHttp2LightweightStreamsEnabled(true)
+                .build();
+        assertTrue(new DefaultAsyncHttpClientConfig.Builder(source).build().isHttp2LightweightStreamsEnabled(),
+                "Builder(config) must copy the value");
+    }
+
+    @Test
+    void testHttp2ConsumerFlowControl_DefaultIsDisabled() {
+        DefaultAsyncHttpClientConfig config = new DefaultAsyncHttpClientConfig.Builder().build();
+        assertFalse(config.isHttp2ConsumerFlowControlEnabled(), "Default should be false");
+    }
+
+    @Test
+    void testHttp2ConsumerFlowControl_CopiedFromConfig() {
+        DefaultAsyncHttpClientConfig source = new DefaultAsyncHttpClientConfig.Builder()
+                .setHttp2ConsumerFlowControlEnabled(true)
+                .build();
+        assertTrue(new DefaultAsyncHttpClientConfig.Builder(source).build().isHttp2ConsumerFlowControlEnabled(),
+                "Builder(config) must copy the value");
+    }
+
+    @Test
+    void testHttp2FlushConsolidationLimit_DefaultIsDisabled() {
+        DefaultAsyncHttpClientConfig config = new DefaultAsyncHttpClientConfig.Builder().build();
+        assertEquals(0, config.getHttp2FlushConsolidationLimit(), "0 (the default) must disable the consolidation");
+    }
+
+    @Test
+    void testHttp2FlushConsolidationLimit_CopiedFromConfig() {
+        DefaultAsyncHttpClientConfig source = new DefaultAsyncHttpClientConfig.Builder()
+                .setHttp2FlushConsolidationLimit(16)
+                .build();
+        assertEquals(16, new DefaultAsyncHttpClientConfig.Builder(source).build().getHttp2FlushConsolidationLimit(),
+                "Builder(config) must copy the value");
+    }
+
+    @Test
+    void testHttp2DirectHeaders_DefaultIsDisabled() {
+        DefaultAsyncHttpClientConfig config = new DefaultAsyncHttpClientConfig.Builder().build();
+        assertFalse(config.isHttp2DirectHeadersEnabled(), "Default should be false");
+    }
+
+    @Test
+    void testHttp2DirectHeaders_CopiedFromConfig() {
+        DefaultAsyncHttpClientConfig source = new DefaultAsyncHttpClientConfig.Builder()
+                .setHttp2DirectHeadersEnabled(true)
+                .build();
+        assertTrue(new DefaultAsyncHttpClientConfig.Builder(source).build().isHttp2DirectHeadersEnabled(),
+                "Builder(config) must copy the value");
+    }
+
+    @Test
+    void testHttp2RttProbe_DefaultIsDisabled() {
+        DefaultAsyncHttpClientConfig config = new DefaultAsyncHttpClientConfig.Builder().build();
+        assertEquals(Duration.ZERO, config.getHttp2RttProbeInterval(), "Zero (the default) must disable the probes");
+        assertEquals(0, config.getHttp2DegradedRttFactor());
+    }
+
+    @Test
+    void testHttp2RttProbe_CopiedFromConfig() {
+        DefaultAsyncHttpClientConfig source = new DefaultAsyncHttpClientConfig.Builder()
+                .setHttp2RttProbeInterval(Duration.ofSeconds(1))
+                .setHttp2DegradedRttFactor(4)
+                .build();
+        DefaultAsyncHttpClientConfig copy = new DefaultAsyncHttpClientConfig.Builder(source).build();
+        assertEquals(Duration.ofSeconds(1), copy.getHttp2RttProbeInterval());
+        assertEquals(4, copy.getHttp2DegradedRttFactor());
+    }
+
+    @Test
+    void testAltSvc_DefaultIsDisabled() {
+        DefaultAsyncHttpClientConfig config = new DefaultAsyncHttpClientConfig.Builder().build();
+        assertFalse(config.isAltSvcEnabled(), "Default should be false");
+        assertEquals(1024, config.getAltSvcCacheMaxEntries());
+    }
+
+    @Test
+    void testAltSvc_CopiedFromConfig() {
+        DefaultAsyncHttpClientConfig source = new DefaultAsyncHttpClientConfig.Builder()
+                .setAltSvcEnabled(true)
+                .setAltSvcCacheMaxEntries(16)
+                .build();
+        DefaultAsyncHttpClientConfig copy = new DefaultAsyncHttpClientConfig.Builder(source).build();
+        assertTrue(copy.isAltSvcEnabled());
+        assertEquals(16, copy.getAltSvcCacheMaxEntries());
+    }
+
+    @Test
+    void testSslHandshakeThreads_DefaultIsASmallPool() {
+        DefaultAsyncHttpClientConfig config = new DefaultAsyncHttpClientConfig.Builder().build();
+        assertEquals(Math.min(4, Runtime.getRuntime().availableProcessors()), config.getSslHandshakeThreads(),
+                "Default should be one thread per core, up to 4");
+        assertNull(config.getSslHandshakeExecutor());
+    }
+
+    @Test
+    void testSslHandshakeThreads_CopiedFromConfig() {
+        Executor executor = Runnable::run;
+        DefaultAsyncHttpClientConfig source = new DefaultAsyncHttpClientConfig.Builder()
+                .setSslHandshakeThreads(2)
+                .setSslHandshakeExecutor(executor)
+                .build();
+        DefaultAsyncHttpClientConfig copy = new DefaultAsyncHttpClientConfig.Builder(source).build();
+        assertEquals(2, copy.getSslHandshakeThreads());
+        assertSame(executor, copy.getSslHandshakeExecutor());
+    }
+
+    @Test
+    void testTcpFastOpenConnect_DefaultIsDisabled() {
+        DefaultAsyncHttpClientConfig config = new DefaultAsyncHttpClientConfig.Builder().build();
+        assertFalse(config.isTcpFastOpenConnect(), "Default should be false");
+    }
+
+    @Test
+    void testTcpFastOpenConnect_CopiedFromConfig() {
+        DefaultAsyncHttpClientConfig source = new DefaultAsyncHttpClientConfig.Builder()
+                .setTcpFastOpenConnect(true)
+                .build();
+        assertTrue(new DefaultAsyncHttpClientConfig.Builder(source).build().isTcpFastOpenConnect(),
+                "Builder(config) must copy the value");
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DnsCacheConfigTest {
+
+    @Test
+    void defaultsToEnabledAsyncResolver() {
+        AsyncHttpClientConfig config = config().build();
+        assertTrue(config.isAsyncDnsResolverEnabled());
+        assertEquals(Duration.ZERO, config.getDnsCacheMinTtl());
+        assertEquals(Duration.ofMinutes(5), config.getDnsCacheMaxTtl());
+        assertEquals(Duration.ofSeconds(5), config.getDnsCacheNegativeTtl());
+        assertEquals(Duration.ofSeconds(5), config.getDnsQueryTimeout());
+    }
+
+    @Test
+    void builderSetsValues() {
+        AsyncHttpClientConfig config = config()
+                .setAsyncDnsResolverEnabled(false)
+                .setDnsCacheMinTtl(Duration.ofSeconds(1))
+                .setDnsCacheMaxTtl(Duration.ofSeconds(30))
+                .setDnsCacheNegativeTtl(Duration.ZERO)
+                .setDnsQueryTimeout(Duration.ofSeconds(2))
+                .build();
+        assertFalse(config.isAsyncDnsResolverEnabled());
+        assertEquals(Duration.ofSeconds(1), config.getDnsCacheMinTtl());
+        assertEquals(Duration.ofSeconds(30), config.getDnsCacheMaxTtl());
+        assertEquals(Duration.ZERO, config.getDnsCacheNegativeTtl());
+        assertEquals(Duration.ofSeconds(2), config.getDnsQueryTimeout());
+    }
+
+    @Test
+    void nullResetsToDefault() {
+        AsyncHttpClientConfig config = config().setDnsCacheMaxTtl(null).setDnsCacheNegativeTtl(null).build();
+        assertEquals(Duration.ofMinutes(5), config.getDnsCacheMaxTtl());
+        assertEquals(Duration.ofSeconds(5), config.getDnsCacheNegativeTtl());
+    }
+
+    @Test
+    void negativeValuesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> config().setDnsCacheMinTtl(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> config().setDnsCacheNegativeTtl(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> config().setDnsQueryTimeout(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void maxTtlBelowMinTtlIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> config().setDnsCacheMinTtl(Duration.ofMinutes(10)).setDnsCacheMaxTtl(Duration.ofMinutes(1)).build());
+    }
+
+    @Test
+    void copyConstructorPreservesValues() {
+        AsyncHttpClientConfig source = config()
+                .setAsyncDnsResolverEnabled(false)
+                .setDnsCacheMaxTtl(Duration.ofSeconds(42))
+                .build();
+        AsyncHttpClientConfig copy = new DefaultAsyncHttpClientConfig.Builder(source).build();
+        assertFalse(copy.isAsyncDnsResolverEnabled());
+        assertEquals(Duration.ofSeconds(42), copy.getDnsCacheMaxTtl());
+    }
+
+    @Test
+    void disabledResolverReportsEmptyDnsStats() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config().setAsyncDnsResolverEnabled(false))) {
+            assertEquals(DnsCacheStats.EMPTY, client.getClientStats().getDnsCacheStats());
+        }
+    }
+}
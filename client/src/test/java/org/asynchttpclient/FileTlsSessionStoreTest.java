@@ -0,0 +1,76 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class FileTlsSessionStoreTest {
+
+    @Test
+    public void snapshotIsRestoredByTheNextStore(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("sessions");
+        FileTlsSessionStore store = new FileTlsSessionStore(file);
+        store.put("a.example", 443, new byte[]{1, 2, 3});
+        store.put("a.example", 8443, new byte[]{4});
+        store.put("a.example", 443, new byte[]{5, 6});
+        store.snapshot();
+
+        FileTlsSessionStore restored = new FileTlsSessionStore(file);
+        assertEquals(2, restored.size());
+        assertArrayEquals(new byte[]{5, 6}, restored.get("a.example", 443));
+        assertArrayEquals(new byte[]{4}, restored.get("a.example", 8443));
+        assertNull(restored.get("b.example", 443));
+    }
+
+    @Test
+    public void leastRecentlyUsedPeerIsEvictedAndStaysEvictedAfterARestore(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("sessions");
+        FileTlsSessionStore store = new FileTlsSessionStore(file, 2);
+        store.put("a.example", 443, new byte[]{1});
+        store.put("b.example", 443, new byte[]{2});
+        store.get("a.example", 443);
+        store.put("c.example", 443, new byte[]{3});
+        assertNull(store.get("b.example", 443));
+        store.snapshot();
+
+        FileTlsSessionStore restored = new FileTlsSessionStore(file, 2);
+        restored.get("c.example", 443);
+        restored.put("d.example", 443, new byte[]{4});
+        assertNull(restored.get("a.example", 443));
+        assertArrayEquals(new byte[]{3}, restored.get("c.example", 443));
+    }
+
+    @Test
+    public void unreadableFileIsIgnored(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("sessions");
+        FileTlsSessionStore store = new FileTlsSessionStore(file);
+        store.put("a.example", 443, new byte[]{1, 2, 3});
+        store.snapshot();
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 1));
+
+        assertEquals(0, new FileTlsSessionStore(file).size());
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.NameResolver;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.asynchttpclient.test.EchoHandler;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.asynchttpclient.Dsl.get;
+import static org.asynchttpclient.test.TestUtils.TIMEOUT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * End-to-end coverage for {@link AsyncHttpClientConfig#isHappyEyeballsEnabled()}: the host resolves to a
+ * black-holed address first and to a live one second. The black hole is a listening socket whose accept queue is
+ * full, so the kernel drops further SYNs and a connect to it hangs until the connect timeout.
+ */
+public class HappyEyeballsTest {
+
+    private static final String BLACKHOLE_IP = "127.0.0.2";
+    private static final String LIVE_IP = "127.0.0.1";
+
+    private Server server;
+    private int port;
+    private ServerSocket blackhole;
+    private final List<Socket> backlogFillers = new ArrayList<>();
+
+    @BeforeEach
+    public void start() throws Exception {
+        server = new Server();
+        ServerConnector connector = new ServerConnector(server);
+        connector.setHost(LIVE_IP);
+        server.addConnector(connector);
+        server.setHandler(new EchoHandler());
+        server.start();
+        port = connector.getLocalPort();
+
+        try {
+            blackhole = new ServerSocket(port, 1, InetAddress.getByName(BLACKHOLE_IP));
+        } catch (IOException e) {
+            // only 127.0.0.1 is a usable loopback address on some platforms (macOS)
+            assumeTrue(false, "cannot bind " + BLACKHOLE_IP + ": " + e);
+        }
+        assumeTrue(fillBacklog(), "could not saturate the accept queue of the black hole");
+    }
+
+    // Connects (never accepting) until a connect times out: from then on the listener drops new SYNs.
+    private boolean fillBacklog() {
+        for (int n = 0; n < 16; n++) {
+            Socket socket = new Socket();
+            backlogFillers.add(socket);
+            try {
+                socket.connect(new InetSocketAddress(BLACKHOLE_IP, port), 200);
+            } catch (IOException e) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @AfterEach
+    public void stop() throws Exception {
+        for (Socket socket : backlogFillers) {
+            socket.close();
+        }
+        if (blackhole != null) {
+            blackhole.close();
+        }
+        server.stop();
+    }
+
+    private static NameResolver<InetAddress> blackholeFirstResolver() throws Exception {
+        final List<InetAddress> addresses = List.of(InetAddress.getByName(BLACKHOLE_IP), InetAddress.getByName(LIVE_IP));
+        return new InetNameResolver(ImmediateEventExecutor.INSTANCE) {
+            @Override
+            protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+                promise.setSuccess(addresses.get(0));
+            }
+
+            @Override
+            protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+                promise.setSuccess(new ArrayList<>(addresses));
+            }
+        };
+    }
+
+    private static final class AttemptRecorder extends AsyncCompletionHandler<Response> {
+        private final List<String> attemptedIps = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onTcpConnectAttempt(InetSocketAddress remoteAddress) {
+            attemptedIps.add(remoteAddress.getAddress().getHostAddress());
+        }
+
+        @Override
+        public Response onCompleted(Response response) {
+            return response;
+        }
+    }
+
+    @Test
+    public void blackholedFirstAddressCostsOneAttemptDelayAndIsDeprioritized() throws Exception {
+        AsyncHttpClientConfig config = config()
+                .setHappyEyeballsEnabled(true)
+                .setHappyEyeballsConnectionAttemptDelay(Duration.ofMillis(100))
+                .setConnectTimeout(Duration.ofSeconds(20))
+                .setKeepAlive(false)
+                .setMaxRequestRetry(0)
+                .build();
+        NameResolver<InetAddress> resolver = blackholeFirstResolver();
+
+        try (AsyncHttpClient client = asyncHttpClient(config)) {
+            AttemptRecorder first = new AttemptRecorder();
+            long start = System.nanoTime();
+            Response response = client.executeRequest(get("http://eyeballs.test:" + port + "/").setNameResolver(resolver), first)
+                    .get(TIMEOUT, SECONDS);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals(200, response.getStatusCode());
+            assertEquals(List.of(BLACKHOLE_IP, LIVE_IP), first.attemptedIps, "the live address is raced after the attempt delay");
+            assertTrue(elapsedMillis < 10_000, "the black hole must not cost a connect timeout, took " + elapsedMillis + "ms");
+
+            // the overtaken address went into the failed-IP cooldown, so the next connection leads with the live one
+            AttemptRecorder second = new AttemptRecorder();
+            response = client.executeRequest(get("http://eyeballs.test:" + port + "/").setNameResolver(resolver), second)
+                    .get(TIMEOUT, SECONDS);
+            assertEquals(200, response.getStatusCode());
+            assertEquals(LIVE_IP, second.attemptedIps.get(0));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link BasicHttp2Test} with {@link AsyncHttpClientConfig#isHttp2ConsumerFlowControlEnabled()}, under which the
+ * built-in handlers return the credit of the body parts they receive.
+ */
+public class Http2ConsumerFlowControlTest extends BasicHttp2Test {
+
+    private static final int WINDOW_SIZE = 65_535;
+
+    @Override
+    protected DefaultAsyncHttpClientConfig.Builder http2Config() {
+        return super.http2Config().setHttp2ConsumerFlowControlEnabled(true);
+    }
+
+    @Test
+    public void unconsumedPartsHoldBackTheirStreamButNotItsSiblings() throws Exception {
+        byte[] body = new byte[1024 * 1024];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) (i % 251);
+        }
+        for (boolean lightweightStreams : new boolean[]{false, true}) {
+            try (AsyncHttpClient client = asyncHttpClient(http2Config()
+                    .setHttp2InitialWindowSize(WINDOW_SIZE)
+                    .setHttp2LightweightStreamsEnabled(lightweightStreams))) {
+                HoldingHandler handler = new HoldingHandler();
+                ListenableFuture<Integer> download = client.preparePost(httpsUrl("/echo"))
+                        .setBody(body)
+                        .setHeader(CONTENT_TYPE, "application/octet-stream")
+                        .execute(handler);
+
+                long deadline = System.nanoTime() + SECONDS.toNanos(10);
+                while (handler.receivedBytes() < WINDOW_SIZE / 2 && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+                Thread.sleep(500);
+                assertTrue(handler.receivedBytes() > 0);
+                assertTrue(handler.receivedBytes() <= WINDOW_SIZE, "received " + handler.receivedBytes());
+                assertFalse(download.isDone());
+
+                // the connection window still has room for the other streams
+                Response sibling = client.prepareGet(httpsUrl("/hello")).execute().get(10, SECONDS);
+                assertEquals(200, sibling.getStatusCode());
+                assertFalse(download.isDone());
+
+                handler.consume();
+                assertEquals(body.length, (int) download.get(30, SECONDS));
+            }
+        }
+    }
+
+    /**
+     * Keeps the body parts it receives unconsumed until {@link #consume()} is called.
+     */
+    private static final class HoldingHandler implements AsyncHandler<Integer> {
+
+        private final List<HttpResponseBodyPart> heldParts = new ArrayList<>();
+        private int receivedBytes;
+        private boolean consuming;
+
+        @Override
+        public State onStatusReceived(HttpResponseStatus responseStatus) {
+            return State.CONTINUE;
+        }
+
+        @Override
+        public State onHeadersReceived(HttpHeaders headers) {
+            return State.CONTINUE;
+        }
+
+        @Override
+        public synchronized State onBodyPartReceived(HttpResponseBodyPart bodyPart) {
+            receivedBytes += bodyPart.length();
+            if (consuming) {
+                bodyPart.markConsumed();
+            } else {
+                heldParts.add(bodyPart);
+            }
+            return State.CONTINUE;
+        }
+
+        synchronized int receivedBytes() {
+            return receivedBytes;
+        }
+
+        synchronized void consume() {
+            consuming = true;
+            heldParts.forEach(HttpResponseBodyPart::markConsumed);
+            heldParts.clear();
+        }
+
+        @Override
+        public void onThrowable(Throwable t) {
+        }
+
+        @Override
+        public synchronized Integer onCompleted() {
+            return receivedBytes;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+/**
+ * Runs {@link BasicHttp2Test} with {@link AsyncHttpClientConfig#getHttp2FlushConsolidationLimit()} set, under which
+ * the frames of the streams are flushed together.
+ */
+public class Http2FlushConsolidationTest extends BasicHttp2Test {
+
+    @Override
+    protected DefaultAsyncHttpClientConfig.Builder http2Config() {
+        return super.http2Config().setHttp2FlushConsolidationLimit(16);
+    }
+}
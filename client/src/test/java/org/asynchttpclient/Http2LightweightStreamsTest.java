@@ -0,0 +1,78 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import io.netty.channel.Channel;
+import org.asynchttpclient.netty.handler.Http2StreamDispatcher;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Runs {@link BasicHttp2Test} with {@link AsyncHttpClientConfig#isHttp2LightweightStreamsEnabled()}, which drives the
+ * streams on the connection instead of child channels.
+ */
+public class Http2LightweightStreamsTest extends BasicHttp2Test {
+
+    @Override
+    protected DefaultAsyncHttpClientConfig.Builder http2Config() {
+        return super.http2Config().setHttp2LightweightStreamsEnabled(true);
+    }
+
+    @Test
+    public void streamsAreDrivenByTheDispatcherOfTheConnection() throws Exception {
+        AtomicReference<Channel> connection = new AtomicReference<>();
+        try (AsyncHttpClient client = asyncHttpClient(http2Config())) {
+            for (int i = 0; i < 3; i++) {
+                Response response = client.prepareGet(httpsUrl("/hello")).execute(new AsyncCompletionHandlerBase() {
+                    @Override
+                    public void onConnectionOffer(Channel channel) {
+                        connection.set(channel);
+                    }
+                }).get(30, SECONDS);
+                assertEquals(200, response.getStatusCode());
+            }
+
+            Http2StreamDispatcher dispatcher = Http2StreamDispatcher.of(connection.get());
+            assertNotNull(dispatcher);
+            // the stream of the last response is closed right after it completed
+            assertEquals(0, (int) connection.get().eventLoop().submit(dispatcher::getStreamCount).get(30, SECONDS));
+        }
+    }
+
+    @Test
+    public void streamingBodyLargerThanTheStreamWindowIsResumedOnWindowUpdates() throws Exception {
+        byte[] body = new byte[1024 * 1024];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) (i % 251);
+        }
+        try (AsyncHttpClient client = asyncHttpClient(http2Config())) {
+            Response response = client.preparePost(httpsUrl("/echo"))
+                    .setBody(new ByteArrayInputStream(body))
+                    .execute()
+                    .get(30, SECONDS);
+            assertEquals(200, response.getStatusCode());
+            assertArrayEquals(body, response.getResponseBodyAsBytes());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.get;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link BasicHttp2Test} with {@link AsyncHttpClientConfig#getHttp2RttProbeInterval()} and
+ * {@link AsyncHttpClientConfig#getHttp2DegradedRttFactor()} set, under which every HTTP/2 connection is probed for
+ * its round-trip time while it serves requests.
+ */
+public class Http2RttProbeRequestTest extends BasicHttp2Test {
+
+    @Override
+    protected DefaultAsyncHttpClientConfig.Builder http2Config() {
+        return super.http2Config()
+                .setHttp2RttProbeInterval(Duration.ofMillis(5))
+                .setHttp2DegradedRttFactor(3);
+    }
+
+    @Test
+    public void clientStatsReportTheSampledRoundTripTimes() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(http2Config())) {
+            assertEquals(200, client.executeRequest(get(httpsUrl("/delay/300"))).get(30, SECONDS).getStatusCode());
+
+            List<Http2ConnectionRttStats> stats = client.getClientStats().getHttp2ConnectionRttStats();
+            assertEquals(1, stats.size());
+            Http2ConnectionRttStats connection = stats.get(0);
+            assertTrue(connection.getSampleCount() > 0, connection.toString());
+            assertFalse(connection.getSmoothedRtt().isNegative());
+            assertTrue(connection.getMinRtt().compareTo(connection.getSmoothedRtt()) <= 0, connection.toString());
+            assertFalse(connection.isDegraded());
+        }
+    }
+}
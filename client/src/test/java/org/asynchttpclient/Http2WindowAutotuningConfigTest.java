@@ -0,0 +1,50 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import org.junit.jupiter.api.Test;
+
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Http2WindowAutotuningConfigTest {
+
+    @Test
+    void defaultsToDisabled() {
+        AsyncHttpClientConfig config = config().build();
+        assertFalse(config.isHttp2WindowAutotuningEnabled());
+        assertEquals(16 * 1024 * 1024, config.getHttp2MaxWindowSize());
+    }
+
+    @Test
+    void copyConstructorPreservesValues() {
+        AsyncHttpClientConfig source = config()
+                .setHttp2WindowAutotuningEnabled(true)
+                .setHttp2MaxWindowSize(4 * 1024 * 1024)
+                .build();
+        AsyncHttpClientConfig copy = new DefaultAsyncHttpClientConfig.Builder(source).build();
+        assertTrue(copy.isHttp2WindowAutotuningEnabled());
+        assertEquals(4 * 1024 * 1024, copy.getHttp2MaxWindowSize());
+    }
+
+    @Test
+    void rejectsNegativeMaxWindowSize() {
+        assertThrows(IllegalArgumentException.class, () -> config().setHttp2MaxWindowSize(-1).build());
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http3.DefaultHttp3DataFrame;
+import io.netty.handler.codec.http3.DefaultHttp3HeadersFrame;
+import io.netty.handler.codec.http3.Http3;
+import io.netty.handler.codec.http3.Http3DataFrame;
+import io.netty.handler.codec.http3.Http3HeadersFrame;
+import io.netty.handler.codec.http3.Http3RequestStreamInboundHandler;
+import io.netty.handler.codec.http3.Http3ServerConnectionHandler;
+import io.netty.handler.codec.quic.InsecureQuicTokenHandler;
+import io.netty.handler.codec.quic.Quic;
+import io.netty.handler.codec.quic.QuicChannel;
+import io.netty.handler.codec.quic.QuicSslContext;
+import io.netty.handler.codec.quic.QuicSslContextBuilder;
+import io.netty.handler.codec.quic.QuicStreamChannel;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.pkitesting.CertificateBuilder;
+import io.netty.pkitesting.X509Bundle;
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.NameResolver;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Requests sent over HTTP/3 to an in-process QUIC server on loopback, and over TCP to an HTTPS server on the same port
+ * number when HTTP/3 is not (or no longer) an option.
+ */
+public class Http3Test {
+
+    private static final String SILENT_IP = "127.0.0.2";
+    private static final String LIVE_IP = "127.0.0.1";
+
+    private NioEventLoopGroup serverGroup;
+    private X509Bundle bundle;
+    private SslContext tcpSslContext;
+    private Channel tcpServer;
+    private int port;
+    private final StringBuilder altSvc = new StringBuilder();
+
+    @BeforeEach
+    public void startTcpServer() throws Exception {
+        assumeTrue(Quic.isAvailable(), "the native QUIC library is not available on this platform");
+        bundle = new CertificateBuilder()
+                .subject("CN=localhost")
+                .addSanDnsName("localhost")
+                .setIsCertificateAuthority(true)
+                .buildSelfSigned();
+        tcpSslContext = SslContextBuilder.forServer(bundle.toKeyManagerFactory()).build();
+        serverGroup = new NioEventLoopGroup(1);
+        tcpServer = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ch.pipeline().addLast(tcpSslContext.newHandler(ch.alloc()), new HttpServerCodec(),
+                                new HttpObjectAggregator(1024 * 1024), new TcpHandler());
+                    }
+                })
+                .bind(new InetSocketAddress(0))
+                .sync()
+                .channel();
+        port = ((InetSocketAddress) tcpServer.localAddress()).getPort();
+    }
+
+    @AfterEach
+    public void stopServers() throws InterruptedException {
+        if (serverGroup != null) {
+            serverGroup.shutdownGracefully(0, 100, TimeUnit.MILLISECONDS).sync();
+        }
+        ReferenceCountUtil.release(tcpSslContext);
+    }
+
+    @Test
+    public void configuredHostIsServedOverHttp3() throws Exception {
+        startQuicServer(port);
+        try (AsyncHttpClient client = asyncHttpClient(http3Config().addHttp3Host("localhost"))) {
+            Response get = client.prepareGet(url("/hello")).execute().get(10, TimeUnit.SECONDS);
+            assertEquals(200, get.getStatusCode());
+            assertEquals("h3 GET /hello", get.getResponseBody());
+
+            Response post = client.preparePost(url("/echo")).setBody("ping").execute().get(10, TimeUnit.SECONDS);
+            assertEquals("h3 POST /echo ping", post.getResponseBody());
+        }
+    }
+
+    @Test
+    public void connectionWithoutIdleTimeoutIsServedOverHttp3() throws Exception {
+        startQuicServer(port);
+        try (AsyncHttpClient client = asyncHttpClient(http3Config().addHttp3Host("localhost")
+                .setPooledConnectionIdleTimeout(Duration.ofMillis(-1)))) {
+            assertEquals("h3 GET /hello", client.prepareGet(url("/hello")).execute().get(10, TimeUnit.SECONDS).getResponseBody());
+        }
+    }
+
+    @Test
+    public void nextAddressIsTriedWhenTheQuicConnectionToOneFails() throws Exception {
+        // the QUIC server only listens on 127.0.0.1, which localhost resolves to after an address nothing answers on
+        startQuicServer(new InetSocketAddress(LIVE_IP, port));
+        NameResolver<InetAddress> resolver = resolverOf(InetAddress.getByName(SILENT_IP), InetAddress.getByName(LIVE_IP));
+        try (AsyncHttpClient client = asyncHttpClient(http3Config().addHttp3Host("localhost").setConnectTimeout(Duration.ofMillis(500)))) {
+            assertEquals("h3 GET /first", client.prepareGet(url("/first")).setNameResolver(resolver).execute()
+                    .get(10, TimeUnit.SECONDS).getResponseBody());
+
+            long start = System.nanoTime();
+            assertEquals("h3 GET /second", client.prepareGet(url("/second")).setNameResolver(resolver).execute()
+                    .get(10, TimeUnit.SECONDS).getResponseBody());
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500),
+                    "the address whose QUIC connection failed is tried last by the next request");
+        }
+    }
+
+    @Test
+    public void compressedHttp3ResponseIsDecompressed() throws Exception {
+        startQuicServer(port);
+        try (AsyncHttpClient client = asyncHttpClient(http3Config().addHttp3Host("localhost"))) {
+            Response response = client.prepareGet(url("/gzip")).execute().get(10, TimeUnit.SECONDS);
+            assertEquals("h3 GET /gzip", response.getResponseBody());
+        }
+    }
+
+    @Test
+    public void advertisedHttp3AlternativeServesTheNextRequests() throws Exception {
+        Channel quicServer = startQuicServer(0);
+        altSvc.append("h3=\":").append(((InetSocketAddress) quicServer.localAddress()).getPort()).append('"');
+        try (AsyncHttpClient client = asyncHttpClient(http3Config().setAltSvcEnabled(true))) {
+            assertEquals("tcp GET /first", client.prepareGet(url("/first")).execute().get(10, TimeUnit.SECONDS).getResponseBody());
+            assertEquals("h3 GET /second", client.prepareGet(url("/second")).execute().get(10, TimeUnit.SECONDS).getResponseBody());
+        }
+    }
+
+    @Test
+    public void requestFallsBackToTcpWhenTheQuicConnectionFails() throws Exception {
+        // nothing listens on the UDP port
+        try (AsyncHttpClient client = asyncHttpClient(http3Config().addHttp3Host("localhost").setConnectTimeout(Duration.ofMillis(500)))) {
+            assertEquals("tcp GET /first", client.prepareGet(url("/first")).execute().get(10, TimeUnit.SECONDS).getResponseBody());
+
+            long start = System.nanoTime();
+            assertEquals("tcp GET /second", client.prepareGet(url("/second")).execute().get(10, TimeUnit.SECONDS).getResponseBody());
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500),
+                    "the host whose QUIC connection failed is sent the next request over TCP right away");
+        }
+    }
+
+    private DefaultAsyncHttpClientConfig.Builder http3Config() {
+        return config()
+                .setUseInsecureTrustManager(true)
+                .setHttp3Enabled(true);
+    }
+
+    private String url(String path) {
+        return "https://localhost:" + port + path;
+    }
+
+    private static NameResolver<InetAddress> resolverOf(InetAddress... addresses) {
+        return new InetNameResolver(ImmediateEventExecutor.INSTANCE) {
+            @Override
+            protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+                promise.setSuccess(addresses[0]);
+            }
+
+            @Override
+            protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+                promise.setSuccess(Arrays.asList(addresses));
+            }
+        };
+    }
+
+    private Channel startQuicServer(int udpPort) throws Exception {
+        return startQuicServer(new InetSocketAddress(udpPort));
+    }
+
+    private Channel startQuicServer(InetSocketAddress address) throws Exception {
+        QuicSslContext sslContext = QuicSslContextBuilder.forServer(bundle.toKeyManagerFactory(), null)
+                .applicationProtocols(Http3.supportedApplicationProtocols())
+                .build();
+        ChannelHandler codec = Http3.newQuicServerCodecBuilder()
+                .sslContext(sslContext)
+                .maxIdleTimeout(5, TimeUnit.SECONDS)
+                .initialMaxData(1024 * 1024)
+                .initialMaxStreamDataBidirectionalLocal(256 * 1024)
+                .initialMaxStreamDataBidirectionalRemote(256 * 1024)
+                .initialMaxStreamsBidirectional(100)
+                .tokenHandler(InsecureQuicTokenHandler.INSTANCE)
+                .handler(new ChannelInitializer<QuicChannel>() {
+                    @Override
+                    protected void initChannel(QuicChannel ch) {
+                        ch.pipeline().addLast(new Http3ServerConnectionHandler(new ChannelInitializer<QuicStreamChannel>() {
+                            @Override
+                            protected void initChannel(QuicStreamChannel stream) {
+                                stream.pipeline().addLast(new Http3RequestHandler());
+                            }
+                        }));
+                    }
+                })
+                .build();
+        return new Bootstrap()
+                .group(serverGroup)
+                .channel(NioDatagramChannel.class)
+                .handler(codec)
+                .bind(address)
+                .sync()
+                .channel();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    // Answers "h3 <method> <path>[ <body>]" once the request stream ends, gzipped for /gzip.
+    private static final class Http3RequestHandler extends Http3RequestStreamInboundHandler {
+
+        private String requestLine;
+        private final StringBuilder body = new StringBuilder();
+
+        @Override
+        protected void channelRead(ChannelHandlerContext ctx, Http3HeadersFrame frame) {
+            requestLine = frame.headers().method() + " " + frame.headers().path();
+            ReferenceCountUtil.release(frame);
+        }
+
+        @Override
+        protected void channelRead(ChannelHandlerContext ctx, Http3DataFrame frame) {
+            body.append(frame.content().toString(StandardCharsets.UTF_8));
+            frame.release();
+        }
+
+        @Override
+        protected void channelInputClosed(ChannelHandlerContext ctx) throws IOException {
+            byte[] content = ("h3 " + requestLine + (body.length() > 0 ? " " + body : "")).getBytes(StandardCharsets.UTF_8);
+            DefaultHttp3HeadersFrame headers = new DefaultHttp3HeadersFrame();
+            headers.headers().status("200");
+            if (requestLine.endsWith("/gzip")) {
+                content = gzip(content);
+                headers.headers().add(HttpHeaderNames.CONTENT_ENCODING, "gzip");
+            }
+            headers.headers().addInt(HttpHeaderNames.CONTENT_LENGTH, content.length);
+            ctx.write(headers);
+            ctx.writeAndFlush(new DefaultHttp3DataFrame(Unpooled.wrappedBuffer(content)))
+                    .addListener(QuicStreamChannel.SHUTDOWN_OUTPUT);
+        }
+    }
+
+    private final class TcpHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+            ByteBuf content = Unpooled.copiedBuffer("tcp " + request.method() + ' ' + request.uri(), StandardCharsets.UTF_8);
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, content);
+            response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, content.readableBytes());
+            if (altSvc.length() > 0) {
+                response.headers().set(HttpHeaderNames.ALT_SVC, altSvc.toString());
+            }
+            ctx.writeAndFlush(response);
+        }
+    }
+}
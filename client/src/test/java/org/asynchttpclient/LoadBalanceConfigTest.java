@@ -33,6 +33,12 @@ class LoadBalanceConfigTest {
         assertEquals(LoadBalance.ROUND_ROBIN, config.getLoadBalance());
     }
 
+    @Test
+    void builderSetsLeastLatency() {
+        AsyncHttpClientConfig config = config().setLoadBalance(LoadBalance.LEAST_LATENCY).build();
+        assertEquals(LoadBalance.LEAST_LATENCY, config.getLoadBalance());
+    }
+
     @Test
     void nullResetsToDefault() {
         assertEquals(LoadBalance.DEFAULT, config().setLoadBalance(null).build().getLoadBalance());
@@ -0,0 +1,77 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutlierDetectionConfigTest {
+
+    @Test
+    void defaultsToDisabled() {
+        AsyncHttpClientConfig config = config().build();
+        assertFalse(config.isOutlierDetectionEnabled());
+        assertEquals(5, config.getOutlierDetectionConsecutiveErrors());
+        assertEquals(3, config.getOutlierDetectionLatencyFactor());
+        assertEquals(Duration.ofSeconds(30), config.getOutlierDetectionBaseEjectionTime());
+        assertEquals(Duration.ofMinutes(5), config.getOutlierDetectionMaxEjectionTime());
+        assertEquals(50, config.getOutlierDetectionMaxEjectionPercent());
+    }
+
+    @Test
+    void nullDurationsResetToDefault() {
+        AsyncHttpClientConfig config = config()
+                .setOutlierDetectionBaseEjectionTime(null)
+                .setOutlierDetectionMaxEjectionTime(null)
+                .build();
+        assertEquals(Duration.ofSeconds(30), config.getOutlierDetectionBaseEjectionTime());
+        assertEquals(Duration.ofMinutes(5), config.getOutlierDetectionMaxEjectionTime());
+    }
+
+    @Test
+    void invalidValuesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> config().setOutlierDetectionConsecutiveErrors(0));
+        assertThrows(IllegalArgumentException.class, () -> config().setOutlierDetectionLatencyFactor(-1));
+        assertThrows(IllegalArgumentException.class, () -> config().setOutlierDetectionMaxEjectionPercent(101));
+        assertThrows(IllegalArgumentException.class, () -> config().setOutlierDetectionBaseEjectionTime(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void copyConstructorPreservesValues() {
+        AsyncHttpClientConfig source = config()
+                .setOutlierDetectionEnabled(true)
+                .setOutlierDetectionConsecutiveErrors(2)
+                .setOutlierDetectionLatencyFactor(0)
+                .setOutlierDetectionBaseEjectionTime(Duration.ofSeconds(1))
+                .setOutlierDetectionMaxEjectionTime(Duration.ofSeconds(8))
+                .setOutlierDetectionMaxEjectionPercent(100)
+                .build();
+        AsyncHttpClientConfig copy = new DefaultAsyncHttpClientConfig.Builder(source).build();
+        assertTrue(copy.isOutlierDetectionEnabled());
+        assertEquals(2, copy.getOutlierDetectionConsecutiveErrors());
+        assertEquals(0, copy.getOutlierDetectionLatencyFactor());
+        assertEquals(Duration.ofSeconds(1), copy.getOutlierDetectionBaseEjectionTime());
+        assertEquals(Duration.ofSeconds(8), copy.getOutlierDetectionMaxEjectionTime());
+        assertEquals(100, copy.getOutlierDetectionMaxEjectionPercent());
+    }
+}
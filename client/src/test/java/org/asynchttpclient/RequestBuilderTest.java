@@ -35,6 +35,7 @@ import static org.asynchttpclient.Dsl.get;
 import static org.asynchttpclient.Dsl.post;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RequestBuilderTest {
@@ -432,4 +433,21 @@ public class RequestBuilderTest {
         assertTrue(value.contains("Cookie: <redacted>"));
         assertTrue(value.contains("request-id"));
     }
+
+    @Test
+    public void testPrototypeRequestShouldPreservePriority() {
+        Request prototype = get("http://localhost/test").setPriority(RequestPriority.of(0, false)).build();
+
+        Request request = new RequestBuilder(prototype).build();
+
+        assertEquals(RequestPriority.of(0, false), request.getPriority());
+        assertEquals("u=0", request.getPriority().toHeaderValue());
+    }
+
+    @Test
+    public void testPriorityUrgencyMustBeInRange() {
+        assertThrows(IllegalArgumentException.class, () -> RequestPriority.of(8, false));
+        assertThrows(IllegalArgumentException.class, () -> RequestPriority.of(-1, true));
+        assertEquals("u=3, i", RequestPriority.of(RequestPriority.DEFAULT_URGENCY, true).toHeaderValue());
+    }
 }
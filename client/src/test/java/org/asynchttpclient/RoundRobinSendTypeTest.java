@@ -37,6 +37,7 @@ import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -50,8 +51,10 @@ import static org.asynchttpclient.Dsl.get;
 import static org.asynchttpclient.test.TestUtils.TIMEOUT;
 import static org.asynchttpclient.test.TestUtils.addHttpConnector;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * End-to-end coverage for {@link LoadBalance#ROUND_ROBIN}: a single host that resolves to several
@@ -194,6 +197,21 @@ public class RoundRobinSendTypeTest {
         assertEquals(Set.of(IPS), targetedIps, "round-robin should target every resolved IP");
     }
 
+    @Test
+    public void leastLatencyReportsPerIpScores() throws Exception {
+        NameResolver<InetAddress> resolver = fixedResolver(IPS);
+        try (AsyncHttpClient client = asyncHttpClient(config().setLoadBalance(LoadBalance.LEAST_LATENCY).setMaxRequestRetry(0).build())) {
+            for (int i = 0; i < 12; i++) {
+                Response response = client.executeRequest(get("http://leastlatency.test:" + port + "/").setNameResolver(resolver))
+                        .get(TIMEOUT, SECONDS);
+                assertEquals(200, response.getStatusCode());
+            }
+            Map<String, AddressLatencyStats> scores = client.getClientStats().getLatencyStatsPerAddress();
+            assertFalse(scores.isEmpty(), "every dispatched request is scored against its IP");
+            assertTrue(Set.of(IPS).containsAll(scores.keySet()));
+        }
+    }
+
     @Test
     public void defaultModeStaysOnASingleIp() throws Exception {
         Set<String> targetedIps = runRequestsCapturingTargetedIps(config().setMaxRequestRetry(0).build());
@@ -267,6 +285,43 @@ public class RoundRobinSendTypeTest {
         }
     }
 
+    @Test
+    public void outlierDetectionEjectsAnIpThatServes5xx() throws Exception {
+        // One wildcard-bound server that fails every request reaching it on 127.0.0.2: once that IP was ejected,
+        // the rotation keeps to the other two and no further 5xx is seen.
+        Server flaky = new Server();
+        ServerConnector connector = addHttpConnector(flaky);
+        flaky.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String t, Request base, HttpServletRequest req, HttpServletResponse resp) {
+                base.setHandled(true);
+                resp.setStatus("127.0.0.2".equals(req.getLocalAddr()) ? 503 : 200);
+            }
+        });
+        flaky.start();
+        int flakyPort = connector.getLocalPort();
+        try {
+            NameResolver<InetAddress> resolver = fixedResolver(IPS);
+            int errors = 0;
+            try (AsyncHttpClient client = asyncHttpClient(config()
+                    .setLoadBalance(LoadBalance.ROUND_ROBIN)
+                    .setOutlierDetectionEnabled(true)
+                    .setOutlierDetectionConsecutiveErrors(2)
+                    .setMaxRequestRetry(0).build())) {
+                for (int i = 0; i < 15; i++) {
+                    Response response = client.executeRequest(get("http://outlier.test:" + flakyPort + "/").setNameResolver(resolver))
+                            .get(TIMEOUT, SECONDS);
+                    if (response.getStatusCode() == 503) {
+                        errors++;
+                    }
+                }
+            }
+            assertEquals(2, errors, "127.0.0.2 must be ejected after its second consecutive 5xx");
+        } finally {
+            flaky.stop();
+        }
+    }
+
     @Test
     public void defaultModeDeprioritizesAFailedIpOnTheNextConnection() throws Exception {
         // The headline behavior this PR adds: the failed-IP cooldown now applies in DEFAULT mode too, so a
@@ -0,0 +1,204 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.pkitesting.CertificateBuilder;
+import io.netty.pkitesting.X509Bundle;
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.NameResolver;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.CONNECTION;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
+import static io.netty.handler.codec.http.HttpHeaderValues.CLOSE;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * TCP Fast Open ({@code tcpFastOpenConnect}) on loopback, against an epoll server that records, for each connection it
+ * accepts, whether its SYN carried data ({@code TCPI_OPT_SYN_DATA} in its TCP_INFO). The client kernel keeps the Fast
+ * Open cookie of 127.0.0.1 across connections, so only the first connection of a run may go without SYN data. A server
+ * accepting SYN data needs the server bit of {@code net.ipv4.tcp_fastopen}, the tests relying on it are skipped without.
+ */
+@EnabledOnOs(OS.LINUX)
+public class TcpFastOpenTest {
+
+    private static final int TCPI_OPT_SYN_DATA = 0x20;
+    private static final int CONNECTIONS = 3;
+
+    private final List<Boolean> synData = Collections.synchronizedList(new ArrayList<>());
+    private EpollEventLoopGroup serverGroup;
+    private Channel serverChannel;
+
+    @AfterEach
+    public void stopServer() throws InterruptedException {
+        if (serverChannel != null) {
+            serverChannel.close().sync();
+        }
+        if (serverGroup != null) {
+            serverGroup.shutdownGracefully(0, 100, TimeUnit.MILLISECONDS).sync();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void requestRidesInTheSyn(boolean useOnlyEpollNativeTransport) throws Exception {
+        assumeTrue(serverFastOpenEnabled());
+        String url = startServer(true, null);
+
+        sendRequests(config().setUseOnlyEpollNativeTransport(useOnlyEpollNativeTransport), url);
+
+        assertTrue(synData.get(CONNECTIONS - 1), "SYN data per connection: " + synData);
+    }
+
+    @Test
+    public void tlsClientHelloRidesInTheSyn() throws Exception {
+        assumeTrue(serverFastOpenEnabled());
+        X509Bundle bundle = new CertificateBuilder().subject("CN=localhost").setIsCertificateAuthority(true).buildSelfSigned();
+        String url = startServer(true, SslContextBuilder.forServer(bundle.toKeyManagerFactory()).build());
+
+        sendRequests(config().setUseInsecureTrustManager(true).setDisableHttpsEndpointIdentificationAlgorithm(true), url);
+
+        assertTrue(synData.get(CONNECTIONS - 1), "SYN data per connection: " + synData);
+    }
+
+    @Test
+    public void fallsBackToARegularHandshakeWhenTheServerDeclines() throws Exception {
+        String url = startServer(false, null);
+
+        sendRequests(config(), url);
+
+        assertFalse(synData.contains(true), "SYN data per connection: " + synData);
+    }
+
+    @Test
+    public void racedConnectionsOpenWithARegularHandshake() throws Exception {
+        assumeTrue(serverFastOpenEnabled());
+        String url = startServer(true, null);
+        // two addresses, both the server's, so that every connection is raced
+        InetAddress loopback = InetAddress.getByName("127.0.0.1");
+        NameResolver<InetAddress> resolver = new InetNameResolver(ImmediateEventExecutor.INSTANCE) {
+            @Override
+            protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+                promise.setSuccess(loopback);
+            }
+
+            @Override
+            protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+                promise.setSuccess(Arrays.asList(loopback, loopback));
+            }
+        };
+
+        try (AsyncHttpClient client = asyncHttpClient(config().setUseNativeTransport(true).setTcpFastOpenConnect(true).setKeepAlive(false)
+                .setHappyEyeballsEnabled(true))) {
+            for (int i = 0; i < CONNECTIONS; i++) {
+                assertEquals(200, client.prepareGet(url).setNameResolver(resolver).execute().get(10, SECONDS).getStatusCode());
+            }
+        }
+
+        assertFalse(synData.contains(true), "SYN data per connection: " + synData);
+    }
+
+    private void sendRequests(DefaultAsyncHttpClientConfig.Builder config, String url) throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config.setUseNativeTransport(true).setTcpFastOpenConnect(true).setKeepAlive(false))) {
+            for (int i = 0; i < CONNECTIONS; i++) {
+                assertEquals(200, client.prepareGet(url).execute().get(10, SECONDS).getStatusCode());
+            }
+        }
+        assertEquals(CONNECTIONS, synData.size());
+    }
+
+    private String startServer(boolean fastOpen, SslContext sslContext) throws InterruptedException {
+        serverGroup = new EpollEventLoopGroup(1);
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(EpollServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<EpollSocketChannel>() {
+                    @Override
+                    protected void initChannel(EpollSocketChannel ch) {
+                        synData.add((ch.tcpInfo().options() & TCPI_OPT_SYN_DATA) != 0);
+                        if (sslContext != null) {
+                            ch.pipeline().addLast(sslContext.newHandler(ch.alloc()));
+                        }
+                        ch.pipeline().addLast(new HttpServerCodec(), new Responder());
+                    }
+                });
+        if (fastOpen) {
+            bootstrap.option(ChannelOption.TCP_FASTOPEN, 16);
+        }
+        serverChannel = bootstrap.bind("127.0.0.1", 0).sync().channel();
+        return (sslContext != null ? "https" : "http") + "://127.0.0.1:" + ((InetSocketAddress) serverChannel.localAddress()).getPort() + '/';
+    }
+
+    private static boolean serverFastOpenEnabled() throws Exception {
+        return (Integer.parseInt(Files.readAllLines(Paths.get("/proc/sys/net/ipv4/tcp_fastopen")).get(0).trim()) & 2) != 0;
+    }
+
+    /** Answers every request with an empty 200 and closes the connection. */
+    private static final class Responder extends SimpleChannelInboundHandler<HttpObject> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) {
+            if (msg instanceof LastHttpContent) {
+                FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, OK, Unpooled.EMPTY_BUFFER);
+                response.headers().set(CONTENT_LENGTH, 0).set(CONNECTION, CLOSE);
+                ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+            }
+        }
+    }
+}
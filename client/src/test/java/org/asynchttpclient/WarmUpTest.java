@@ -0,0 +1,134 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import io.netty.channel.Channel;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Covers {@link AsyncHttpClient#warmUp(String, int)} over HTTP/1.1; the HTTP/2 case is in {@link BasicHttp2Test}.
+ */
+public class WarmUpTest extends AbstractBasicTest {
+
+    private static final class PoolUsageRecorder extends AsyncCompletionHandler<Response> {
+        private final AtomicBoolean pooled = new AtomicBoolean();
+        private final AtomicBoolean connected = new AtomicBoolean();
+
+        @Override
+        public void onConnectionPooled(Channel connection) {
+            pooled.set(true);
+        }
+
+        @Override
+        public void onTcpConnectAttempt(InetSocketAddress remoteAddress) {
+            connected.set(true);
+        }
+
+        @Override
+        public Response onCompleted(Response response) {
+            return response;
+        }
+    }
+
+    @Test
+    public void warmUpPoolsTheRequestedConnections() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient()) {
+            assertEquals(3, client.warmUp(getTargetUrl(), 3).get(TIMEOUT, SECONDS));
+
+            ClientStats stats = client.getClientStats();
+            assertEquals(3, stats.getTotalConnectionCount());
+            assertEquals(3, stats.getTotalIdleConnectionCount());
+
+            PoolUsageRecorder recorder = new PoolUsageRecorder();
+            Response response = client.executeRequest(client.prepareGet(getTargetUrl()).build(), recorder).get(TIMEOUT, SECONDS);
+            assertEquals(200, response.getStatusCode());
+            assertTrue(recorder.pooled.get(), "the request must run on a warmed-up connection");
+            assertFalse(recorder.connected.get(), "the request must not open a connection of its own");
+            assertEquals(3, client.getClientStats().getTotalConnectionCount());
+        }
+    }
+
+    @Test
+    public void warmUpStopsAtMaxConnectionsPerHost() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config().setMaxConnectionsPerHost(2))) {
+            assertEquals(2, client.warmUp(getTargetUrl(), 5).get(TIMEOUT, SECONDS));
+            assertEquals(2, client.getClientStats().getTotalIdleConnectionCount());
+
+            // the permits are held by the pooled connections, which requests can still use
+            Response response = client.prepareGet(getTargetUrl()).execute().get(TIMEOUT, SECONDS);
+            assertEquals(200, response.getStatusCode());
+        }
+    }
+
+    @Test
+    public void warmUpFailsWhenNoConnectionCanBeOpened() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        try (AsyncHttpClient client = asyncHttpClient(config().setMaxRequestRetry(0))) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> client.warmUp("http://localhost:" + closedPort + "/", 2).get(TIMEOUT, SECONDS));
+            assertInstanceOf(ConnectException.class, e.getCause());
+            assertEquals(0, client.getClientStats().getTotalConnectionCount());
+        }
+    }
+
+    @Test
+    public void warmUpRejectsANonPositiveConnectionCount() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient()) {
+            assertThrows(IllegalArgumentException.class, () -> client.warmUp(getTargetUrl(), 0));
+        }
+    }
+
+    @Test
+    public void minIdleKeepsConnectionsReady() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config()
+                .setConnectionPoolMinIdle(2)
+                .setConnectionPoolMaintenancePeriod(Duration.ofMillis(100)))) {
+            assertEquals(200, client.prepareGet(getTargetUrl()).execute().get(TIMEOUT, SECONDS).getStatusCode());
+
+            long deadline = System.nanoTime() + SECONDS.toNanos(TIMEOUT);
+            while (client.getClientStats().getTotalIdleConnectionCount() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            ClientStats stats = client.getClientStats();
+            assertEquals(2, stats.getTotalIdleConnectionCount());
+            assertEquals(1, stats.getConnectionPoolStats().getPrewarmedConnectionCount(),
+                    "the connection of the request was pooled, only one more was needed");
+
+            PoolUsageRecorder recorder = new PoolUsageRecorder();
+            client.executeRequest(client.prepareGet(getTargetUrl()).build(), recorder).get(TIMEOUT, SECONDS);
+            assertTrue(recorder.pooled.get());
+        }
+    }
+}
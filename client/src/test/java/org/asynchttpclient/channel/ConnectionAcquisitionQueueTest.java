@@ -0,0 +1,88 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.channel;
+
+import org.asynchttpclient.AbstractBasicTest;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.ClientStats;
+import org.asynchttpclient.ConnectionAcquisitionStats;
+import org.asynchttpclient.ListenableFuture;
+import org.asynchttpclient.Response;
+import org.asynchttpclient.exception.TooManyConnectionsException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Covers {@link org.asynchttpclient.AsyncHttpClientConfig#isConnectionAcquisitionQueueEnabled()} against a live server.
+ */
+public class ConnectionAcquisitionQueueTest extends AbstractBasicTest {
+
+    @Test
+    public void queuedRequestsAreHandedTheReleasedConnection() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config()
+                .setMaxConnections(1)
+                .setAcquireFreeChannelTimeout(TIMEOUT * 1000)
+                .setConnectionAcquisitionQueueEnabled(true))) {
+            List<ListenableFuture<Response>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                // the server holds each response for 40 ms, so that the requests queue up behind the first one
+                futures.add(client.prepareGet(getTargetUrl()).addHeader("LockThread", "-1").execute());
+            }
+            for (ListenableFuture<Response> future : futures) {
+                assertEquals(200, future.get(TIMEOUT, SECONDS).getStatusCode());
+            }
+
+            ClientStats stats = client.getClientStats();
+            assertEquals(1, stats.getTotalConnectionCount());
+            ConnectionAcquisitionStats acquisitionStats = stats.getConnectionAcquisitionStats();
+            assertEquals(3, acquisitionStats.getAcquiredCount());
+            assertEquals(3, acquisitionStats.getHandedOffCount());
+            assertEquals(0, acquisitionStats.getPendingCount());
+        }
+    }
+
+    @Test
+    public void queuedRequestFailsWithoutBlockingWhenNoConnectionIsReleasedInTime() throws Exception {
+        int acquireTimeout = 500;
+        try (AsyncHttpClient client = asyncHttpClient(config()
+                .setMaxConnections(1)
+                .setAcquireFreeChannelTimeout(acquireTimeout)
+                .setConnectionAcquisitionQueueEnabled(true))) {
+            ListenableFuture<Response> slow = client.prepareGet(getTargetUrl()).addHeader("LockThread", "1").execute();
+
+            long start = System.nanoTime();
+            ListenableFuture<Response> queued = client.prepareGet(getTargetUrl()).execute();
+            assertTrue(System.nanoTime() - start < MILLISECONDS.toNanos(acquireTimeout), "execute() must not wait for a permit");
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(TIMEOUT, SECONDS));
+            assertInstanceOf(TooManyConnectionsException.class, e.getCause());
+            assertEquals(1, client.getClientStats().getConnectionAcquisitionStats().getTimedOutCount());
+            assertEquals(200, slow.get(TIMEOUT, SECONDS).getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import org.asynchttpclient.uri.Uri;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AltSvcCacheTest {
+
+    private static final Uri ORIGIN = Uri.create("https://example.com/path");
+
+    private final AtomicLong now = new AtomicLong();
+
+    private AltSvcCache cache(int maxEntries, boolean http2Enabled) {
+        return new AltSvcCache(maxEntries, http2Enabled, false, now::get);
+    }
+
+    @Test
+    void parsesTheAlternativesAndTheirMaxAge() {
+        List<AltSvcCache.Alternative> parsed = AltSvcCache.parse(
+                "h3=\":443\"; ma=3600, h2=\"alt.example.com:8443\"; ma=60; persist=1, h2=\"[::1]:9443\", h%32=\":1\"", 0);
+
+        assertEquals(4, parsed.size());
+        assertEquals("h3", parsed.get(0).getProtocolId());
+        assertNull(parsed.get(0).getHost());
+        assertEquals(443, parsed.get(0).getPort());
+        assertEquals("alt.example.com", parsed.get(1).getHost());
+        assertEquals(8443, parsed.get(1).getPort());
+        assertEquals("::1", parsed.get(2).getHost());
+        assertEquals("h2", parsed.get(3).getProtocolId(), "the protocol id is percent-decoded");
+    }
+
+    @Test
+    void skipsMalformedAlternatives() {
+        List<AltSvcCache.Alternative> parsed = AltSvcCache.parse("h2, h2=\"host\", h2=\":99999\", h2=\":x\", h2=\":443\"; ma=soon, h2=\":8443\"", 0);
+
+        assertEquals(1, parsed.size());
+        assertEquals(8443, parsed.get(0).getPort());
+    }
+
+    @Test
+    void keepsOnlyTheProtocolsTheClientSpeaks() {
+        AltSvcCache cache = cache(10, false);
+        cache.onAltSvc(ORIGIN, "h3=\":443\", h2=\":8443\", http/1.1=\":9443\"");
+        assertEquals(9443, cache.get(ORIGIN).getPort());
+
+        AltSvcCache http2Cache = cache(10, true);
+        http2Cache.onAltSvc(ORIGIN, "h3=\":443\", h2=\":8443\", http/1.1=\":9443\"");
+        assertEquals(8443, http2Cache.get(ORIGIN).getPort());
+    }
+
+    @Test
+    void http3AlternativesAreKeptApartFromTheTcpOnes() {
+        AltSvcCache cache = new AltSvcCache(10, true, true, now::get);
+        cache.onAltSvc(ORIGIN, "h3=\":443\", h2=\":8443\"");
+
+        AltSvcCache.Alternative http3 = cache.getHttp3(ORIGIN);
+        assertNotNull(http3, "an h3 alternative on the origin's own port is its UDP endpoint");
+        assertEquals(443, http3.getPort());
+        assertEquals(8443, cache.get(ORIGIN).getPort());
+
+        cache.markBroken(ORIGIN, http3);
+        assertNull(cache.getHttp3(ORIGIN));
+        assertEquals(8443, cache.get(ORIGIN).getPort());
+    }
+
+    @Test
+    void ignoresTheOriginItselfAndCleartextOrigins() {
+        AltSvcCache cache = cache(10, true);
+        cache.onAltSvc(ORIGIN, "h2=\":443\", h2=\"EXAMPLE.com:443\"");
+        assertNull(cache.get(ORIGIN));
+
+        Uri cleartext = Uri.create("http://example.com/");
+        cache.onAltSvc(cleartext, "h2=\":8443\"");
+        assertNull(cache.get(cleartext));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void alternativesExpireAfterTheirMaxAge() {
+        AltSvcCache cache = cache(10, true);
+        cache.onAltSvc(ORIGIN, "h2=\":8443\"; ma=10, h2=\":9443\"");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        assertEquals(8443, cache.get(ORIGIN).getPort());
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(9443, cache.get(ORIGIN).getPort());
+        now.addAndGet(TimeUnit.SECONDS.toNanos(AltSvcCache.DEFAULT_MAX_AGE_SECONDS));
+        assertNull(cache.get(ORIGIN));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void aNewHeaderReplacesTheAlternativesAndClearForgetsThem() {
+        AltSvcCache cache = cache(10, true);
+        cache.onAltSvc(ORIGIN, "h2=\":8443\"");
+        cache.onAltSvc(ORIGIN, "h2=\":9443\"");
+        assertEquals(9443, cache.get(ORIGIN).getPort());
+
+        cache.onAltSvc(ORIGIN, " Clear ");
+        assertNull(cache.get(ORIGIN));
+    }
+
+    @Test
+    void brokenAlternativeIsForgotten() {
+        AltSvcCache cache = cache(10, true);
+        cache.onAltSvc(ORIGIN, "h2=\":8443\", h2=\":9443\"");
+
+        cache.markBroken(ORIGIN, cache.get(ORIGIN));
+        assertEquals(9443, cache.get(ORIGIN).getPort());
+        cache.markBroken(ORIGIN, cache.get(ORIGIN));
+        assertNull(cache.get(ORIGIN));
+    }
+
+    @Test
+    void leastRecentlyUsedOriginIsEvicted() {
+        AltSvcCache cache = cache(2, true);
+        Uri first = Uri.create("https://first.example.com/");
+        Uri second = Uri.create("https://second.example.com/");
+        Uri third = Uri.create("https://third.example.com/");
+        cache.onAltSvc(first, "h2=\":8443\"");
+        cache.onAltSvc(second, "h2=\":8443\"");
+        assertNotNull(cache.get(first));
+
+        cache.onAltSvc(third, "h2=\":8443\"");
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(first));
+        assertNull(cache.get(second));
+        assertNotNull(cache.get(third));
+    }
+}
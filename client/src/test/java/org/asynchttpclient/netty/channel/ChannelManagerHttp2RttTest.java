@@ -0,0 +1,150 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the replacement of HTTP/2 connections whose round-trip time degraded, see
+ * {@code http2DegradedRttFactor}.
+ */
+class ChannelManagerHttp2RttTest {
+
+    private static final String BASE = "https://host:443";
+
+    private ChannelManager channelManager;
+    private Timer timer;
+
+    private void start(int degradedRttFactor) {
+        timer = new HashedWheelTimer();
+        channelManager = new ChannelManager(config().setHttp2MaxConnectionsPerHost(2).setHttp2DegradedRttFactor(degradedRttFactor).build(), timer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (channelManager != null) {
+            channelManager.close();
+        }
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    private EmbeddedChannel register(Object partitionKey, long rttMillis) {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        Http2ConnectionState state = new Http2ConnectionState();
+        for (int i = 0; i < 3; i++) {
+            state.recordRttSample(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+        }
+        channel.attr(Http2ConnectionState.HTTP2_STATE_KEY).set(state);
+        channelManager.registerHttp2Connection(partitionKey, channel);
+        return channel;
+    }
+
+    private static Http2ConnectionState stateOf(EmbeddedChannel channel) {
+        return channel.attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
+    }
+
+    @Test
+    void idleConnectionMuchSlowerThanItsSiblingIsClosed() {
+        start(3);
+        EmbeddedChannel fast = register(BASE, 5);
+        EmbeddedChannel slow = register(new Http2ScaleOutPartitionKey(BASE, 1), 50);
+
+        channelManager.checkHttp2ConnectionRtt(fast);
+        assertFalse(stateOf(fast).isDegraded());
+
+        channelManager.checkHttp2ConnectionRtt(slow);
+        assertTrue(stateOf(slow).isDegraded());
+        assertFalse(slow.isActive());
+        assertSame(fast, channelManager.pollHttp2Connection(BASE));
+        assertEquals(1, channelManager.getClientStats().getHttp2DegradedConnectionCount());
+    }
+
+    @Test
+    void busyDegradedConnectionTakesNoNewRequestsButKeepsItsStreams() {
+        start(3);
+        EmbeddedChannel fast = register(BASE, 1);
+        EmbeddedChannel slow = register(new Http2ScaleOutPartitionKey(BASE, 1), 1);
+        assertTrue(stateOf(slow).tryAcquireStream());
+        for (int i = 0; i < 20; i++) {
+            stateOf(slow).recordRttSample(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        channelManager.checkHttp2ConnectionRtt(slow);
+        assertTrue(stateOf(slow).isDegraded());
+        assertTrue(slow.isActive());
+        assertEquals(1, stateOf(slow).getActiveStreams());
+        assertSame(fast, channelManager.pollHttp2Connection(BASE));
+    }
+
+    @Test
+    void loneConnectionIsNeverReplaced() {
+        start(3);
+        EmbeddedChannel only = register(BASE, 1);
+        for (int i = 0; i < 20; i++) {
+            stateOf(only).recordRttSample(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        channelManager.checkHttp2ConnectionRtt(only);
+        assertFalse(stateOf(only).isDegraded());
+        assertSame(only, channelManager.pollHttp2Connection(BASE));
+    }
+
+    @Test
+    void unansweredProbeCountsAsTheRoundTripTime() {
+        start(3);
+        register(BASE, 5);
+        EmbeddedChannel stalled = register(new Http2ScaleOutPartitionKey(BASE, 1), 5);
+
+        assertTrue(stateOf(stalled).tryStartRttProbe(System.nanoTime() - TimeUnit.SECONDS.toNanos(1)));
+        channelManager.checkHttp2ConnectionRtt(stalled);
+        assertTrue(stateOf(stalled).isDegraded());
+    }
+
+    @Test
+    void jitterOnAFastLinkIsNotADegradation() {
+        start(3);
+        register(BASE, 0);
+        EmbeddedChannel jittery = register(new Http2ScaleOutPartitionKey(BASE, 1), 5);
+
+        channelManager.checkHttp2ConnectionRtt(jittery);
+        assertFalse(stateOf(jittery).isDegraded(), "5 ms slower is below the 10 ms floor");
+    }
+
+    @Test
+    void connectionsAreNeverReplacedWithoutAFactor() {
+        start(0);
+        register(BASE, 1);
+        EmbeddedChannel slow = register(new Http2ScaleOutPartitionKey(BASE, 1), 500);
+
+        channelManager.checkHttp2ConnectionRtt(slow);
+        assertFalse(stateOf(slow).isDegraded());
+        assertTrue(slow.isActive());
+    }
+}
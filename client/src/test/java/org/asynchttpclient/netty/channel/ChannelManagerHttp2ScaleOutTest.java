@@ -0,0 +1,131 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the registry side of HTTP/2 scale-out ({@code http2MaxConnectionsPerHost}): least-loaded lookup
+ * across the connections of a group, the per-group cap on opening more, and the retirement of idle ones.
+ */
+class ChannelManagerHttp2ScaleOutTest {
+
+    private static final String BASE = "https://host:443";
+
+    private ChannelManager channelManager;
+    private Timer timer;
+
+    @BeforeEach
+    void setUp() {
+        timer = new HashedWheelTimer();
+        channelManager = new ChannelManager(config().setHttp2MaxConnectionsPerHost(2).build(), timer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (channelManager != null) {
+            channelManager.close();
+        }
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    private EmbeddedChannel register(Object partitionKey, int maxStreams, int activeStreams) {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        Http2ConnectionState state = new Http2ConnectionState();
+        state.updateMaxConcurrentStreams(maxStreams);
+        for (int i = 0; i < activeStreams; i++) {
+            assertTrue(state.tryAcquireStream());
+        }
+        channel.attr(Http2ConnectionState.HTTP2_STATE_KEY).set(state);
+        channelManager.registerHttp2Connection(partitionKey, channel);
+        return channel;
+    }
+
+    private static Http2ConnectionState stateOf(EmbeddedChannel channel) {
+        return channel.attr(Http2ConnectionState.HTTP2_STATE_KEY).get();
+    }
+
+    @Test
+    void groupLookupReturnsTheLeastLoadedConnection() {
+        EmbeddedChannel busy = register(BASE, 10, 8);
+        EmbeddedChannel scaleOut = register(new Http2ScaleOutPartitionKey(BASE, 1), 10, 2);
+
+        assertSame(scaleOut, channelManager.pollHttp2Connection(BASE));
+        for (int i = 0; i < 7; i++) {
+            stateOf(busy).releaseStream();
+        }
+        assertSame(busy, channelManager.pollHttp2Connection(BASE));
+    }
+
+    @Test
+    void groupLookupFindsAScaleOutConnectionOnceTheFirstOneIsGone() {
+        EmbeddedChannel first = register(BASE, 10, 0);
+        EmbeddedChannel scaleOut = register(new Http2ScaleOutPartitionKey(BASE, 1), 10, 0);
+        channelManager.removeHttp2Connection(BASE, first);
+
+        assertSame(scaleOut, channelManager.pollHttp2Connection(BASE));
+    }
+
+    @Test
+    void scaleOutIsCappedPerGroupAndOneAtATime() {
+        register(BASE, 1, 1);
+
+        Http2ScaleOutPartitionKey key = channelManager.tryStartHttp2ScaleOut(BASE);
+        assertNotNull(key);
+        assertEquals(BASE, key.getPartitionKey());
+        assertNull(channelManager.tryStartHttp2ScaleOut(BASE), "only one connection is opened at a time per group");
+
+        register(key, 1, 1);
+        channelManager.endHttp2ScaleOut(key);
+        assertNull(channelManager.tryStartHttp2ScaleOut(key), "the group is at http2MaxConnectionsPerHost");
+        assertNotNull(channelManager.tryStartHttp2ScaleOut("https://other:443"));
+    }
+
+    @Test
+    void idleScaleOutConnectionIsRetiredOnceTheOthersAreQuiet() {
+        EmbeddedChannel first = register(BASE, 10, 5);
+        EmbeddedChannel scaleOut = register(new Http2ScaleOutPartitionKey(BASE, 1), 10, 0);
+
+        channelManager.retireIdleHttp2Connection(scaleOut);
+        assertTrue(scaleOut.isActive(), "the first connection is still past half the threshold");
+
+        for (int i = 0; i < 2; i++) {
+            stateOf(first).releaseStream();
+        }
+        channelManager.retireIdleHttp2Connection(scaleOut);
+        assertFalse(scaleOut.isActive());
+        assertTrue(stateOf(scaleOut).isRetired());
+        assertSame(first, channelManager.pollHttp2Connection(BASE));
+
+        channelManager.retireIdleHttp2Connection(first);
+        assertTrue(first.isActive(), "a connection that wasn't opened to scale out is never retired");
+    }
+}
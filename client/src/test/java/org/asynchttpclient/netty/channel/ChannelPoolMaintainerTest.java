@@ -0,0 +1,185 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import org.asynchttpclient.uri.Uri;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelPoolMaintainerTest {
+
+    private static final Duration PERIOD = Duration.ofSeconds(1);
+    private static final Duration IDLE_TIMEOUT = Duration.ofSeconds(60);
+    private static final Uri URI = Uri.create("http://localhost:8080/path?query=1");
+    private static final String KEY = "localhost:8080";
+
+    // Fake pool and warm-up function: warm-ups complete only when the test says so.
+    private final Map<Object, Long> idle = new HashMap<>();
+    private final Set<Object> multiplexed = new HashSet<>();
+    private final List<Integer> warmUps = new ArrayList<>();
+    private final List<Uri> warmedUpOrigins = new ArrayList<>();
+    private final List<CompletableFuture<Integer>> pending = new ArrayList<>();
+    private final long[] now = {0};
+
+    private ChannelPoolMaintainer maintainer(int minIdle, boolean predictive) {
+        return new ChannelPoolMaintainer(minIdle, predictive, PERIOD, IDLE_TIMEOUT,
+                key -> idle.getOrDefault(key, 0L),
+                multiplexed::contains,
+                (origin, connections) -> {
+                    warmUps.add(connections);
+                    warmedUpOrigins.add(origin);
+                    CompletableFuture<Integer> future = new CompletableFuture<>();
+                    pending.add(future);
+                    return future;
+                },
+                () -> false,
+                () -> now[0]);
+    }
+
+    private void completeWarmUps() {
+        pending.forEach(future -> future.complete(1));
+        pending.clear();
+    }
+
+    private void period(ChannelPoolMaintainer maintainer, int hits, int misses) {
+        for (int i = 0; i < hits; i++) {
+            maintainer.record(KEY, URI, true);
+        }
+        for (int i = 0; i < misses; i++) {
+            maintainer.record(KEY, URI, false);
+        }
+        now[0] += PERIOD.toNanos();
+        maintainer.maintain();
+    }
+
+    @Test
+    void topsThePartitionUpToMinIdle() {
+        ChannelPoolMaintainer maintainer = maintainer(3, false);
+        idle.put(KEY, 1L);
+        period(maintainer, 1, 0);
+        assertEquals(List.of(2), warmUps);
+        assertEquals("http://localhost:8080/path", warmedUpOrigins.get(0).toUrl(), "the origin is kept without the query");
+    }
+
+    @Test
+    void doesNothingWhenEnoughConnectionsAreIdle() {
+        ChannelPoolMaintainer maintainer = maintainer(2, false);
+        idle.put(KEY, 2L);
+        period(maintainer, 5, 0);
+        assertTrue(warmUps.isEmpty());
+    }
+
+    @Test
+    void keepsOneWarmUpInFlightPerPartition() {
+        ChannelPoolMaintainer maintainer = maintainer(2, false);
+        period(maintainer, 0, 1);
+        period(maintainer, 0, 1);
+        assertEquals(List.of(2), warmUps, "the second pass must wait for the first warm-up");
+
+        completeWarmUps();
+        period(maintainer, 0, 1);
+        assertEquals(List.of(2, 2), warmUps);
+    }
+
+    @Test
+    void skipsMultiplexedPartitions() {
+        ChannelPoolMaintainer maintainer = maintainer(2, false);
+        multiplexed.add(KEY);
+        period(maintainer, 1, 0);
+        assertTrue(warmUps.isEmpty());
+    }
+
+    @Test
+    void skipsPoolsThatCannotCountIdleChannels() {
+        ChannelPoolMaintainer maintainer = maintainer(2, false);
+        idle.put(KEY, -1L);
+        period(maintainer, 1, 0);
+        assertTrue(warmUps.isEmpty());
+    }
+
+    @Test
+    void predictsConnectionsFromMisses() {
+        ChannelPoolMaintainer maintainer = maintainer(0, true);
+        period(maintainer, 0, 4);
+        // missEwma = 0.5 * 4
+        assertEquals(List.of(2), warmUps);
+    }
+
+    @Test
+    void scalesThePredictionWithTheArrivalGrowth() {
+        ChannelPoolMaintainer maintainer = maintainer(0, true);
+        period(maintainer, 10, 0);
+        period(maintainer, 5, 0);
+        assertTrue(warmUps.isEmpty(), "no miss, nothing to predict");
+
+        // arrivals grow sixfold over their average of 5, capped at 4x: missEwma = 0.5 * 4 = 2, times 4
+        period(maintainer, 26, 4);
+        assertEquals(List.of(8), warmUps);
+    }
+
+    @Test
+    void minIdleIsAFloorForThePrediction() {
+        ChannelPoolMaintainer maintainer = maintainer(3, true);
+        period(maintainer, 0, 2);
+        assertEquals(List.of(3), warmUps);
+    }
+
+    @Test
+    void forgetsPartitionsWithoutTraffic() {
+        ChannelPoolMaintainer maintainer = maintainer(2, false);
+        idle.put(KEY, 2L);
+        period(maintainer, 1, 0);
+        assertEquals(1, maintainer.trackedPartitionCount());
+
+        idle.put(KEY, 0L);
+        now[0] += IDLE_TIMEOUT.toNanos();
+        maintainer.maintain();
+        assertEquals(0, maintainer.trackedPartitionCount());
+        assertTrue(warmUps.isEmpty(), "connections of an unused partition must be left to expire");
+    }
+
+    @Test
+    void boundsTheTrackedPartitions() {
+        ChannelPoolMaintainer maintainer = maintainer(1, false);
+        for (int i = 0; i < ChannelPoolMaintainer.MAX_TRACKED_PARTITIONS + 10; i++) {
+            maintainer.record("host" + i, URI, false);
+        }
+        assertEquals(ChannelPoolMaintainer.MAX_TRACKED_PARTITIONS, maintainer.trackedPartitionCount());
+    }
+
+    @Test
+    void survivesAWarmUpRejectedByAClosingClient() {
+        ChannelPoolMaintainer maintainer = new ChannelPoolMaintainer(1, false, PERIOD, IDLE_TIMEOUT, key -> 0L, key -> false,
+                (origin, connections) -> {
+                    throw new IllegalStateException("Closed");
+                }, () -> false, () -> now[0]);
+        period(maintainer, 1, 0);
+        now[0] += PERIOD.toNanos();
+        maintainer.maintain();
+        assertEquals(1, maintainer.trackedPartitionCount());
+    }
+}
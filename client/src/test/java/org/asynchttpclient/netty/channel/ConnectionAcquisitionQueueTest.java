@@ -0,0 +1,357 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import org.asynchttpclient.ConnectionAcquisitionStats;
+import org.asynchttpclient.exception.TooManyConnectionsException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Covers the {@link ConnectionAcquisitionQueue} serving order, deadlines and stats with fake waiters and timer; the
+ * client-level behavior is in {@code org.asynchttpclient.channel.ConnectionAcquisitionQueueTest}.
+ */
+class ConnectionAcquisitionQueueTest {
+
+    // a limiter without any free permit
+    private static final ConnectionSemaphore EXHAUSTED = new ConnectionSemaphore() {
+        @Override
+        public void acquireChannelLock(Object partitionKey) throws IOException {
+            throw new TooManyConnectionsException(0);
+        }
+
+        @Override
+        public void releaseChannelLock(Object partitionKey) {
+        }
+    };
+
+    private final ManualTimer timer = new ManualTimer();
+    private final long[] now = {0};
+    private final ConnectionAcquisitionQueue queue = new ConnectionAcquisitionQueue(timer, 1000, () -> now[0]);
+
+    private final class TestWaiter extends ConnectionAcquisitionQueue.Waiter {
+
+        private final Object partitionKey;
+        private final ConnectionSemaphore semaphore;
+        private boolean done;
+        private boolean permit;
+        private int releasedPermits;
+        private Runnable beforeAcquire = () -> { };
+        private Channel channel;
+        private boolean timedOut;
+
+        TestWaiter(Object partitionKey, ConnectionSemaphore semaphore) {
+            super(partitionKey);
+            this.partitionKey = partitionKey;
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        protected void acquirePermit() throws IOException {
+            beforeAcquire.run();
+            semaphore.acquireChannelLock(partitionKey, true);
+        }
+
+        @Override
+        protected void releasePermit() {
+            releasedPermits++;
+            semaphore.releaseChannelLock(partitionKey);
+        }
+
+        @Override
+        protected boolean isDone() {
+            return done;
+        }
+
+        @Override
+        protected void onPermit() {
+            permit = true;
+        }
+
+        @Override
+        protected void onChannel(Channel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        protected void onTimeout() {
+            timedOut = true;
+        }
+    }
+
+    @Test
+    void releasedPermitGoesToTheOldestWaiter() throws IOException {
+        ConnectionSemaphore semaphore = queue.wrap(new MaxConnectionSemaphore(1, 0));
+        semaphore.acquireChannelLock("a", true);
+        TestWaiter first = new TestWaiter("a", semaphore);
+        TestWaiter second = new TestWaiter("a", semaphore);
+        queue.enqueue(first);
+        queue.enqueue(second);
+        assertFalse(first.permit);
+
+        now[0] = TimeUnit.MILLISECONDS.toNanos(30);
+        semaphore.releaseChannelLock("a");
+
+        assertTrue(first.permit);
+        assertFalse(second.permit);
+        assertTrue(queue.hasWaiters());
+        ConnectionAcquisitionStats stats = queue.stats();
+        assertEquals(1, stats.getPendingCount());
+        assertEquals(1, stats.getAcquiredCount());
+        assertEquals(0, stats.getHandedOffCount());
+        assertEquals(Duration.ofMillis(30), stats.getMaxWaitTime());
+    }
+
+    @Test
+    void waiterIsServedRightAwayWhenAPermitFreedUpBeforeItWasQueued() {
+        ConnectionSemaphore semaphore = queue.wrap(new MaxConnectionSemaphore(1, 0));
+        TestWaiter waiter = new TestWaiter("a", semaphore);
+        queue.enqueue(waiter);
+
+        assertTrue(waiter.permit);
+        assertFalse(queue.hasWaiters());
+        assertTrue(timer.timeouts.get(0).isCancelled(), "the deadline of a served waiter must be cancelled");
+    }
+
+    @Test
+    void hostAtItsLimitDoesNotHoldBackWaitersForOtherHosts() throws IOException {
+        ConnectionSemaphore semaphore = queue.wrap(new CombinedConnectionSemaphore(2, 1, 0));
+        semaphore.acquireChannelLock("a", true);
+        semaphore.acquireChannelLock("b", true);
+        TestWaiter forA = new TestWaiter("a", semaphore);
+        TestWaiter forC = new TestWaiter("c", semaphore);
+        queue.enqueue(forA);
+        queue.enqueue(forC);
+
+        // frees a global permit, but "a" still has its only per-host permit in use
+        semaphore.releaseChannelLock("b");
+
+        assertFalse(forA.permit);
+        assertTrue(forC.permit);
+    }
+
+    @Test
+    void releasedPermitGoesToTheOldestWaiterAcrossPartitions() throws IOException {
+        ConnectionSemaphore semaphore = queue.wrap(new MaxConnectionSemaphore(1, 0));
+        semaphore.acquireChannelLock("x", true);
+        TestWaiter forB = new TestWaiter("b", semaphore);
+        TestWaiter forA = new TestWaiter("a", semaphore);
+        queue.enqueue(forB);
+        queue.enqueue(forA);
+
+        semaphore.releaseChannelLock("x");
+
+        assertTrue(forB.permit);
+        assertFalse(forA.permit);
+    }
+
+    @Test
+    void permitIsGivenBackWhenTheWaiterWasHandedAChannelMeanwhile() throws IOException {
+        ConnectionSemaphore semaphore = queue.wrap(new MaxConnectionSemaphore(1, 0));
+        semaphore.acquireChannelLock("a", true);
+        TestWaiter raced = new TestWaiter("a", semaphore);
+        TestWaiter next = new TestWaiter("a", semaphore);
+        queue.enqueue(raced);
+        queue.enqueue(next);
+        EmbeddedChannel channel = new EmbeddedChannel();
+        // a channel is released for the partition while the drain is acquiring a permit for its oldest waiter
+        raced.beforeAcquire = () -> queue.handOff(channel, "a");
+
+        semaphore.releaseChannelLock("a");
+        channel.runPendingTasks();
+
+        assertSame(channel, raced.channel);
+        assertFalse(raced.permit);
+        assertEquals(1, raced.releasedPermits);
+        assertTrue(next.permit, "the permit given back goes to the next waiter");
+        assertFalse(queue.hasWaiters());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void releasedChannelIsHandedToTheOldestWaiterOfItsPartition() {
+        TestWaiter forA = new TestWaiter("a", EXHAUSTED);
+        TestWaiter firstForB = new TestWaiter("b", EXHAUSTED);
+        TestWaiter secondForB = new TestWaiter("b", EXHAUSTED);
+        queue.enqueue(forA);
+        queue.enqueue(firstForB);
+        queue.enqueue(secondForB);
+        EmbeddedChannel channel = new EmbeddedChannel();
+
+        assertTrue(queue.handOff(channel, "b"));
+        channel.runPendingTasks();
+
+        assertNull(forA.channel);
+        assertSame(channel, firstForB.channel);
+        assertNull(secondForB.channel);
+        assertFalse(queue.handOff(channel, "c"));
+        assertEquals(1, queue.stats().getHandedOffCount());
+        assertEquals(2, queue.stats().getPendingCount());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void registeredHttp2ConnectionIsHandedToEveryWaiterItCanServe() {
+        TestWaiter first = new TestWaiter("a", EXHAUSTED);
+        TestWaiter second = new TestWaiter("a", EXHAUSTED);
+        TestWaiter other = new TestWaiter("b", EXHAUSTED);
+        queue.enqueue(first);
+        queue.enqueue(second);
+        queue.enqueue(other);
+        EmbeddedChannel channel = new EmbeddedChannel();
+
+        queue.handOffMultiplexed(channel, "a"::equals);
+        channel.runPendingTasks();
+
+        assertSame(channel, first.channel);
+        assertSame(channel, second.channel);
+        assertNull(other.channel);
+        assertEquals(1, queue.stats().getPendingCount());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void completedWaiterIsSkipped() throws IOException {
+        ConnectionSemaphore semaphore = queue.wrap(new MaxConnectionSemaphore(1, 0));
+        semaphore.acquireChannelLock("a", true);
+        TestWaiter cancelled = new TestWaiter("a", semaphore);
+        TestWaiter next = new TestWaiter("a", semaphore);
+        queue.enqueue(cancelled);
+        queue.enqueue(next);
+        cancelled.done = true;
+
+        semaphore.releaseChannelLock("a");
+
+        assertFalse(cancelled.permit);
+        assertTrue(next.permit);
+        assertFalse(queue.hasWaiters());
+        assertEquals(1, queue.stats().getAcquiredCount());
+    }
+
+    @Test
+    void waiterFailsAtItsDeadline() throws Exception {
+        TestWaiter waiter = new TestWaiter("a", EXHAUSTED);
+        queue.enqueue(waiter);
+        assertEquals(1000, timer.delays.get(0));
+
+        now[0] = TimeUnit.SECONDS.toNanos(1);
+        timer.fire(0);
+
+        assertTrue(waiter.timedOut);
+        assertFalse(queue.hasWaiters());
+        assertFalse(queue.handOff(new EmbeddedChannel(), "a"), "a timed out waiter must not be handed a channel");
+        ConnectionAcquisitionStats stats = queue.stats();
+        assertEquals(1, stats.getTimedOutCount());
+        assertEquals(Duration.ofSeconds(1), stats.getAverageWaitTime());
+    }
+
+    @Test
+    void closeFailsTheWaitersAndTheLaterOnes() {
+        TestWaiter queued = new TestWaiter("a", EXHAUSTED);
+        queue.enqueue(queued);
+
+        queue.close();
+        TestWaiter late = new TestWaiter("a", EXHAUSTED);
+        queue.enqueue(late);
+
+        assertTrue(queued.timedOut);
+        assertTrue(late.timedOut);
+        assertFalse(queue.hasWaiters());
+        assertEquals(1, timer.timeouts.size(), "no deadline is armed once the client is closing");
+    }
+
+    private static final class ManualTimer implements Timer {
+
+        private final List<ManualTimeout> timeouts = new ArrayList<>();
+        private final List<Long> delays = new ArrayList<>();
+
+        @Override
+        public Timeout newTimeout(TimerTask task, long delay, TimeUnit unit) {
+            ManualTimeout timeout = new ManualTimeout(this, task);
+            timeouts.add(timeout);
+            delays.add(unit.toMillis(delay));
+            return timeout;
+        }
+
+        @Override
+        public Set<Timeout> stop() {
+            return Collections.emptySet();
+        }
+
+        void fire(int index) throws Exception {
+            ManualTimeout timeout = timeouts.get(index);
+            if (!timeout.cancelled) {
+                timeout.task.run(timeout);
+            }
+        }
+    }
+
+    private static final class ManualTimeout implements Timeout {
+
+        private final Timer timer;
+        private final TimerTask task;
+        private boolean cancelled;
+
+        ManualTimeout(Timer timer, TimerTask task) {
+            this.timer = timer;
+            this.task = task;
+        }
+
+        @Override
+        public Timer timer() {
+            return timer;
+        }
+
+        @Override
+        public TimerTask task() {
+            return task;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean cancel() {
+            cancelled = true;
+            return true;
+        }
+    }
+}
@@ -16,6 +16,8 @@
 package org.asynchttpclient.netty.channel;
 
 import io.netty.channel.Channel;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.util.HashedWheelTimer;
 import io.netty.util.Timeout;
@@ -32,8 +34,6 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadLocalRandom;
@@ -47,14 +47,15 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
  * White-box unit tests for {@link DefaultChannelPool} covering the bare-channel storage + reused
  * {@code IdleState} attribute (plan 009), the O(1) tombstone {@code removeAll} + tombstone-aware idle
- * cleaner (plan 013) and the generation-scoped cleaner claim (issue #2284). The cleaner is driven
- * deterministically through a capturing {@link Timer}.
+ * cleaner (plan 013), the generation-scoped cleaner claim (issue #2284) and the deadline-indexed expiry
+ * wheel that the cleaner now is. The cleaner is driven deterministically through a capturing {@link Timer}.
  */
 public class DefaultChannelPoolTest {
 
@@ -615,6 +616,189 @@ public class DefaultChannelPoolTest {
         pool.destroy();
     }
 
+    // ---- deadline-indexed expiry ----
+
+    @Test
+    public void cleanerOnlyVisitsChannelsThatCameDue() throws Exception {
+        CapturingTimer timer = new CapturingTimer();
+        DefaultChannelPool pool = idlePool(timer, Duration.ofHours(1));
+        CountingActiveChannel healthy = new CountingActiveChannel();
+
+        pool.offer(healthy, KEY);
+        long checksBefore = healthy.activeChecks.get();
+        Thread.sleep(20);
+        timer.fire();
+
+        assertEquals(checksBefore, healthy.activeChecks.get(), "a channel whose deadline is an hour away must not be visited");
+        assertSame(healthy, pool.poll(KEY));
+
+        pool.destroy();
+    }
+
+    @Test
+    public void ttlExpiresAChannelThatKeepsBeingReoffered() throws Exception {
+        // Re-offers keep the idle clock fresh and must not keep re-filing the single wheel entry past the TTL.
+        CapturingTimer timer = new CapturingTimer();
+        DefaultChannelPool pool = new DefaultChannelPool(Duration.ofHours(1), Duration.ofMillis(200), PoolLeaseStrategy.LIFO,
+                timer, Duration.ofMillis(1));
+        Channel channel = new EmbeddedChannel();
+
+        assertTrue(pool.offer(channel, KEY));
+        // reused for a while inside the TTL (offer() itself refuses a channel past it)...
+        long reuseEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        while (System.nanoTime() < reuseEnd) {
+            assertSame(channel, pool.poll(KEY));
+            assertTrue(pool.offer(channel, KEY));
+            timer.fire();
+            Thread.sleep(5);
+        }
+        // ...then left pooled, freshly offered, past it
+        Thread.sleep(200);
+        timer.fire();
+
+        assertFalse(channel.isActive(), "the TTL must expire the channel however often it was reused");
+        assertEquals(0, partitionSize(pool, KEY));
+
+        pool.destroy();
+    }
+
+    @Test
+    public void channelLeasedWhenItsEntryCameDueIsScheduledAgainOnReoffer() throws Exception {
+        CapturingTimer timer = new CapturingTimer();
+        DefaultChannelPool pool = idlePool(timer, Duration.ofMillis(20));
+        Channel channel = new EmbeddedChannel();
+
+        pool.offer(channel, KEY);
+        assertSame(channel, pool.poll(KEY));
+        Thread.sleep(60);
+        timer.fire(); // the entry comes due while the channel is leased, and is dropped
+        assertTrue(channel.isActive(), "a leased channel must not be closed");
+
+        assertTrue(pool.offer(channel, KEY));
+        Thread.sleep(60);
+        timer.fire();
+
+        assertFalse(channel.isActive(), "the re-offered channel must have been filed again and expired");
+        assertEquals(0, partitionSize(pool, KEY));
+
+        pool.destroy();
+    }
+
+    @Test
+    public void closedChannelIsUnlinkedOnlyFromItsOwnDeque() throws Exception {
+        CapturingTimer timer = new CapturingTimer();
+        DefaultChannelPool pool = idlePool(timer, Duration.ofHours(1));
+        EmbeddedChannel closed = new EmbeddedChannel();
+        Channel other = new EmbeddedChannel();
+
+        pool.offer(closed, KEY);
+        pool.offer(other, OTHER_KEY);
+        closed.close().await(5, TimeUnit.SECONDS);
+        timer.fire();
+
+        assertEquals(0, partitionSize(pool, KEY), "the closed channel must be unlinked at the next tick");
+        assertEquals(1, partitionSize(pool, OTHER_KEY));
+        assertSame(other, pool.poll(OTHER_KEY));
+
+        pool.destroy();
+    }
+
+    // ---- event loop affinity: per-event-loop sub-deques ----
+
+    @Test
+    public void pollPrefersAChannelOnTheCallersEventLoop() throws Exception {
+        DefaultEventLoopGroup loops = new DefaultEventLoopGroup(2);
+        DefaultChannelPool pool = affinePool(2);
+        try {
+            EventLoop loopA = loops.next();
+            EventLoop loopB = loops.next();
+            Channel onA = channelOn(loopA);
+            Channel onB = channelOn(loopB);
+
+            // With a single LIFO deque, the last offered channel (onB) would go to whoever polls first.
+            assertTrue(pool.offer(onA, KEY));
+            assertTrue(pool.offer(onB, KEY));
+
+            assertSame(onA, pollOn(loopA, pool), "loop A must get the channel registered on loop A");
+            assertSame(onB, pollOn(loopB, pool), "loop B must get the channel registered on loop B");
+            assertNull(pool.poll(KEY));
+        } finally {
+            pool.destroy();
+            loops.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void pollStealsFromAnotherEventLoopWhenItsOwnSlotIsEmpty() throws Exception {
+        DefaultEventLoopGroup loops = new DefaultEventLoopGroup(2);
+        DefaultChannelPool pool = affinePool(2);
+        try {
+            EventLoop loopA = loops.next();
+            EventLoop loopB = loops.next();
+            Channel onA = channelOn(loopA);
+
+            assertTrue(pool.offer(onA, KEY));
+
+            assertSame(onA, pollOn(loopB, pool), "an empty local slot must not hide other loops' channels");
+            assertNull(pollOn(loopA, pool));
+        } finally {
+            pool.destroy();
+            loops.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void affinePoolServesCallersOutsideAnyEventLoop() {
+        DefaultEventLoopGroup loops = new DefaultEventLoopGroup(3);
+        DefaultChannelPool pool = affinePool(3);
+        try {
+            Channel first = channelOn(loops.next());
+            Channel second = channelOn(loops.next());
+            assertTrue(pool.offer(first, KEY));
+            assertTrue(pool.offer(second, KEY));
+
+            assertEquals(2, partitionSize(pool, KEY));
+            Channel polled = pool.poll(KEY);
+            Channel other = pool.poll(KEY);
+            assertTrue(polled == first && other == second || polled == second && other == first,
+                    "a user thread must be able to lease from every slot");
+            assertNull(pool.poll(KEY));
+        } finally {
+            pool.destroy();
+            loops.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void removeAllAndFlushReachEverySlot() throws Exception {
+        CapturingTimer timer = new CapturingTimer();
+        DefaultEventLoopGroup loops = new DefaultEventLoopGroup(2);
+        DefaultChannelPool pool = new DefaultChannelPool(Duration.ZERO, Duration.ofHours(1), PoolLeaseStrategy.LIFO, 2,
+                timer, Duration.ofMillis(1));
+        try {
+            Channel removed = channelOn(loops.next());
+            Channel flushed = channelOn(loops.next());
+            assertTrue(pool.offer(removed, KEY));
+            assertTrue(pool.offer(flushed, KEY));
+
+            assertTrue(pool.removeAll(removed));
+            timer.fire();
+            assertEquals(1, partitionSize(pool, KEY), "the cleaner must unlink the tombstone from its own slot");
+
+            pool.flushPartitions(KEY::equals);
+            assertTrue(flushed.closeFuture().await(5, TimeUnit.SECONDS), "flushing a partition must close the channels of every slot");
+            assertFalse(hasPartition(pool, KEY));
+        } finally {
+            pool.destroy();
+            loops.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void rejectsNonPositiveEventLoopSlots() {
+        assertThrows(IllegalArgumentException.class, () -> affinePool(0));
+    }
+
     // ---- concurrency: no leaked tombstones, never leases a claimed channel ----
 
     @Test
@@ -858,6 +1042,21 @@ public class DefaultChannelPoolTest {
 
     // ---- helpers ----
 
+    private static DefaultChannelPool affinePool(int eventLoopSlots) {
+        return new DefaultChannelPool(Duration.ZERO, Duration.ZERO, PoolLeaseStrategy.LIFO, eventLoopSlots,
+                new CapturingTimer(), Duration.ofMillis(1));
+    }
+
+    private static Channel channelOn(EventLoop eventLoop) {
+        LoopBoundChannel channel = new LoopBoundChannel();
+        channel.reportedLoop = eventLoop;
+        return channel;
+    }
+
+    private static Channel pollOn(EventLoop eventLoop, DefaultChannelPool pool) throws Exception {
+        return eventLoop.submit(() -> pool.poll(KEY)).get(5, TimeUnit.SECONDS);
+    }
+
     private static Object idleState(Channel channel) throws Exception {
         Field keyField = DefaultChannelPool.class.getDeclaredField("IDLE_STATE_ATTRIBUTE_KEY");
         keyField.setAccessible(true);
@@ -878,21 +1077,12 @@ public class DefaultChannelPoolTest {
         };
     }
 
-    @SuppressWarnings("unchecked")
-    private static ConcurrentHashMap<Object, ConcurrentLinkedDeque<Channel>> partitions(DefaultChannelPool pool)
-            throws Exception {
-        Field partitionsField = DefaultChannelPool.class.getDeclaredField("partitions");
-        partitionsField.setAccessible(true);
-        return (ConcurrentHashMap<Object, ConcurrentLinkedDeque<Channel>>) partitionsField.get(pool);
+    private static int partitionSize(DefaultChannelPool pool, Object key) {
+        return pool.partitionSize(key);
     }
 
-    private static int partitionSize(DefaultChannelPool pool, Object key) throws Exception {
-        ConcurrentLinkedDeque<Channel> partition = partitions(pool).get(key);
-        return partition == null ? 0 : partition.size();
-    }
-
-    private static boolean hasPartition(DefaultChannelPool pool, Object key) throws Exception {
-        return partitions(pool).containsKey(key);
+    private static boolean hasPartition(DefaultChannelPool pool, Object key) {
+        return pool.hasPartition(key);
     }
 
     /**
@@ -925,6 +1115,24 @@ public class DefaultChannelPoolTest {
         }
     }
 
+    /**
+     * An {@link EmbeddedChannel} counting its liveness checks, which the expiry wheel makes for every entry it
+     * evaluates.
+     */
+    private static final class CountingActiveChannel extends EmbeddedChannel {
+
+        private final AtomicLong activeChecks = new AtomicLong();
+
+        @Override
+        public boolean isActive() {
+            // null during EmbeddedChannel's constructor, see BlockingActiveChannel
+            if (activeChecks != null) {
+                activeChecks.incrementAndGet();
+            }
+            return super.isActive();
+        }
+    }
+
     /**
      * An {@link EmbeddedChannel} whose liveness check parks once, letting a test stop the idle cleaner
      * exactly between its expiry decision and its claim.
@@ -964,6 +1172,21 @@ public class DefaultChannelPoolTest {
         }
     }
 
+    /**
+     * An {@link EmbeddedChannel} runs on its own {@code EmbeddedEventLoop}; this one reports a real loop once
+     * constructed, so that the pool files it under that loop's slot.
+     */
+    private static final class LoopBoundChannel extends EmbeddedChannel {
+
+        private volatile EventLoop reportedLoop;
+
+        @Override
+        public EventLoop eventLoop() {
+            EventLoop loop = reportedLoop;
+            return loop != null ? loop : super.eventLoop();
+        }
+    }
+
     /**
      * A {@link Timer} that captures the last-scheduled {@link TimerTask} (the pool's idle cleaner) so a
      * test can fire it synchronously instead of waiting on wall-clock time.
@@ -18,12 +18,14 @@ package org.asynchttpclient.netty.channel;
 import org.junit.jupiter.api.Test;
 
 import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.LongSupplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -126,4 +128,124 @@ class FailedIpCooldownHolderTest {
         assertTrue(cooldown.trackedHostCount() <= FailedIpCooldownHolder.MAX_TRACKED_HOSTS,
                 "tracked hosts must stay bounded by the cap");
     }
+
+    private static final long MS = 1_000_000;
+
+    // 3 consecutive errors, latency factor 3, ejected 100 ticks doubling up to 1000, at most half of the IPs
+    private static FailedIpCooldownHolder outlierHolder(LongSupplier clock) {
+        return new FailedIpCooldownHolder(0, new FailedIpCooldownHolder.OutlierDetection(3, 3,
+                Duration.ofNanos(100), Duration.ofNanos(1000), 50), clock);
+    }
+
+    @Test
+    void consecutive5xxEjectAnAddress() {
+        long[] now = {1_000};
+        FailedIpCooldownHolder holder = outlierHolder(() -> now[0]);
+        List<InetSocketAddress> input = Arrays.asList(addr("127.0.0.1"), addr("127.0.0.2"));
+        holder.reorder("h", input);
+
+        holder.onResponse("h", addr("127.0.0.1"), 503, MS);
+        holder.onResponse("h", addr("127.0.0.1"), 500, MS);
+        assertFalse(holder.isEjected("h", addr("127.0.0.1")));
+        holder.onTimeout("h", addr("127.0.0.1"));
+
+        assertTrue(holder.isEjected("h", addr("127.0.0.1")), "5xx and timeouts count together");
+        assertTrue(holder.hasEjections("h"));
+        assertEquals("127.0.0.2", firstIp(holder.reorder("h", input)));
+        assertTrue(holder.reorder("h", input).containsAll(input), "an ejected address stays a last-resort failover target");
+    }
+
+    @Test
+    void successResetsTheConsecutiveErrorCount() {
+        FailedIpCooldownHolder holder = outlierHolder(() -> 0L);
+        holder.reorder("h", Arrays.asList(addr("127.0.0.1"), addr("127.0.0.2")));
+
+        holder.onResponse("h", addr("127.0.0.1"), 500, MS);
+        holder.onResponse("h", addr("127.0.0.1"), 500, MS);
+        holder.onResponse("h", addr("127.0.0.1"), 200, MS);
+        holder.onResponse("h", addr("127.0.0.1"), 500, MS);
+        assertFalse(holder.isEjected("h", addr("127.0.0.1")));
+    }
+
+    @Test
+    void ejectionIntervalDoublesOnRepeatedEjection() {
+        long[] now = {1_000};
+        FailedIpCooldownHolder holder = outlierHolder(() -> now[0]);
+        holder.reorder("h", Arrays.asList(addr("127.0.0.1"), addr("127.0.0.2")));
+
+        ejectByErrors(holder, "h", "127.0.0.1");
+        now[0] += 99;
+        assertTrue(holder.isEjected("h", addr("127.0.0.1")));
+        now[0] += 1;
+        assertFalse(holder.isEjected("h", addr("127.0.0.1")), "the first ejection lasts the base interval");
+
+        ejectByErrors(holder, "h", "127.0.0.1");
+        now[0] += 199;
+        assertTrue(holder.isEjected("h", addr("127.0.0.1")), "the second ejection lasts twice as long");
+        now[0] += 1;
+        assertFalse(holder.isEjected("h", addr("127.0.0.1")));
+    }
+
+    @Test
+    void ejectionIntervalIsCapped() {
+        long[] now = {1_000};
+        FailedIpCooldownHolder holder = outlierHolder(() -> now[0]);
+        holder.reorder("h", Arrays.asList(addr("127.0.0.1"), addr("127.0.0.2")));
+        for (int i = 0; i < 10; i++) {
+            ejectByErrors(holder, "h", "127.0.0.1");
+            now[0] += 1000;
+            assertFalse(holder.isEjected("h", addr("127.0.0.1")), "never ejected for longer than the max ejection time");
+        }
+    }
+
+    @Test
+    void maxEjectionPercentIsHonored() {
+        FailedIpCooldownHolder holder = outlierHolder(() -> 0L);
+        holder.reorder("h", Arrays.asList(addr("127.0.0.1"), addr("127.0.0.2")));
+
+        ejectByErrors(holder, "h", "127.0.0.1");
+        ejectByErrors(holder, "h", "127.0.0.2");
+        assertTrue(holder.isEjected("h", addr("127.0.0.1")));
+        assertFalse(holder.isEjected("h", addr("127.0.0.2")), "at most 50% of the host's addresses may be ejected");
+    }
+
+    @Test
+    void latencyOutlierIsEjected() {
+        FailedIpCooldownHolder holder = outlierHolder(() -> 0L);
+        holder.reorder("h", Arrays.asList(addr("127.0.0.1"), addr("127.0.0.2"), addr("127.0.0.3"), addr("127.0.0.4")));
+
+        for (int i = 0; i < FailedIpCooldownHolder.MIN_LATENCY_SAMPLES; i++) {
+            holder.onResponse("h", addr("127.0.0.1"), 200, 10 * MS);
+            holder.onResponse("h", addr("127.0.0.2"), 200, 12 * MS);
+            holder.onResponse("h", addr("127.0.0.3"), 200, 25 * MS);
+            holder.onResponse("h", addr("127.0.0.4"), 200, 100 * MS);
+        }
+        assertTrue(holder.isEjected("h", addr("127.0.0.4")), "more than 3x the median of the other addresses");
+        assertFalse(holder.isEjected("h", addr("127.0.0.3")));
+    }
+
+    @Test
+    void hostNowResolvingToASingleAddressIsNotEjected() {
+        FailedIpCooldownHolder holder = outlierHolder(() -> 0L);
+        holder.reorder("h", Arrays.asList(addr("127.0.0.1"), addr("127.0.0.2")));
+        holder.reorder("h", Collections.singletonList(addr("127.0.0.1")));
+        ejectByErrors(holder, "h", "127.0.0.1");
+        assertFalse(holder.isEjected("h", addr("127.0.0.1")), "ejecting the only address would achieve nothing");
+    }
+
+    @Test
+    void responsesAreIgnoredWithoutOutlierDetection() {
+        FailedIpCooldownHolder holder = new FailedIpCooldownHolder(100, () -> 0L);
+        holder.reorder("h", Arrays.asList(addr("127.0.0.1"), addr("127.0.0.2")));
+        for (int i = 0; i < 10; i++) {
+            holder.onResponse("h", addr("127.0.0.1"), 500, MS);
+        }
+        assertFalse(holder.isEjected("h", addr("127.0.0.1")));
+    }
+
+    private static void ejectByErrors(FailedIpCooldownHolder holder, String host, String ip) {
+        for (int i = 0; i < 3; i++) {
+            holder.onResponse(host, addr(ip), 502, MS);
+        }
+    }
 }
@@ -15,9 +15,20 @@
  */
 package org.asynchttpclient.netty.channel;
 
+import org.asynchttpclient.AsyncCompletionHandler;
+import org.asynchttpclient.Request;
+import org.asynchttpclient.RequestBuilder;
+import org.asynchttpclient.RequestPriority;
+import org.asynchttpclient.Response;
+import org.asynchttpclient.channel.ChannelPoolPartitioning;
+import org.asynchttpclient.netty.NettyResponseFuture;
+import org.asynchttpclient.netty.timeout.TimeoutsHolder;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -28,6 +39,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.asynchttpclient.Dsl.config;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -933,6 +945,183 @@ public class Http2ConnectionStateTest {
         assertEquals(1, ran.get(), "the void addPendingOpener wrapper must delegate to offerPendingOpener");
     }
 
+    // -------------------------------------------------------------------------
+    // Scale-out: retirement of idle connections and moving queued requests
+    // -------------------------------------------------------------------------
+
+    @Test
+    public void retiredConnectionNeverAcquiresAStreamAgain() {
+        Http2ConnectionState state = new Http2ConnectionState();
+        assertTrue(state.tryRetire());
+
+        assertTrue(state.isRetired());
+        assertEquals(0, state.getActiveStreams());
+        assertFalse(state.tryAcquireStream());
+        assertFalse(state.offerPendingOpener(() -> { }), "a retired connection must reject queued openers");
+    }
+
+    @Test
+    public void busyConnectionIsNotRetired() {
+        Http2ConnectionState state = new Http2ConnectionState();
+        state.updateMaxConcurrentStreams(1);
+        assertTrue(state.tryAcquireStream());
+        assertFalse(state.tryRetire());
+
+        state.offerPendingOpener(() -> { });
+        state.releaseStream();
+        assertEquals(1, state.getActiveStreams(), "the queued opener took the released slot");
+        state.releaseStream();
+        assertTrue(state.tryRetire());
+    }
+
+    @Test
+    public void takePendingOpenersRemovesTheOldestFutures() {
+        Http2ConnectionState state = new Http2ConnectionState();
+        state.updateMaxConcurrentStreams(0);
+        NettyResponseFuture<?> first = newFuture();
+        NettyResponseFuture<?> second = newFuture();
+        NettyResponseFuture<?> third = newFuture();
+        AtomicInteger ran = new AtomicInteger();
+        state.offerPendingOpener(first, ran::incrementAndGet);
+        state.offerPendingOpener(() -> { });
+        state.offerPendingOpener(second, ran::incrementAndGet);
+        state.offerPendingOpener(third, ran::incrementAndGet);
+
+        assertEquals(Arrays.asList(first, second), state.takePendingOpeners(2));
+        assertTrue(state.hasPendingOpeners());
+        state.updateMaxConcurrentStreams(10);
+        assertEquals(1, ran.get(), "only the opener left in place runs");
+        assertFalse(state.hasPendingOpeners());
+    }
+
+    @Test
+    public void utilizationIsTheShareOfStreamSlotsInUse() {
+        Http2ConnectionState state = new Http2ConnectionState();
+        assertTrue(state.tryAcquireStream());
+        assertEquals(0, state.getUtilizationPercent(), "unbounded until a limit is known");
+
+        state.updateMaxConcurrentStreams(4);
+        assertTrue(state.tryAcquireStream());
+        assertTrue(state.tryAcquireStream());
+        assertEquals(75, state.getUtilizationPercent());
+    }
+
+    @Test
+    public void urgentPendingOpenerRunsFirst() {
+        Http2ConnectionState state = new Http2ConnectionState();
+        state.updateMaxConcurrentStreams(0);
+        List<String> order = new ArrayList<>();
+        state.offerPendingOpener(newFuture(null), () -> order.add("default"));
+        state.offerPendingOpener(newFuture(RequestPriority.of(6, false)), () -> order.add("background"));
+        state.offerPendingOpener(newFuture(RequestPriority.of(0, false)), () -> order.add("urgent"));
+        state.offerPendingOpener(() -> order.add("no future"));
+        state.offerPendingOpener(newFuture(RequestPriority.of(0, true)), () -> order.add("urgent, incremental"));
+
+        state.updateMaxConcurrentStreams(10);
+
+        assertEquals(Arrays.asList("urgent", "urgent, incremental", "default", "no future", "background"), order);
+    }
+
+    @Test
+    public void takePendingOpenersFollowsUrgency() {
+        Http2ConnectionState state = new Http2ConnectionState();
+        state.updateMaxConcurrentStreams(0);
+        NettyResponseFuture<?> background = newFuture(RequestPriority.of(7, false));
+        NettyResponseFuture<?> urgent = newFuture(RequestPriority.of(1, false));
+        state.offerPendingOpener(background, () -> { });
+        state.offerPendingOpener(urgent, () -> { });
+
+        assertEquals(Collections.singletonList(urgent), state.takePendingOpeners(1));
+        assertEquals(Collections.singletonList(background), state.takePendingOpeners(1));
+    }
+
+    @Test
+    public void pendingOpenerWithEarliestDeadlineRunsFirstWithinUrgency() {
+        Http2ConnectionState state = new Http2ConnectionState();
+        state.updateMaxConcurrentStreams(0);
+        List<String> order = new ArrayList<>();
+        state.offerPendingOpener(newFuture(null), () -> order.add("no deadline"));
+        state.offerPendingOpener(newFuture(null, Duration.ofMinutes(5)), () -> order.add("5 minutes"));
+        state.offerPendingOpener(newFuture(null, Duration.ofSeconds(1)), () -> order.add("1 second"));
+        state.offerPendingOpener(newFuture(RequestPriority.of(6, false), Duration.ofMillis(1)), () -> order.add("background"));
+
+        state.updateMaxConcurrentStreams(10);
+
+        assertEquals(Arrays.asList("1 second", "5 minutes", "no deadline", "background"), order);
+    }
+
+    @Test
+    public void completedFutureLeavesThePendingQueue() {
+        Http2ConnectionState state = new Http2ConnectionState();
+        state.updateMaxConcurrentStreams(0);
+        List<String> order = new ArrayList<>();
+        NettyResponseFuture<?> cancelled = newFuture();
+        state.offerPendingOpener(cancelled, () -> order.add("cancelled"));
+        state.offerPendingOpener(newFuture(), () -> order.add("live"));
+
+        cancelled.abort(new IOException("timed out"));
+        assertTrue(state.hasPendingOpeners());
+        assertEquals(1, state.takePendingOpeners(10).size(), "only the live request is left to move");
+        assertFalse(state.hasPendingOpeners());
+
+        NettyResponseFuture<?> done = newFuture();
+        done.abort(new IOException("cancelled before it was queued"));
+        assertTrue(state.offerPendingOpener(done, () -> order.add("done")));
+        assertFalse(state.hasPendingOpeners());
+
+        state.updateMaxConcurrentStreams(10);
+        assertEquals(Collections.emptyList(), order);
+        assertEquals(0, state.getActiveStreams(), "a discarded opener takes no slot");
+    }
+
+    @Test
+    public void discardedOpenersDoNotCountAgainstTheQueue() {
+        Http2ConnectionState state = new Http2ConnectionState();
+        state.updateMaxConcurrentStreams(0);
+        AtomicInteger ran = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            NettyResponseFuture<?> future = newFuture();
+            state.offerPendingOpener(future, ran::incrementAndGet);
+            if (i % 10 != 0) {
+                future.abort(new IOException("cancelled"));
+            }
+        }
+        assertNotEquals(-1, state.oldestPendingOpenerQueuedAt());
+
+        state.updateMaxConcurrentStreams(1000);
+        assertEquals(10, ran.get());
+        assertEquals(10, state.getActiveStreams());
+        assertFalse(state.hasPendingOpeners());
+    }
+
+    private static NettyResponseFuture<Object> newFuture() {
+        return newFuture(null);
+    }
+
+    private static NettyResponseFuture<Object> newFuture(RequestPriority priority) {
+        Request request = new RequestBuilder().setUrl("https://example.com").setPriority(priority).build();
+        return new NettyResponseFuture<>(request, new AsyncCompletionHandler<Object>() {
+            @Override
+            public Object onCompleted(Response response) {
+                return null;
+            }
+        }, null, 0, ChannelPoolPartitioning.PerHostChannelPoolPartitioning.INSTANCE, null, null);
+    }
+
+    // a future whose request timeout is armed, as the sender does before queuing it
+    private static NettyResponseFuture<Object> newFuture(RequestPriority priority, Duration requestTimeout) {
+        Request request = new RequestBuilder().setUrl("https://example.com").setPriority(priority)
+                .setRequestTimeout(requestTimeout).build();
+        NettyResponseFuture<Object> future = new NettyResponseFuture<>(request, new AsyncCompletionHandler<Object>() {
+            @Override
+            public Object onCompleted(Response response) {
+                return null;
+            }
+        }, null, 0, ChannelPoolPartitioning.PerHostChannelPoolPartitioning.INSTANCE, null, null);
+        future.setTimeoutsHolder(new TimeoutsHolder(null, future, null, config().build(), null));
+        return future;
+    }
+
     // -------------------------------------------------------------------------
     // Once-only permit release (round-robin GOAWAY drain permit, issue #2214)
     // -------------------------------------------------------------------------
@@ -999,6 +1188,28 @@ public class Http2ConnectionStateTest {
         assertEquals(rounds, totalReleases.get(), "exactly one release per round");
     }
 
+    @Test
+    public void rttSamplesAreSmoothedAndTheMinimumKept() {
+        Http2ConnectionState state = new Http2ConnectionState();
+        long now = System.nanoTime();
+        assertTrue(state.tryStartRttProbe(now));
+        assertFalse(state.tryStartRttProbe(now + 1_000), "one probe at a time");
+        assertEquals(2_000, state.getRttProbeAgeNanos(now + 2_000));
+
+        state.onRttProbeAck(now + 8_000);
+        assertEquals(0, state.getRttProbeAgeNanos(now + 9_000));
+        assertEquals(1, state.getRttSampleCount());
+        assertEquals(8_000, state.getSmoothedRttNanos());
+
+        state.recordRttSample(16_000);
+        assertEquals(9_000, state.getSmoothedRttNanos(), "each sample weighs 1/8");
+        assertEquals(8_000, state.getMinRttNanos());
+        assertEquals(16_000, state.getLatestRttNanos());
+
+        state.onRttProbeAck(now + 20_000);
+        assertEquals(2, state.getRttSampleCount(), "an ACK without a probe in flight is no sample");
+    }
+
     private static Runnable blockingOpener(CountDownLatch started, CountDownLatch release) {
         return () -> {
             started.countDown();
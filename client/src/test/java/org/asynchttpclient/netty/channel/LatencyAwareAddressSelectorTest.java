@@ -0,0 +1,170 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import org.asynchttpclient.AddressLatencyStats;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyAwareAddressSelectorTest {
+
+    private static final long MS = 1_000_000;
+
+    private static InetSocketAddress addr(String ip) {
+        return new InetSocketAddress(ip, 80);
+    }
+
+    private static String firstIp(List<InetSocketAddress> addresses) {
+        return addresses.get(0).getAddress().getHostAddress();
+    }
+
+    // Always samples indices 0 and 1, so select() compares the first two addresses.
+    private static LatencyAwareAddressSelector selector(LongSupplier clock) {
+        return new LatencyAwareAddressSelector(clock, bound -> 0);
+    }
+
+    @Test
+    void slowerAddressLosesTheTwoChoices() {
+        long[] now = {0};
+        LatencyAwareAddressSelector selector = selector(() -> now[0]);
+        List<InetSocketAddress> input = Arrays.asList(addr("127.0.0.1"), addr("127.0.0.2"));
+
+        LatencyAwareAddressSelector.Lease slow = selector.startRequest(input.get(0).getAddress());
+        LatencyAwareAddressSelector.Lease fast = selector.startRequest(input.get(1).getAddress());
+        now[0] += 5 * MS;
+        fast.finish(true);
+        now[0] += 95 * MS;
+        slow.finish(true);
+
+        List<InetSocketAddress> ordered = selector.select(input);
+        assertEquals("127.0.0.2", firstIp(ordered));
+        assertTrue(ordered.containsAll(input), "the other addresses are kept for connect failover");
+    }
+
+    @Test
+    void inFlightRequestsRaiseTheCost() {
+        long[] now = {0};
+        LatencyAwareAddressSelector selector = selector(() -> now[0]);
+        InetSocketAddress a = addr("127.0.0.1");
+        InetSocketAddress b = addr("127.0.0.2");
+        selector.onConnected(a, 10 * MS);
+        selector.onConnected(b, 10 * MS);
+        double idle = selector.cost(a, now[0]);
+
+        selector.startRequest(a.getAddress());
+        selector.startRequest(a.getAddress());
+
+        assertEquals(3 * idle, selector.cost(a, now[0]), 1e-6);
+        assertEquals("127.0.0.2", firstIp(selector.select(Arrays.asList(a, b))));
+    }
+
+    @Test
+    void unmeasuredAddressIsTriedFirst() {
+        LatencyAwareAddressSelector selector = selector(() -> 0);
+        InetSocketAddress measured = addr("127.0.0.1");
+        selector.onConnected(measured, MS);
+        assertEquals("127.0.0.2", firstIp(selector.select(Arrays.asList(measured, addr("127.0.0.2")))));
+    }
+
+    @Test
+    void slowSampleIsTakenAtOnceAndFastSamplesBlendIn() {
+        long[] now = {0};
+        LatencyAwareAddressSelector selector = selector(() -> now[0]);
+        InetSocketAddress a = addr("127.0.0.1");
+
+        selector.onConnected(a, 10 * MS);
+        selector.onConnected(a, 100 * MS);
+        assertEquals(100 * MS, selector.cost(a, now[0]), 1e-6, "a peak replaces the estimate");
+
+        now[0] += Duration.ofSeconds(LatencyAwareAddressSelector.DECAY_SECONDS).toNanos();
+        selector.onConnected(a, 0);
+        double expected = 100 * MS * Math.exp(-1);
+        assertEquals(expected, selector.cost(a, now[0]), expected * 1e-9, "a faster sample is blended with the old value");
+    }
+
+    @Test
+    void estimateDecaysWithoutTraffic() {
+        long[] now = {0};
+        LatencyAwareAddressSelector selector = selector(() -> now[0]);
+        InetSocketAddress a = addr("127.0.0.1");
+        selector.onConnected(a, 100 * MS);
+
+        now[0] += 5 * Duration.ofSeconds(LatencyAwareAddressSelector.DECAY_SECONDS).toNanos();
+        assertTrue(selector.cost(a, now[0]) < MS, "an address that stopped receiving traffic must be re-probed eventually");
+    }
+
+    @Test
+    void fastFailureDoesNotImproveTheEstimate() {
+        long[] now = {0};
+        LatencyAwareAddressSelector selector = selector(() -> now[0]);
+        InetAddress ip = addr("127.0.0.1").getAddress();
+
+        LatencyAwareAddressSelector.Lease slow = selector.startRequest(ip);
+        now[0] += 100 * MS;
+        slow.finish(true);
+
+        LatencyAwareAddressSelector.Lease failed = selector.startRequest(ip);
+        now[0] += MS;
+        failed.finish(false);
+        assertEquals(Duration.ofMillis(100), selector.stats().get("127.0.0.1").getResponseLatency());
+
+        LatencyAwareAddressSelector.Lease slowFailure = selector.startRequest(ip);
+        now[0] += 300 * MS;
+        slowFailure.finish(false);
+        assertEquals(Duration.ofMillis(300), selector.stats().get("127.0.0.1").getResponseLatency(), "a slow failure counts");
+    }
+
+    @Test
+    void leaseIsFinishedOnlyOnce() {
+        LatencyAwareAddressSelector selector = selector(() -> 0);
+        InetAddress ip = addr("127.0.0.1").getAddress();
+        LatencyAwareAddressSelector.Lease lease = selector.startRequest(ip);
+        selector.startRequest(ip);
+        lease.finish(true);
+        lease.finish(true);
+        AddressLatencyStats stats = selector.stats().get("127.0.0.1");
+        assertEquals(1, stats.getInFlightRequestCount());
+    }
+
+    @Test
+    void singleAddressIsReturnedAsIs() {
+        LatencyAwareAddressSelector selector = selector(() -> 0);
+        List<InetSocketAddress> input = Collections.singletonList(addr("127.0.0.1"));
+        assertSame(input, selector.select(input));
+    }
+
+    @Test
+    void trackedAddressesAreBounded() throws UnknownHostException {
+        LatencyAwareAddressSelector selector = selector(() -> 0);
+        for (int i = 0; i < LatencyAwareAddressSelector.MAX_TRACKED_ADDRESSES + 10; i++) {
+            byte[] ip = {10, (byte) (i >> 16), (byte) (i >> 8), (byte) i};
+            selector.onConnected(new InetSocketAddress(InetAddress.getByAddress(ip), 80), MS);
+        }
+        assertTrue(selector.trackedAddressCount() <= LatencyAwareAddressSelector.MAX_TRACKED_ADDRESSES);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class NettyChannelConnectorTest {
+
+    private static List<InetSocketAddress> addrs(String... ips) {
+        return Arrays.stream(ips).map(ip -> new InetSocketAddress(ip, 80)).collect(Collectors.toList());
+    }
+
+    private static List<String> ips(List<InetSocketAddress> addresses) {
+        return addresses.stream().map(a -> a.getAddress().getHostAddress()).collect(Collectors.toList());
+    }
+
+    @Test
+    void interleavesFamiliesStartingWithTheFirstAddressFamily() {
+        List<InetSocketAddress> ordered = NettyChannelConnector.interleaveByFamily(
+                addrs("2001:db8:0:0:0:0:0:1", "2001:db8:0:0:0:0:0:2", "2001:db8:0:0:0:0:0:3", "192.0.2.1", "192.0.2.2"));
+        assertEquals(Arrays.asList("2001:db8:0:0:0:0:0:1", "192.0.2.1", "2001:db8:0:0:0:0:0:2", "192.0.2.2", "2001:db8:0:0:0:0:0:3"), ips(ordered));
+    }
+
+    @Test
+    void keepsRelativeOrderWithinAFamily() {
+        List<InetSocketAddress> ordered = NettyChannelConnector.interleaveByFamily(
+                addrs("192.0.2.2", "192.0.2.1", "2001:db8:0:0:0:0:0:2", "2001:db8:0:0:0:0:0:1"));
+        assertEquals(Arrays.asList("192.0.2.2", "2001:db8:0:0:0:0:0:2", "192.0.2.1", "2001:db8:0:0:0:0:0:1"), ips(ordered));
+    }
+
+    @Test
+    void singleFamilyIsReturnedAsIs() {
+        List<InetSocketAddress> input = addrs("192.0.2.1", "192.0.2.2");
+        assertSame(input, NettyChannelConnector.interleaveByFamily(input));
+    }
+}
@@ -148,4 +148,26 @@ class RoundRobinAddressSelectorTest {
         assertEquals("127.0.0.2", firstIp(selector.rotate("a", input)));
         assertNotEquals(firstIp(selector.rotate("b", input)), "127.0.0.1");
     }
+
+    @Test
+    void skippedAddressesAreLeftOutOfTheRotation() {
+        RoundRobinAddressSelector selector = new RoundRobinAddressSelector();
+        List<InetSocketAddress> input = Arrays.asList(addr("127.0.0.1"), addr("127.0.0.2"), addr("127.0.0.3"));
+
+        Map<String, Integer> firstCounts = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            List<InetSocketAddress> rotated = selector.rotate("host", input, a -> a.equals(addr("127.0.0.2")));
+            assertTrue(rotated.containsAll(input));
+            firstCounts.merge(firstIp(rotated), 1, Integer::sum);
+        }
+        assertEquals(Map.of("127.0.0.1", 10, "127.0.0.3", 10), firstCounts, "the other addresses share the traffic evenly");
+    }
+
+    @Test
+    void everyAddressSkippedFallsBackToPlainRotation() {
+        RoundRobinAddressSelector selector = new RoundRobinAddressSelector();
+        List<InetSocketAddress> input = Arrays.asList(addr("127.0.0.1"), addr("127.0.0.2"));
+        assertEquals("127.0.0.1", firstIp(selector.rotate("host", input, a -> true)));
+        assertEquals("127.0.0.2", firstIp(selector.rotate("host", input, a -> true)));
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.handler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Http2BdpEstimatorTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void firstDataFrameOfABurstStartsASample() {
+        Http2BdpEstimator estimator = new Http2BdpEstimator(65_535, 1 << 24);
+
+        assertTrue(estimator.onData(16_384, 0));
+        assertFalse(estimator.onData(16_384, MS / 2), "a PING is already outstanding");
+        estimator.onPingAck(MS);
+        assertTrue(estimator.onData(16_384, 2 * MS));
+        assertEquals(2, estimator.getSampleCount());
+    }
+
+    @Test
+    void sampleFillingTheWindowAtTheHighestBandwidthDoublesTheEstimate() {
+        Http2BdpEstimator estimator = new Http2BdpEstimator(65_535, 1 << 24);
+        estimator.onData(30_000, 0);
+        estimator.onData(30_000, MS / 2);
+
+        assertEquals(120_000, estimator.onPingAck(MS));
+        assertEquals(120_000, estimator.getBdp());
+        assertEquals(Duration.ofMillis(1), estimator.getRtt());
+        assertEquals(40_000_000, estimator.getMaxBandwidth());
+    }
+
+    @Test
+    void sampleBelowTwoThirdsOfTheEstimateKeepsIt() {
+        Http2BdpEstimator estimator = new Http2BdpEstimator(65_535, 1 << 24);
+        estimator.onData(40_000, 0);
+
+        assertEquals(0, estimator.onPingAck(MS));
+        assertEquals(65_535, estimator.getBdp());
+    }
+
+    @Test
+    void sampleSlowerThanTheHighestBandwidthKeepsTheEstimate() {
+        Http2BdpEstimator estimator = new Http2BdpEstimator(65_535, 1 << 24);
+        estimator.onData(60_000, 0);
+        assertEquals(120_000, estimator.onPingAck(MS));
+
+        // as much data, over a much longer round-trip
+        estimator.onData(90_000, 10 * MS);
+        assertEquals(0, estimator.onPingAck(30 * MS));
+        assertEquals(120_000, estimator.getBdp());
+    }
+
+    @Test
+    void estimateStopsAtTheMaxWindowSize() {
+        Http2BdpEstimator estimator = new Http2BdpEstimator(65_535, 100_000);
+        estimator.onData(60_000, 0);
+
+        assertEquals(100_000, estimator.onPingAck(MS));
+        assertFalse(estimator.onData(60_000, 2 * MS), "no more samples once the estimate reached the max");
+    }
+
+    @Test
+    void firstRoundTripsAreAveraged() {
+        Http2BdpEstimator estimator = new Http2BdpEstimator(65_535, 1 << 24);
+        estimator.onData(1_000, 0);
+        estimator.onPingAck(MS);
+        estimator.onData(1_000, 10 * MS);
+        estimator.onPingAck(13 * MS);
+
+        assertEquals(Duration.ofMillis(2), estimator.getRtt());
+    }
+
+    @Test
+    void unexpectedAckIsIgnored() {
+        Http2BdpEstimator estimator = new Http2BdpEstimator(65_535, 1 << 24);
+
+        assertEquals(0, estimator.onPingAck(MS));
+        assertEquals(0, estimator.getSampleCount());
+        assertEquals(Duration.ZERO, estimator.getRtt());
+    }
+}
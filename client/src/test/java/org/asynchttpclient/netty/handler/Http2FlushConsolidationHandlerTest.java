@@ -0,0 +1,117 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.handler;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Http2FlushConsolidationHandlerTest {
+
+    @Test
+    void flushesOfOneEventLoopTickGoOutTogether() {
+        FlushCounter flushes = new FlushCounter();
+        EmbeddedChannel channel = new EmbeddedChannel(flushes, new Http2FlushConsolidationHandler(10));
+
+        for (int i = 0; i < 3; i++) {
+            channel.pipeline().writeAndFlush(headers(true));
+        }
+        assertEquals(0, flushes.count);
+
+        channel.runPendingTasks();
+        assertEquals(1, flushes.count);
+        assertEquals(3, flushes.written.size());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void framesAreFlushedAtOnceWhenTheLimitOfEndedStreamsIsReached() {
+        FlushCounter flushes = new FlushCounter();
+        EmbeddedChannel channel = new EmbeddedChannel(flushes, new Http2FlushConsolidationHandler(2));
+
+        // a stream that did not end its request does not count
+        channel.pipeline().writeAndFlush(headers(false));
+        channel.pipeline().writeAndFlush(headers(true));
+        assertEquals(0, flushes.count);
+
+        channel.pipeline().writeAndFlush(headers(true));
+        assertEquals(1, flushes.count);
+
+        channel.runPendingTasks();
+        assertEquals(1, flushes.count, "nothing is left to flush");
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void flushAskedForDuringAReadWaitsForTheEndOfTheRead() {
+        FlushCounter flushes = new FlushCounter();
+        EmbeddedChannel channel = new EmbeddedChannel(flushes, new Http2FlushConsolidationHandler(10));
+
+        channel.pipeline().fireChannelRead("frame");
+        channel.pipeline().writeAndFlush(headers(true));
+        channel.runPendingTasks();
+        assertEquals(0, flushes.count);
+
+        channel.pipeline().fireChannelReadComplete();
+        assertEquals(1, flushes.count);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void pendingFlushGoesOutBeforeTheChannelCloses() {
+        FlushCounter flushes = new FlushCounter();
+        EmbeddedChannel channel = new EmbeddedChannel(flushes, new Http2FlushConsolidationHandler(10));
+
+        channel.pipeline().writeAndFlush(headers(true));
+        channel.close();
+        assertEquals(1, flushes.count);
+        channel.finishAndReleaseAll();
+    }
+
+    private static DefaultHttp2HeadersFrame headers(boolean endStream) {
+        return new DefaultHttp2HeadersFrame(new DefaultHttp2Headers(), endStream);
+    }
+
+    /**
+     * Stands for the socket: keeps the writes and flushes from the embedded channel, which runs its pending tasks when
+     * they reach it. The frames are written through the pipeline for the same reason.
+     */
+    private static final class FlushCounter extends ChannelOutboundHandlerAdapter {
+
+        private final List<Object> written = new ArrayList<>();
+        private int count;
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            written.add(msg);
+            promise.setSuccess();
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.handler;
+
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.Http2PingFrame;
+import org.asynchttpclient.netty.channel.Http2ConnectionState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Http2RttPingHandlerTest {
+
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Http2ConnectionState state = new Http2ConnectionState();
+    private final List<Channel> checks = new ArrayList<>();
+
+    private EmbeddedChannel channel() {
+        return new EmbeddedChannel(new Http2RttPingHandler(state, INTERVAL_NANOS, checks::add));
+    }
+
+    private static void tick(EmbeddedChannel channel) {
+        channel.advanceTimeBy(INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+        channel.runScheduledPendingTasks();
+    }
+
+    @Test
+    void sendsOneProbePerIntervalAndRecordsItsAck() {
+        EmbeddedChannel channel = channel();
+        assertNull(channel.readOutbound());
+
+        tick(channel);
+        Http2PingFrame probe = channel.readOutbound();
+        assertFalse(probe.ack());
+        assertEquals(Http2RttPingHandler.RTT_PING_CONTENT, probe.content());
+        assertEquals(1, checks.size());
+
+        assertFalse(channel.writeInbound(new DefaultHttp2PingFrame(Http2RttPingHandler.RTT_PING_CONTENT, true)),
+                "the ACK of a probe is consumed");
+        assertEquals(1, state.getRttSampleCount());
+        assertEquals(2, checks.size());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void sendsNoProbeWhileOneIsUnanswered() {
+        EmbeddedChannel channel = channel();
+        tick(channel);
+        assertTrue(channel.readOutbound() instanceof Http2PingFrame);
+
+        tick(channel);
+        assertNull(channel.readOutbound());
+        assertEquals(2, checks.size(), "the RTT is still checked, the unanswered probe getting older");
+        assertTrue(state.getRttProbeAgeNanos(System.nanoTime()) > 0);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void otherPingAcksPassThrough() {
+        EmbeddedChannel channel = channel();
+        DefaultHttp2PingFrame keepAlive = new DefaultHttp2PingFrame(42, true);
+
+        assertTrue(channel.writeInbound(keepAlive));
+        assertSame(keepAlive, channel.readInbound());
+        assertEquals(0, state.getRttSampleCount());
+        channel.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.ssl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CertificateHostNamesTest {
+
+    private static final List<String> NAMES = Arrays.asList("example.com", "*.api.example.com", "10.0.0.1", "*.com");
+
+    @Test
+    void exactNameMatchesIgnoringCase() {
+        assertTrue(CertificateHostNames.matches(NAMES, "Example.COM"));
+        assertTrue(CertificateHostNames.matches(NAMES, "example.com."));
+        assertFalse(CertificateHostNames.matches(NAMES, "www.example.com"));
+    }
+
+    @Test
+    void wildcardCoversASingleLeftmostLabel() {
+        assertTrue(CertificateHostNames.matches(NAMES, "eu.api.example.com"));
+        assertFalse(CertificateHostNames.matches(NAMES, "api.example.com"));
+        assertFalse(CertificateHostNames.matches(NAMES, "a.eu.api.example.com"));
+    }
+
+    @Test
+    void wildcardNeverCoversATopLevelDomainOrAnIpLiteral() {
+        assertFalse(CertificateHostNames.matches(NAMES, "other.com"));
+        assertFalse(CertificateHostNames.matches(Collections.singletonList("*.0.0.1"), "10.0.0.1"));
+        assertTrue(CertificateHostNames.matches(NAMES, "10.0.0.1"));
+    }
+}
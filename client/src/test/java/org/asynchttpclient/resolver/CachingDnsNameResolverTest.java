@@ -0,0 +1,272 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.resolver;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.handler.codec.dns.DatagramDnsQuery;
+import io.netty.handler.codec.dns.DatagramDnsQueryDecoder;
+import io.netty.handler.codec.dns.DatagramDnsResponse;
+import io.netty.handler.codec.dns.DatagramDnsResponseEncoder;
+import io.netty.handler.codec.dns.DefaultDnsQuestion;
+import io.netty.handler.codec.dns.DefaultDnsRawRecord;
+import io.netty.handler.codec.dns.DnsRecord;
+import io.netty.handler.codec.dns.DnsRecordType;
+import io.netty.handler.codec.dns.DnsResponseCode;
+import io.netty.handler.codec.dns.DnsSection;
+import io.netty.resolver.ResolvedAddressTypes;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.resolver.dns.SingletonDnsServerAddressStreamProvider;
+import org.asynchttpclient.DnsCacheStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Drives {@link CachingDnsNameResolver} against a tiny in-process UDP name server that answers A queries for
+ * {@code *.cache.test} with a fixed TTL (NXDOMAIN for anything else) and counts the queries it receives, while
+ * the resolver's clock is virtual so TTL expiry is deterministic.
+ */
+class CachingDnsNameResolverTest {
+
+    private static final int RECORD_TTL_SECONDS = 100;
+
+    private final Map<String, AtomicInteger> queriesPerName = new ConcurrentHashMap<>();
+    private final AtomicLong now = new AtomicLong(1_000);
+    private EventLoopGroup group;
+    private Channel dnsServer;
+
+    @BeforeEach
+    void startDnsServer() throws Exception {
+        group = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory());
+        dnsServer = new Bootstrap()
+                .group(group)
+                .channel(NioDatagramChannel.class)
+                .handler(new ChannelInitializer<DatagramChannel>() {
+                    @Override
+                    protected void initChannel(DatagramChannel ch) {
+                        ch.pipeline().addLast(new DatagramDnsQueryDecoder(), new DatagramDnsResponseEncoder(), new AnsweringHandler());
+                    }
+                })
+                .bind(new InetSocketAddress("127.0.0.1", 0))
+                .sync()
+                .channel();
+    }
+
+    @AfterEach
+    void stopDnsServer() throws Exception {
+        dnsServer.close().sync();
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+    }
+
+    private CachingDnsNameResolver newResolver(Duration minTtl, Duration maxTtl, Duration negativeTtl) {
+        DnsNameResolverBuilder builder = new DnsNameResolverBuilder(group.next())
+                .datagramChannelFactory(NioDatagramChannel::new)
+                .nameServerProvider(new SingletonDnsServerAddressStreamProvider((InetSocketAddress) dnsServer.localAddress()))
+                .resolvedAddressTypes(ResolvedAddressTypes.IPV4_ONLY)
+                .searchDomains(Collections.emptyList())
+                .queryTimeoutMillis(2_000);
+        return new CachingDnsNameResolver(builder, minTtl, maxTtl, negativeTtl, now::get);
+    }
+
+    private int queries(String name) {
+        AtomicInteger count = queriesPerName.get(name);
+        return count == null ? 0 : count.get();
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void positiveAnswerIsServedFromCacheUntilItsTtlExpires() throws Exception {
+        CachingDnsNameResolver resolver = newResolver(Duration.ZERO, Duration.ofMinutes(5), Duration.ofSeconds(5));
+        try {
+            List<InetAddress> first = resolver.resolveAll("a.cache.test").get(5, TimeUnit.SECONDS);
+            List<InetAddress> second = resolver.resolveAll("a.cache.test").get(5, TimeUnit.SECONDS);
+            assertEquals(first, second);
+            assertEquals("a.cache.test", second.get(0).getHostName(), "cached addresses keep the hostname they were resolved for");
+            assertEquals(1, queries("a.cache.test."));
+
+            advance(Duration.ofSeconds(RECORD_TTL_SECONDS + 1));
+            resolver.resolveAll("a.cache.test").get(5, TimeUnit.SECONDS);
+            assertEquals(2, queries("a.cache.test."), "an expired entry must be looked up again");
+
+            DnsCacheStats stats = resolver.stats();
+            assertEquals(1, stats.getHitCount());
+            assertEquals(2, stats.getMissCount());
+            assertEquals(2, stats.getLookupCount());
+            assertEquals(1, stats.getCachedHostnameCount());
+        } finally {
+            resolver.close();
+        }
+    }
+
+    @Test
+    void recordTtlIsClampedToMaxTtl() throws Exception {
+        CachingDnsNameResolver resolver = newResolver(Duration.ZERO, Duration.ofSeconds(10), Duration.ZERO);
+        try {
+            resolver.resolveAll("b.cache.test").get(5, TimeUnit.SECONDS);
+            advance(Duration.ofSeconds(11));
+            resolver.resolveAll("b.cache.test").get(5, TimeUnit.SECONDS);
+            assertEquals(2, queries("b.cache.test."));
+        } finally {
+            resolver.close();
+        }
+    }
+
+    @Test
+    void recordTtlIsRaisedToMinTtl() throws Exception {
+        CachingDnsNameResolver resolver = newResolver(Duration.ofSeconds(RECORD_TTL_SECONDS * 2), Duration.ofHours(1), Duration.ZERO);
+        try {
+            resolver.resolveAll("c.cache.test").get(5, TimeUnit.SECONDS);
+            advance(Duration.ofSeconds(RECORD_TTL_SECONDS + 1));
+            resolver.resolveAll("c.cache.test").get(5, TimeUnit.SECONDS);
+            assertEquals(1, queries("c.cache.test."));
+        } finally {
+            resolver.close();
+        }
+    }
+
+    @Test
+    void failedLookupIsRememberedForNegativeTtl() throws Exception {
+        CachingDnsNameResolver resolver = newResolver(Duration.ZERO, Duration.ofMinutes(5), Duration.ofSeconds(5));
+        try {
+            ExecutionException first = assertThrows(ExecutionException.class, () -> resolver.resolveAll("missing.test").get(5, TimeUnit.SECONDS));
+            assertInstanceOf(UnknownHostException.class, first.getCause());
+            assertNull(first.getCause().getCause(), "the request path unwraps to the root cause, which must stay an UnknownHostException");
+            ExecutionException second = assertThrows(ExecutionException.class, () -> resolver.resolveAll("missing.test").get(5, TimeUnit.SECONDS));
+            assertInstanceOf(UnknownHostException.class, second.getCause());
+            assertEquals(1, queries("missing.test."), "the negative entry must answer the second attempt");
+
+            advance(Duration.ofSeconds(6));
+            assertThrows(ExecutionException.class, () -> resolver.resolveAll("missing.test").get(5, TimeUnit.SECONDS));
+            assertEquals(2, queries("missing.test."));
+        } finally {
+            resolver.close();
+        }
+    }
+
+    @Test
+    void zeroNegativeTtlDisablesNegativeCaching() throws Exception {
+        CachingDnsNameResolver resolver = newResolver(Duration.ZERO, Duration.ofMinutes(5), Duration.ZERO);
+        try {
+            assertThrows(ExecutionException.class, () -> resolver.resolveAll("missing.test").get(5, TimeUnit.SECONDS));
+            assertThrows(ExecutionException.class, () -> resolver.resolveAll("missing.test").get(5, TimeUnit.SECONDS));
+            assertEquals(2, queries("missing.test."));
+        } finally {
+            resolver.close();
+        }
+    }
+
+    @Test
+    void hitNearExpiryRefreshesInTheBackground() throws Exception {
+        CachingDnsNameResolver resolver = newResolver(Duration.ZERO, Duration.ofMinutes(5), Duration.ZERO);
+        try {
+            resolver.resolveAll("d.cache.test").get(5, TimeUnit.SECONDS);
+            advance(Duration.ofSeconds(RECORD_TTL_SECONDS * CachingDnsNameResolver.REFRESH_AHEAD_PERCENT / 100 + 1));
+
+            // both hits are answered from the cache, only the first one starts a refresh
+            resolver.resolveAll("d.cache.test").get(5, TimeUnit.SECONDS);
+            resolver.resolveAll("d.cache.test").get(5, TimeUnit.SECONDS);
+            awaitLookups(resolver, 2);
+            assertEquals(2, queries("d.cache.test."));
+            assertEquals(1, resolver.stats().getRefreshCount());
+            assertEquals(2, resolver.stats().getHitCount());
+
+            // the refreshed entry lives for a full TTL from the refresh
+            advance(Duration.ofSeconds(RECORD_TTL_SECONDS / 2));
+            resolver.resolveAll("d.cache.test").get(5, TimeUnit.SECONDS);
+            assertEquals(2, queries("d.cache.test."));
+            assertEquals(1, resolver.stats().getMissCount());
+        } finally {
+            resolver.close();
+        }
+    }
+
+    @Test
+    void ipLiteralsAreNotCached() throws Exception {
+        CachingDnsNameResolver resolver = newResolver(Duration.ZERO, Duration.ofMinutes(5), Duration.ZERO);
+        try {
+            assertEquals(InetAddress.getByName("10.0.0.1"), resolver.resolve("10.0.0.1").get(5, TimeUnit.SECONDS));
+            assertEquals(DnsCacheStats.EMPTY, resolver.stats());
+        } finally {
+            resolver.close();
+        }
+    }
+
+    @Test
+    void invalidTtlsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> newResolver(Duration.ofSeconds(-1), Duration.ofMinutes(5), Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> newResolver(Duration.ofMinutes(10), Duration.ofMinutes(5), Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> newResolver(Duration.ZERO, Duration.ofMinutes(5), Duration.ofSeconds(-1)));
+    }
+
+    private static void awaitLookups(CachingDnsNameResolver resolver, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (resolver.stats().getLookupCount() < expected && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    private final class AnsweringHandler extends SimpleChannelInboundHandler<DatagramDnsQuery> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, DatagramDnsQuery query) {
+            DnsRecord question = query.recordAt(DnsSection.QUESTION);
+            String name = question.name();
+            queriesPerName.computeIfAbsent(name, k -> new AtomicInteger()).incrementAndGet();
+
+            DatagramDnsResponse response = new DatagramDnsResponse(query.recipient(), query.sender(), query.id());
+            response.setRecursionAvailable(true);
+            response.addRecord(DnsSection.QUESTION, new DefaultDnsQuestion(name, question.type()));
+            if (name.endsWith(".cache.test.") && question.type() == DnsRecordType.A) {
+                response.addRecord(DnsSection.ANSWER, new DefaultDnsRawRecord(name, DnsRecordType.A, RECORD_TTL_SECONDS,
+                        Unpooled.wrappedBuffer(new byte[]{127, 0, 0, 1})));
+            } else {
+                response.setCode(DnsResponseCode.NXDOMAIN);
+            }
+            ctx.writeAndFlush(response);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ *    Copyright (c) 2026 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.resolver;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.InetSocketAddressResolver;
+import io.netty.util.concurrent.DefaultEventExecutor;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.asynchttpclient.AsyncCompletionHandlerBase;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestHostnameResolverTest {
+
+    private static final InetSocketAddress UNRESOLVED = InetSocketAddress.createUnresolved("coalesce.test", 8080);
+
+    private final InflightHostnameLookups inflightLookups = new InflightHostnameLookups();
+
+    @Test
+    void concurrentResolutionsShareOneLookup() throws Exception {
+        ControlledResolver resolver = new ControlledResolver();
+        List<Future<List<InetSocketAddress>>> futures = new ArrayList<>();
+        List<RecordingHandler> handlers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            RecordingHandler handler = new RecordingHandler();
+            handlers.add(handler);
+            futures.add(RequestHostnameResolver.INSTANCE.resolve(resolver, UNRESOLVED, handler, inflightLookups));
+        }
+        assertEquals(1, resolver.lookups.get(), "concurrent resolutions of the same host must be coalesced");
+
+        InetAddress address = InetAddress.getByAddress("coalesce.test", new byte[]{127, 0, 0, 1});
+        resolver.pending.setSuccess(Collections.singletonList(address));
+
+        for (int i = 0; i < 3; i++) {
+            List<InetSocketAddress> resolved = futures.get(i).get();
+            assertEquals(Collections.singletonList(new InetSocketAddress(address, 8080)), resolved);
+            assertEquals(1, handlers.get(i).attempts.get());
+            assertEquals(1, handlers.get(i).successes.get());
+        }
+        assertNotSame(futures.get(0).get(), futures.get(1).get(), "each request gets its own address list");
+    }
+
+    @Test
+    void completedLookupIsNotReused() throws Exception {
+        ControlledResolver resolver = new ControlledResolver();
+        Future<List<InetSocketAddress>> first = RequestHostnameResolver.INSTANCE.resolve(resolver, UNRESOLVED, new RecordingHandler(), inflightLookups);
+        resolver.pending.setSuccess(Collections.singletonList(InetAddress.getLoopbackAddress()));
+        assertTrue(first.isSuccess());
+
+        Future<List<InetSocketAddress>> second = RequestHostnameResolver.INSTANCE.resolve(resolver, UNRESOLVED, new RecordingHandler(), inflightLookups);
+        assertEquals(2, resolver.lookups.get(), "single-flight must not turn into a cache");
+        assertFalse(second.isDone());
+        resolver.pending.setSuccess(Collections.singletonList(InetAddress.getLoopbackAddress()));
+        assertTrue(second.isSuccess());
+    }
+
+    @Test
+    void failureIsSharedWithEveryWaiter() {
+        ControlledResolver resolver = new ControlledResolver();
+        RecordingHandler firstHandler = new RecordingHandler();
+        RecordingHandler secondHandler = new RecordingHandler();
+        Future<List<InetSocketAddress>> first = RequestHostnameResolver.INSTANCE.resolve(resolver, UNRESOLVED, firstHandler, inflightLookups);
+        Future<List<InetSocketAddress>> second = RequestHostnameResolver.INSTANCE.resolve(resolver, UNRESOLVED, secondHandler, inflightLookups);
+
+        UnknownHostException cause = new UnknownHostException("coalesce.test");
+        resolver.pending.setFailure(cause);
+
+        assertSame(cause, first.cause());
+        assertSame(cause, second.cause());
+        assertEquals(1, firstHandler.failures.get());
+        assertEquals(1, secondHandler.failures.get());
+        assertEquals(1, resolver.lookups.get());
+    }
+
+    @Test
+    void distinctResolversAreNotCoalesced() {
+        ControlledResolver first = new ControlledResolver();
+        ControlledResolver second = new ControlledResolver();
+        RequestHostnameResolver.INSTANCE.resolve(first, UNRESOLVED, new RecordingHandler(), inflightLookups);
+        RequestHostnameResolver.INSTANCE.resolve(second, UNRESOLVED, new RecordingHandler(), inflightLookups);
+        assertEquals(1, first.lookups.get());
+        assertEquals(1, second.lookups.get());
+        first.pending.setFailure(new UnknownHostException());
+        second.pending.setFailure(new UnknownHostException());
+    }
+
+    @Test
+    void addressResolverGroupLookupsAreSharedAcrossEventLoops() throws Exception {
+        ControlledResolver resolver = new ControlledResolver();
+        AddressResolverGroup<InetSocketAddress> group = new AddressResolverGroup<InetSocketAddress>() {
+            @Override
+            protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+                return new InetSocketAddressResolver(executor, resolver);
+            }
+        };
+        EventExecutor firstLoop = new DefaultEventExecutor();
+        EventExecutor secondLoop = new DefaultEventExecutor();
+        try {
+            Future<List<InetSocketAddress>> first = RequestHostnameResolver.INSTANCE.resolve(group, firstLoop, UNRESOLVED, new RecordingHandler(),
+                    inflightLookups);
+            Future<List<InetSocketAddress>> second = RequestHostnameResolver.INSTANCE.resolve(group, secondLoop, UNRESOLVED, new RecordingHandler(),
+                    inflightLookups);
+            assertEquals(1, resolver.lookups.get(), "resolvers of the same group bound to different event loops must share the lookup");
+
+            resolver.pending.setSuccess(Collections.singletonList(InetAddress.getLoopbackAddress()));
+            List<InetSocketAddress> expected = Collections.singletonList(new InetSocketAddress(InetAddress.getLoopbackAddress(), 8080));
+            assertEquals(expected, first.get(5, TimeUnit.SECONDS));
+            assertEquals(expected, second.get(5, TimeUnit.SECONDS));
+        } finally {
+            group.close();
+            firstLoop.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+            secondLoop.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+    }
+
+    private static final class ControlledResolver extends InetNameResolver {
+
+        private final AtomicInteger lookups = new AtomicInteger();
+        private Promise<List<InetAddress>> pending;
+
+        ControlledResolver() {
+            super(ImmediateEventExecutor.INSTANCE);
+        }
+
+        @Override
+        protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+            lookups.incrementAndGet();
+            pending = promise;
+        }
+    }
+
+    private static final class RecordingHandler extends AsyncCompletionHandlerBase {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final AtomicInteger successes = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        @Override
+        public void onHostnameResolutionAttempt(String name) {
+            attempts.incrementAndGet();
+        }
+
+        @Override
+        public void onHostnameResolutionSuccess(String name, List<InetSocketAddress> addresses) {
+            successes.incrementAndGet();
+        }
+
+        @Override
+        public void onHostnameResolutionFailure(String name, Throwable cause) {
+            failures.incrementAndGet();
+        }
+    }
+}